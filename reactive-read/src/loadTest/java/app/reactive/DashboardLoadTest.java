@@ -0,0 +1,206 @@
+package app.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Нагрузочный тест, сравнивающий количество потоков и соединений с БД, которые занимают приложение чтения
+ * и основное приложение при одинаковом числе сессий панели задач.
+ * <p>
+ * Каждая сессия с интервалом {@literal LOAD_TEST_POLL_INTERVAL} запрашивает {@literal LOAD_TEST_PATH} и в остальное
+ * время простаивает. Во время теста раз в секунду считываются метрики {@literal jvm.threads.live} и число занятых
+ * соединений с БД ({@literal hikaricp.connections.active} или {@literal r2dbc.pool.acquired}), в отчет выводятся
+ * их пиковые значения и задержки ответов. Если метрика не была получена ни разу, вместо значения выводится
+ * {@literal n/a}.
+ * <p>
+ * Запуск при работающих приложениях: {@code LOAD_TEST_TOKEN=<jwt> ./gradlew :reactive-read:loadTest}.
+ * Остальные переменные окружения: {@literal LOAD_TEST_MVC_URL} (по умолчанию {@literal http://localhost:8080}),
+ * {@literal LOAD_TEST_REACTIVE_URL} ({@literal http://localhost:8081}), {@literal LOAD_TEST_SESSIONS} (2000),
+ * {@literal LOAD_TEST_DURATION} ({@literal PT1M}), {@literal LOAD_TEST_POLL_INTERVAL} ({@literal PT5S}),
+ * {@literal LOAD_TEST_PATH} ({@literal /api/v1/tasks?page=0&size=20}).
+ */
+public class DashboardLoadTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpClient httpClient;
+    private final String token;
+    private final String path;
+    private final int sessions;
+    private final Duration duration;
+    private final Duration pollInterval;
+
+    public DashboardLoadTest(String token, String path, int sessions, Duration duration, Duration pollInterval) {
+        this.httpClient = HttpClient
+                .newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+        this.token = token;
+        this.path = path;
+        this.sessions = sessions;
+        this.duration = duration;
+        this.pollInterval = pollInterval;
+    }
+
+    public static void main(String[] args) throws Exception {
+        DashboardLoadTest loadTest = new DashboardLoadTest(
+                getEnv("LOAD_TEST_TOKEN", null),
+                getEnv("LOAD_TEST_PATH", "/api/v1/tasks?page=0&size=20"),
+                Integer.parseInt(getEnv("LOAD_TEST_SESSIONS", "2000")),
+                Duration.parse(getEnv("LOAD_TEST_DURATION", "PT1M")),
+                Duration.parse(getEnv("LOAD_TEST_POLL_INTERVAL", "PT5S")));
+        List<Result> results = List.of(
+                loadTest.run("mvc", getEnv("LOAD_TEST_MVC_URL", "http://localhost:8080"), "hikaricp.connections.active"),
+                loadTest.run("reactive", getEnv("LOAD_TEST_REACTIVE_URL", "http://localhost:8081"), "r2dbc.pool.acquired"));
+        System.out.printf("%n%-10s %10s %8s %10s %10s %12s %16s%n",
+                "target", "requests", "errors", "p50, ms", "p99, ms", "peak threads", "peak connections");
+        for (Result result : results) {
+            System.out.printf("%-10s %10d %8d %10.1f %10.1f %12s %16s%n",
+                    result.target(),
+                    result.requests(),
+                    result.errors(),
+                    result.percentileMillis(0.5),
+                    result.percentileMillis(0.99),
+                    format(result.peakThreads()),
+                    format(result.peakConnections()));
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Метод, выполняющий тест для одного приложения.
+     *
+     * @param target            название приложения в отчете.
+     * @param baseUrl           адрес приложения.
+     * @param connectionsMetric метрика занятых соединений с БД.
+     * @return {@link Result} результаты теста.
+     */
+    public Result run(String target, String baseUrl, String connectionsMetric) throws InterruptedException {
+        AtomicLong requests = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        double[] peaks = {Double.NaN, Double.NaN};
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+        long intervalMillis = pollInterval.toMillis();
+        for (int i = 0; i < sessions; i++) {
+            long initialDelay = intervalMillis * i / sessions;
+            scheduler.scheduleAtFixedRate(
+                    () -> this.poll(baseUrl + path, requests, errors, latencies),
+                    initialDelay,
+                    intervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+        scheduler.scheduleAtFixedRate(() -> {
+            peaks[0] = peak(peaks[0], this.readMetric(baseUrl, "jvm.threads.live"));
+            peaks[1] = peak(peaks[1], this.readMetric(baseUrl, connectionsMetric));
+        }, 0, 1, TimeUnit.SECONDS);
+        Thread.sleep(duration.toMillis());
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        List<Long> sorted;
+        synchronized (latencies) {
+            sorted = new ArrayList<>(latencies);
+        }
+        Collections.sort(sorted);
+        return new Result(target, requests.get(), errors.get(), sorted, peaks[0], peaks[1]);
+    }
+
+    private void poll(String url, AtomicLong requests, AtomicLong errors, List<Long> latencies) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<HttpResponse<Void>> response = httpClient.sendAsync(
+                this.request(url),
+                HttpResponse.BodyHandlers.discarding());
+        response.whenComplete((result, exception) -> {
+            requests.incrementAndGet();
+            if (exception != null || result.statusCode() != 200) {
+                errors.incrementAndGet();
+            } else {
+                latencies.add(System.nanoTime() - startedAt);
+            }
+        });
+    }
+
+    /**
+     * Метод, возвращающий значение метрики или {@link Double#NaN}, если метрика недоступна.
+     */
+    private double readMetric(String baseUrl, String metric) {
+        try {
+            HttpResponse<String> response = httpClient.send(
+                    this.request(baseUrl + "/actuator/metrics/" + metric),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return Double.NaN;
+            }
+            JsonNode measurements = OBJECT_MAPPER.readTree(response.body()).path("measurements");
+            return measurements.isEmpty() ? Double.NaN : measurements.get(0).path("value").asDouble();
+        } catch (Exception exception) {
+            return Double.NaN;
+        }
+    }
+
+    private static double peak(double peak, double value) {
+        if (Double.isNaN(peak)) {
+            return value;
+        }
+        return Double.isNaN(value) ? peak : Math.max(peak, value);
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "n/a" : String.format("%.0f", value);
+    }
+
+    private HttpRequest request(String url) {
+        return HttpRequest
+                .newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private static String getEnv(String name, String defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.isBlank()) {
+            if (defaultValue == null) {
+                throw new IllegalStateException("Environment variable " + name + " is not set");
+            }
+            return defaultValue;
+        }
+        return value;
+    }
+
+    /**
+     * Результаты теста одного приложения.
+     */
+    public record Result(String target,
+                         long requests,
+                         long errors,
+                         List<Long> sortedLatencies,
+                         double peakThreads,
+                         double peakConnections) {
+
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.isEmpty()) {
+                return 0;
+            }
+            int index = (int) Math.min(sortedLatencies.size() - 1, Math.ceil(percentile * sortedLatencies.size()) - 1);
+            return sortedLatencies.get(Math.max(0, index)) / 1_000_000.0;
+        }
+    }
+
+}
@@ -0,0 +1,18 @@
+package app.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Приложение, обслуживающее запросы на чтение задач и комментариев без выделения потока на каждый запрос.
+ * <p>
+ * Использует те же таблицы, что и основное приложение, и проверяет JWT тем же {@link app.security.jwt.JwtService}.
+ */
+@SpringBootApplication
+public class ReactiveReadApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveReadApplication.class, args);
+    }
+
+}
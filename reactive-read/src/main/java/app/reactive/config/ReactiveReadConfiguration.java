@@ -0,0 +1,25 @@
+package app.reactive.config;
+
+import app.security.jwt.JwtService;
+import app.security.jwt.key.JwtKeyProperties;
+import app.security.jwt.key.JwtKeyRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Конфигурационный класс приложения чтения.
+ * <p>
+ * Из основного приложения подключаются только компоненты проверки JWT, остальные компоненты зависят от JPA.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({
+        JwtKeyProperties.class,
+        ReactiveReadProperties.class})
+@Import({
+        JwtKeyRegistry.class,
+        JwtService.class})
+public class ReactiveReadConfiguration {
+}
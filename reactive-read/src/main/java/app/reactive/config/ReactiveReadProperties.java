@@ -0,0 +1,26 @@
+package app.reactive.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Класс, описывающий настройки приложения чтения.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.reactive-read")
+public class ReactiveReadProperties {
+
+    /**
+     * Количество строк, запрашиваемых у БД за один раз при потоковой записи ответа. Следующая порция запрашивается
+     * только после того, как клиент принял предыдущую.
+     */
+    private int prefetch = 64;
+
+    /**
+     * Максимальное количество элементов на странице.
+     */
+    private int maxPageSize = 1000;
+
+}
@@ -0,0 +1,51 @@
+package app.reactive.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Класс, описывающий комментарий к задаче вместе с данными его автора, прочитанные одним запросом.
+ *
+ * @see app.entity.task_comment.TaskCommentEntity
+ */
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskCommentReadEntity {
+
+    private UUID id;
+
+    private UUID taskId;
+
+    private String content;
+
+    private LocalDateTime createdAt;
+
+    private UUID userId;
+
+    private String userUsername;
+
+    private String userName;
+
+    private String userEmail;
+
+    private LocalDateTime userCreatedAt;
+
+    @Override
+    public String toString() {
+        return "TaskCommentReadEntity{" +
+                "id=" + id +
+                ", taskId=" + taskId +
+                ", userId=" + userId +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
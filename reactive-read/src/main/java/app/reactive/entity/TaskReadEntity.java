@@ -0,0 +1,72 @@
+package app.reactive.entity;
+
+import app.entity.task.TaskPriority;
+import app.entity.task.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Класс, описывающий строку таблицы {@code tasks} для чтения через R2DBC.
+ *
+ * @see app.entity.task.TaskEntity
+ */
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table("tasks")
+public class TaskReadEntity {
+
+    @Id
+    private UUID id;
+
+    private String name;
+
+    private String description;
+
+    private TaskStatus status;
+
+    private TaskPriority priority;
+
+    private UUID creatorId;
+
+    private UUID executorId;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime expiresOn;
+
+    private LocalDateTime updatedAt;
+
+    private int commentCount;
+
+    private LocalDateTime lastCommentAt;
+
+    private Long version;
+
+    private LocalDateTime deletedAt;
+
+    @Override
+    public String toString() {
+        return "TaskReadEntity{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", status=" + status +
+                ", priority=" + priority +
+                ", creatorId=" + creatorId +
+                ", executorId=" + executorId +
+                ", expiresOn=" + expiresOn +
+                ", version=" + version +
+                ", deletedAt=" + deletedAt +
+                '}';
+    }
+}
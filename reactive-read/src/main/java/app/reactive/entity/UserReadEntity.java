@@ -0,0 +1,51 @@
+package app.reactive.entity;
+
+import app.entity.user.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Класс, описывающий данные пользователя из таблицы {@code users}, необходимые для проверки JWT.
+ *
+ * @see app.entity.user.UserEntity
+ */
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table("users")
+public class UserReadEntity {
+
+    @Id
+    private UUID id;
+
+    private String username;
+
+    private UserRole role;
+
+    private boolean expired;
+
+    private boolean locked;
+
+    private boolean credentialsExpired;
+
+    private boolean enabled;
+
+    @Override
+    public String toString() {
+        return "UserReadEntity{" +
+                "id=" + id +
+                ", username='" + username + '\'' +
+                ", role=" + role +
+                ", enabled=" + enabled +
+                '}';
+    }
+}
@@ -0,0 +1,65 @@
+package app.reactive.mapper;
+
+import app.dto.task.TaskDto;
+import app.dto.task_comment.TaskCommentDto;
+import app.dto.user.UserDto;
+import app.reactive.entity.TaskCommentReadEntity;
+import app.reactive.entity.TaskReadEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Класс для преобразования прочитанных через R2DBC строк в те же DTO, что возвращает основное приложение.
+ */
+@Component
+public class TaskReadMapper {
+
+    /**
+     * Метод для преобразования {@link TaskReadEntity} в {@link TaskDto}.
+     *
+     * @param task задача.
+     * @return {@link TaskDto}.
+     */
+    public TaskDto toDto(TaskReadEntity task) {
+        return TaskDto
+                .builder()
+                .id(task.getId())
+                .name(task.getName())
+                .description(task.getDescription())
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .creatorId(task.getCreatorId())
+                .executorId(task.getExecutorId())
+                .createdAt(task.getCreatedAt())
+                .expiresOn(task.getExpiresOn())
+                .updatedAt(task.getUpdatedAt())
+                .commentCount(task.getCommentCount())
+                .lastCommentAt(task.getLastCommentAt())
+                .version(task.getVersion())
+                .build();
+    }
+
+    /**
+     * Метод для преобразования {@link TaskCommentReadEntity} в {@link TaskCommentDto}.
+     *
+     * @param comment комментарий с данными автора.
+     * @return {@link TaskCommentDto}.
+     */
+    public TaskCommentDto toDto(TaskCommentReadEntity comment) {
+        return TaskCommentDto
+                .builder()
+                .id(comment.getId())
+                .taskId(comment.getTaskId())
+                .content(comment.getContent())
+                .createdAt(comment.getCreatedAt())
+                .user(UserDto
+                        .builder()
+                        .id(comment.getUserId())
+                        .username(comment.getUserUsername())
+                        .name(comment.getUserName())
+                        .email(comment.getUserEmail())
+                        .createdAt(comment.getUserCreatedAt())
+                        .build())
+                .build();
+    }
+
+}
@@ -0,0 +1,146 @@
+package app.reactive.repository;
+
+import app.dto.task.TaskSearchFilterDto;
+import app.entity.task.TaskPriority;
+import app.entity.task.TaskStatus;
+import org.springframework.data.relational.core.query.Criteria;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Класс для построения критериев поиска задач через R2DBC.
+ * <p>
+ * Значения фильтра нормализуются так же, как в {@link app.repository.task.TaskSpecification}: пустые строки,
+ * недопустимые значения перечислений и пустые списки отключают соответствующее условие, имя задачи сравнивается
+ * на равенство или вхождение подстроки. Все условия объединяются через AND.
+ */
+public final class TaskCriteria {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TaskCriteria() {
+    }
+
+    /**
+     * Метод для построения критериев поиска задач по фильтру.
+     *
+     * @param filter фильтр поиска, может быть {@literal null}.
+     * @return {@link Criteria} с условиями заданных полей или {@link Criteria#empty()}, если фильтр не задан.
+     */
+    public static Criteria filterBy(TaskSearchFilterDto filter) {
+        Criteria criteria = Criteria.empty();
+        if (filter == null) {
+            return criteria;
+        }
+        criteria = isEqual(criteria, "id", filter.getId());
+        String name = nonBlank(filter.getName());
+        if (name != null) {
+            criteria = criteria.and(Criteria.where("name").like(containsPattern(name)));
+        }
+        criteria = isEqual(criteria, "description", nonBlank(filter.getDescription()));
+        criteria = isEqual(criteria, "status", findName(filter.getStatus(), TaskStatus::valueOf));
+        criteria = isIn(criteria, "status", findNames(filter.getStatuses(), TaskStatus::valueOf));
+        criteria = isEqual(criteria, "priority", findName(filter.getPriority(), TaskPriority::valueOf));
+        criteria = isIn(criteria, "priority", findNames(filter.getPriorities(), TaskPriority::valueOf));
+        criteria = isEqual(criteria, "creatorId", filter.getCreatorId());
+        criteria = isIn(criteria, "creatorId", distinct(filter.getCreatorIds()));
+        criteria = isEqual(criteria, "executorId", filter.getExecutorId());
+        criteria = isIn(criteria, "executorId", distinct(filter.getExecutorIds()));
+        criteria = isEqual(criteria, "createdAt", filter.getCreatedAt());
+        criteria = isGreaterOrEqual(criteria, "createdAt", filter.getCreatedAtAfter());
+        criteria = isLessOrEqual(criteria, "createdAt", filter.getCreatedAtBefore());
+        criteria = isEqual(criteria, "expiresOn", filter.getExpiresOn());
+        criteria = isGreaterOrEqual(criteria, "expiresOn", filter.getExpiresOnAfter());
+        criteria = isLessOrEqual(criteria, "expiresOn", filter.getExpiresOnBefore());
+        criteria = isEqual(criteria, "updatedAt", filter.getUpdatedAt());
+        criteria = isGreaterOrEqual(criteria, "updatedAt", filter.getUpdatedAtAfter());
+        criteria = isLessOrEqual(criteria, "updatedAt", filter.getUpdatedAtBefore());
+        criteria = isGreaterOrEqual(criteria, "commentCount", filter.getCommentCountMin());
+        criteria = isLessOrEqual(criteria, "commentCount", filter.getCommentCountMax());
+        criteria = isGreaterOrEqual(criteria, "lastCommentAt", filter.getLastCommentAtAfter());
+        return isLessOrEqual(criteria, "lastCommentAt", filter.getLastCommentAtBefore());
+    }
+
+    private static Criteria isEqual(Criteria criteria, String property, Object value) {
+        return value == null ? criteria : criteria.and(property).is(value);
+    }
+
+    private static Criteria isIn(Criteria criteria, String property, Collection<?> values) {
+        return values == null ? criteria : criteria.and(property).in(values);
+    }
+
+    private static Criteria isGreaterOrEqual(Criteria criteria, String property, Object value) {
+        return value == null ? criteria : criteria.and(property).greaterThanOrEquals(value);
+    }
+
+    private static Criteria isLessOrEqual(Criteria criteria, String property, Object value) {
+        return value == null ? criteria : criteria.and(property).lessThanOrEquals(value);
+    }
+
+    private static String nonBlank(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    /**
+     * Метод, возвращающий имя значения перечисления, как оно хранится в БД, или {@literal null},
+     * если значение недопустимо.
+     */
+    private static String findName(String name, Function<String, ? extends Enum<?>> valueOf) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return valueOf.apply(name.toUpperCase(Locale.ROOT)).name();
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Недопустимые имена пропускаются. Если допустимых имен нет, условие отключается.
+     */
+    private static List<String> findNames(Collection<String> names, Function<String, ? extends Enum<?>> valueOf) {
+        if (names == null) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(names.size());
+        for (String name : names) {
+            values.add(findName(name, valueOf));
+        }
+        return distinct(values);
+    }
+
+    /**
+     * Метод, возвращающий список без повторов и значений {@literal null} или {@literal null}, если таких значений нет.
+     */
+    private static <T> List<T> distinct(Collection<T> values) {
+        if (values == null) {
+            return null;
+        }
+        Set<T> distinct = new LinkedHashSet<>(values);
+        distinct.remove(null);
+        return distinct.isEmpty() ? null : List.copyOf(distinct);
+    }
+
+    /**
+     * Метод, формирующий шаблон LIKE для поиска подстроки. Символы {@code %} и {@code _} в значении экранируются.
+     */
+    private static String containsPattern(String value) {
+        StringBuilder pattern = new StringBuilder(value.length() + 2).append('%');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+}
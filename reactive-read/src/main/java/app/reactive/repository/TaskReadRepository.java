@@ -0,0 +1,81 @@
+package app.reactive.repository;
+
+import app.reactive.entity.TaskCommentReadEntity;
+import app.reactive.entity.TaskReadEntity;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Интерфейс, описывающий методы чтения задач и комментариев из базы данных через R2DBC.
+ */
+@Repository
+public interface TaskReadRepository extends R2dbcRepository<TaskReadEntity, UUID>, TaskReadRepositoryCustom {
+
+    /**
+     * Позволяет получить задачу с указанным {@literal id}, если она не удалена.
+     *
+     * @param id id задачи.
+     * @return {@link Mono} с задачей или пустой {@link Mono}, если задача не найдена или удалена.
+     */
+    Mono<TaskReadEntity> findByIdAndDeletedAtIsNull(UUID id);
+
+    /**
+     * Позволяет получить доску задач команды одним запросом, см. {@link app.repository.task.TaskRepository}.
+     * Списки передаются массивами PostgreSQL, поэтому текст запроса не зависит от их длины.
+     *
+     * @param executorIds массив id исполнителей.
+     * @param statuses    массив статусов.
+     * @param limit       максимальное количество задач для пары исполнителя и статуса.
+     * @return {@link Flux} задач, упорядоченных по исполнителю, статусу, сроку выполнения и {@literal id}.
+     */
+    @Query("""
+            SELECT t.*
+            FROM unnest(CAST(:executorIds AS uuid[])) AS e(executor_id)
+            CROSS JOIN unnest(CAST(:statuses AS varchar[])) AS s(status)
+            CROSS JOIN LATERAL (
+                SELECT *
+                FROM tasks
+                WHERE tasks.executor_id = e.executor_id
+                  AND tasks.status = s.status
+                  AND tasks.deleted_at IS NULL
+                ORDER BY tasks.expires_on, tasks.id
+                LIMIT :limit
+            ) t
+            ORDER BY t.executor_id, t.status, t.expires_on, t.id
+            """)
+    Flux<TaskReadEntity> findTeamBoard(@Param("executorIds") UUID[] executorIds,
+                                       @Param("statuses") String[] statuses,
+                                       @Param("limit") int limit);
+
+    /**
+     * Позволяет получить страницу комментариев к задаче вместе с данными их авторов одним запросом.
+     * Комментарии читаются по частичному индексу {@literal (task_id, created_at, id)}, не содержащему удаленных
+     * комментариев.
+     *
+     * @param taskId id задачи.
+     * @param limit  количество комментариев на странице.
+     * @param offset количество пропускаемых комментариев.
+     * @return {@link Flux} комментариев, упорядоченных по дате создания и {@literal id}.
+     */
+    @Query("""
+            SELECT c.id, c.task_id, c.content, c.created_at,
+                   u.id AS user_id, u.username AS user_username, u.name AS user_name,
+                   u.email AS user_email, u.created_at AS user_created_at
+            FROM task_comments c
+            JOIN users u ON u.id = c.user_id
+            WHERE c.task_id = :taskId
+              AND c.deleted_at IS NULL
+            ORDER BY c.created_at, c.id
+            LIMIT :limit OFFSET :offset
+            """)
+    Flux<TaskCommentReadEntity> findCommentsByTaskId(@Param("taskId") UUID taskId,
+                                                     @Param("limit") int limit,
+                                                     @Param("offset") long offset);
+
+}
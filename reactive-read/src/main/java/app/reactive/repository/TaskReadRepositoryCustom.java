@@ -0,0 +1,23 @@
+package app.reactive.repository;
+
+import app.reactive.entity.TaskReadEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.relational.core.query.Criteria;
+import reactor.core.publisher.Flux;
+
+/**
+ * Интерфейс, описывающий дополнительные методы чтения задач из базы данных через R2DBC.
+ */
+public interface TaskReadRepositoryCustom {
+
+    /**
+     * Позволяет получить страницу задач, удовлетворяющих указанным критериям. Удаленные задачи не возвращаются.
+     * Строки передаются подписчику по мере запроса, не дожидаясь окончания чтения всей страницы.
+     *
+     * @param criteria критерии поиска, см. {@link TaskCriteria}.
+     * @param pageable параметры страницы и сортировки.
+     * @return {@link Flux} задач.
+     */
+    Flux<TaskReadEntity> findPage(Criteria criteria, Pageable pageable);
+
+}
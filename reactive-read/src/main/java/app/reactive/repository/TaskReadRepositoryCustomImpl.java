@@ -0,0 +1,33 @@
+package app.reactive.repository;
+
+import app.reactive.entity.TaskReadEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+
+/**
+ * Класс, реализующий методы {@link TaskReadRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class TaskReadRepositoryCustomImpl implements TaskReadRepositoryCustom {
+
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskReadRepositoryCustom#findPage(Criteria, Pageable)
+     */
+    @Override
+    public Flux<TaskReadEntity> findPage(Criteria criteria, Pageable pageable) {
+        Criteria notDeleted = Criteria.where("deletedAt").isNull();
+        return r2dbcEntityTemplate
+                .select(TaskReadEntity.class)
+                .matching(Query.query(criteria.isEmpty() ? notDeleted : notDeleted.and(criteria)).with(pageable))
+                .all();
+    }
+
+}
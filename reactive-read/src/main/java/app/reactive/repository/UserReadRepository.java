@@ -0,0 +1,35 @@
+package app.reactive.repository;
+
+import app.reactive.entity.UserReadEntity;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Интерфейс, описывающий методы чтения данных пользователей, необходимых для проверки JWT.
+ */
+@Repository
+public interface UserReadRepository extends R2dbcRepository<UserReadEntity, UUID> {
+
+    /**
+     * Позволяет получить пользователя по имени пользователя.
+     *
+     * @param username имя пользователя.
+     * @return {@link Mono} с пользователем или пустой {@link Mono}, если пользователь не найден.
+     */
+    Mono<UserReadEntity> findByUsername(String username);
+
+    /**
+     * Позволяет проверить, был ли отозван токен с указанным id.
+     *
+     * @param tokenId id токена (jti).
+     * @return {@link Mono} с {@literal true}, если токен отозван.
+     */
+    @Query("SELECT EXISTS (SELECT 1 FROM revoked_tokens WHERE id = :tokenId)")
+    Mono<Boolean> isTokenRevoked(@Param("tokenId") UUID tokenId);
+
+}
@@ -0,0 +1,119 @@
+package app.reactive.router;
+
+import app.dto.error.ApiError;
+import app.exception.AuthorizationHeaderNotPresentException;
+import app.exception.InvalidValueException;
+import app.exception.NotFoundException;
+import app.exception.PageNotFoundException;
+import app.exception.PermissionDeniedException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindException;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Класс для передачи отчета об ошибках в ответе на запрос при их возникновении.
+ * <p>
+ * Коды ответа совпадают с кодами {@link app.controller.ControllerExceptionHandler} основного приложения.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReactiveExceptionHandler {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Метод для формирования ответа с отчетом об ошибке, возникшей при обработке запроса.
+     *
+     * @param exception исключение, возникшее в ходе обработки запроса.
+     * @param request   информация о запросе.
+     * @return {@link Mono} с ответом, содержащим {@link ApiError}.
+     */
+    public Mono<ServerResponse> handle(Throwable exception, ServerRequest request) {
+        ApiError apiError = this.toApiError(exception, request.path());
+        return ServerResponse
+                .status(apiError.getStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(apiError);
+    }
+
+    /**
+     * Метод для записи отчета об ошибке в ответ, формируемый до вызова обработчика запроса, например,
+     * при проверке JWT.
+     *
+     * @param exchange  информация о запросе и ответе.
+     * @param exception исключение, возникшее в ходе обработки запроса.
+     * @return {@link Mono}, завершающийся после записи ответа.
+     */
+    public Mono<Void> write(ServerWebExchange exchange, Throwable exception) {
+        ApiError apiError = this.toApiError(exception, exchange.getRequest().getPath().value());
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatusCode.valueOf(apiError.getStatus()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            DataBuffer buffer = response.bufferFactory().wrap(objectMapper.writeValueAsBytes(apiError));
+            return response.writeWith(Mono.just(buffer));
+        } catch (JsonProcessingException jsonProcessingException) {
+            return Mono.error(jsonProcessingException);
+        }
+    }
+
+    private ApiError toApiError(Throwable exception, String path) {
+        Throwable cause = exception instanceof AuthenticationException && exception.getCause() != null
+                ? exception.getCause()
+                : exception;
+        HttpStatusCode status = this.getStatus(cause);
+        if (status.is5xxServerError()) {
+            log.error("\nUnhandled exception for path {}", path, cause);
+        }
+        return ApiError
+                .builder()
+                .status(status.value())
+                .error(cause.getClass().getSimpleName())
+                .message(cause instanceof ResponseStatusException responseStatusException
+                        ? responseStatusException.getReason()
+                        : cause.getMessage())
+                .path(path)
+                .build();
+    }
+
+    private HttpStatusCode getStatus(Throwable exception) {
+        if (exception instanceof NotFoundException
+                || exception instanceof PageNotFoundException
+                || exception instanceof UsernameNotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (exception instanceof AuthorizationHeaderNotPresentException) {
+            return HttpStatus.UNAUTHORIZED;
+        }
+        if (exception instanceof PermissionDeniedException
+                || exception instanceof JwtException
+                || exception instanceof AuthenticationException) {
+            return HttpStatus.FORBIDDEN;
+        }
+        if (exception instanceof InvalidValueException || exception instanceof BindException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        if (exception instanceof ResponseStatusException responseStatusException) {
+            return responseStatusException.getStatusCode();
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+}
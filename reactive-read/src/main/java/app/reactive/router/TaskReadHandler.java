@@ -0,0 +1,267 @@
+package app.reactive.router;
+
+import app.dto.task.TaskDto;
+import app.dto.task.TaskSearchFilterDto;
+import app.dto.task_comment.TaskCommentDto;
+import app.entity.task.TaskStatus;
+import app.exception.InvalidValueException;
+import app.reactive.config.ReactiveReadProperties;
+import app.reactive.entity.UserReadEntity;
+import app.reactive.mapper.TaskReadMapper;
+import app.reactive.service.TaskReadService;
+import app.repository.task.TaskSortField;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Класс, обрабатывающий запросы на чтение задач и комментариев.
+ * <p>
+ * Списки записываются в ответ по мере чтения строк из БД: JSON массивом или, если клиент принимает
+ * {@literal application/x-ndjson}, по одному объекту в строке. Строки запрашиваются у БД порциями
+ * по {@link ReactiveReadProperties#getPrefetch()} и только после того, как клиент принял предыдущую порцию,
+ * поэтому медленный клиент не приводит к накоплению результата в памяти.
+ * <p>
+ * Параметры запроса и права доступа проверяются до формирования ответа, поэтому ошибки возвращаются
+ * с соответствующим кодом ответа, а не обрывают уже начатый поток.
+ */
+@Component
+public class TaskReadHandler {
+
+    public static final int MAX_TEAM_BOARD_EXECUTORS = 100;
+    public static final int MAX_TEAM_BOARD_LIMIT = 100;
+
+    private final TaskReadService taskReadService;
+    private final TaskReadMapper taskReadMapper;
+    private final ConversionService conversionService;
+
+    private final int prefetch;
+    private final int maxPageSize;
+
+    public TaskReadHandler(TaskReadService taskReadService,
+                           TaskReadMapper taskReadMapper,
+                           @Qualifier("webFluxConversionService") ConversionService conversionService,
+                           ReactiveReadProperties reactiveReadProperties) {
+        this.taskReadService = taskReadService;
+        this.taskReadMapper = taskReadMapper;
+        this.conversionService = conversionService;
+        this.prefetch = reactiveReadProperties.getPrefetch();
+        this.maxPageSize = reactiveReadProperties.getMaxPageSize();
+    }
+
+    /**
+     * Обрабатывает запрос на получение страницы задач, удовлетворяющих фильтрам.
+     *
+     * @param request информация о запросе.
+     * @return {@link Mono} с ответом, содержащим поток объектов {@link TaskDto}.
+     */
+    public Mono<ServerResponse> getTasks(ServerRequest request) {
+        return Mono.defer(() -> {
+            int page = this.getPage(request);
+            int size = this.getSize(request);
+            Sort sort = this.getTaskSort(
+                    request.queryParam("sortBy").orElse("createdAt"),
+                    request.queryParam("direction").orElse("desc"));
+            return request
+                    .bind(TaskSearchFilterDto.class, binder -> binder.setConversionService(conversionService))
+                    .flatMap(filter -> this.stream(
+                            request,
+                            taskReadService.getTaskPage(filter, PageRequest.of(page, size, sort)).map(taskReadMapper::toDto),
+                            TaskDto.class));
+        });
+    }
+
+    /**
+     * Обрабатывает запрос на получение задачи с указанным id.
+     *
+     * @param request информация о запросе.
+     * @return {@link Mono} с ответом, содержащим {@link TaskDto}.
+     */
+    public Mono<ServerResponse> getTaskById(ServerRequest request) {
+        return Mono.defer(() -> taskReadService
+                .getTaskById(this.getTaskId(request))
+                .map(taskReadMapper::toDto)
+                .flatMap(task -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(task)));
+    }
+
+    /**
+     * Обрабатывает запрос на получение страницы комментариев к задаче.
+     *
+     * @param request информация о запросе.
+     * @return {@link Mono} с ответом, содержащим поток объектов {@link TaskCommentDto}.
+     */
+    public Mono<ServerResponse> getTaskComments(ServerRequest request) {
+        return Mono.defer(() -> {
+            UUID taskId = this.getTaskId(request);
+            int page = this.getPage(request);
+            int size = this.getSize(request);
+            return request
+                    .principal()
+                    .cast(Authentication.class)
+                    .flatMap(authentication -> taskReadService.getRelatedTask(
+                            taskId,
+                            ((UserReadEntity) authentication.getPrincipal()).getId()))
+                    .flatMap(task -> this.stream(
+                            request,
+                            taskReadService.getTaskCommentPage(taskId, page, size).map(taskReadMapper::toDto),
+                            TaskCommentDto.class));
+        });
+    }
+
+    /**
+     * Обрабатывает запрос на получение доски задач команды.
+     *
+     * @param request информация о запросе.
+     * @return {@link Mono} с ответом, содержащим поток объектов {@link TaskDto}, упорядоченных по исполнителю,
+     * статусу, сроку выполнения и {@literal id}.
+     */
+    public Mono<ServerResponse> getTeamBoard(ServerRequest request) {
+        return Mono.defer(() -> {
+            Set<UUID> executorIds = new LinkedHashSet<>();
+            for (String value : this.getListParam(request, "executorIds")) {
+                executorIds.add(this.parseUuid(value));
+            }
+            if (executorIds.isEmpty() || executorIds.size() > MAX_TEAM_BOARD_EXECUTORS) {
+                throw new InvalidValueException(String.valueOf(executorIds.size()),
+                        "from 1 to " + MAX_TEAM_BOARD_EXECUTORS + " executor ids");
+            }
+            int limit = this.getIntParam(request, "limit", 10);
+            if (limit < 1 || limit > MAX_TEAM_BOARD_LIMIT) {
+                throw new InvalidValueException(String.valueOf(limit), "from 1 to " + MAX_TEAM_BOARD_LIMIT);
+            }
+            Set<TaskStatus> statuses = this.getTaskStatuses(this.getListParam(request, "statuses"));
+            return this.stream(
+                    request,
+                    taskReadService.getTeamBoard(executorIds, statuses, limit).map(taskReadMapper::toDto),
+                    TaskDto.class);
+        });
+    }
+
+    /**
+     * Метод, формирующий ответ, записываемый по мере поступления элементов потока.
+     */
+    private <T> Mono<ServerResponse> stream(ServerRequest request, Flux<T> elements, Class<T> elementClass) {
+        MediaType mediaType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse
+                .ok()
+                .contentType(mediaType)
+                .body(elements.limitRate(prefetch), elementClass);
+    }
+
+    private UUID getTaskId(ServerRequest request) {
+        return this.parseUuid(request.pathVariable("task_id"));
+    }
+
+    private int getPage(ServerRequest request) {
+        int page = this.getRequiredIntParam(request, "page");
+        if (page < 0) {
+            throw new InvalidValueException(String.valueOf(page), "from 0");
+        }
+        return page;
+    }
+
+    private int getSize(ServerRequest request) {
+        int size = this.getRequiredIntParam(request, "size");
+        if (size < 1 || size > maxPageSize) {
+            throw new InvalidValueException(String.valueOf(size), "from 1 to " + maxPageSize);
+        }
+        return size;
+    }
+
+    private int getRequiredIntParam(ServerRequest request, String name) {
+        String value = request
+                .queryParam(name)
+                .orElseThrow(() -> new InvalidValueException("", "required parameter " + name));
+        return this.parseInt(value);
+    }
+
+    private int getIntParam(ServerRequest request, String name, int defaultValue) {
+        return request.queryParam(name).map(this::parseInt).orElse(defaultValue);
+    }
+
+    private int parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException exception) {
+            throw new InvalidValueException(value, "integer");
+        }
+    }
+
+    private UUID parseUuid(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidValueException(value, "UUID");
+        }
+    }
+
+    /**
+     * Метод, возвращающий значения параметра, переданного несколько раз или через запятую.
+     */
+    private List<String> getListParam(ServerRequest request, String name) {
+        return request
+                .queryParams()
+                .getOrDefault(name, List.of())
+                .stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Метод для получения сортировки задач, см. {@link app.controller.ControllerHelper#getTaskSort(String, String)}.
+     */
+    private Sort getTaskSort(String sortBy, String direction) throws InvalidValueException {
+        TaskSortField sortField = TaskSortField.fromFieldName(sortBy);
+        Sort.Direction sortDirection = Sort.Direction
+                .fromOptionalString(direction)
+                .orElseThrow(() -> new InvalidValueException(
+                        direction,
+                        Arrays.stream(Sort.Direction.values()).map(value -> value.toString().toLowerCase(Locale.ROOT))
+                                .collect(Collectors.joining(", "))));
+        return sortField.toSort(sortDirection);
+    }
+
+    /**
+     * Метод для проверки списка статусов задач, см. {@link app.controller.ControllerHelper#getTaskStatuses(Collection)}.
+     */
+    private Set<TaskStatus> getTaskStatuses(Collection<String> statuses) throws InvalidValueException {
+        if (statuses.isEmpty()) {
+            return EnumSet.allOf(TaskStatus.class);
+        }
+        Set<TaskStatus> result = EnumSet.noneOf(TaskStatus.class);
+        for (String status : statuses) {
+            try {
+                result.add(TaskStatus.valueOf(status.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException exception) {
+                String values = Arrays
+                        .stream(TaskStatus.values()).map(value -> value.toString().toLowerCase(Locale.ROOT))
+                        .collect(Collectors.joining(", "));
+                throw new InvalidValueException(status, values);
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,38 @@
+package app.reactive.router;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Класс, описывающий маршруты чтения задач и комментариев. Адреса и параметры запросов совпадают с адресами
+ * GET запросов {@link app.controller.task.TaskController} основного приложения.
+ */
+@Configuration
+public class TaskReadRouter {
+
+    public static final String GET_TASKS = "/api/v1/tasks";
+    public static final String GET_TASK_BY_ID = "/api/v1/tasks/{task_id}";
+    public static final String GET_TASK_COMMENTS_BY_TASK_ID = "/api/v1/tasks/{task_id}/comments";
+    public static final String GET_TEAM_BOARD = "/api/v1/tasks/team-board";
+
+    /**
+     * Маршрут доски задач команды объявлен раньше маршрута задачи по id, поскольку оба адреса совпадают
+     * с шаблоном {@link #GET_TASK_BY_ID}.
+     */
+    @Bean
+    public RouterFunction<ServerResponse> taskReadRoutes(TaskReadHandler taskReadHandler,
+                                                         ReactiveExceptionHandler reactiveExceptionHandler) {
+        return RouterFunctions
+                .route()
+                .GET(GET_TEAM_BOARD, taskReadHandler::getTeamBoard)
+                .GET(GET_TASKS, taskReadHandler::getTasks)
+                .GET(GET_TASK_COMMENTS_BY_TASK_ID, taskReadHandler::getTaskComments)
+                .GET(GET_TASK_BY_ID, taskReadHandler::getTaskById)
+                .onError(Throwable.class, reactiveExceptionHandler::handle)
+                .build();
+    }
+
+}
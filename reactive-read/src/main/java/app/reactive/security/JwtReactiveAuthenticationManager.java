@@ -0,0 +1,91 @@
+package app.reactive.security;
+
+import app.exception.RevokedTokenException;
+import app.reactive.entity.UserReadEntity;
+import app.reactive.repository.UserReadRepository;
+import app.security.jwt.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Класс, проверяющий JWT так же, как {@link app.security.jwt.JwtAuthenticationFilter} основного приложения:
+ * подпись и срок действия проверяются {@link JwtService}, после чего токен сверяется со списком отозванных токенов
+ * и данными пользователя в БД.
+ * <p>
+ * Ошибки проверки передаются как причина {@link BadCredentialsException}, чтобы отчет об ошибке содержал
+ * исходное исключение.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final JwtService jwtService;
+    private final UserReadRepository userReadRepository;
+
+    /**
+     * Метод проверки токена, переданного в {@link Authentication#getCredentials()}.
+     *
+     * @param authentication запрос на аутентификацию с токеном.
+     * @return {@link Mono} с {@link UsernamePasswordAuthenticationToken}, принципалом которого является
+     * {@link UserReadEntity}.
+     */
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        String jwt = (String) authentication.getCredentials();
+        return Mono
+                .fromCallable(() -> jwtService.extractAllClaims(jwt))
+                .flatMap(claims -> this.checkNotRevoked(claims).then(this.loadUser(claims)))
+                .onErrorMap(exception -> exception instanceof JwtException || exception instanceof UsernameNotFoundException,
+                        exception -> new BadCredentialsException(exception.getMessage(), exception));
+    }
+
+    private Mono<Void> checkNotRevoked(Claims claims) {
+        if (claims.getId() == null) {
+            return Mono.empty();
+        }
+        return userReadRepository
+                .isTokenRevoked(UUID.fromString(claims.getId()))
+                .flatMap(revoked -> revoked
+                        ? Mono.error(new RevokedTokenException("Jwt has been revoked"))
+                        : Mono.empty());
+    }
+
+    private Mono<Authentication> loadUser(Claims claims) {
+        return userReadRepository
+                .findByUsername(claims.getSubject())
+                .switchIfEmpty(Mono.error(() -> new UsernameNotFoundException("User not found")))
+                .flatMap(user -> {
+                    UserDetails userDetails = User
+                            .withUsername(user.getUsername())
+                            .password("")
+                            .authorities(user.getRole().name())
+                            .accountExpired(user.isExpired())
+                            .accountLocked(user.isLocked())
+                            .credentialsExpired(user.isCredentialsExpired())
+                            .disabled(!user.isEnabled())
+                            .build();
+                    if (!jwtService.isTokenValid(claims, userDetails)) {
+                        return Mono.error(new BadCredentialsException("Jwt is not a valid access token"));
+                    }
+                    return Mono.just(new UsernamePasswordAuthenticationToken(
+                            user,
+                            null,
+                            Set.of(new SimpleGrantedAuthority(user.getRole().name()))));
+                });
+    }
+
+}
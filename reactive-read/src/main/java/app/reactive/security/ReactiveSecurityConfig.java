@@ -0,0 +1,82 @@
+package app.reactive.security;
+
+import app.exception.AuthorizationHeaderNotPresentException;
+import app.reactive.router.ReactiveExceptionHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Класс для конфигурации безопасности приложения чтения.
+ * <p>
+ * Каждый запрос, кроме проверки состояния приложения, должен содержать JWT основного приложения в заголовке
+ * {@literal Authorization}. Сессии не создаются.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@RequiredArgsConstructor
+public class ReactiveSecurityConfig {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtReactiveAuthenticationManager jwtReactiveAuthenticationManager;
+    private final ReactiveExceptionHandler reactiveExceptionHandler;
+
+    /**
+     * Метод конфигурирования безопасности.
+     *
+     * @param httpSecurity объект конфигурации.
+     * @return {@link SecurityWebFilterChain}
+     */
+    @Bean
+    SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity httpSecurity) {
+        AuthenticationWebFilter jwtAuthenticationFilter = new AuthenticationWebFilter(jwtReactiveAuthenticationManager);
+        jwtAuthenticationFilter.setServerAuthenticationConverter(bearerTokenConverter());
+        jwtAuthenticationFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+        jwtAuthenticationFilter.setAuthenticationFailureHandler((webFilterExchange, exception) ->
+                reactiveExceptionHandler.write(webFilterExchange.getExchange(), exception));
+        return httpSecurity
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .cors(ServerHttpSecurity.CorsSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers("/actuator/health/**").permitAll()
+                        .anyExchange().authenticated())
+                .exceptionHandling(exceptionHandling -> exceptionHandling
+                        .authenticationEntryPoint((exchange, exception) ->
+                                reactiveExceptionHandler.write(exchange, new AuthorizationHeaderNotPresentException()))
+                        .accessDeniedHandler((exchange, exception) ->
+                                reactiveExceptionHandler.write(exchange, exception)))
+                .addFilterAt(jwtAuthenticationFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    /**
+     * Запрос без заголовка {@literal Authorization} или Bearer token остается неаутентифицированным
+     * и отклоняется с кодом 401.
+     */
+    private static ServerAuthenticationConverter bearerTokenConverter() {
+        return exchange -> {
+            String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+                return Mono.empty();
+            }
+            String jwt = authHeader.substring(BEARER_PREFIX.length());
+            return Mono.just(UsernamePasswordAuthenticationToken.unauthenticated(jwt, jwt));
+        };
+    }
+
+}
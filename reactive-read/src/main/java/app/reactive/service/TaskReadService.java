@@ -0,0 +1,71 @@
+package app.reactive.service;
+
+import app.dto.task.TaskSearchFilterDto;
+import app.entity.task.TaskStatus;
+import app.exception.NotFoundException;
+import app.exception.PermissionDeniedException;
+import app.reactive.entity.TaskCommentReadEntity;
+import app.reactive.entity.TaskReadEntity;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Интерфейс, описывающий методы чтения задач и комментариев без блокировки потока.
+ */
+public interface TaskReadService {
+
+    /**
+     * Метод для получения страницы задач, удовлетворяющих фильтру.
+     *
+     * @param filter   фильтр поиска, может быть {@literal null}.
+     * @param pageable параметры страницы и сортировки.
+     * @return {@link Flux} задач.
+     */
+    Flux<TaskReadEntity> getTaskPage(TaskSearchFilterDto filter, Pageable pageable);
+
+    /**
+     * Метод для получения задачи по id.
+     *
+     * @param taskId id задачи.
+     * @return {@link Mono} с задачей.
+     * @throws NotFoundException если задача с указанным id не существует.
+     */
+    Mono<TaskReadEntity> getTaskById(UUID taskId) throws NotFoundException;
+
+    /**
+     * Метод для получения задачи, создателем или исполнителем которой является пользователь.
+     *
+     * @param taskId id задачи.
+     * @param userId id пользователя, выполняющего запрос.
+     * @return {@link Mono} с задачей.
+     * @throws NotFoundException         если задача с указанным id не существует.
+     * @throws PermissionDeniedException если пользователь не является создателем или исполнителем задачи.
+     */
+    Mono<TaskReadEntity> getRelatedTask(UUID taskId, UUID userId) throws NotFoundException, PermissionDeniedException;
+
+    /**
+     * Метод для получения страницы комментариев к задаче. Права доступа к задаче проверяются
+     * {@link #getRelatedTask(UUID, UUID)}.
+     *
+     * @param taskId id задачи.
+     * @param page   номер страницы.
+     * @param size   количество комментариев на странице.
+     * @return {@link Flux} комментариев, упорядоченных по дате создания.
+     */
+    Flux<TaskCommentReadEntity> getTaskCommentPage(UUID taskId, int page, int size);
+
+    /**
+     * Метод для получения доски задач команды.
+     *
+     * @param executorIds id исполнителей.
+     * @param statuses    статусы задач.
+     * @param limit       максимальное количество задач для пары исполнителя и статуса.
+     * @return {@link Flux} задач, упорядоченных по исполнителю, статусу, сроку выполнения и {@literal id}.
+     */
+    Flux<TaskReadEntity> getTeamBoard(Collection<UUID> executorIds, Collection<TaskStatus> statuses, int limit);
+
+}
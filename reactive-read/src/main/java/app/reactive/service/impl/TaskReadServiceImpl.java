@@ -0,0 +1,90 @@
+package app.reactive.service.impl;
+
+import app.dto.task.TaskSearchFilterDto;
+import app.entity.task.TaskStatus;
+import app.exception.NotFoundException;
+import app.exception.PermissionDeniedException;
+import app.reactive.entity.TaskCommentReadEntity;
+import app.reactive.entity.TaskReadEntity;
+import app.reactive.repository.TaskCriteria;
+import app.reactive.repository.TaskReadRepository;
+import app.reactive.service.TaskReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Класс бизнес-логики, реализующий методы {@link TaskReadService}.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskReadServiceImpl implements TaskReadService {
+
+    private final TaskReadRepository taskReadRepository;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskReadService#getTaskPage(TaskSearchFilterDto, Pageable)
+     */
+    @Override
+    public Flux<TaskReadEntity> getTaskPage(TaskSearchFilterDto filter, Pageable pageable) {
+        return taskReadRepository.findPage(TaskCriteria.filterBy(filter), pageable);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskReadService#getTaskById(UUID)
+     */
+    @Override
+    public Mono<TaskReadEntity> getTaskById(UUID taskId) throws NotFoundException {
+        return taskReadRepository
+                .findByIdAndDeletedAtIsNull(taskId)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Task", "id", taskId)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskReadService#getRelatedTask(UUID, UUID)
+     */
+    @Override
+    public Mono<TaskReadEntity> getRelatedTask(UUID taskId, UUID userId) throws NotFoundException, PermissionDeniedException {
+        return this
+                .getTaskById(taskId)
+                .flatMap(task -> userId.equals(task.getCreatorId()) || userId.equals(task.getExecutorId())
+                        ? Mono.just(task)
+                        : Mono.error(new PermissionDeniedException("User is not related to the task")));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskReadService#getTaskCommentPage(UUID, int, int)
+     */
+    @Override
+    public Flux<TaskCommentReadEntity> getTaskCommentPage(UUID taskId, int page, int size) {
+        return taskReadRepository.findCommentsByTaskId(taskId, size, (long) page * size);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskReadService#getTeamBoard(Collection, Collection, int)
+     */
+    @Override
+    public Flux<TaskReadEntity> getTeamBoard(Collection<UUID> executorIds, Collection<TaskStatus> statuses, int limit) {
+        if (executorIds.isEmpty() || statuses.isEmpty()) {
+            return Flux.empty();
+        }
+        String[] statusNames = statuses.stream().map(TaskStatus::name).toArray(String[]::new);
+        return taskReadRepository.findTeamBoard(executorIds.toArray(UUID[]::new), statusNames, limit);
+    }
+
+}
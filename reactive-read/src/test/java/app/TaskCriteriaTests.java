@@ -0,0 +1,207 @@
+package app;
+
+import app.dto.task.TaskSearchFilterDto;
+import app.entity.task.TaskEntity;
+import app.entity.task.TaskPriority;
+import app.entity.task.TaskStatus;
+import app.reactive.repository.TaskCriteria;
+import app.repository.task.TaskMatcher;
+import app.repository.task.TaskSpecification;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.relational.core.query.CriteriaDefinition;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверка того, что критерии R2DBC принимают те же задачи, что и {@link TaskMatcher} основного приложения.
+ * Критерии вычисляются для задач в памяти по правилам PostgreSQL: сравнение с {@literal NULL} ложно, LIKE
+ * учитывает регистр и экранирование символом {@code \}.
+ */
+public class TaskCriteriaTests {
+
+    private final UUID creatorId = UUID.randomUUID();
+    private final UUID otherCreatorId = UUID.randomUUID();
+    private final UUID executorId = UUID.randomUUID();
+    private final LocalDateTime now = LocalDateTime.of(2024, 1, 10, 12, 0);
+
+    private final List<TaskEntity> tasks = List.of(
+            this.task("Write report", TaskStatus.PENDING, TaskPriority.HIGH, creatorId, executorId, 0, 0, null),
+            this.task("50% done", TaskStatus.IN_PROGRESS, TaskPriority.MEDIUM, creatorId, null, 1, 2, now.minusHours(1)),
+            this.task("Review_code", TaskStatus.DONE, TaskPriority.LOW, otherCreatorId, executorId, 2, 5, now.minusDays(2)),
+            this.task("Reviewcode", TaskStatus.PENDING, TaskPriority.LOW, otherCreatorId, null, 3, 1, now));
+
+    @Test
+    void filterBy_whenEvaluatedForTasks_thenAcceptSameTasksAsTaskMatcher() {
+        for (TaskSearchFilterDto filter : this.filters()) {
+            CriteriaDefinition criteria = TaskCriteria.filterBy(filter);
+            TaskMatcher matcher = TaskSpecification.matcherFor(filter);
+            for (TaskEntity task : tasks) {
+                assertEquals(matcher.test(task), matches(criteria, row(task)), () -> filter + " " + task);
+            }
+        }
+    }
+
+    @Test
+    void filterBy_whenNameContainsLikeWildcards_thenMatchThemLiterally() {
+        TaskSearchFilterDto filter = TaskSearchFilterDto.builder().name("w_c").build();
+
+        CriteriaDefinition criteria = TaskCriteria.filterBy(filter);
+
+        assertTrue(matches(criteria, row(tasks.get(2))));
+        assertFalse(matches(criteria, row(tasks.get(3))));
+    }
+
+    private List<TaskSearchFilterDto> filters() {
+        return List.of(
+                new TaskSearchFilterDto(),
+                TaskSearchFilterDto.builder().id(tasks.get(1).getId()).build(),
+                TaskSearchFilterDto.builder().name("report").build(),
+                TaskSearchFilterDto.builder().name("Write report").build(),
+                TaskSearchFilterDto.builder().name("50%").build(),
+                TaskSearchFilterDto.builder().name("w_c").build(),
+                TaskSearchFilterDto.builder().name("REPORT").build(),
+                TaskSearchFilterDto.builder().name(" ").build(),
+                TaskSearchFilterDto.builder().description("Description of 50% done").build(),
+                TaskSearchFilterDto.builder().status("pending").build(),
+                TaskSearchFilterDto.builder().status("unknown").build(),
+                TaskSearchFilterDto.builder().statuses(List.of("in_progress", "DONE", "unknown")).build(),
+                TaskSearchFilterDto.builder().statuses(List.of("unknown")).build(),
+                TaskSearchFilterDto.builder().priority("High").build(),
+                TaskSearchFilterDto.builder().priorities(List.of("low", "medium")).build(),
+                TaskSearchFilterDto.builder().creatorId(creatorId).build(),
+                TaskSearchFilterDto.builder().creatorIds(Arrays.asList(otherCreatorId, null)).build(),
+                TaskSearchFilterDto.builder().executorId(executorId).build(),
+                TaskSearchFilterDto.builder().executorIds(List.of(executorId, UUID.randomUUID())).build(),
+                TaskSearchFilterDto.builder().createdAt(now.minusDays(1)).build(),
+                TaskSearchFilterDto.builder().createdAtAfter(now.minusDays(1)).build(),
+                TaskSearchFilterDto.builder().createdAtBefore(now.minusDays(2)).build(),
+                TaskSearchFilterDto.builder().expiresOn(now.plusDays(2)).build(),
+                TaskSearchFilterDto.builder().expiresOnAfter(now.plusDays(2)).build(),
+                TaskSearchFilterDto.builder().expiresOnBefore(now.plusDays(1)).build(),
+                TaskSearchFilterDto.builder().updatedAt(now.plusHours(1)).build(),
+                TaskSearchFilterDto.builder().updatedAtAfter(now.plusHours(2)).build(),
+                TaskSearchFilterDto.builder().updatedAtBefore(now.plusHours(2)).build(),
+                TaskSearchFilterDto.builder().commentCountMin(2).build(),
+                TaskSearchFilterDto.builder().commentCountMax(1).build(),
+                TaskSearchFilterDto.builder().lastCommentAtAfter(now.minusDays(1)).build(),
+                TaskSearchFilterDto.builder().lastCommentAtBefore(now.minusHours(1)).build(),
+                TaskSearchFilterDto
+                        .builder()
+                        .name("Review")
+                        .statuses(List.of("pending", "done"))
+                        .priority("low")
+                        .creatorId(otherCreatorId)
+                        .commentCountMin(1)
+                        .lastCommentAtBefore(now)
+                        .build());
+    }
+
+    /**
+     * Задача, даты которой смещены на {@code offset} дней назад от {@link #now}, а дата обновления задана
+     * только для нечетного {@code offset}.
+     */
+    private TaskEntity task(String name,
+                            TaskStatus status,
+                            TaskPriority priority,
+                            UUID creatorId,
+                            UUID executorId,
+                            int offset,
+                            int commentCount,
+                            LocalDateTime lastCommentAt) {
+        return TaskEntity
+                .builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .description("Description of " + name)
+                .status(status)
+                .priority(priority)
+                .creatorId(creatorId)
+                .executorId(executorId)
+                .createdAt(now.minusDays(offset))
+                .expiresOn(now.plusDays(offset))
+                .updatedAt(offset % 2 == 1 ? now.plusHours(offset) : null)
+                .commentCount(commentCount)
+                .lastCommentAt(lastCommentAt)
+                .version(0L)
+                .build();
+    }
+
+    /**
+     * Строка таблицы {@code tasks} в виде значений свойств, по которым строятся критерии.
+     */
+    private static Map<String, Object> row(TaskEntity task) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", task.getId());
+        row.put("name", task.getName());
+        row.put("description", task.getDescription());
+        row.put("status", task.getStatus().name());
+        row.put("priority", task.getPriority().name());
+        row.put("creatorId", task.getCreatorId());
+        row.put("executorId", task.getExecutorId());
+        row.put("createdAt", task.getCreatedAt());
+        row.put("expiresOn", task.getExpiresOn());
+        row.put("updatedAt", task.getUpdatedAt());
+        row.put("commentCount", task.getCommentCount());
+        row.put("lastCommentAt", task.getLastCommentAt());
+        return row;
+    }
+
+    private static boolean matches(CriteriaDefinition criteria, Map<String, Object> row) {
+        boolean matches = true;
+        for (CriteriaDefinition current = criteria; current != null; current = current.getPrevious()) {
+            assertNotEquals(CriteriaDefinition.Combinator.OR, current.getCombinator());
+            if (current.isGroup()) {
+                for (CriteriaDefinition part : current.getGroup()) {
+                    matches &= matches(part, row);
+                }
+            } else if (current.getColumn() != null) {
+                assertTrue(row.containsKey(current.getColumn().getReference()), current.getColumn().getReference());
+                matches &= test(current, row.get(current.getColumn().getReference()));
+            }
+        }
+        return matches;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static boolean test(CriteriaDefinition criteria, Object actual) {
+        if (actual == null) {
+            return false;
+        }
+        Object value = criteria.getValue();
+        return switch (criteria.getComparator()) {
+            case EQ -> actual.equals(value);
+            case GTE -> ((Comparable) actual).compareTo(value) >= 0;
+            case LTE -> ((Comparable) actual).compareTo(value) <= 0;
+            case IN -> ((Collection<?>) value).contains(actual);
+            case LIKE -> like((String) actual, (String) value);
+            default -> throw new AssertionError("Unexpected comparator " + criteria.getComparator());
+        };
+    }
+
+    private static boolean like(String value, String pattern) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\' && i + 1 < pattern.length()) {
+                regex.append(Pattern.quote(String.valueOf(pattern.charAt(++i))));
+            } else if (c == '%') {
+                regex.append(".*");
+            } else if (c == '_') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL).matcher(value).matches();
+    }
+
+}
@@ -0,0 +1,160 @@
+package app;
+
+import app.dto.task.TaskSearchFilterDto;
+import app.entity.task.TaskPriority;
+import app.entity.task.TaskStatus;
+import app.exception.NotFoundException;
+import app.exception.PermissionDeniedException;
+import app.reactive.entity.TaskReadEntity;
+import app.reactive.repository.TaskCriteria;
+import app.reactive.repository.TaskReadRepository;
+import app.reactive.service.impl.TaskReadServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.relational.core.query.Criteria;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskReadServiceTests {
+
+    @Mock
+    private TaskReadRepository taskReadRepository;
+
+    private TaskReadServiceImpl taskReadService;
+
+    private final UUID creatorId = UUID.randomUUID();
+    private final UUID executorId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        taskReadService = new TaskReadServiceImpl(taskReadRepository);
+    }
+
+    @Test
+    void getRelatedTask_whenUserIsExecutor_thenReturnTask() {
+        TaskReadEntity task = this.task();
+        when(taskReadRepository.findByIdAndDeletedAtIsNull(task.getId())).thenReturn(Mono.just(task));
+
+        StepVerifier.create(taskReadService.getRelatedTask(task.getId(), executorId))
+                .expectNext(task)
+                .verifyComplete();
+    }
+
+    @Test
+    void getRelatedTask_whenUserIsUnrelated_thenThrowPermissionDeniedException() {
+        TaskReadEntity task = this.task();
+        when(taskReadRepository.findByIdAndDeletedAtIsNull(task.getId())).thenReturn(Mono.just(task));
+
+        StepVerifier.create(taskReadService.getRelatedTask(task.getId(), UUID.randomUUID()))
+                .expectError(PermissionDeniedException.class)
+                .verify();
+    }
+
+    @Test
+    void getTaskById_whenTaskMissing_thenThrowNotFoundException() {
+        UUID taskId = UUID.randomUUID();
+        when(taskReadRepository.findByIdAndDeletedAtIsNull(taskId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskReadService.getTaskById(taskId))
+                .expectError(NotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void getTeamBoard_whenSeveralExecutors_thenBindArraysInDeclarationOrder() {
+        UUID otherExecutorId = UUID.randomUUID();
+        when(taskReadRepository.findTeamBoard(any(), any(), eq(5))).thenReturn(Flux.empty());
+
+        StepVerifier.create(taskReadService.getTeamBoard(
+                        List.of(executorId, otherExecutorId),
+                        EnumSet.of(TaskStatus.PENDING, TaskStatus.DONE),
+                        5))
+                .verifyComplete();
+
+        ArgumentCaptor<UUID[]> executorIds = ArgumentCaptor.forClass(UUID[].class);
+        ArgumentCaptor<String[]> statuses = ArgumentCaptor.forClass(String[].class);
+        verify(taskReadRepository).findTeamBoard(executorIds.capture(), statuses.capture(), eq(5));
+        assertArrayEquals(new UUID[]{executorId, otherExecutorId}, executorIds.getValue());
+        assertArrayEquals(new String[]{"PENDING", "DONE"}, statuses.getValue());
+    }
+
+    @Test
+    void getTeamBoard_whenNoExecutors_thenDoNotQuery() {
+        StepVerifier.create(taskReadService.getTeamBoard(Set.of(), EnumSet.allOf(TaskStatus.class), 5))
+                .verifyComplete();
+
+        verify(taskReadRepository, never()).findTeamBoard(any(), any(), anyInt());
+    }
+
+    @Test
+    void filterBy_whenValuesUnsetOrInvalid_thenProduceEmptyCriteria() {
+        TaskSearchFilterDto filter = TaskSearchFilterDto
+                .builder()
+                .name(" ")
+                .status("unknown")
+                .statuses(List.of("unknown"))
+                .priorities(List.of())
+                .build();
+
+        assertTrue(TaskCriteria.filterBy(null).isEmpty());
+        assertTrue(TaskCriteria.filterBy(filter).isEmpty());
+    }
+
+    @Test
+    void filterBy_whenValuesSet_thenProduceCriteriaForEachProperty() {
+        TaskSearchFilterDto filter = TaskSearchFilterDto
+                .builder()
+                .name("50%")
+                .status("pending")
+                .priorities(List.of("high", "unknown", "HIGH"))
+                .executorId(executorId)
+                .commentCountMin(1)
+                .build();
+
+        Criteria criteria = TaskCriteria.filterBy(filter);
+        String sql = criteria.toString();
+
+        assertFalse(criteria.isEmpty());
+        assertTrue(sql.contains("LIKE '%50\\%%'") && !sql.contains("= '50%'"), sql);
+        assertTrue(sql.contains("'PENDING'"), sql);
+        assertTrue(sql.contains("IN ('" + TaskPriority.HIGH.name() + "')"), sql);
+        assertTrue(sql.contains("'" + executorId + "'"), sql);
+        assertTrue(sql.contains(">= 1"), sql);
+    }
+
+    private TaskReadEntity task() {
+        return TaskReadEntity
+                .builder()
+                .id(UUID.randomUUID())
+                .name("Task")
+                .description("Task description")
+                .status(TaskStatus.PENDING)
+                .priority(TaskPriority.HIGH)
+                .creatorId(creatorId)
+                .executorId(executorId)
+                .createdAt(LocalDateTime.now())
+                .expiresOn(LocalDateTime.now().plusDays(1))
+                .build();
+    }
+
+}
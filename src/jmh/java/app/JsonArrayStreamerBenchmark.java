@@ -0,0 +1,131 @@
+package app;
+
+import app.controller.JsonArrayStreamer;
+import app.dto.task.TaskDto;
+import app.entity.task.TaskPriority;
+import app.entity.task.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Объем выделяемой памяти и размер ответа при записи страницы задач в виде JSON массива.
+ * <p>
+ * {@code buffered} - прежний способ: страница задач и список DTO формируются целиком, затем сериализуются в массив
+ * байт. {@code streamed} - {@link JsonArrayStreamer} с источником элементов: DTO создается и записывается
+ * по одному, как при чтении из потока БД. Тело ответа сжимается так же, как при {@code server.compression}.
+ * Для выделяемой памяти на операцию запуск с профилировщиком GC:
+ * {@code ./gradlew jmh -Pjmh.includes=JsonArrayStreamerBenchmark -Pjmh.profilers=gc}, показатель
+ * {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+public class JsonArrayStreamerBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private JsonArrayStreamer jsonArrayStreamer;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        jsonArrayStreamer = new JsonArrayStreamer(objectMapper);
+        CountingOutputStream outputStream = new CountingOutputStream();
+        this.writeStreamed(outputStream);
+        System.out.printf("%nrows=%d, gzip=%s: response body %d bytes%n", rows, gzip, outputStream.count);
+    }
+
+    @Benchmark
+    public long buffered() throws IOException {
+        List<TaskDto> tasks = new ArrayList<>(rows);
+        this.forEachTask(tasks::add);
+        byte[] body = objectMapper.writeValueAsBytes(tasks);
+        CountingOutputStream outputStream = new CountingOutputStream();
+        try (OutputStream target = this.wrap(outputStream)) {
+            target.write(body);
+        }
+        return outputStream.count;
+    }
+
+    @Benchmark
+    public long streamed() throws IOException {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        this.writeStreamed(outputStream);
+        return outputStream.count;
+    }
+
+    private void writeStreamed(CountingOutputStream outputStream) throws IOException {
+        try (OutputStream target = this.wrap(outputStream)) {
+            jsonArrayStreamer.toBody(this::forEachTask).writeTo(target);
+        }
+    }
+
+    private OutputStream wrap(OutputStream outputStream) throws IOException {
+        return gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+    }
+
+    /**
+     * Метод, создающий задачи страницы по одной, как при преобразовании строк результата запроса.
+     */
+    private void forEachTask(Consumer<TaskDto> action) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        UUID userId = UUID.randomUUID();
+        for (int i = 0; i < rows; i++) {
+            action.accept(TaskDto.builder()
+                    .id(UUID.randomUUID())
+                    .name("Task " + i)
+                    .description("Description of task " + i + " with some additional text to resemble real data")
+                    .status(TaskStatus.values()[i % TaskStatus.values().length])
+                    .priority(TaskPriority.values()[i % TaskPriority.values().length])
+                    .creatorId(userId)
+                    .executorId(i % 2 == 0 ? userId : null)
+                    .createdAt(now.minusHours(i))
+                    .expiresOn(now.plusDays(i % 30))
+                    .updatedAt(now.minusMinutes(i))
+                    .commentCount(i % 7)
+                    .lastCommentAt(i % 7 == 0 ? null : now.minusMinutes(i))
+                    .version((long) i % 5)
+                    .build());
+        }
+    }
+
+    /**
+     * Поток, отбрасывающий записанные байты и считающий их количество.
+     */
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+    }
+
+}
@@ -0,0 +1,85 @@
+package app;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Пропускная способность проверки подписи JWT для поддерживаемых алгоритмов.
+ * <p>
+ * Токен по составу полей совпадает с токеном доступа приложения, ключ проверки находится по kid так же,
+ * как в {@code JwtKeyRegistry}. Запуск: {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+public class JwtVerifyBenchmark {
+
+    @Param({"HS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    private JwtParser jwtParser;
+    private String jwt;
+
+    @Setup
+    public void setUp() {
+        Key signingKey;
+        Key verifyKey;
+        switch (algorithm) {
+            case "HS256" -> {
+                SecretKey secretKey = Jwts.SIG.HS256.key().build();
+                signingKey = secretKey;
+                verifyKey = secretKey;
+            }
+            case "ES256" -> {
+                KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+                signingKey = keyPair.getPrivate();
+                verifyKey = keyPair.getPublic();
+            }
+            case "EdDSA" -> {
+                KeyPair keyPair = Jwts.SIG.Ed25519.keyPair().build();
+                signingKey = keyPair.getPrivate();
+                verifyKey = keyPair.getPublic();
+            }
+            default -> throw new IllegalArgumentException(algorithm);
+        }
+        Map<String, Key> verifyKeys = Map.of(algorithm, verifyKey);
+        jwtParser = Jwts
+                .parser()
+                .keyLocator(new LocatorAdapter<>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return verifyKeys.get(header.getKeyId());
+                    }
+                })
+                .build();
+        jwt = Jwts
+                .builder()
+                .header().keyId(algorithm).and()
+                .id(UUID.randomUUID().toString())
+                .subject("username")
+                .claim("userId", UUID.randomUUID().toString())
+                .claim("type", "ACCESS")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    @Benchmark
+    public Object verify() {
+        return jwtParser.parseSignedClaims(jwt).getPayload();
+    }
+
+}
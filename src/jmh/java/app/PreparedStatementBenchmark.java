@@ -0,0 +1,195 @@
+package app;
+
+import app.dto.task.TaskSearchFilterDto;
+import app.entity.task.TaskEntity;
+import app.repository.task.TaskSpecification;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Время выполнения поиска задач для 20 наиболее частых наборов фильтров с подготовкой операторов на сервере
+ * PostgreSQL и без нее.
+ * <p>
+ * {@code prepareThreshold=0} отключает серверную подготовку операторов pgjdbc, каждый запрос планируется заново;
+ * {@code prepareThreshold=5} соответствует настройке приложения по умолчанию. Наборы фильтров выполняются по кругу
+ * на одном соединении, поэтому каждый из них попадает в кэш планов Hibernate и в кэш операторов pgjdbc.
+ * {@code generateStatistics} показывает накладные расходы сбора статистики Hibernate, выключенного в приложении
+ * по умолчанию; счетчики кэша планов выводятся только при включенной статистике.
+ * <p>
+ * Для запуска нужна БД со схемой из {@code data.sql}: {@code BENCHMARK_DB_URL=jdbc:postgresql://localhost:5432/tasks
+ * BENCHMARK_DB_USER=... BENCHMARK_DB_PASSWORD=... ./gradlew jmh -Pjmh.includes=PreparedStatementBenchmark}.
+ * Если в таблице задач меньше {@value #SEED_TASKS} строк, задачи создаются от имени пользователя {@literal benchmark}.
+ */
+@State(Scope.Benchmark)
+public class PreparedStatementBenchmark {
+
+    private static final int SEED_TASKS = 10_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"0", "5"})
+    public String prepareThreshold;
+
+    @Param({"false", "true"})
+    public String generateStatistics;
+
+    private List<TaskSearchFilterDto> filters;
+    private int next;
+
+    private StandardServiceRegistry serviceRegistry;
+    private SessionFactory sessionFactory;
+    private Session session;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serviceRegistry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.dialect", PostgreSQLDialect.class.getName())
+                .applySetting("hibernate.connection.url", getEnv("BENCHMARK_DB_URL"))
+                .applySetting("hibernate.connection.username", getEnv("BENCHMARK_DB_USER"))
+                .applySetting("hibernate.connection.password", getEnv("BENCHMARK_DB_PASSWORD"))
+                .applySetting("hibernate.connection.pool_size", "1")
+                .applySetting("hibernate.connection.prepareThreshold", prepareThreshold)
+                .applySetting("hibernate.connection.preparedStatementCacheQueries", "256")
+                .applySetting("hibernate.criteria.plan_cache_enabled", "true")
+                .applySetting("hibernate.query.plan_cache_max_size", "2048")
+                .applySetting("hibernate.generate_statistics", generateStatistics)
+                .build();
+        sessionFactory = new MetadataSources(serviceRegistry)
+                .addAnnotatedClass(TaskEntity.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        session = sessionFactory.openSession();
+        UUID userId = this.seed();
+        filters = commonFilters(userId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Statistics statistics = sessionFactory.getStatistics();
+        if (statistics.isStatisticsEnabled()) {
+            System.out.printf("%nprepareThreshold=%s: query plan cache hits=%d, misses=%d, statements prepared=%d%n",
+                    prepareThreshold,
+                    statistics.getQueryPlanCacheHitCount(),
+                    statistics.getQueryPlanCacheMissCount(),
+                    statistics.getPrepareStatementCount());
+        }
+        session.close();
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(serviceRegistry);
+    }
+
+    @Benchmark
+    public Object searchTasks() {
+        TaskSearchFilterDto filter = filters.get(next);
+        next = (next + 1) % filters.size();
+        Specification<TaskEntity> specification = TaskSpecification.filterBy(filter);
+        CriteriaBuilder cb = session.getCriteriaBuilder();
+        CriteriaQuery<TaskEntity> query = cb.createQuery(TaskEntity.class);
+        Root<TaskEntity> root = query.from(TaskEntity.class);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(cb.desc(root.get("createdAt")), cb.asc(root.get("id")));
+        List<TaskEntity> tasks = session.createQuery(query).setMaxResults(PAGE_SIZE).getResultList();
+        session.clear();
+        return tasks;
+    }
+
+    /**
+     * Метод, создающий пользователя {@literal benchmark} и недостающие задачи.
+     *
+     * @return id пользователя {@literal benchmark}.
+     */
+    private UUID seed() {
+        session.beginTransaction();
+        session.createNativeMutationQuery("""
+                        INSERT INTO users (username, password, name, email)
+                        VALUES ('benchmark', 'benchmark', 'Benchmark', 'benchmark@example.com')
+                        ON CONFLICT DO NOTHING""")
+                .executeUpdate();
+        UUID userId = session
+                .createNativeQuery("SELECT id FROM users WHERE username = 'benchmark'", UUID.class)
+                .getSingleResult();
+        long count = session.createNativeQuery("SELECT count(*) FROM tasks", Long.class).getSingleResult();
+        if (count < SEED_TASKS) {
+            session.createNativeMutationQuery("""
+                            INSERT INTO tasks (name, description, status, priority, creator_id, executor_id,
+                                               created_at, expires_on, comment_count)
+                            SELECT 'Benchmark task ' || gen_random_uuid(),
+                                   'Benchmark task description ' || n,
+                                   (ARRAY['PENDING', 'IN_PROGRESS', 'DONE'])[n % 3 + 1],
+                                   (ARRAY['HIGH', 'MEDIUM', 'LOW'])[n % 3 + 1],
+                                   :userId,
+                                   CASE WHEN n % 2 = 0 THEN CAST(:userId AS uuid) END,
+                                   localtimestamp - make_interval(hours => n % 2000),
+                                   localtimestamp + make_interval(hours => n % 500),
+                                   n % 7
+                            FROM generate_series(1, :rows) AS n""")
+                    .setParameter("userId", userId)
+                    .setParameter("rows", (int) (SEED_TASKS - count))
+                    .executeUpdate();
+        }
+        session.getTransaction().commit();
+        return userId;
+    }
+
+    /**
+     * Метод, возвращающий 20 наиболее частых наборов фильтров задач.
+     */
+    private static List<TaskSearchFilterDto> commonFilters(UUID userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return List.of(
+                new TaskSearchFilterDto(),
+                TaskSearchFilterDto.builder().status("pending").build(),
+                TaskSearchFilterDto.builder().status("in_progress").build(),
+                TaskSearchFilterDto.builder().priority("high").build(),
+                TaskSearchFilterDto.builder().executorId(userId).build(),
+                TaskSearchFilterDto.builder().creatorId(userId).build(),
+                TaskSearchFilterDto.builder().executorId(userId).status("in_progress").build(),
+                TaskSearchFilterDto.builder().creatorId(userId).status("pending").build(),
+                TaskSearchFilterDto.builder().status("pending").priority("high").build(),
+                TaskSearchFilterDto.builder().executorId(userId).priority("high").build(),
+                TaskSearchFilterDto.builder().name("task").build(),
+                TaskSearchFilterDto.builder().name("task").status("done").build(),
+                TaskSearchFilterDto.builder().expiresOnBefore(now.plusDays(1)).status("pending").build(),
+                TaskSearchFilterDto.builder().executorId(userId).expiresOnBefore(now.plusDays(7)).build(),
+                TaskSearchFilterDto.builder().createdAtAfter(now.minusDays(7)).build(),
+                TaskSearchFilterDto.builder().updatedAtAfter(now.minusDays(1)).build(),
+                TaskSearchFilterDto.builder().commentCountMin(1).build(),
+                TaskSearchFilterDto.builder().statuses(List.of("pending", "in_progress")).build(),
+                TaskSearchFilterDto.builder().executorIds(List.of(userId)).statuses(List.of("pending", "in_progress")).build(),
+                TaskSearchFilterDto.builder().priorities(List.of("high", "medium")).createdAtAfter(now.minusDays(30)).build());
+    }
+
+    private static String getEnv(String name) {
+        String value = System.getenv(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException("Environment variable " + name + " is not set");
+        }
+        return value;
+    }
+
+}
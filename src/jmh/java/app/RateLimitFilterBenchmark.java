@@ -0,0 +1,138 @@
+package app;
+
+import app.security.jwt.JwtService;
+import app.security.jwt.key.JwtKeyProperties;
+import app.security.jwt.key.JwtKeyRegistry;
+import app.security.ratelimit.RateLimitFilter;
+import app.security.ratelimit.RateLimitProperties;
+import app.security.ratelimit.RateLimiter;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Стоимость обработки запроса {@link RateLimitFilter} для клиента, отправляющего токены с неверной подписью,
+ * и для аутентифицированного пользователя.
+ * <p>
+ * {@code forgedTokenAddressLimited} - лимит IP адреса исчерпан, запрос отклоняется до проверки подписи.
+ * {@code forgedTokenVerifiedFirst} - прежний порядок: подпись проверяется до захвата токена из ведра, поэтому
+ * каждый отклоненный запрос оплачивает проверку. {@code validTokenAllowed} - полный путь разрешенного запроса:
+ * ведро IP адреса, проверка подписи и ведро пользователя. Токены подписываются HS256; стоимость проверки
+ * асимметричных подписей см. {@link JwtVerifyBenchmark}.
+ * Запуск: {@code ./gradlew jmh -Pjmh.includes=RateLimitFilterBenchmark}.
+ */
+@State(Scope.Benchmark)
+public class RateLimitFilterBenchmark {
+
+    private static final String PATH = "/api/v1/tasks";
+    private static final String ADDRESS = "10.0.0.1";
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final FilterChain filterChain = (request, response) -> {
+    };
+
+    private JwtService jwtService;
+    private RateLimitProperties.Policy exhaustedPolicy;
+    private RateLimiter exhaustedRateLimiter;
+    private RateLimitFilter exhaustedFilter;
+    private RateLimitFilter unlimitedFilter;
+
+    private String forgedToken;
+    private String validToken;
+
+    @Setup
+    public void setUp() {
+        SecretKey secretKey = Jwts.SIG.HS256.key().build();
+        jwtService = new JwtService(new JwtKeyRegistry(
+                new JwtKeyProperties(), Base64.getEncoder().encodeToString(secretKey.getEncoded())));
+        validToken = this.token(secretKey);
+        forgedToken = this.token(Jwts.SIG.HS256.key().build());
+
+        exhaustedPolicy = this.policy(1, Duration.ofDays(1));
+        exhaustedRateLimiter = this.rateLimiter(exhaustedPolicy);
+        exhaustedRateLimiter.tryAcquire(exhaustedPolicy, ADDRESS, Optional::empty);
+        exhaustedFilter = new RateLimitFilter((request, response, handler, exception) -> null, exhaustedRateLimiter, jwtService);
+        unlimitedFilter = new RateLimitFilter((request, response, handler, exception) -> null,
+                this.rateLimiter(this.policy(1_000_000_000L, Duration.ofSeconds(1))), jwtService);
+    }
+
+    @Benchmark
+    public MockHttpServletRequest forgedTokenAddressLimited() throws ServletException, IOException {
+        MockHttpServletRequest request = this.request(forgedToken);
+        exhaustedFilter.doFilter(request, response, filterChain);
+        return request;
+    }
+
+    @Benchmark
+    public long forgedTokenVerifiedFirst() {
+        MockHttpServletRequest request = this.request(forgedToken);
+        String clientKey;
+        try {
+            clientKey = "user:" + jwtService.extractClaimFromHttpServletRequestHeader("userId", request).orElseThrow();
+        } catch (RuntimeException exception) {
+            clientKey = "ip:" + request.getRemoteAddr();
+        }
+        return exhaustedRateLimiter.tryAcquire(exhaustedPolicy, clientKey);
+    }
+
+    @Benchmark
+    public MockHttpServletRequest validTokenAllowed() throws ServletException, IOException {
+        MockHttpServletRequest request = this.request(validToken);
+        unlimitedFilter.doFilter(request, response, filterChain);
+        return request;
+    }
+
+    private MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.setServletPath(PATH);
+        request.setRemoteAddr(ADDRESS);
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        return request;
+    }
+
+    private String token(SecretKey signingKey) {
+        return Jwts
+                .builder()
+                .id(UUID.randomUUID().toString())
+                .subject("username")
+                .claim("userId", UUID.randomUUID().toString())
+                .claim("type", "ACCESS")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    private RateLimitProperties.Policy policy(long capacity, Duration period) {
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+        policy.setName("task-list");
+        policy.setPath(PATH);
+        policy.setCapacity(capacity);
+        policy.setPeriod(period);
+        return policy;
+    }
+
+    private RateLimiter rateLimiter(RateLimitProperties.Policy policy) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setPolicies(List.of(policy));
+        return new RateLimiter(properties, new SimpleMeterRegistry());
+    }
+
+}
@@ -0,0 +1,142 @@
+package app;
+
+import app.dto.task.TaskSearchFilterDto;
+import app.entity.task.TaskEntity;
+import app.repository.task.TaskSpecification;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.spi.QueryOptions;
+import org.hibernate.query.spi.QueryParameterBindings;
+import org.hibernate.query.sqm.internal.DomainParameterXref;
+import org.hibernate.query.sqm.sql.SqmTranslation;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
+import org.hibernate.sql.ast.tree.select.SelectStatement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Стоимость построения фильтра задач, критериального запроса Hibernate и SQL запроса для разных наборов
+ * заданных полей.
+ * <p>
+ * {@code buildCriteriaQuery} измеряет построение дерева запроса (SQM), {@code renderSql} - дополнительно его
+ * преобразование в SQL AST и формирование текста SQL для диалекта PostgreSQL, то есть всю работу Hibernate
+ * до обращения к драйверу БД. Фабрика сессий создается без подключения к БД, поэтому выполнение SQL
+ * не измеряется. Текст SQL каждого набора полей выводится при запуске. Запуск: {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+public class TaskSpecificationBenchmark {
+
+    @Param({"EMPTY", "STATUS", "FULL"})
+    public String filter;
+
+    private TaskSearchFilterDto searchFilter;
+
+    private StandardServiceRegistry serviceRegistry;
+    private SessionFactory sessionFactory;
+    private Session session;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        searchFilter = switch (filter) {
+            case "EMPTY" -> new TaskSearchFilterDto();
+            case "STATUS" -> TaskSearchFilterDto.builder().status("done").build();
+            case "FULL" -> TaskSearchFilterDto
+                    .builder()
+                    .name("task")
+                    .status("in_progress")
+                    .priority("high")
+                    .executorId(UUID.randomUUID())
+                    .createdAtAfter(LocalDateTime.now().minusDays(30))
+                    .updatedAtBefore(LocalDateTime.now())
+                    .commentCountMin(1)
+                    .build();
+            default -> throw new IllegalArgumentException(filter);
+        };
+        serviceRegistry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.dialect", PostgreSQLDialect.class.getName())
+                .applySetting("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .applySetting("hibernate.criteria.plan_cache_enabled", "true")
+                .build();
+        sessionFactory = new MetadataSources(serviceRegistry)
+                .addAnnotatedClass(TaskEntity.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        session = sessionFactory.openSession();
+        System.out.printf("%n%s: %s%n", filter, this.renderSql());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        session.close();
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(serviceRegistry);
+    }
+
+    @Benchmark
+    public Object buildSpecification() {
+        return TaskSpecification.filterBy(searchFilter);
+    }
+
+    @Benchmark
+    public Object buildCriteriaQuery() {
+        return session.createQuery(this.criteriaQuery());
+    }
+
+    @Benchmark
+    public String renderSql() {
+        SqmSelectStatement<TaskEntity> sqm = (SqmSelectStatement<TaskEntity>) this.criteriaQuery();
+        SessionFactoryImplementor factory = sessionFactory.unwrap(SessionFactoryImplementor.class);
+        SqmTranslation<SelectStatement> translation = factory
+                .getQueryEngine()
+                .getSqmTranslatorFactory()
+                .createSelectTranslator(sqm,
+                        QueryOptions.NONE,
+                        DomainParameterXref.from(sqm),
+                        QueryParameterBindings.NO_PARAM_BINDINGS,
+                        new LoadQueryInfluencers(factory),
+                        factory,
+                        true)
+                .translate();
+        return factory
+                .getJdbcServices()
+                .getJdbcEnvironment()
+                .getSqlAstTranslatorFactory()
+                .buildSelectTranslator(factory, translation.getSqlAst())
+                .translate(null, QueryOptions.NONE)
+                .getSqlString();
+    }
+
+    private CriteriaQuery<TaskEntity> criteriaQuery() {
+        Specification<TaskEntity> specification = TaskSpecification.filterBy(searchFilter);
+        CriteriaBuilder cb = session.getCriteriaBuilder();
+        CriteriaQuery<TaskEntity> query = cb.createQuery(TaskEntity.class);
+        Root<TaskEntity> root = query.from(TaskEntity.class);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        return query;
+    }
+
+}
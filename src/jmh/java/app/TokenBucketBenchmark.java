@@ -0,0 +1,100 @@
+package app;
+
+import app.security.ratelimit.TokenBucket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+
+/**
+ * Пропускная способность захвата токенов {@link TokenBucket} при одновременном обращении потоков к одному ведру
+ * в сравнении с ведром, защищенным монитором.
+ * <p>
+ * {@code allowed} - ведро восполняется быстрее, чем потоки захватывают токены, каждая операция изменяет состояние
+ * ведра, потоки конкурируют за compare-and-set. {@code rejected} - ведро пусто, операция только читает состояние
+ * ведра, как при отклонении запросов клиента, превысившего лимит.
+ * Запуск: {@code ./gradlew jmh -Pjmh.includes=TokenBucketBenchmark}.
+ */
+@State(Scope.Benchmark)
+public class TokenBucketBenchmark {
+
+    private static final int THREADS = 8;
+
+    private TokenBucket allowedBucket;
+    private TokenBucket rejectedBucket;
+    private SynchronizedTokenBucket allowedSynchronizedBucket;
+    private SynchronizedTokenBucket rejectedSynchronizedBucket;
+
+    @Setup
+    public void setUp() {
+        long now = System.nanoTime();
+        allowedBucket = new TokenBucket(1_000_000_000L, Duration.ofSeconds(1), now);
+        rejectedBucket = new TokenBucket(1, Duration.ofDays(1), now);
+        rejectedBucket.tryAcquire(now);
+        allowedSynchronizedBucket = new SynchronizedTokenBucket(1_000_000_000L, Duration.ofSeconds(1), now);
+        rejectedSynchronizedBucket = new SynchronizedTokenBucket(1, Duration.ofDays(1), now);
+        rejectedSynchronizedBucket.tryAcquire(now);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long allowedSingleThread() {
+        return allowedBucket.tryAcquire(System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public long allowedContended() {
+        return allowedBucket.tryAcquire(System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public long allowedContendedSynchronized() {
+        return allowedSynchronizedBucket.tryAcquire(System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public long rejectedContended() {
+        return rejectedBucket.tryAcquire(System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public long rejectedContendedSynchronized() {
+        return rejectedSynchronizedBucket.tryAcquire(System.nanoTime());
+    }
+
+    /**
+     * Ведро токенов с тем же алгоритмом, состояние которого защищено монитором.
+     */
+    private static class SynchronizedTokenBucket {
+
+        private final long emissionIntervalNanos;
+        private final long burstNanos;
+
+        private long theoreticalArrivalTime;
+
+        SynchronizedTokenBucket(long capacity, Duration period, long nowNanos) {
+            this.emissionIntervalNanos = Math.max(1, period.toNanos() / capacity);
+            this.burstNanos = emissionIntervalNanos * capacity;
+            this.theoreticalArrivalTime = nowNanos;
+        }
+
+        synchronized long tryAcquire(long nowNanos) {
+            long next = (theoreticalArrivalTime - nowNanos > 0 ? theoreticalArrivalTime : nowNanos) + emissionIntervalNanos;
+            long waitNanos = next - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            theoreticalArrivalTime = next;
+            return 0;
+        }
+
+    }
+
+}
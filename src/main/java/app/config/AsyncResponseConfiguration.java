@@ -0,0 +1,45 @@
+package app.config;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Конфигурационный класс асинхронной обработки запросов.
+ * <p>
+ * {@link StreamingResponseBody} записываются в отдельном ограниченном пуле потоков вместо общего
+ * {@code applicationTaskExecutor}, очередь которого не ограничена. Если все потоки заняты медленными клиентами
+ * и очередь заполнена, запрос отклоняется с кодом 503.
+ */
+@Configuration
+public class AsyncResponseConfiguration implements WebMvcConfigurer {
+
+    private final ThreadPoolTaskExecutor asyncResponseTaskExecutor;
+
+    public AsyncResponseConfiguration(AsyncResponseProperties asyncResponseProperties) {
+        this.asyncResponseTaskExecutor = new ThreadPoolTaskExecutor();
+        asyncResponseTaskExecutor.setCorePoolSize(asyncResponseProperties.getThreads());
+        asyncResponseTaskExecutor.setMaxPoolSize(asyncResponseProperties.getThreads());
+        asyncResponseTaskExecutor.setQueueCapacity(asyncResponseProperties.getQueueCapacity());
+        asyncResponseTaskExecutor.setThreadNamePrefix("async-response-");
+        asyncResponseTaskExecutor.initialize();
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(asyncResponseTaskExecutor);
+    }
+
+    /**
+     * Пул не регистрируется как bean, чтобы не заменять {@code applicationTaskExecutor}, поэтому завершается
+     * вместе с конфигурацией.
+     */
+    @PreDestroy
+    public void shutdown() {
+        asyncResponseTaskExecutor.shutdown();
+    }
+
+}
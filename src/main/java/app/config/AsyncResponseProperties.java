@@ -0,0 +1,25 @@
+package app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Класс, описывающий настройки пула потоков, записывающих потоковые тела ответов.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.async-response")
+public class AsyncResponseProperties {
+
+    /**
+     * Количество потоков, записывающих тела ответов.
+     */
+    private int threads = 16;
+
+    /**
+     * Максимальное количество ответов, ожидающих свободного потока. При превышении запрос отклоняется.
+     */
+    private int queueCapacity = 200;
+
+}
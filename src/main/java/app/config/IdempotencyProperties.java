@@ -0,0 +1,44 @@
+package app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Класс, описывающий настройки обработки заголовка Idempotency-Key.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Время, в течение которого сохраненный ответ возвращается на повторные запросы с тем же ключом.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Максимальное количество ответов, хранящихся в памяти экземпляра приложения.
+     */
+    private int cacheSize = 10_000;
+
+    /**
+     * Максимальное время ожидания результата одновременно выполняющегося запроса с тем же ключом.
+     */
+    private Duration coalescingTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Время, в течение которого захваченный ключ не может быть захвачен повторно, пока запрос не завершен.
+     * По истечении этого времени ключ, оставшийся в состоянии выполнения после сбоя экземпляра или ошибки
+     * сохранения ответа, захватывается следующим запросом. Должно превышать время выполнения запроса.
+     */
+    private Duration lease = Duration.ofMinutes(2);
+
+    /**
+     * Интервал удаления ключей, срок действия которых истек.
+     */
+    private Duration cleanupInterval = Duration.ofHours(1);
+
+}
@@ -0,0 +1,74 @@
+package app.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Класс, публикующий метрики кэша планов запросов Hibernate и подготовки операторов JDBC.
+ * <p>
+ * Значения берутся из {@link Statistics} и доступны при {@literal hibernate.generate_statistics=true}:
+ * <ul>
+ *     <li>{@literal hibernate.query_plan_cache.requests} - обращения к кэшу планов запросов с тегом {@literal result}
+ *     ({@literal hit} или {@literal miss});</li>
+ *     <li>{@literal hibernate.query_plan_cache.hit_ratio} - доля попаданий в кэш планов запросов;</li>
+ *     <li>{@literal hibernate.statements.prepared} - количество подготовленных операторов JDBC.</li>
+ * </ul>
+ * Статистика по умолчанию выключена ({@literal HIBERNATE_STATISTICS_ENABLED=false}): при ее сборе каждая сессия
+ * обновляет общие счетчики и ведет статистику по каждому запросу и сущности, что добавляет накладные расходы
+ * к каждому запросу. Включается на время анализа кэша планов.
+ * <p>
+ * Попадания в кэш подготовленных операторов pgjdbc соответствуют разнице между числом выполненных запросов
+ * и числом подготовленных на сервере операторов и наблюдаются в {@literal pg_prepared_statements}.
+ */
+@Slf4j
+@Component
+public class QueryPlanCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public QueryPlanCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        if (!statistics.isStatisticsEnabled()) {
+            log.info("\nHibernate statistics are disabled, query plan cache metrics are not published");
+            return;
+        }
+        FunctionCounter.builder("hibernate.query_plan_cache.requests", statistics, Statistics::getQueryPlanCacheHitCount)
+                .tag("result", "hit")
+                .description("Query plan cache lookups")
+                .register(meterRegistry);
+        FunctionCounter.builder("hibernate.query_plan_cache.requests", statistics, Statistics::getQueryPlanCacheMissCount)
+                .tag("result", "miss")
+                .description("Query plan cache lookups")
+                .register(meterRegistry);
+        Gauge.builder("hibernate.query_plan_cache.hit_ratio", statistics, QueryPlanCacheMetrics::getHitRatio)
+                .description("Share of query plan cache lookups served from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("hibernate.statements.prepared", statistics, Statistics::getPrepareStatementCount)
+                .description("JDBC statements prepared by Hibernate")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Метод, вычисляющий долю попаданий в кэш планов запросов.
+     *
+     * @param statistics статистика Hibernate.
+     * @return доля попаданий от {@literal 0} до {@literal 1} или {@literal NaN}, если обращений к кэшу не было.
+     */
+    static double getHitRatio(Statistics statistics) {
+        long hits = statistics.getQueryPlanCacheHitCount();
+        long total = hits + statistics.getQueryPlanCacheMissCount();
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+
+}
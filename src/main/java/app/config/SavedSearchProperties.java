@@ -0,0 +1,34 @@
+package app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Класс, описывающий настройки кэширования результатов сохраненных поисков.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.saved-search")
+public class SavedSearchProperties {
+
+    /**
+     * Максимальное количество результатов сохраненных поисков, хранящихся в памяти экземпляра приложения.
+     */
+    private int cacheSize = 1_000;
+
+    /**
+     * Максимальное количество задач в кэшируемом результате. Результаты большего размера не кэшируются,
+     * страницы таких поисков запрашиваются из БД.
+     */
+    private int maxResults = 1_000;
+
+    /**
+     * Время хранения результата. Ограничивает устаревание результата при изменении задач на других
+     * экземплярах приложения, изменения на данном экземпляре сбрасывают результат сразу.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+}
@@ -0,0 +1,64 @@
+package app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Класс, описывающий настройки записи комментариев к задачам.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.task-comment-ingestion")
+public class TaskCommentIngestionProperties {
+
+    /**
+     * Режим записи комментариев.
+     */
+    private Durability durability = Durability.GROUP_COMMIT;
+
+    /**
+     * Максимальное количество комментариев, ожидающих записи. При превышении запрос отклоняется.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Максимальное количество комментариев, записываемых одной транзакцией.
+     */
+    private int maxBatchSize = 200;
+
+    /**
+     * Максимальное время ожидания следующих комментариев перед записью неполной группы.
+     */
+    private Duration maxBatchDelay = Duration.ofMillis(5);
+
+    /**
+     * Максимальное время ожидания свободного места в очереди.
+     */
+    private Duration offerTimeout = Duration.ofMillis(100);
+
+    /**
+     * Максимальное время ожидания записи комментария в БД.
+     */
+    private Duration ackTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Режим записи комментариев. В обоих режимах ответ отправляется после фиксации транзакции, содержащей комментарий.
+     */
+    public enum Durability {
+
+        /**
+         * Комментарий записывается отдельной транзакцией в потоке обработки запроса.
+         */
+        SYNC,
+
+        /**
+         * Комментарий помещается в очередь и записывается вместе с другими комментариями одной транзакцией
+         * в отдельном потоке. Поток обработки запроса не занимает соединение с БД на время ожидания.
+         */
+        GROUP_COMMIT
+    }
+
+}
@@ -1,10 +1,16 @@
 package app.config;
 
+import app.security.jwt.key.JwtKeyProperties;
+import app.security.password.BoundedPasswordEncoder;
+import app.security.password.PasswordEncoderProperties;
 import app.service.user.impl.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -13,9 +19,20 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
- * Конфигурационный класс приложения.
+ * Конфигурационный класс приложения. Включает выполнение всех задач по расписанию в приложении; размер пула
+ * потоков планировщика задается {@literal spring.task.scheduling.pool.size}.
  */
 @Configuration
+@EnableScheduling
+@EnableConfigurationProperties({
+        AsyncResponseProperties.class,
+        IdempotencyProperties.class,
+        PasswordEncoderProperties.class,
+        JwtKeyProperties.class,
+        SavedSearchProperties.class,
+        TaskCommentIngestionProperties.class,
+        TaskSyncProperties.class,
+        UserDeletionProperties.class})
 @RequiredArgsConstructor
 public class TaskManagementSystemConfiguration {
 
@@ -28,16 +45,26 @@ public class TaskManagementSystemConfiguration {
         return modelMapper;
     }
 
+    /**
+     * Хэширование паролей выполняется в ограниченном пуле потоков, см. {@link BoundedPasswordEncoder}.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(6);
+    public BoundedPasswordEncoder passwordEncoder(PasswordEncoderProperties passwordEncoderProperties, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(passwordEncoderProperties.getStrength()),
+                passwordEncoderProperties,
+                meterRegistry);
     }
 
+    /**
+     * Хэши паролей, вычисленные с устаревшей стоимостью, пересчитываются при успешном входе пользователя.
+     */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
         authenticationProvider.setUserDetailsService(userDetailsService);
-        authenticationProvider.setPasswordEncoder(this.passwordEncoder());
+        authenticationProvider.setUserDetailsPasswordService(userDetailsService);
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
         return authenticationProvider;
     }
 
@@ -0,0 +1,45 @@
+package app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Класс, описывающий настройки синхронизации изменений задач и комментариев и хранения удаленных записей.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.task-sync")
+public class TaskSyncProperties {
+
+    /**
+     * Срок хранения удаленных задач и комментариев. Клиент, позиция которого старше этого срока,
+     * должен заново загрузить данные полностью.
+     */
+    private Duration tombstoneRetention = Duration.ofDays(30);
+
+    /**
+     * Задержка, после которой изменения попадают в ответ синхронизации. Должна превышать максимальную длительность
+     * транзакции записи, иначе клиент может пропустить изменение, зафиксированное позже более новых.
+     */
+    private Duration settleDelay = Duration.ofSeconds(15);
+
+    /**
+     * Максимальное количество записей, удаляемых одной транзакцией при очистке.
+     */
+    private int compactionBatchSize = 1_000;
+
+    /**
+     * Максимальное количество транзакций за один запуск очистки. Вместе с {@link #compactionBatchSize}
+     * и {@link #compactionInterval} ограничивает нагрузку на БД.
+     */
+    private int compactionMaxBatchesPerRun = 20;
+
+    /**
+     * Интервал между запусками очистки удаленных записей.
+     */
+    private Duration compactionInterval = Duration.ofMinutes(1);
+
+}
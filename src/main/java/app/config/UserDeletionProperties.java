@@ -0,0 +1,38 @@
+package app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Класс, описывающий настройки фонового удаления данных пользователей.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.user-deletion")
+public class UserDeletionProperties {
+
+    /**
+     * Максимальное количество строк, изменяемых одной транзакцией.
+     */
+    private int batchSize = 1_000;
+
+    /**
+     * Максимальное количество транзакций за один запуск удаления. Вместе с {@link #batchSize} и {@link #reapInterval}
+     * ограничивает нагрузку на БД.
+     */
+    private int maxBatchesPerRun = 20;
+
+    /**
+     * Максимальное количество пользователей, данные которых обрабатываются за один запуск удаления.
+     */
+    private int maxUsersPerRun = 10;
+
+    /**
+     * Интервал между запусками удаления.
+     */
+    private Duration reapInterval = Duration.ofSeconds(1);
+
+}
@@ -0,0 +1,11 @@
+package app.config.datasource;
+
+/**
+ * Класс, определяющий допустимые типы источников данных.
+ */
+public enum DataSourceType {
+
+    PRIMARY,
+    REPLICA
+
+}
@@ -0,0 +1,35 @@
+package app.config.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Источник данных, направляющий транзакции только на чтение в реплику, а все остальные запросы - в основную БД.
+ * Чтение выполняется из основной БД, если реплика недоступна или клиент недавно изменял данные.
+ */
+@RequiredArgsConstructor
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaHealthMonitor replicaHealthMonitor;
+
+    /**
+     * Метод для определения источника данных для текущего потока.
+     *
+     * @return {@link DataSourceType} источника данных.
+     */
+    public DataSourceType resolveDataSourceType() {
+        boolean isReadOnly = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (isReadOnly && !ReadYourWritesContext.isPrimaryRequired() && replicaHealthMonitor.isHealthy()) {
+            return DataSourceType.REPLICA;
+        }
+        return DataSourceType.PRIMARY;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return this.resolveDataSourceType();
+    }
+
+}
@@ -0,0 +1,35 @@
+package app.config.datasource;
+
+/**
+ * Класс, хранящий для текущего потока признак обязательного чтения из основной БД. Признак устанавливается на время
+ * обработки запроса, если клиент недавно изменял данные и реплика может еще не содержать этих изменений.
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = ThreadLocal.withInitial(() -> false);
+
+    private ReadYourWritesContext() {
+    }
+
+    /**
+     * @return {@literal true} - если чтение должно выполняться из основной БД, в противном случае - {@literal false}.
+     */
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get();
+    }
+
+    /**
+     * Метод, требующий выполнять чтение из основной БД до вызова {@link #clear()}.
+     */
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(true);
+    }
+
+    /**
+     * Метод для сброса признака для текущего потока.
+     */
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+}
@@ -0,0 +1,76 @@
+package app.config.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Фильтр, обеспечивающий чтение клиентом собственных изменений. После запроса на изменение данных клиенту
+ * устанавливается cookie со временем окончания привязки к основной БД, и до этого времени все его запросы
+ * на чтение выполняются из основной БД.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final ReplicaDataSourceProperties properties;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean isWriteRequest = !SAFE_METHODS.contains(request.getMethod());
+        if (isWriteRequest) {
+            long primaryUntil = now + properties.getStickiness().toMillis();
+            Cookie cookie = new Cookie(properties.getStickinessCookieName(), Long.toString(primaryUntil));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(properties.getStickiness().toSeconds(), 1));
+            response.addCookie(cookie);
+        }
+        if (isWriteRequest || this.getPrimaryUntil(request) > now) {
+            ReadYourWritesContext.requirePrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+    }
+
+    /**
+     * Метод для получения времени окончания привязки клиента к основной БД.
+     *
+     * @param request информация о HTTP запросе.
+     * @return время в миллисекундах или {@literal 0}, если cookie отсутствует или некорректен.
+     */
+    private long getPrimaryUntil(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        return Arrays
+                .stream(request.getCookies())
+                .filter(cookie -> properties.getStickinessCookieName().equals(cookie.getName()))
+                .findFirst()
+                .map(cookie -> {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException exception) {
+                        return 0L;
+                    }
+                })
+                .orElse(0L);
+    }
+
+}
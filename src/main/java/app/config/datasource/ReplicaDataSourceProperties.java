@@ -0,0 +1,57 @@
+package app.config.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Класс, описывающий настройки подключения к реплике базы данных.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    /**
+     * Признак использования реплики для транзакций только на чтение.
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC URL реплики.
+     */
+    private String url;
+
+    /**
+     * Имя пользователя для подключения к реплике.
+     */
+    private String username;
+
+    /**
+     * Пароль для подключения к реплике.
+     */
+    private String password;
+
+    /**
+     * Время после запроса на изменение данных, в течение которого запросы клиента на чтение направляются в основную БД.
+     */
+    private Duration stickiness = Duration.ofSeconds(5);
+
+    /**
+     * Максимально допустимое отставание реплики, при превышении которого чтение выполняется из основной БД.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * Интервал проверки состояния реплики.
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Имя cookie, в котором хранится время окончания привязки клиента к основной БД.
+     */
+    private String stickinessCookieName = "primary-until";
+
+}
@@ -0,0 +1,72 @@
+package app.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+/**
+ * Класс, периодически проверяющий доступность реплики и ее отставание от основной БД.
+ * Пока реплика недоступна или отстает больше допустимого, чтение выполняется из основной БД.
+ */
+@Slf4j
+public class ReplicaHealthMonitor {
+
+    /**
+     * Запрос, возвращающий отставание реплики в миллисекундах. Для БД, не находящейся в режиме восстановления,
+     * и для реплики, применившей весь полученный WAL, отставание считается нулевым: время последней примененной
+     * транзакции растет, пока на основной БД нет записи, и не отражает отставание.
+     */
+    private static final String REPLICATION_LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery()
+                           THEN 0
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn()
+                           THEN 0
+                       ELSE coalesce(extract(epoch FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+
+    private final Duration maxLag;
+
+    private volatile boolean healthy = false;
+
+    public ReplicaHealthMonitor(JdbcTemplate replicaJdbcTemplate, Duration maxLag) {
+        this.replicaJdbcTemplate = replicaJdbcTemplate;
+        this.maxLag = maxLag;
+    }
+
+    /**
+     * @return {@literal true} - если реплика доступна и ее отставание допустимо, в противном случае - {@literal false}.
+     */
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * Метод, выполняющий проверку состояния реплики.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.health-check-interval:5s}")
+    public void checkHealth() {
+        boolean wasHealthy = healthy;
+        try {
+            Double lagMs = replicaJdbcTemplate.queryForObject(REPLICATION_LAG_QUERY, Double.class);
+            healthy = lagMs != null && lagMs <= maxLag.toMillis();
+            if (!healthy && wasHealthy) {
+                log.warn("\nReplica lag {} ms exceeds {} ms, reads are routed to primary", lagMs, maxLag.toMillis());
+            }
+        } catch (RuntimeException exception) {
+            healthy = false;
+            if (wasHealthy) {
+                log.warn("\nReplica is unavailable, reads are routed to primary: {}", exception.getMessage());
+            }
+        }
+        if (healthy && !wasHealthy) {
+            log.info("\nReplica is available, read-only transactions are routed to replica");
+        }
+    }
+
+}
@@ -5,6 +5,9 @@ import app.exception.*;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -69,6 +72,141 @@ public class ControllerExceptionHandler {
         return new ResponseEntity<>(apiError, status);
     }
 
+    /**
+     * Метод для формироваиня отчета об ошибке в виде объекта класса {@link ApiError}.
+     *
+     * @param httpServletRequest информация о запросе.
+     * @param exception          исключение, вознишее в ходе обработки запроса.
+     * @return {@link ResponseEntity} с телом {@link ApiError}.
+     */
+    @ExceptionHandler({OptimisticLockingFailureException.class})
+    public ResponseEntity<ApiError> optimisticLockingFailureHandler(HttpServletRequest httpServletRequest,
+                                                                    OptimisticLockingFailureException exception) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        ApiError apiError = ApiError
+                .builder()
+                .status(status.value())
+                .error(exception.getClass().getSimpleName())
+                .message("Object has been modified by another request")
+                .path(httpServletRequest.getServletPath())
+                .build();
+        return new ResponseEntity<>(apiError, status);
+    }
+
+    /**
+     * Метод для формироваиня отчета об ошибке в виде объекта класса {@link ApiError}.
+     *
+     * @param httpServletRequest информация о запросе.
+     * @param exception          исключение, вознишее в ходе обработки запроса.
+     * @return {@link ResponseEntity} с телом {@link ApiError}.
+     */
+    @ExceptionHandler({PreconditionFailedException.class})
+    public ResponseEntity<ApiError> preconditionFailedHandler(HttpServletRequest httpServletRequest,
+                                                              PreconditionFailedException exception) {
+        HttpStatus status = HttpStatus.PRECONDITION_FAILED;
+        ApiError apiError = ApiError
+                .builder()
+                .status(status.value())
+                .error(exception.getClass().getSimpleName())
+                .message(exception.getMessage())
+                .path(httpServletRequest.getServletPath())
+                .build();
+        return new ResponseEntity<>(apiError, status);
+    }
+
+    /**
+     * Метод для формироваиня отчета об ошибке в виде объекта класса {@link ApiError}.
+     *
+     * @param httpServletRequest информация о запросе.
+     * @param exception          исключение, вознишее в ходе обработки запроса.
+     * @return {@link ResponseEntity} с телом {@link ApiError}.
+     */
+    @ExceptionHandler({IdempotencyKeyConflictException.class})
+    public ResponseEntity<ApiError> idempotencyKeyConflictHandler(HttpServletRequest httpServletRequest,
+                                                                  IdempotencyKeyConflictException exception) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        ApiError apiError = ApiError
+                .builder()
+                .status(status.value())
+                .error(exception.getClass().getSimpleName())
+                .message(exception.getMessage())
+                .path(httpServletRequest.getServletPath())
+                .build();
+        return new ResponseEntity<>(apiError, status);
+    }
+
+    /**
+     * Метод для формироваиня отчета об ошибке в виде объекта класса {@link ApiError}.
+     *
+     * @param httpServletRequest информация о запросе.
+     * @param exception          исключение, вознишее в ходе обработки запроса.
+     * @return {@link ResponseEntity} с телом {@link ApiError} и заголовком Retry-After.
+     */
+    @ExceptionHandler({TooManyRequestsException.class})
+    public ResponseEntity<ApiError> tooManyRequestsHandler(HttpServletRequest httpServletRequest,
+                                                           TooManyRequestsException exception) {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        ApiError apiError = ApiError
+                .builder()
+                .status(status.value())
+                .error(exception.getClass().getSimpleName())
+                .message(exception.getMessage())
+                .path(httpServletRequest.getServletPath())
+                .build();
+        return ResponseEntity
+                .status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(apiError);
+    }
+
+    /**
+     * Метод для формироваиня отчета об ошибке в виде объекта класса {@link ApiError}.
+     *
+     * @param httpServletRequest информация о запросе.
+     * @param exception          исключение, вознишее в ходе обработки запроса.
+     * @return {@link ResponseEntity} с телом {@link ApiError}.
+     */
+    @ExceptionHandler({ServiceOverloadedException.class})
+    public ResponseEntity<ApiError> serviceOverloadedHandler(HttpServletRequest httpServletRequest,
+                                                             ServiceOverloadedException exception) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        ApiError apiError = ApiError
+                .builder()
+                .status(status.value())
+                .error(exception.getClass().getSimpleName())
+                .message(exception.getMessage())
+                .path(httpServletRequest.getServletPath())
+                .build();
+        return ResponseEntity
+                .status(status)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(apiError);
+    }
+
+    /**
+     * Метод для формироваиня отчета об ошибке в виде объекта класса {@link ApiError}.
+     *
+     * @param httpServletRequest информация о запросе.
+     * @param exception          исключение, вознишее в ходе обработки запроса.
+     * @return {@link ResponseEntity} с телом {@link ApiError}.
+     */
+    @ExceptionHandler({TaskRejectedException.class})
+    public ResponseEntity<ApiError> taskRejectedHandler(HttpServletRequest httpServletRequest,
+                                                        TaskRejectedException exception) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        ApiError apiError = ApiError
+                .builder()
+                .status(status.value())
+                .error(exception.getClass().getSimpleName())
+                .message("Too many responses are being written, try again later")
+                .path(httpServletRequest.getServletPath())
+                .build();
+        return ResponseEntity
+                .status(status)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(apiError);
+    }
+
     /**
      * Метод для формироваиня отчета об ошибке в виде объекта класса {@link ApiError}.
      *
@@ -178,6 +316,27 @@ public class ControllerExceptionHandler {
         return new ResponseEntity<>(apiError, status);
     }
 
+    /**
+     * Метод для формироваиня отчета об ошибке в виде объекта класса {@link ApiError}.
+     *
+     * @param httpServletRequest информация о запросе.
+     * @param exception          исключение, вознишее в ходе обработки запроса.
+     * @return {@link ResponseEntity} с телом {@link ApiError}.
+     */
+    @ExceptionHandler({RevokedTokenException.class})
+    public ResponseEntity<ApiError> revokedTokenHandler(HttpServletRequest httpServletRequest,
+                                                        RevokedTokenException exception) {
+        HttpStatus status = HttpStatus.FORBIDDEN;
+        ApiError apiError = ApiError
+                .builder()
+                .status(status.value())
+                .error(exception.getClass().getSimpleName())
+                .message(exception.getMessage())
+                .path(httpServletRequest.getServletPath())
+                .build();
+        return new ResponseEntity<>(apiError, status);
+    }
+
     /**
      * Метод для формироваиня отчета об ошибке в виде объекта класса {@link ApiError}.
      *
@@ -289,6 +448,48 @@ public class ControllerExceptionHandler {
         return new ResponseEntity<>(apiError, status);
     }
 
+    /**
+     * Метод для формироваиня отчета об ошибке в виде объекта класса {@link ApiError}.
+     *
+     * @param httpServletRequest информация о запросе.
+     * @param exception          исключение, вознишее в ходе обработки запроса.
+     * @return {@link ResponseEntity} с телом {@link ApiError}.
+     */
+    @ExceptionHandler({InvalidCursorException.class})
+    public ResponseEntity<ApiError> invalidCursorHandler(HttpServletRequest httpServletRequest,
+                                                         InvalidCursorException exception) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        ApiError apiError = ApiError
+                .builder()
+                .status(status.value())
+                .error(exception.getClass().getSimpleName())
+                .message(exception.getMessage())
+                .path(httpServletRequest.getServletPath())
+                .build();
+        return new ResponseEntity<>(apiError, status);
+    }
+
+    /**
+     * Метод для формироваиня отчета об ошибке в виде объекта класса {@link ApiError}.
+     *
+     * @param httpServletRequest информация о запросе.
+     * @param exception          исключение, вознишее в ходе обработки запроса.
+     * @return {@link ResponseEntity} с телом {@link ApiError}.
+     */
+    @ExceptionHandler({SyncCursorExpiredException.class})
+    public ResponseEntity<ApiError> syncCursorExpiredHandler(HttpServletRequest httpServletRequest,
+                                                             SyncCursorExpiredException exception) {
+        HttpStatus status = HttpStatus.GONE;
+        ApiError apiError = ApiError
+                .builder()
+                .status(status.value())
+                .error(exception.getClass().getSimpleName())
+                .message(exception.getMessage())
+                .path(httpServletRequest.getServletPath())
+                .build();
+        return new ResponseEntity<>(apiError, status);
+    }
+
     /**
      * Метод для формироваиня отчета об ошибке в виде объекта класса {@link ApiError}.
      *
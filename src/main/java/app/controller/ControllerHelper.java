@@ -5,22 +5,35 @@ import app.dto.task.DeleteTaskRequest;
 import app.dto.task.UpdateTaskRequest;
 import app.dto.user.DeleteUserRequest;
 import app.dto.user.UpdateUserRequest;
+import app.dto.validator.ResourceValidator;
 import app.entity.task.TaskPriority;
 import app.entity.task.TaskStatus;
+import app.entity.user.UserEntity;
 import app.exception.AuthorizationHeaderNotPresentException;
 import app.exception.InvalidValueException;
 import app.exception.NotFoundException;
 import app.exception.PermissionDeniedException;
+import app.exception.PreconditionFailedException;
+import app.repository.task.TaskEnumLookup;
+import app.repository.task.TaskSortField;
 import app.security.jwt.JwtService;
 import app.service.task.impl.TaskServiceImpl;
 import app.service.user.impl.UserServiceImpl;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -89,17 +102,34 @@ public class ControllerHelper {
      * @throws PermissionDeniedException если у пользователя недостаточно прав для выполнения запроса.
      */
     public void checkRequest(UUID taskId, HttpServletRequest httpServletRequest) throws PermissionDeniedException {
-        if (taskService.getIsTaskExistsById(taskId)) {
-            UUID currentUserId = this.getUserIdFromHttpServletRequest(httpServletRequest);
-            boolean isUserTaskCreator = taskService.getIsTaskExistsByIdAndCreatorId(taskId, currentUserId);
-            boolean isUserTaskExecutor = taskService.getIsTaskExistsByIdAndExecutorId(taskId, currentUserId);
-            if (!isUserTaskCreator && !isUserTaskExecutor) {
-                throw new PermissionDeniedException("User is not related to the task");
+        this.checkRequest(List.of(taskId), httpServletRequest);
+    }
+
+    /**
+     * Метод для проверки запроса к нескольким задачам. Проверка выполняется для всего набора задач одним запросом к БД,
+     * причины отказа уточняются только в случае, если пользователь связан не со всеми задачами.
+     *
+     * @param taskIds            набор id задач.
+     * @param httpServletRequest информация о HTTP запросе.
+     * @throws NotFoundException         если задача с одним из указанных id не существует.
+     * @throws PermissionDeniedException если у пользователя недостаточно прав для выполнения запроса.
+     */
+    public void checkRequest(Collection<UUID> taskIds, HttpServletRequest httpServletRequest) throws PermissionDeniedException {
+        UUID currentUserId = this.getUserIdFromHttpServletRequest(httpServletRequest);
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        Set<UUID> relatedTaskIds = taskService.getRelatedTaskIds(taskIds, currentUserId);
+        if (relatedTaskIds.containsAll(taskIds)) {
+            return;
+        }
+        Set<UUID> existingTaskIds = taskService.getExistingTaskIds(taskIds);
+        for (UUID taskId : taskIds) {
+            if (!existingTaskIds.contains(taskId)) {
+                throw new NotFoundException("Task", "id", taskId);
             }
-        } else {
-            throw new NotFoundException("Task", "id", taskId);
         }
-
+        throw new PermissionDeniedException("User is not related to the task");
     }
 
     /**
@@ -155,6 +185,93 @@ public class ControllerHelper {
         }
     }
 
+    /**
+     * Метод для получения версии объекта из значения заголовка If-Match. If-Match сравнивается только со строгими
+     * ETag, поэтому слабый ETag (с префиксом {@literal W/}) не совпадает ни с одной версией.
+     * <p>
+     * ETag задачи имеет вид {@literal version-commentCount-lastCommentAt}, см.
+     * {@link ResourceValidator#ofTask(long, int, LocalDateTime)}. Обновление задачи не изменяет ее комментарии,
+     * поэтому условие обновления проверяется по версии - первой части ETag.
+     *
+     * @param ifMatch значение заголовка If-Match.
+     * @return версия объекта или {@literal null}, если заголовок отсутствует или равен {@literal *}.
+     * @throws PreconditionFailedException если значение заголовка не является строгим ETag версии объекта.
+     */
+    public Long getVersionFromIfMatch(String ifMatch) throws PreconditionFailedException {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.startsWith("W/")) {
+            throw new PreconditionFailedException(String.format("Weak ETag %s cannot be used in If-Match", ifMatch));
+        }
+        eTag = eTag.replace("\"", "");
+        int separatorIndex = eTag.indexOf('-');
+        try {
+            return Long.parseLong(separatorIndex < 0 ? eTag : eTag.substring(0, separatorIndex));
+        } catch (NumberFormatException exception) {
+            throw new PreconditionFailedException(String.format("\"%s\" does not match the current version", ifMatch));
+        }
+    }
+
+    /**
+     * Метод для проверки параметров сортировки задач и получения соответствующего объекта {@link Sort}.
+     *
+     * @param sortBy    имя поля сортировки, одно из {@link TaskSortField}.
+     * @param direction направление сортировки, {@literal asc} или {@literal desc}.
+     * @return объект {@link Sort} с сортировкой по указанному полю и {@literal id}.
+     * @throws InvalidValueException если значения не соответствуют допустимым.
+     */
+    public Sort getTaskSort(String sortBy, String direction) throws InvalidValueException {
+        TaskSortField sortField = TaskSortField.fromFieldName(sortBy);
+        Sort.Direction sortDirection = Sort.Direction
+                .fromOptionalString(direction)
+                .orElseThrow(() -> new InvalidValueException(
+                        direction,
+                        Arrays.stream(Sort.Direction.values()).map(value -> value.toString().toLowerCase())
+                                .collect(Collectors.joining(", "))));
+        return sortField.toSort(sortDirection);
+    }
+
+    /**
+     * Метод для проверки номера страницы.
+     *
+     * @param page номер страницы.
+     * @throws InvalidValueException если номер страницы меньше 0.
+     */
+    public void checkPageNumber(int page) throws InvalidValueException {
+        if (page < 0) {
+            throw new InvalidValueException(String.valueOf(page), "from 0");
+        }
+    }
+
+    /**
+     * Метод для проверки количества элементов на странице.
+     *
+     * @param size    количество элементов.
+     * @param maxSize максимально допустимое количество элементов.
+     * @throws InvalidValueException если количество элементов меньше 1 или больше {@literal maxSize}.
+     */
+    public void checkPageSize(int size, int maxSize) throws InvalidValueException {
+        if (size < 1 || size > maxSize) {
+            throw new InvalidValueException(String.valueOf(size), "from 1 to " + maxSize);
+        }
+    }
+
+    /**
+     * Метод для проверки списка статусов задач без учета регистра.
+     *
+     * @param statuses список статусов. Может быть {@literal null}.
+     * @return {@link Set} статусов в порядке объявления или все статусы, если список не задан или пуст.
+     * @throws InvalidValueException если один из статусов не соответствует допустимым.
+     */
+    public Set<TaskStatus> getTaskStatuses(Collection<String> statuses) throws InvalidValueException {
+        if (statuses == null || statuses.isEmpty()) {
+            return EnumSet.allOf(TaskStatus.class);
+        }
+        return TaskEnumLookup.getStatuses(statuses);
+    }
+
     /**
      * Метод для проверки на соответствие строковых значений запроса объектам типа {@link Enum}.
      * Приводит строковые значения в запросе к верхнему регистру.
@@ -232,4 +349,18 @@ public class ControllerHelper {
         }
     }
 
+    /**
+     * Метод для получения текущего пользователя, загруженного при аутентификации запроса.
+     *
+     * @return {@link UserEntity} текущего пользователя.
+     * @throws AuthorizationHeaderNotPresentException если запрос не аутентифицирован.
+     */
+    public UserEntity getCurrentUser() throws AuthorizationHeaderNotPresentException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserEntity user) {
+            return user;
+        }
+        throw new AuthorizationHeaderNotPresentException();
+    }
+
 }
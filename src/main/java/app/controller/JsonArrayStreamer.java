@@ -0,0 +1,115 @@
+package app.controller;
+
+import app.config.datasource.ReadYourWritesContext;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Класс для потоковой записи списков в тело ответа в виде JSON массива.
+ * <p>
+ * Элементы сериализуются по одному через {@link JsonGenerator}, поэтому сериализованный ответ целиком в памяти
+ * не формируется. Тело записывается в пуле потоков асинхронной обработки запросов, пока клиент читает ответ,
+ * поэтому список элементов загружается из БД до формирования ответа: соединение с БД и транзакция на время записи
+ * не удерживаются.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonArrayStreamer {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Метод для формирования ответа, тело которого записывается потоково в виде JSON массива.
+     *
+     * @param source источник, список элементов.
+     * @param mapper функция преобразования элемента источника в объект ответа.
+     * @param <S>    тип элементов источника.
+     * @param <T>    тип объектов ответа.
+     * @return {@link ResponseEntity} с потоковым телом.
+     */
+    public <S, T> ResponseEntity<StreamingResponseBody> stream(List<S> source, Function<S, T> mapper) {
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(this.toBody(source, mapper));
+    }
+
+    /**
+     * Метод для формирования потокового тела ответа.
+     *
+     * @param source источник, список элементов.
+     * @param mapper функция преобразования элемента источника в объект ответа.
+     * @param <S>    тип элементов источника.
+     * @param <T>    тип объектов ответа.
+     * @return {@link StreamingResponseBody}, записывающий JSON массив.
+     */
+    public <S, T> StreamingResponseBody toBody(List<S> source, Function<S, T> mapper) {
+        return this.<T>toBody(action -> source.forEach(item -> action.accept(mapper.apply(item))));
+    }
+
+    /**
+     * Метод для формирования потокового тела ответа. Тело записывается в отдельном потоке, поэтому признак чтения
+     * из основной БД ({@link ReadYourWritesContext}) переносится в него из потока обработки запроса.
+     *
+     * @param source источник элементов.
+     * @param <T>    тип объектов ответа.
+     * @return {@link StreamingResponseBody}, записывающий JSON массив.
+     */
+    public <T> StreamingResponseBody toBody(ElementSource<T> source) {
+        boolean primaryRequired = ReadYourWritesContext.isPrimaryRequired();
+        return outputStream -> {
+            if (primaryRequired) {
+                ReadYourWritesContext.requirePrimary();
+            }
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                generator.writeStartArray();
+                source.forEach(item -> this.write(generator, item));
+                generator.writeEndArray();
+            } catch (UncheckedIOException exception) {
+                throw exception.getCause();
+            } finally {
+                if (primaryRequired) {
+                    ReadYourWritesContext.clear();
+                }
+            }
+        };
+    }
+
+    private void write(JsonGenerator generator, Object item) {
+        try {
+            generator.writeObject(item);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Источник элементов ответа, передающий их по одному.
+     *
+     * @param <T> тип объектов ответа.
+     */
+    @FunctionalInterface
+    public interface ElementSource<T> {
+
+        /**
+         * Метод, выполняющий действие для каждого элемента источника.
+         *
+         * @param action действие, выполняемое для элемента.
+         */
+        void forEach(Consumer<T> action);
+
+    }
+
+}
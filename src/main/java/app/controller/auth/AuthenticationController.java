@@ -2,11 +2,15 @@ package app.controller.auth;
 
 import app.dto.auth.AuthenticationRequest;
 import app.dto.auth.AuthenticationResponse;
+import app.dto.auth.RefreshTokenRequest;
 import app.dto.auth.RegistrationRequest;
 import app.dto.auth.RegistrationResponse;
+import app.dto.auth.SignOutRequest;
 import app.dto.error.ApiError;
+import app.exception.AuthorizationHeaderNotPresentException;
 import app.service.auth.impl.AuthenticationServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,10 +19,12 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -28,6 +34,8 @@ public class AuthenticationController {
 
     public static final String SIGN_IN = "/api/v1/auth/sign-in";
     public static final String SIGN_UP = "/api/v1/auth/sign-up";
+    public static final String REFRESH = "/api/v1/auth/refresh";
+    public static final String SIGN_OUT = "/api/v1/auth/sign-out";
 
     private final AuthenticationServiceImpl authenticationService;
 
@@ -123,4 +131,95 @@ public class AuthenticationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(authenticationService.signUp(registrationRequest));
     }
 
+    /**
+     * Обрабатывает полученный запрос на обновление токена.
+     *
+     * @param refreshTokenRequest запрос на обновление токена.
+     * @return {@link ResponseEntity} с телом {@link AuthenticationResponse} в случае успеха.
+     */
+    @Operation(
+            summary = "Обновление токена",
+            description = "Выпуск новой пары токенов по токену обновления. Использованный токен обновления становится недействительным"
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Токены успешно обновлены",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = AuthenticationResponse.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Если в запросе присутствуют недопустимые значения",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = """
+                                    \t
+                                    Если токен обновления некорректен, просрочен, уже использован или отозван
+                                    \t
+                                    Если пользователь заблокирован""",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )})
+            })
+    @PostMapping(REFRESH)
+    public ResponseEntity<AuthenticationResponse> refresh(@RequestBody @Valid RefreshTokenRequest refreshTokenRequest) {
+        return ResponseEntity.ok(authenticationService.refresh(refreshTokenRequest));
+    }
+
+    /**
+     * Обрабатывает полученный запрос на выход из системы.
+     *
+     * @param authorization  заголовок Authorization с токеном доступа.
+     * @param signOutRequest запрос на выход из системы. Может отсутствовать.
+     * @return {@link ResponseEntity} без тела в случае успеха.
+     */
+    @Operation(
+            summary = "Выход из системы",
+            description = "Отзыв токена доступа и, если он указан, токена обновления"
+    )
+    @SecurityRequirement(name = "JWT")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "204",
+                            description = "Токены успешно отозваны"),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Если в запросе отсутствует заголовок Authorization или Bearer token",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Если JWT или токен обновления некорректен",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )})
+            })
+    @PostMapping(SIGN_OUT)
+    public ResponseEntity<Void> signOut(@Parameter(hidden = true)
+                                        @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                        @RequestBody(required = false) SignOutRequest signOutRequest) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            throw new AuthorizationHeaderNotPresentException();
+        }
+        authenticationService.signOut(authorization.substring(7), signOutRequest);
+        return ResponseEntity.noContent().build();
+    }
+
 }
@@ -0,0 +1,283 @@
+package app.controller.saved_search;
+
+import app.controller.ControllerHelper;
+import app.controller.JsonArrayStreamer;
+import app.dto.error.ApiError;
+import app.dto.saved_search.CreateSavedSearchRequest;
+import app.dto.saved_search.SavedSearchDto;
+import app.dto.task.TaskDto;
+import app.service.saved_search.impl.SavedSearchServiceImpl;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Saved Search Controller", description = "Контроллер для управления сохраненными поисками задач")
+public class SavedSearchController {
+
+    public static final String GET_SAVED_SEARCHES = "/api/v1/saved-searches";
+    public static final String GET_SAVED_SEARCH_TASKS = "/api/v1/saved-searches/{saved_search_id}/tasks";
+
+    public static final String CREATE_SAVED_SEARCH = "/api/v1/saved-searches";
+
+    public static final String DELETE_SAVED_SEARCH = "/api/v1/saved-searches/{saved_search_id}";
+
+    public static final int MAX_SAVED_SEARCH_PAGE_SIZE = 100;
+
+    private final SavedSearchServiceImpl savedSearchService;
+
+    private final ControllerHelper controllerHelper;
+    private final JsonArrayStreamer jsonArrayStreamer;
+
+    /**
+     * Обрабатывает запрос на получение сохраненных поисков текущего пользователя.
+     *
+     * @param httpServletRequest информация о HTTP запросе.
+     * @return {@link ResponseEntity} со списком объектов {@link SavedSearchDto} в случае успеха.
+     */
+    @Operation(
+            summary = "Получение списка сохраненных поисков",
+            description = "Позволяет получить сохраненные поиски задач текущего пользователя"
+    )
+    @SecurityRequirement(name = "JWT")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Список сохраненных поисков успешно получен",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            array = @ArraySchema(schema = @Schema(implementation = SavedSearchDto.class))
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Если в запросе отсутствует заголовок Authorization или Bearer token",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Если JWT просрочен или некорректен",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )})
+            })
+    @GetMapping(GET_SAVED_SEARCHES)
+    public ResponseEntity<List<SavedSearchDto>> getSavedSearches(HttpServletRequest httpServletRequest) {
+        UUID userId = controllerHelper.getUserIdFromHttpServletRequest(httpServletRequest);
+        return ResponseEntity.ok(savedSearchService.getSavedSearches(userId));
+    }
+
+    /**
+     * Обрабатывает запрос на выполнение сохраненного поиска.
+     *
+     * @param savedSearchId      id сохраненного поиска.
+     * @param page               номер страницы.
+     * @param size               количество элементов на странице.
+     * @param httpServletRequest информация о HTTP запросе.
+     * @return {@link ResponseEntity} с потоково записываемым JSON массивом объектов {@link TaskDto} в случае успеха.
+     */
+    @Operation(
+            summary = "Выполнение сохраненного поиска",
+            description = "Позволяет получить страницу задач, удовлетворяющих фильтрам сохраненного поиска"
+    )
+    @SecurityRequirement(name = "JWT")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Список задач успешно получен",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            array = @ArraySchema(schema = @Schema(implementation = TaskDto.class))
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Если номер страницы или количество задач на странице некорректны",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Если в запросе отсутствует заголовок Authorization или Bearer token",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Если JWT просрочен или некорректен",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Если сохраненный поиск с указанным id не существует или принадлежит другому пользователю",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )})
+            })
+    @GetMapping(GET_SAVED_SEARCH_TASKS)
+    public ResponseEntity<StreamingResponseBody> getSavedSearchTasks(@Schema(description = "Id сохраненного поиска")
+                                                                     @PathVariable("saved_search_id") UUID savedSearchId,
+                                                                     @Schema(description = "Номер страницы",
+                                                                             defaultValue = "0",
+                                                                             minimum = "0") @RequestParam int page,
+                                                                     @Schema(description = "Количество элементов на странице",
+                                                                             defaultValue = "5",
+                                                                             minimum = "1",
+                                                                             maximum = "100") @RequestParam int size,
+                                                                     HttpServletRequest httpServletRequest) {
+        controllerHelper.checkPageNumber(page);
+        controllerHelper.checkPageSize(size, MAX_SAVED_SEARCH_PAGE_SIZE);
+        UUID userId = controllerHelper.getUserIdFromHttpServletRequest(httpServletRequest);
+        List<TaskDto> tasks = savedSearchService.getSavedSearchTasks(userId, savedSearchId, page, size);
+        return jsonArrayStreamer.stream(tasks, Function.identity());
+    }
+
+    /**
+     * Обрабатывает запрос на сохранение поиска задач.
+     *
+     * @param createSavedSearchRequest запрос на сохранение поиска.
+     * @param httpServletRequest       информация о HTTP запросе.
+     * @return {@link ResponseEntity} с телом {@link SavedSearchDto} в случае успеха.
+     */
+    @Operation(
+            summary = "Сохранение поиска задач",
+            description = "Позволяет сохранить набор фильтров и сортировку под указанным именем"
+    )
+    @SecurityRequirement(name = "JWT")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "201",
+                            description = "Поиск успешно сохранен",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = SavedSearchDto.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Если в запросе присутствуют недопустимые значения",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Если в запросе отсутствует заголовок Authorization или Bearer token",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Если JWT просрочен или некорректен",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Если у пользователя уже есть сохраненный поиск с указанным именем",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )})
+            })
+    @PostMapping(CREATE_SAVED_SEARCH)
+    public ResponseEntity<SavedSearchDto> createSavedSearch(@RequestBody @Valid CreateSavedSearchRequest createSavedSearchRequest,
+                                                            HttpServletRequest httpServletRequest) {
+        UUID userId = controllerHelper.getUserIdFromHttpServletRequest(httpServletRequest);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(savedSearchService.createSavedSearch(userId, createSavedSearchRequest));
+    }
+
+    /**
+     * Обрабатывает запрос на удаление сохраненного поиска.
+     *
+     * @param savedSearchId      id сохраненного поиска.
+     * @param httpServletRequest информация о HTTP запросе.
+     * @return {@link ResponseEntity} без тела в случае успеха.
+     */
+    @Operation(
+            summary = "Удаление сохраненного поиска",
+            description = "Позволяет удалить сохраненный поиск текущего пользователя"
+    )
+    @SecurityRequirement(name = "JWT")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "204",
+                            description = "Сохраненный поиск успешно удален"),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Если в запросе отсутствует заголовок Authorization или Bearer token",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Если JWT просрочен или некорректен",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Если сохраненный поиск с указанным id не существует или принадлежит другому пользователю",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )})
+            })
+    @DeleteMapping(DELETE_SAVED_SEARCH)
+    public ResponseEntity<Void> deleteSavedSearch(@Schema(description = "Id сохраненного поиска")
+                                                  @PathVariable("saved_search_id") UUID savedSearchId,
+                                                  HttpServletRequest httpServletRequest) {
+        UUID userId = controllerHelper.getUserIdFromHttpServletRequest(httpServletRequest);
+        savedSearchService.deleteSavedSearch(userId, savedSearchId);
+        return ResponseEntity.noContent().build();
+    }
+
+}
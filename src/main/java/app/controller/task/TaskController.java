@@ -1,18 +1,20 @@
 package app.controller.task;
 
 import app.controller.ControllerHelper;
+import app.controller.JsonArrayStreamer;
 import app.dto.error.ApiError;
 import app.dto.task.*;
 import app.dto.task_comment.*;
+import app.dto.validator.ResourceValidator;
 import app.entity.task.TaskEntity;
-import app.entity.task_comment.TaskCommentEntity;
 import app.entity.user.UserEntity;
-import app.mapper.task.TaskCommentMapper;
+import app.exception.InvalidValueException;
 import app.mapper.task.TaskMapper;
 import app.repository.task.TaskSpecification;
+import app.service.idempotency.impl.IdempotencyServiceImpl;
 import app.service.task.impl.TaskServiceImpl;
+import app.service.task.impl.TaskSyncServiceImpl;
 import app.service.task_comment.impl.TaskCommentServiceImpl;
-import app.service.user.impl.UserServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -26,12 +28,20 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 @RestController
 @RequiredArgsConstructor
@@ -41,6 +51,11 @@ public class TaskController {
     public static final String GET_TASKS = "/api/v1/tasks";
     public static final String GET_TASK_BY_ID = "/api/v1/tasks/{task_id}";
     public static final String GET_TASK_COMMENTS_BY_TASK_ID = "/api/v1/tasks/{task_id}/comments";
+    public static final String GET_TASK_COMMENT_FEED_BY_TASK_ID = "/api/v1/tasks/{task_id}/comments/feed";
+    public static final String GET_LATEST_TASK_COMMENTS = "/api/v1/tasks/comments/latest";
+    public static final String GET_TEAM_BOARD = "/api/v1/tasks/team-board";
+    public static final String GET_TASK_CHANGES = "/api/v1/tasks/changes";
+    public static final String GET_TASK_COMMENT_CHANGES_BY_TASK_ID = "/api/v1/tasks/{task_id}/comments/changes";
 
     public static final String CREATE_TASK = "/api/v1/tasks";
     public static final String CREATE_TASK_COMMENT = "/api/v1/tasks/{task_id}/comments";
@@ -50,14 +65,26 @@ public class TaskController {
     public static final String DELETE_TASK = "/api/v1/tasks";
     public static final String DELETE_TASK_COMMENT = "/api/v1/tasks/{task_id}/comments";
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    public static final int MAX_TASK_PAGE_SIZE = 100;
+    public static final int MAX_TEAM_BOARD_EXECUTORS = 100;
+    public static final int MAX_TEAM_BOARD_LIMIT = 100;
+    public static final int MAX_COMMENT_PAGE_SIZE = 100;
+    public static final int MAX_COMMENT_FEED_PAGE_SIZE = 100;
+    public static final int MAX_LATEST_COMMENTS_TASKS = 100;
+    public static final int MAX_LATEST_COMMENTS_LIMIT = 20;
+    public static final int MAX_CHANGES_PAGE_SIZE = 500;
+
     private final TaskServiceImpl taskService;
+    private final TaskSyncServiceImpl taskSyncService;
     private final TaskCommentServiceImpl taskCommentService;
-    private final UserServiceImpl userService;
+    private final IdempotencyServiceImpl idempotencyService;
 
     private final TaskMapper taskMapper;
-    private final TaskCommentMapper taskCommentMapper;
 
     private final ControllerHelper controllerHelper;
+    private final JsonArrayStreamer jsonArrayStreamer;
 
     /**
      * Обрабатывает полученный запрос на получение списка задач с указанным набором фильтров.
@@ -65,7 +92,10 @@ public class TaskController {
      * @param searchFilter набор фильтров.
      * @param page         номер страницы.
      * @param size         количество элементов на страцние.
-     * @return {@link ResponseEntity} с телом {@link List} объектов {@link TaskDto} в случае успеха.
+     * @param sortBy       поле сортировки.
+     * @param direction    направление сортировки.
+     * @param webRequest   запрос, содержащий условные заголовки.
+     * @return {@link ResponseEntity} с потоково записываемым JSON массивом объектов {@link TaskDto} в случае успеха.
      */
     @Operation(
             summary = "Получение списка задач",
@@ -82,6 +112,17 @@ public class TaskController {
                                             mediaType = "application/json",
                                             array = @ArraySchema(schema = @Schema(implementation = TaskDto.class))
                                     )}),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Если указанные параметры сортировки, номер страницы или количество элементов на странице некорректны",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Если список задач не изменился с момента, указанного в заголовках If-None-Match или If-Modified-Since"),
                     @ApiResponse(
                             responseCode = "401",
                             description = "Если в запросе отсутствует заголовок Authorization или Bearer token",
@@ -100,21 +141,186 @@ public class TaskController {
                                     )})
             })
     @GetMapping(GET_TASKS)
-    public ResponseEntity<List<TaskDto>> getTasksByCreatorIdWithSpecs(@ParameterObject TaskSearchFilterDto searchFilter,
+    public ResponseEntity<StreamingResponseBody> getTasksByCreatorIdWithSpecs(@ParameterObject TaskSearchFilterDto searchFilter,
                                                                       @Schema(description = "Номер страницы",
                                                                               defaultValue = "0",
                                                                               minimum = "0") @RequestParam int page,
                                                                       @Schema(description = "Количество элементов на странице",
                                                                               defaultValue = "5",
-                                                                              minimum = "1") @RequestParam int size) {
-        List<TaskEntity> tasks = taskService.getTaskPage(TaskSpecification.filterBy(searchFilter), PageRequest.of(page, size));
-        return ResponseEntity.ok(taskMapper.toDtoList(tasks));
+                                                                              minimum = "1",
+                                                                              maximum = "100") @RequestParam int size,
+                                                                      @Schema(description = "Поле сортировки",
+                                                                              defaultValue = "createdAt",
+                                                                              allowableValues = {"name", "createdAt", "expiresOn", "updatedAt", "commentCount", "lastCommentAt"})
+                                                                      @RequestParam(defaultValue = "createdAt") String sortBy,
+                                                                      @Schema(description = "Направление сортировки",
+                                                                              defaultValue = "desc",
+                                                                              allowableValues = {"asc", "desc"})
+                                                                      @RequestParam(defaultValue = "desc") String direction,
+                                                                      WebRequest webRequest) {
+        controllerHelper.checkPageNumber(page);
+        controllerHelper.checkPageSize(size, MAX_TASK_PAGE_SIZE);
+        Sort sort = controllerHelper.getTaskSort(sortBy, direction);
+        Specification<TaskEntity> specification = TaskSpecification.filterBy(searchFilter);
+        PageRequest pageRequest = PageRequest.of(page, size, sort);
+        ResourceValidator validator = taskService.getTaskPageValidator(specification, pageRequest);
+        if (webRequest.checkNotModified(validator.getETag(), validator.getLastModifiedMillis())) {
+            return null;
+        }
+        List<TaskDto> tasks = taskService.getTaskDtoPage(specification, pageRequest);
+        return jsonArrayStreamer.stream(tasks, Function.identity());
+    }
+
+    /**
+     * Обрабатывает запрос на получение доски задач команды: для каждого исполнителя и статуса возвращаются задачи
+     * с ближайшим сроком выполнения. Вся доска загружается одним запросом к БД.
+     *
+     * @param executorIds список id исполнителей.
+     * @param statuses    список статусов. Если не указан - используются все статусы.
+     * @param limit       максимальное количество задач для каждой пары исполнителя и статуса.
+     * @return {@link ResponseEntity} с потоково записываемым JSON массивом объектов {@link TaskDto}, упорядоченных
+     * по исполнителю, статусу и сроку выполнения, в случае успеха.
+     */
+    @Operation(
+            summary = "Получение доски задач команды",
+            description = "Позволяет получить задачи нескольких исполнителей, сгруппированные по исполнителю и статусу"
+    )
+    @SecurityRequirement(name = "JWT")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Доска задач успешно получена",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            array = @ArraySchema(schema = @Schema(implementation = TaskDto.class))
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Если указанные статусы, количество исполнителей или количество задач некорректны",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Если в запросе отсутствует заголовок Authorization или Bearer token",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Если JWT просрочен или некорректен",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )})
+            })
+    @GetMapping(GET_TEAM_BOARD)
+    public ResponseEntity<StreamingResponseBody> getTeamBoard(@Schema(description = "Список id исполнителей")
+                                                              @RequestParam List<UUID> executorIds,
+                                                              @Schema(description = "Список статусов задач",
+                                                                      allowableValues = {"pending", "in_progress", "done"})
+                                                              @RequestParam(required = false) List<String> statuses,
+                                                              @Schema(description = "Количество задач для каждого исполнителя и статуса",
+                                                                      defaultValue = "10",
+                                                                      minimum = "1",
+                                                                      maximum = "100")
+                                                              @RequestParam(defaultValue = "10") int limit) {
+        Set<UUID> distinctExecutorIds = new LinkedHashSet<>(executorIds);
+        if (distinctExecutorIds.isEmpty() || distinctExecutorIds.size() > MAX_TEAM_BOARD_EXECUTORS) {
+            throw new InvalidValueException(String.valueOf(distinctExecutorIds.size()),
+                    "from 1 to " + MAX_TEAM_BOARD_EXECUTORS + " executor ids");
+        }
+        if (limit < 1 || limit > MAX_TEAM_BOARD_LIMIT) {
+            throw new InvalidValueException(String.valueOf(limit), "from 1 to " + MAX_TEAM_BOARD_LIMIT);
+        }
+        List<TaskEntity> tasks = taskService.getTeamBoard(distinctExecutorIds, controllerHelper.getTaskStatuses(statuses), limit);
+        return jsonArrayStreamer.stream(tasks, taskMapper::toDto);
+    }
+
+    /**
+     * Обрабатывает запрос на получение изменений задач после позиции, сохраненной клиентом.
+     *
+     * @param cursor позиция, полученная с предыдущим ответом. Если не указана - изменения возвращаются с начала.
+     * @param size   максимальное количество задач в ответе.
+     * @return {@link ResponseEntity} с телом {@link TaskSyncResponse} в случае успеха.
+     */
+    @Operation(
+            summary = "Получение изменений задач",
+            description = """
+                    Позволяет получить задачи, созданные, измененные или удаленные после указанной позиции.
+                    Клиент сохраняет значение nextCursor и передает его со следующим запросом. Если hasMore равен true,
+                    следующий запрос можно выполнить сразу. Если позиция старше срока хранения удаленных задач,
+                    клиент должен заново загрузить задачи, выполнив запрос без позиции.
+                    """
+    )
+    @SecurityRequirement(name = "JWT")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Изменения задач успешно получены",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = TaskSyncResponse.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Если указанная позиция или количество задач некорректны",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Если в запросе отсутствует заголовок Authorization или Bearer token",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Если JWT просрочен или некорректен",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "410",
+                            description = "Если указанная позиция старше срока хранения удаленных задач",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )})
+            })
+    @GetMapping(GET_TASK_CHANGES)
+    public ResponseEntity<TaskSyncResponse> getTaskChanges(@Schema(description = "Позиция, полученная с предыдущим ответом")
+                                                           @RequestParam(required = false) String cursor,
+                                                           @Schema(description = "Количество задач в ответе",
+                                                                   defaultValue = "100",
+                                                                   minimum = "1",
+                                                                   maximum = "500")
+                                                           @RequestParam(defaultValue = "100") int size) {
+        controllerHelper.checkPageSize(size, MAX_CHANGES_PAGE_SIZE);
+        return ResponseEntity.ok(taskSyncService.getTaskChanges(cursor, size));
     }
 
     /**
      * Обрабатывает запрос на получение задачи с указанным id.
      *
-     * @param taskId id задачи.
+     * @param taskId     id задачи.
+     * @param webRequest запрос, содержащий условные заголовки.
      * @return {@link ResponseEntity} с телом {@link TaskDto} в случае успеха.
      */
     @Operation(
@@ -132,6 +338,9 @@ public class TaskController {
                                             mediaType = "application/json",
                                             array = @ArraySchema(schema = @Schema(implementation = TaskDto.class))
                                     )}),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Если задача не изменилась с момента, указанного в заголовке If-None-Match"),
                     @ApiResponse(
                             responseCode = "401",
                             description = "Если в запросе отсутствует заголовок Authorization или Bearer token",
@@ -159,7 +368,12 @@ public class TaskController {
             })
     @GetMapping(GET_TASK_BY_ID)
     public ResponseEntity<TaskDto> getTaskById(@Schema(description = "id задачи")
-                                               @PathVariable("task_id") UUID taskId) {
+                                               @PathVariable("task_id") UUID taskId,
+                                               WebRequest webRequest) {
+        ResourceValidator validator = taskService.getTaskValidator(taskId);
+        if (webRequest.checkNotModified(validator.getETag())) {
+            return null;
+        }
         TaskEntity task = taskService.getTaskById(taskId);
         return ResponseEntity.ok(taskMapper.toDto(task));
     }
@@ -179,6 +393,17 @@ public class TaskController {
                                             mediaType = "application/json",
                                             array = @ArraySchema(schema = @Schema(implementation = TaskDto.class))
                                     )}),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Если номер страницы или количество элементов на странице некорректны",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Если список комментариев не изменился с момента, указанного в заголовках If-None-Match или If-Modified-Since"),
                     @ApiResponse(
                             responseCode = "401",
                             description = "Если в запросе отсутствует заголовок Authorization или Bearer token",
@@ -211,24 +436,261 @@ public class TaskController {
             })
 
     @GetMapping(GET_TASK_COMMENTS_BY_TASK_ID)
-    public ResponseEntity<List<TaskCommentDto>> getTaskCommentsByTaskId(@Schema(description = "id задачи", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6")
+    public ResponseEntity<StreamingResponseBody> getTaskCommentsByTaskId(@Schema(description = "id задачи", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6")
                                                                         @PathVariable("task_id") UUID taskId,
                                                                         @Schema(description = "Номер страницы",
                                                                                 defaultValue = "0",
                                                                                 minimum = "0") @RequestParam int page,
                                                                         @Schema(description = "Количество элементов на странице",
                                                                                 defaultValue = "5",
-                                                                                minimum = "1") @RequestParam int size,
-                                                                        HttpServletRequest httpServletRequest) {
+                                                                                minimum = "1",
+                                                                                maximum = "100") @RequestParam int size,
+                                                                        HttpServletRequest httpServletRequest,
+                                                                        WebRequest webRequest) {
+        controllerHelper.checkPageNumber(page);
+        controllerHelper.checkPageSize(size, MAX_COMMENT_PAGE_SIZE);
+        controllerHelper.checkRequest(taskId, httpServletRequest);
+        ResourceValidator validator = taskService.getTaskCommentsValidator(taskId);
+        if (webRequest.checkNotModified(validator.getETag(), validator.getLastModifiedMillis())) {
+            return null;
+        }
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by("createdAt", "id"));
+        List<TaskCommentDto> comments = taskCommentService.getTaskCommentPageByTaskId(taskId, pageRequest);
+        return jsonArrayStreamer.stream(comments, Function.identity());
+    }
+
+    @Operation(
+            summary = "Получение ленты комментариев к задаче",
+            description = """
+                    Позволяет получить комментарии к задаче, упорядоченные по дате создания.
+                    Для получения следующей страницы необходимо передать значение nextCursor из предыдущего ответа.
+                    Если nextCursor отсутствует - страница последняя.
+                    """
+    )
+    @SecurityRequirement(name = "JWT")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Лента комментариев успешно получена",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = TaskCommentFeedResponse.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Если указанная позиция или количество комментариев некорректны",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Если в запросе отсутствует заголовок Authorization или Bearer token",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = """
+                                    \t
+                                    Если JWT просрочен или некорректен
+                                    \t
+                                    Если пользователь не является создателем или исполнителем задачи
+                                    """,
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Если задача с указанным id не найдена",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )})
+            })
+    @GetMapping(GET_TASK_COMMENT_FEED_BY_TASK_ID)
+    public ResponseEntity<TaskCommentFeedResponse> getTaskCommentFeedByTaskId(@Schema(description = "id задачи", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6")
+                                                                              @PathVariable("task_id") UUID taskId,
+                                                                              @Schema(description = "Позиция, с которой начинается страница")
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @Schema(description = "Количество элементов на странице",
+                                                                                      defaultValue = "20",
+                                                                                      minimum = "1",
+                                                                                      maximum = "100") @RequestParam(defaultValue = "20") int size,
+                                                                              HttpServletRequest httpServletRequest) {
+        controllerHelper.checkPageSize(size, MAX_COMMENT_FEED_PAGE_SIZE);
+        controllerHelper.checkRequest(taskId, httpServletRequest);
+        return ResponseEntity.ok(taskCommentService.getTaskCommentFeedByTaskId(taskId, cursor, size));
+    }
+
+    @Operation(
+            summary = "Получение изменений комментариев к задаче",
+            description = """
+                    Позволяет получить комментарии к задаче, созданные или удаленные после указанной позиции.
+                    Клиент сохраняет значение nextCursor и передает его со следующим запросом. Если hasMore равен true,
+                    следующий запрос можно выполнить сразу. Если позиция старше срока хранения удаленных комментариев,
+                    клиент должен заново загрузить комментарии, выполнив запрос без позиции.
+                    """
+    )
+    @SecurityRequirement(name = "JWT")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Изменения комментариев успешно получены",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = TaskCommentSyncResponse.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Если указанная позиция или количество комментариев некорректны",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Если в запросе отсутствует заголовок Authorization или Bearer token",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = """
+                                    \t
+                                    Если JWT просрочен или некорректен
+                                    \t
+                                    Если пользователь не является создателем или исполнителем задачи
+                                    """,
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Если задача с указанным id не найдена или удалена",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "410",
+                            description = "Если указанная позиция старше срока хранения удаленных комментариев",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )})
+            })
+    @GetMapping(GET_TASK_COMMENT_CHANGES_BY_TASK_ID)
+    public ResponseEntity<TaskCommentSyncResponse> getTaskCommentChangesByTaskId(@Schema(description = "id задачи", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6")
+                                                                                 @PathVariable("task_id") UUID taskId,
+                                                                                 @Schema(description = "Позиция, полученная с предыдущим ответом")
+                                                                                 @RequestParam(required = false) String cursor,
+                                                                                 @Schema(description = "Количество комментариев в ответе",
+                                                                                         defaultValue = "100",
+                                                                                         minimum = "1",
+                                                                                         maximum = "500")
+                                                                                 @RequestParam(defaultValue = "100") int size,
+                                                                                 HttpServletRequest httpServletRequest) {
+        controllerHelper.checkPageSize(size, MAX_CHANGES_PAGE_SIZE);
         controllerHelper.checkRequest(taskId, httpServletRequest);
-        List<TaskCommentEntity> comments = taskCommentService.getTaskCommentPageByTaskId(taskId, PageRequest.of(page, size));
-        return ResponseEntity.ok(taskCommentMapper.toDtoList(comments));
+        return ResponseEntity.ok(taskSyncService.getTaskCommentChanges(taskId, cursor, size));
+    }
+
+    @Operation(
+            summary = "Получение последних комментариев к нескольким задачам",
+            description = "Позволяет получить последние комментарии к каждой из указанных задач одним запросом"
+    )
+    @SecurityRequirement(name = "JWT")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Комментарии успешно получены",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = TaskCommentBatchResponse.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Если количество задач или количество комментариев некорректны",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Если в запросе отсутствует заголовок Authorization или Bearer token",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = """
+                                    \t
+                                    Если JWT просрочен или некорректен
+                                    \t
+                                    Если пользователь не является создателем или исполнителем одной из задач
+                                    """,
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Если задача с одним из указанных id не найдена",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )})
+            })
+    @GetMapping(GET_LATEST_TASK_COMMENTS)
+    public ResponseEntity<TaskCommentBatchResponse> getLatestTaskComments(@Schema(description = "Список id задач")
+                                                                          @RequestParam("task_id") List<UUID> taskIds,
+                                                                          @Schema(description = "Количество комментариев к каждой задаче",
+                                                                                  defaultValue = "5",
+                                                                                  minimum = "1",
+                                                                                  maximum = "20") @RequestParam(defaultValue = "5") int limit,
+                                                                          HttpServletRequest httpServletRequest) {
+        Set<UUID> distinctTaskIds = new LinkedHashSet<>(taskIds);
+        if (distinctTaskIds.isEmpty() || distinctTaskIds.size() > MAX_LATEST_COMMENTS_TASKS) {
+            throw new InvalidValueException(String.valueOf(distinctTaskIds.size()),
+                    "from 1 to " + MAX_LATEST_COMMENTS_TASKS + " task ids");
+        }
+        if (limit < 1 || limit > MAX_LATEST_COMMENTS_LIMIT) {
+            throw new InvalidValueException(String.valueOf(limit), "from 1 to " + MAX_LATEST_COMMENTS_LIMIT);
+        }
+        controllerHelper.checkRequest(distinctTaskIds, httpServletRequest);
+        return ResponseEntity.ok(taskCommentService.getLatestTaskCommentsByTaskIds(distinctTaskIds, limit));
     }
 
     /**
      * Обрабатывает полученный запрос на создание задачи.
      *
      * @param createTaskRequest  запрос на создание задачи.
+     * @param idempotencyKey     ключ идемпотентности, позволяющий безопасно повторить запрос. Может отсутствовать.
      * @param httpServletRequest информация о HTTP запросе.
      * @return {@link ResponseEntity} с телом {@link CreateTaskResponse} в случае успеха.
      */
@@ -281,7 +743,11 @@ public class TaskController {
                                     )}),
                     @ApiResponse(
                             responseCode = "409",
-                            description = "Если задача с указанным именем уже присутствует у пользователя (создателя)",
+                            description = """
+                                    \t
+                                    Если задача с указанным именем уже присутствует у пользователя (создателя)
+                                    \t
+                                    Если запрос с указанным Idempotency-Key еще выполняется или ключ использован для другого запроса""",
                             content = {
                                     @Content(
                                             mediaType = "application/json",
@@ -290,16 +756,21 @@ public class TaskController {
             })
     @PostMapping(CREATE_TASK)
     public ResponseEntity<CreateTaskResponse> createTask(@RequestBody @Valid CreateTaskRequest createTaskRequest,
+                                                         @Schema(description = "Ключ идемпотентности")
+                                                         @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
                                                          HttpServletRequest httpServletRequest) {
         controllerHelper.checkAndModifyRequest(createTaskRequest);
         UUID creatorId = controllerHelper.getUserIdFromHttpServletRequest(httpServletRequest);
-        return ResponseEntity.status(HttpStatus.CREATED).body(taskService.createTask(creatorId, createTaskRequest));
+        CreateTaskResponse response = idempotencyService.execute(creatorId, idempotencyKey, CREATE_TASK, createTaskRequest,
+                CreateTaskResponse.class, () -> taskService.createTask(creatorId, createTaskRequest));
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     /**
      * Обрабатывает полученный запрос на создание комментария.
      *
      * @param createTaskCommentRequest запрос на создание комментария1.
+     * @param idempotencyKey           ключ идемпотентности, позволяющий безопасно повторить запрос. Может отсутствовать.
      * @param httpServletRequest       информация о HTTP запросе.
      * @return {@link ResponseEntity} с телом {@link CreateTaskCommentResponse} в случае успеха.
      */
@@ -354,6 +825,22 @@ public class TaskController {
                                     \t
                                     Если задача с указанным id не существует
                                      """,
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Если запрос с указанным Idempotency-Key еще выполняется или ключ использован для другого запроса",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "503",
+                            description = "Если очередь записи комментариев заполнена или комментарий не записан вовремя",
                             content = {
                                     @Content(
                                             mediaType = "application/json",
@@ -364,17 +851,22 @@ public class TaskController {
     public ResponseEntity<CreateTaskCommentResponse> createTaskComment(@Schema(description = "id задачи", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6")
                                                                        @PathVariable("task_id") UUID taskId,
                                                                        @RequestBody @Valid CreateTaskCommentRequest createTaskCommentRequest,
+                                                                       @Schema(description = "Ключ идемпотентности")
+                                                                       @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
                                                                        HttpServletRequest httpServletRequest) {
         controllerHelper.checkRequest(taskId, httpServletRequest);
-        TaskEntity task = taskService.getTaskById(taskId);
-        UserEntity user = userService.getUserById(controllerHelper.getUserIdFromHttpServletRequest(httpServletRequest));
-        return ResponseEntity.status(HttpStatus.CREATED).body(taskCommentService.createTaskComment(createTaskCommentRequest, task, user));
+        UserEntity user = controllerHelper.getCurrentUser();
+        CreateTaskCommentResponse response = idempotencyService.execute(user.getId(), idempotencyKey,
+                CREATE_TASK_COMMENT.replace("{task_id}", taskId.toString()), createTaskCommentRequest, CreateTaskCommentResponse.class,
+                () -> taskCommentService.createTaskComment(taskId, user, createTaskCommentRequest));
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     /**
      * Обрабатывает полученный запрос на обновление задачи.
      *
      * @param updateTaskRequest  запрос на обновление задачи.
+     * @param ifMatch            ETag задачи, полученный при ее чтении. Может отсутствовать.
      * @param httpServletRequest информация о HTTP запросе.
      * @return {@link ResponseEntity} с телом {@link UpdateTaskResponse} в случае успеха.
      */
@@ -435,7 +927,20 @@ public class TaskController {
                                     )}),
                     @ApiResponse(
                             responseCode = "409",
-                            description = "Если задача с указанным именем уже присутствует у пользователя",
+                            description = """
+                                    \t
+                                    Если задача с указанным именем уже присутствует у пользователя
+                                    \t
+                                    Если задача была изменена другим запросом во время обновления
+                                    """,
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "Если версия задачи не совпадает с указанной в заголовке If-Match",
                             content = {
                                     @Content(
                                             mediaType = "application/json",
@@ -444,9 +949,16 @@ public class TaskController {
             })
     @PatchMapping(UPDATE_TASK)
     public ResponseEntity<UpdateTaskResponse> updateTask(@RequestBody @Valid UpdateTaskRequest updateTaskRequest,
+                                                         @Schema(description = "ETag задачи, полученный при ее чтении")
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                          HttpServletRequest httpServletRequest) {
         controllerHelper.checkAndModifyRequest(updateTaskRequest, httpServletRequest);
-        return ResponseEntity.ok(taskService.updateTask(updateTaskRequest));
+        Long expectedVersion = controllerHelper.getVersionFromIfMatch(ifMatch);
+        UpdateTaskResponse response = taskService.updateTask(updateTaskRequest, expectedVersion);
+        return ResponseEntity
+                .ok()
+                .eTag(ResourceValidator.ofTask(response.getVersion(), response.getCommentCount(), response.getLastCommentAt()).getETag())
+                .body(response);
     }
 
     /**
@@ -1,6 +1,7 @@
 package app.controller.user;
 
 import app.controller.ControllerHelper;
+import app.controller.JsonArrayStreamer;
 import app.dto.error.ApiError;
 import app.dto.user.*;
 import app.entity.user.UserEntity;
@@ -20,9 +21,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 @RestController
 @RequiredArgsConstructor
@@ -36,18 +39,21 @@ public class UserController {
 
     public static final String DELETE_USER = "/api/v1/users";
 
+    public static final int MAX_USER_PAGE_SIZE = 100;
+
     private final UserServiceImpl userService;
 
     private final UserMapper userMapper;
 
     private final ControllerHelper controllerHelper;
+    private final JsonArrayStreamer jsonArrayStreamer;
 
     /**
      * Обрабаотыает полученный запрос на получение списка пользователей.
      *
      * @param page номер страницы.
      * @param size количество элементов на странице.
-     * @return {@link ResponseEntity} с телом {@link List} объектов {@link UserDto} в случае успеха.
+     * @return {@link ResponseEntity} с потоково записываемым JSON массивом объектов {@link UserDto} в случае успеха.
      */
     @Operation(
             summary = "Получение списка пользователей",
@@ -64,6 +70,14 @@ public class UserController {
                                             mediaType = "application/json",
                                             array = @ArraySchema(schema = @Schema(implementation = UserDto.class))
                                     )}),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Если номер страницы или количество элементов на странице некорректны",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ApiError.class)
+                                    )}),
                     @ApiResponse(
                             responseCode = "401",
                             description = "Если в запросе отсутствует заголовок Authorization или Bearer token",
@@ -82,15 +96,19 @@ public class UserController {
                                     )})
             })
     @GetMapping(GET_USERS)
-    public ResponseEntity<List<UserDto>> getUsers(
+    public ResponseEntity<StreamingResponseBody> getUsers(
             @Schema(description = "Номер страницы",
                     defaultValue = "0",
                     minimum = "0") @RequestParam int page,
             @Schema(description = "Количество элементов на странице",
                     defaultValue = "5",
-                    minimum = "1") @RequestParam int size) {
-        List<UserEntity> users = userService.findAll(PageRequest.of(page, size));
-        return ResponseEntity.ok(userMapper.toDtoList(users));
+                    minimum = "1",
+                    maximum = "100") @RequestParam int size) {
+        controllerHelper.checkPageNumber(page);
+        controllerHelper.checkPageSize(size, MAX_USER_PAGE_SIZE);
+        PageRequest pageRequest = PageRequest.of(page, size);
+        List<UserDto> users = userService.getUserPage(pageRequest);
+        return jsonArrayStreamer.stream(users, Function.identity());
     }
 
     /**
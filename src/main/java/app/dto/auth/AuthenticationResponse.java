@@ -22,6 +22,12 @@ public class AuthenticationResponse {
     @Schema(description = "JWT, сгенерированный после успешной аутентификации пользователя")
     private String jwt;
 
+    /**
+     * Токен обновления, позволяющий получить новый JWT после истечения срока его действия.
+     */
+    @Schema(description = "Токен обновления, позволяющий получить новый JWT после истечения срока его действия")
+    private String refreshToken;
+
     /**
      * Дата и время создания ответа на запрос.
      */
@@ -33,6 +39,7 @@ public class AuthenticationResponse {
     public String toString() {
         return "AuthenticationResponse{" +
                 "jwt='" + jwt + '\'' +
+                ", refreshToken='" + refreshToken + '\'' +
                 ", timestamp=" + timestamp +
                 '}';
     }
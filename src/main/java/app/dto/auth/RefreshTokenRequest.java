@@ -0,0 +1,31 @@
+package app.dto.auth;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+/**
+ * Класс, описывающий запрос на получение нового токена доступа по токену обновления.
+ */
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshTokenRequest {
+
+    /**
+     * Токен обновления, полученный при аутентификации. Не может быть {@literal null} или пустым.
+     */
+    @NotBlank(message = "Refresh token cannot be blank")
+    @Schema(description = "Токен обновления, полученный при аутентификации")
+    private String refreshToken;
+
+    @Override
+    public String toString() {
+        return "RefreshTokenRequest{" +
+                "refreshToken='***'" +
+                '}';
+    }
+
+}
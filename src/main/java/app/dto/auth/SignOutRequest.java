@@ -0,0 +1,29 @@
+package app.dto.auth;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+/**
+ * Класс, описывающий запрос на выход пользователя из системы.
+ */
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SignOutRequest {
+
+    /**
+     * Токен обновления, который необходимо отозвать вместе с токеном доступа. Может отсутствовать.
+     */
+    @Schema(description = "Токен обновления, который необходимо отозвать")
+    private String refreshToken;
+
+    @Override
+    public String toString() {
+        return "SignOutRequest{" +
+                "refreshToken=" + (refreshToken == null ? null : "'***'") +
+                '}';
+    }
+
+}
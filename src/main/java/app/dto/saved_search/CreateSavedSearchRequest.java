@@ -0,0 +1,61 @@
+package app.dto.saved_search;
+
+import app.dto.task.TaskSearchFilterDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * Класс, описывающий запрос на сохранение поиска задач.
+ */
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CreateSavedSearchRequest {
+
+    /**
+     * Имя сохраняемого поиска. Не может быть {@literal null}, пустым или состоять исключительно из пробелов.
+     */
+    @NotBlank(message = "Name cannot be blank")
+    @Size(max = 255, message = "Name length must be up to 255")
+    @Schema(example = "My urgent tasks", description = "Имя сохраненного поиска")
+    private String name;
+
+    /**
+     * Набор фильтров. Не может быть {@literal null}.
+     */
+    @NotNull(message = "Filter cannot be null")
+    @Schema(description = "Набор фильтров, аналогичный параметрам запроса списка задач")
+    private TaskSearchFilterDto filter;
+
+    /**
+     * Поле сортировки результатов.
+     */
+    @Builder.Default
+    @Schema(example = "createdAt",
+            defaultValue = "createdAt",
+            allowableValues = {"name", "createdAt", "expiresOn", "updatedAt", "commentCount", "lastCommentAt"},
+            description = "Поле сортировки")
+    private String sortBy = "createdAt";
+
+    /**
+     * Направление сортировки результатов.
+     */
+    @Builder.Default
+    @Schema(example = "desc", defaultValue = "desc", allowableValues = {"asc", "desc"}, description = "Направление сортировки")
+    private String direction = "desc";
+
+    @Override
+    public String toString() {
+        return "CreateSavedSearchRequest{" +
+                "name='" + name + '\'' +
+                ", filter=" + filter +
+                ", sortBy='" + sortBy + '\'' +
+                ", direction='" + direction + '\'' +
+                '}';
+    }
+}
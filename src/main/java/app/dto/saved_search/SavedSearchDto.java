@@ -0,0 +1,69 @@
+package app.dto.saved_search;
+
+import app.dto.task.TaskSearchFilterDto;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Класс, представляющий сохраненный поиск задач как DTO.
+ */
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SavedSearchDto {
+
+    /**
+     * Уникальный идентификатор сохраненного поиска в формате {@link UUID}.
+     */
+    @Schema(example = "3fa85f64-5717-4562-b3fc-2c963f66afa6", description = "Id сохраненного поиска")
+    private UUID id;
+
+    /**
+     * Имя сохраненного поиска.
+     */
+    @Schema(example = "My urgent tasks", description = "Имя сохраненного поиска")
+    private String name;
+
+    /**
+     * Набор фильтров.
+     */
+    @Schema(description = "Набор фильтров")
+    private TaskSearchFilterDto filter;
+
+    /**
+     * Поле сортировки результатов.
+     */
+    @Schema(example = "createdAt", description = "Поле сортировки")
+    private String sortBy;
+
+    /**
+     * Направление сортировки результатов.
+     */
+    @Schema(example = "desc", description = "Направление сортировки")
+    private String direction;
+
+    /**
+     * Дата создания сохраненного поиска, объект класса {@link LocalDateTime}.
+     */
+    @Schema(example = "2023-12-05T12:40", description = "Дата создания сохраненного поиска")
+    @JsonFormat(pattern = "yyyy/MM/dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @Override
+    public String toString() {
+        return "SavedSearchDto{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", filter=" + filter +
+                ", sortBy='" + sortBy + '\'' +
+                ", direction='" + direction + '\'' +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
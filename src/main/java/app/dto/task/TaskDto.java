@@ -82,6 +82,25 @@ public class TaskDto {
     @JsonFormat(pattern = "yyyy/MM/dd HH:mm:ss")
     private LocalDateTime updatedAt;
 
+    /**
+     * Количество комментариев к задаче.
+     */
+    @Schema(example = "3", description = "Количество комментариев к задаче")
+    private int commentCount;
+
+    /**
+     * Дата создания последнего комментария к задаче, объект класса {@link LocalDateTime}.
+     */
+    @Schema(example = "2023-12-05T12:40", description = "Дата создания последнего комментария к задаче")
+    @JsonFormat(pattern = "yyyy/MM/dd HH:mm:ss")
+    private LocalDateTime lastCommentAt;
+
+    /**
+     * Версия задачи. Входит в ETag задачи вместе с количеством и датой последнего комментария.
+     */
+    @Schema(example = "0", description = "Версия задачи")
+    private Long version;
+
     @Override
     public String toString() {
         return "TaskDto{" +
@@ -95,6 +114,9 @@ public class TaskDto {
                 ", createdAt=" + createdAt +
                 ", expiresOn=" + expiresOn +
                 ", updatedAt=" + updatedAt +
+                ", commentCount=" + commentCount +
+                ", lastCommentAt=" + lastCommentAt +
+                ", version=" + version +
                 '}';
     }
 }
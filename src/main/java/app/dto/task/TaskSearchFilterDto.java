@@ -4,6 +4,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -19,7 +20,7 @@ public class TaskSearchFilterDto {
     @Schema(description = "Фильтрация по id задачи")
     private UUID id;
 
-    @Schema(description = "Фильтрация по имени задачи. В случае, если не будет найдено задачи с конкретным именем - будут подобраны наиболее подходящие")
+    @Schema(description = "Фильтрация по имени задачи: точное совпадение или вхождение указанной подстроки")
     private String name;
 
     @Schema(description = "Фильтрация по описанию задачи")
@@ -28,15 +29,27 @@ public class TaskSearchFilterDto {
     @Schema(description = "Фильтрация по статусу задачи", allowableValues = {"PENDING", "DONE", "IN_PROGRESS"})
     private String status;
 
+    @Schema(description = "Фильтрация по нескольким статусам задачи: статус совпадает с одним из указанных")
+    private List<String> statuses;
+
     @Schema(description = "Фильтрация по приоритету задачи", allowableValues = {"HIGH", "MEDIUM", "LOW"})
     private String priority;
 
+    @Schema(description = "Фильтрация по нескольким приоритетам задачи: приоритет совпадает с одним из указанных")
+    private List<String> priorities;
+
     @Schema(description = "Фильтрация по id создателя задачи")
     private UUID creatorId;
 
+    @Schema(description = "Фильтрация по нескольким создателям задачи: id создателя совпадает с одним из указанных")
+    private List<UUID> creatorIds;
+
     @Schema(description = "Фильтрация по id исполнителя задачи")
     private UUID executorId;
 
+    @Schema(description = "Фильтрация по нескольким исполнителям задачи: id исполнителя совпадает с одним из указанных")
+    private List<UUID> executorIds;
+
     @Schema(description = "Фильтрация по дате создания задачи, например \"2023-12-5T12:40\"")
     private LocalDateTime createdAt;
 
@@ -64,6 +77,18 @@ public class TaskSearchFilterDto {
     @Schema(description = "Фильтрация по дате обновления задачи, значения которой меньше или равны указанному, например \"2023-12-5T12:40\"")
     private LocalDateTime updatedAtBefore;
 
+    @Schema(description = "Фильтрация по количеству комментариев, значения которого больше или равны указанному")
+    private Integer commentCountMin;
+
+    @Schema(description = "Фильтрация по количеству комментариев, значения которого меньше или равны указанному")
+    private Integer commentCountMax;
+
+    @Schema(description = "Фильтрация по дате последнего комментария, значения которой больше или равны указанному, например \"2023-12-5T12:40\"")
+    private LocalDateTime lastCommentAtAfter;
+
+    @Schema(description = "Фильтрация по дате последнего комментария, значения которой меньше или равны указанному, например \"2023-12-5T12:40\"")
+    private LocalDateTime lastCommentAtBefore;
+
     @Override
     public String toString() {
         return "TaskSearchFilterDto{" +
@@ -71,9 +96,13 @@ public class TaskSearchFilterDto {
                 ", name='" + name + '\'' +
                 ", description='" + description + '\'' +
                 ", status='" + status + '\'' +
+                ", statuses=" + statuses +
                 ", priority='" + priority + '\'' +
+                ", priorities=" + priorities +
                 ", creatorId=" + creatorId +
+                ", creatorIds=" + creatorIds +
                 ", executorId=" + executorId +
+                ", executorIds=" + executorIds +
                 ", createdAt=" + createdAt +
                 ", createdAtAfter=" + createdAtAfter +
                 ", createdAtBefore=" + createdAtBefore +
@@ -83,6 +112,10 @@ public class TaskSearchFilterDto {
                 ", updatedAt=" + updatedAt +
                 ", updatedAtAfter=" + updatedAtAfter +
                 ", updatedAtBefore=" + updatedAtBefore +
+                ", commentCountMin=" + commentCountMin +
+                ", commentCountMax=" + commentCountMax +
+                ", lastCommentAtAfter=" + lastCommentAtAfter +
+                ", lastCommentAtBefore=" + lastCommentAtBefore +
                 '}';
     }
 }
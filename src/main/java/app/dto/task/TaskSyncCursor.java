@@ -0,0 +1,97 @@
+package app.dto.task;
+
+import app.exception.InvalidCursorException;
+import lombok.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Класс, описывающий позицию синхронизации изменений задач или комментариев. Записи упорядочены по дате последнего
+ * изменения и id, позиция указывает на последнюю полученную клиентом запись. Передается клиенту в виде непрозрачной
+ * строки.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskSyncCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private static final UUID MIN_ID = new UUID(0, 0);
+
+    /**
+     * Позиция, предшествующая всем записям. Используется, если клиент не передал позицию.
+     */
+    public static final TaskSyncCursor START = new TaskSyncCursor(LocalDateTime.of(1970, 1, 1, 0, 0), MIN_ID);
+
+    /**
+     * Дата последнего изменения записи.
+     */
+    private final LocalDateTime changedAt;
+
+    /**
+     * Id записи.
+     */
+    private final UUID id;
+
+    /**
+     * Метод, определяющий позицию, которую клиент передаст со следующим запросом. Если полученная страница последняя,
+     * позиция сдвигается к {@literal settledBefore}: все изменения до этой даты уже получены, а позиция клиента,
+     * данные которого давно не менялись, не устаревает.
+     *
+     * @param last          позиция последней записи страницы или {@literal null}, если страница пустая.
+     * @param hasMore       {@literal true}, если после страницы есть еще изменения.
+     * @param settledBefore граница изменений, включенных в ответ.
+     * @return {@link TaskSyncCursor} позиция следующего запроса.
+     */
+    public static TaskSyncCursor next(TaskSyncCursor last, boolean hasMore, LocalDateTime settledBefore) {
+        if (hasMore || (last != null && !last.getChangedAt().isBefore(settledBefore))) {
+            return last;
+        }
+        return new TaskSyncCursor(settledBefore, MIN_ID);
+    }
+
+    /**
+     * Метод преобразования позиции в строку для передачи клиенту.
+     *
+     * @return позиция в формате {@link String}.
+     */
+    public String encode() {
+        String value = changedAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Метод преобразования строки, полученной от клиента, в позицию.
+     *
+     * @param cursor позиция в формате {@link String}.
+     * @return {@link TaskSyncCursor}.
+     * @throws InvalidCursorException если строка не является корректной позицией.
+     */
+    public static TaskSyncCursor decode(String cursor) throws InvalidCursorException {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = value.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new TaskSyncCursor(
+                    LocalDateTime.parse(value.substring(0, separatorIndex)),
+                    UUID.fromString(value.substring(separatorIndex + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TaskSyncCursor{" +
+                "changedAt=" + changedAt +
+                ", id=" + id +
+                '}';
+    }
+}
@@ -82,6 +82,22 @@ public class UpdateTaskResponse {
     @JsonFormat(pattern = "yyyy/MM/dd HH:mm:ss")
     private LocalDateTime updatedAt;
 
+    /**
+     * Количество комментариев к задаче.
+     */
+    @Schema(example = "3", description = "Количество комментариев к задаче")
+    private int commentCount;
+
+    /**
+     * Дата создания последнего комментария к задаче.
+     */
+    @Schema(example = "2023-12-05T12:40", description = "Дата создания последнего комментария к задаче")
+    @JsonFormat(pattern = "yyyy/MM/dd HH:mm:ss")
+    private LocalDateTime lastCommentAt;
+
+    @Schema(example = "1", description = "Версия обновленной задачи")
+    private Long version;
+
     /**
      * Дата и время создания ответа на запрос.
      */
@@ -103,6 +119,9 @@ public class UpdateTaskResponse {
                 ", createdAt=" + createdAt +
                 ", expiresOn=" + expiresOn +
                 ", updatedAt=" + updatedAt +
+                ", commentCount=" + commentCount +
+                ", lastCommentAt=" + lastCommentAt +
+                ", version=" + version +
                 ", timestamp=" + timestamp +
                 '}';
     }
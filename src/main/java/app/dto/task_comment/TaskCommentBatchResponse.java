@@ -0,0 +1,44 @@
+package app.dto.task_comment;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Класс, описывающий ответ на запрос получения последних комментариев к нескольким задачам.
+ */
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskCommentBatchResponse {
+
+    /**
+     * Последние комментарии, сгруппированные по id задачи и упорядоченные от новых к старым.
+     * Задачи без комментариев присутствуют с пустым списком.
+     */
+    @Schema(description = "Последние комментарии, сгруппированные по id задачи")
+    private Map<UUID, List<TaskCommentDto>> comments;
+
+    /**
+     * Дата и время создания ответа на запрос.
+     */
+    @Builder.Default
+    @Schema(description = "Дата и время создания ответа на запрос")
+    @JsonFormat(pattern = "yyyy/MM/dd HH:mm:ss")
+    private LocalDateTime timestamp = LocalDateTime.now();
+
+    @Override
+    public String toString() {
+        return "TaskCommentBatchResponse{" +
+                "comments=" + comments +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+package app.dto.task_comment;
+
+import app.exception.InvalidCursorException;
+import lombok.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Класс, описывающий позицию в ленте комментариев к задаче. Передается клиенту в виде непрозрачной строки.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskCommentCursor {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Дата создания последнего комментария страницы.
+     */
+    private final LocalDateTime createdAt;
+
+    /**
+     * Id последнего комментария страницы.
+     */
+    private final UUID id;
+
+    /**
+     * Метод преобразования позиции в строку для передачи клиенту.
+     *
+     * @return позиция в формате {@link String}.
+     */
+    public String encode() {
+        String value = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Метод преобразования строки, полученной от клиента, в позицию.
+     *
+     * @param cursor позиция в формате {@link String}.
+     * @return {@link TaskCommentCursor}.
+     * @throws InvalidCursorException если строка не является корректной позицией.
+     */
+    public static TaskCommentCursor decode(String cursor) throws InvalidCursorException {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = value.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new TaskCommentCursor(
+                    LocalDateTime.parse(value.substring(0, separatorIndex)),
+                    UUID.fromString(value.substring(separatorIndex + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TaskCommentCursor{" +
+                "createdAt=" + createdAt +
+                ", id=" + id +
+                '}';
+    }
+}
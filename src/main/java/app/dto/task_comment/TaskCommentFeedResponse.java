@@ -0,0 +1,49 @@
+package app.dto.task_comment;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Класс, описывающий ответ на запрос получения ленты комментариев к задаче.
+ */
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskCommentFeedResponse {
+
+    /**
+     * Комментарии страницы, упорядоченные по дате создания и id.
+     */
+    @ArraySchema(schema = @Schema(implementation = TaskCommentDto.class))
+    private List<TaskCommentDto> comments;
+
+    /**
+     * Позиция для получения следующей страницы. Равна {@literal null}, если страница последняя.
+     */
+    @Schema(description = "Позиция для получения следующей страницы. Отсутствует, если страница последняя")
+    private String nextCursor;
+
+    /**
+     * Дата и время создания ответа на запрос.
+     */
+    @Builder.Default
+    @Schema(description = "Дата и время создания ответа на запрос")
+    @JsonFormat(pattern = "yyyy/MM/dd HH:mm:ss")
+    private LocalDateTime timestamp = LocalDateTime.now();
+
+    @Override
+    public String toString() {
+        return "TaskCommentFeedResponse{" +
+                "comments=" + comments +
+                ", nextCursor='" + nextCursor + '\'' +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
@@ -0,0 +1,64 @@
+package app.dto.task_comment;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Класс, описывающий ответ на запрос получения изменений комментариев к задаче.
+ */
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskCommentSyncResponse {
+
+    /**
+     * Созданные комментарии, упорядоченные по дате создания и id.
+     */
+    @ArraySchema(schema = @Schema(implementation = TaskCommentDto.class))
+    private List<TaskCommentDto> created;
+
+    /**
+     * Id удаленных комментариев.
+     */
+    @Schema(description = "Id удаленных комментариев")
+    private List<UUID> deleted;
+
+    /**
+     * Позиция для получения следующих изменений.
+     */
+    @Schema(description = "Позиция для получения следующих изменений. Должна быть сохранена клиентом и передана со следующим запросом")
+    private String nextCursor;
+
+    /**
+     * Признак наличия изменений, не вошедших в ответ.
+     */
+    @Schema(description = "Признак наличия изменений, не вошедших в ответ")
+    private boolean hasMore;
+
+    /**
+     * Дата и время создания ответа на запрос.
+     */
+    @Builder.Default
+    @Schema(description = "Дата и время создания ответа на запрос")
+    @JsonFormat(pattern = "yyyy/MM/dd HH:mm:ss")
+    private LocalDateTime timestamp = LocalDateTime.now();
+
+    @Override
+    public String toString() {
+        return "TaskCommentSyncResponse{" +
+                "created=" + created +
+                ", deleted=" + deleted +
+                ", nextCursor='" + nextCursor + '\'' +
+                ", hasMore=" + hasMore +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
@@ -0,0 +1,58 @@
+package app.dto.validator;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Класс, представляющий валидаторы состояния ресурса для условных запросов (заголовки ETag и Last-Modified).
+ */
+@Getter
+@AllArgsConstructor
+public class ResourceValidator {
+
+    /**
+     * Значение ETag ресурса.
+     */
+    private final String eTag;
+
+    /**
+     * Дата последнего изменения ресурса. Может быть {@literal null}.
+     */
+    private final LocalDateTime lastModified;
+
+    /**
+     * Метод для получения валидатора задачи. Количество комментариев и дата последнего комментария входят в ETag,
+     * поскольку изменяются без изменения версии задачи, но возвращаются вместе с ней.
+     *
+     * @param version       версия задачи.
+     * @param commentCount  количество комментариев к задаче.
+     * @param lastCommentAt дата последнего комментария к задаче. Может быть {@literal null}.
+     * @return {@link ResourceValidator} с ETag вида {@literal version-commentCount-lastCommentAt}.
+     */
+    public static ResourceValidator ofTask(long version, int commentCount, LocalDateTime lastCommentAt) {
+        String eTag = String.format("%d-%d-%d", version, commentCount, lastCommentAt == null ? 0 : toMillis(lastCommentAt));
+        return new ResourceValidator(eTag, null);
+    }
+
+    /**
+     * @return дата последнего изменения ресурса в миллисекундах или {@literal -1}, если дата неизвестна.
+     */
+    public long getLastModifiedMillis() {
+        return lastModified == null ? -1 : toMillis(lastModified);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceValidator{" +
+                "eTag='" + eTag + '\'' +
+                ", lastModified=" + lastModified +
+                '}';
+    }
+}
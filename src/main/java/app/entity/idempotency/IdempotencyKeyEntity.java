@@ -0,0 +1,82 @@
+package app.entity.idempotency;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Класс, описывающий сущность ключа идемпотентности и сохраненного для него ответа.
+ */
+@Entity(name = "idempotency_keys")
+@IdClass(IdempotencyKeyId.class)
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotencyKeyEntity {
+
+    /**
+     * Id пользователя, выполнившего запрос.
+     */
+    @Id
+    private UUID userId;
+
+    /**
+     * Значение заголовка Idempotency-Key.
+     */
+    @Id
+    private String idempotencyKey;
+
+    /**
+     * Хэш запроса, для которого был использован ключ.
+     */
+    @Column
+    private String requestHash;
+
+    /**
+     * Состояние обработки запроса, может принимать одно из допустимых значений {@link IdempotencyKeyStatus}.
+     */
+    @Column
+    @Enumerated(EnumType.STRING)
+    private IdempotencyKeyStatus status;
+
+    /**
+     * Сохраненный ответ на запрос в формате JSON. Отсутствует, пока запрос выполняется.
+     */
+    @Column
+    private String responseBody;
+
+    /**
+     * Дата создания ключа.
+     */
+    @Column
+    private LocalDateTime createdAt;
+
+    /**
+     * Дата последнего захвата ключа для выполнения запроса.
+     */
+    @Column
+    private LocalDateTime claimedAt;
+
+    /**
+     * Дата, после которой ключ может быть использован повторно.
+     */
+    @Column
+    private LocalDateTime expiresAt;
+
+    @Override
+    public String toString() {
+        return "IdempotencyKeyEntity{" +
+                "userId=" + userId +
+                ", idempotencyKey='" + idempotencyKey + '\'' +
+                ", requestHash='" + requestHash + '\'' +
+                ", status=" + status +
+                ", createdAt=" + createdAt +
+                ", claimedAt=" + claimedAt +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,35 @@
+package app.entity.idempotency;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Класс, описывающий составной первичный ключ сущности {@link IdempotencyKeyEntity}.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotencyKeyId implements Serializable {
+
+    /**
+     * Id пользователя, выполнившего запрос.
+     */
+    private UUID userId;
+
+    /**
+     * Значение заголовка Idempotency-Key.
+     */
+    private String idempotencyKey;
+
+    @Override
+    public String toString() {
+        return "IdempotencyKeyId{" +
+                "userId=" + userId +
+                ", idempotencyKey='" + idempotencyKey + '\'' +
+                '}';
+    }
+}
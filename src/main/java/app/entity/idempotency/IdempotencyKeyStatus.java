@@ -0,0 +1,11 @@
+package app.entity.idempotency;
+
+/**
+ * Класс, определяющий допустимые значения состояния ключа идемпотентности.
+ */
+public enum IdempotencyKeyStatus {
+
+    IN_PROGRESS,
+    COMPLETED
+
+}
@@ -0,0 +1,75 @@
+package app.entity.saved_search;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Класс, описывающий сущность сохраненного поиска задач.
+ */
+@Entity(name = "saved_searches")
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SavedSearchEntity {
+
+    /**
+     * Уникальный идентификатор сохраненного поиска в формате {@link UUID}.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    /**
+     * Id пользователя, сохранившего поиск.
+     */
+    @Column
+    private UUID userId;
+
+    /**
+     * Имя сохраненного поиска, уникальное для пользователя.
+     */
+    @Column
+    private String name;
+
+    /**
+     * Набор фильтров в формате JSON.
+     */
+    @Column
+    private String filter;
+
+    /**
+     * Поле сортировки результатов.
+     */
+    @Column
+    private String sortBy;
+
+    /**
+     * Направление сортировки результатов, {@literal asc} или {@literal desc}.
+     */
+    @Column
+    private String direction;
+
+    /**
+     * Дата создания сохраненного поиска.
+     */
+    @Column
+    private LocalDateTime createdAt;
+
+    @Override
+    public String toString() {
+        return "SavedSearchEntity{" +
+                "id=" + id +
+                ", userId=" + userId +
+                ", name='" + name + '\'' +
+                ", filter='" + filter + '\'' +
+                ", sortBy='" + sortBy + '\'' +
+                ", direction='" + direction + '\'' +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -2,15 +2,18 @@ package app.entity.task;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 
 /**
- * Класс, описывающий сущность задачи.
+ * Класс, описывающий сущность задачи. Удаленные задачи хранятся в БД до истечения срока хранения, чтобы клиенты
+ * синхронизации получили сведения об удалении, и не загружаются запросами к сущности.
  */
 @Entity(name = "tasks")
+@SQLRestriction("deleted_at IS NULL")
 @Builder
 @Getter
 @Setter
@@ -81,6 +84,34 @@ public class TaskEntity {
     @Column
     private LocalDateTime updatedAt;
 
+    /**
+     * Количество комментариев к задаче. Поддерживается базой данных при добавлении и удалении комментариев,
+     * поэтому не записывается при сохранении задачи.
+     */
+    @Column(insertable = false, updatable = false)
+    private int commentCount;
+
+    /**
+     * Дата создания последнего комментария к задаче, объект класса {@link LocalDateTime}. Поддерживается базой данных
+     * при добавлении и удалении комментариев, поэтому не записывается при сохранении задачи.
+     */
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastCommentAt;
+
+    /**
+     * Версия задачи, увеличивается при каждом изменении. Используется для оптимистичной блокировки.
+     */
+    @Version
+    @Column
+    private Long version;
+
+    /**
+     * Дата удаления задачи, объект класса {@link LocalDateTime}. Задается при удалении задачи вместо удаления записи,
+     * поэтому не записывается при сохранении задачи.
+     */
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
     @Override
     public String toString() {
         return "TaskEntity{" +
@@ -94,6 +125,10 @@ public class TaskEntity {
                 ", createdAt=" + createdAt +
                 ", expiresOn=" + expiresOn +
                 ", updatedAt=" + updatedAt +
+                ", commentCount=" + commentCount +
+                ", lastCommentAt=" + lastCommentAt +
+                ", version=" + version +
+                ", deletedAt=" + deletedAt +
                 '}';
     }
 
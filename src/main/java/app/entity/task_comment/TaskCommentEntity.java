@@ -5,15 +5,18 @@ import app.entity.user.UserEntity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 
 /**
- * Класс, описывающий сущность комментария к задаче.
+ * Класс, описывающий сущность комментария к задаче. Удаленные комментарии хранятся в БД до истечения срока хранения
+ * и не загружаются запросами к сущности.
  */
 @Entity(name = "task_comments")
+@SQLRestriction("deleted_at IS NULL")
 @Builder
 @Getter
 @Setter
@@ -57,14 +60,21 @@ public class TaskCommentEntity {
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    /**
+     * Дата удаления комментария. Задается при удалении комментария вместо удаления записи.
+     */
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
     @Override
     public String toString() {
         return "TaskCommentEntity{" +
                 "id=" + id +
-                ", task=" + task.getId() +
-                ", user=" + user.getId() +
+                ", task=" + (task == null ? null : task.getId()) +
+                ", user=" + (user == null ? null : user.getId()) +
                 ", content='" + content + '\'' +
                 ", createdAt=" + createdAt +
+                ", deletedAt=" + deletedAt +
                 '}';
     }
 
@@ -0,0 +1,69 @@
+package app.entity.token;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Класс, описывающий сущность действующего токена обновления. Токен удаляется при использовании или выходе
+ * пользователя из системы.
+ */
+@Entity(name = "refresh_tokens")
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshTokenEntity {
+
+    /**
+     * Уникальный идентификатор токена (jti).
+     */
+    @Id
+    private UUID id;
+
+    /**
+     * Id пользователя, которому выпущен токен.
+     */
+    @Column
+    private UUID userId;
+
+    /**
+     * Дата выпуска токена.
+     */
+    @Column
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    /**
+     * Дата истечения срока действия токена.
+     */
+    @Column
+    private LocalDateTime expiresAt;
+
+    @Override
+    public String toString() {
+        return "RefreshTokenEntity{" +
+                "id=" + id +
+                ", userId=" + userId +
+                ", createdAt=" + createdAt +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+        RefreshTokenEntity token = (RefreshTokenEntity) object;
+        return Objects.equals(id, token.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,68 @@
+package app.entity.token;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Класс, описывающий сущность отозванного токена доступа. Запись хранится до истечения срока действия токена.
+ */
+@Entity(name = "revoked_tokens")
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RevokedTokenEntity {
+
+    /**
+     * Уникальный идентификатор токена (jti).
+     */
+    @Id
+    private UUID id;
+
+    /**
+     * Id пользователя, которому был выпущен токен.
+     */
+    @Column
+    private UUID userId;
+
+    /**
+     * Дата отзыва токена.
+     */
+    @Column
+    @Builder.Default
+    private LocalDateTime revokedAt = LocalDateTime.now();
+
+    /**
+     * Дата истечения срока действия токена.
+     */
+    @Column
+    private LocalDateTime expiresAt;
+
+    @Override
+    public String toString() {
+        return "RevokedTokenEntity{" +
+                "id=" + id +
+                ", userId=" + userId +
+                ", revokedAt=" + revokedAt +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+        RevokedTokenEntity token = (RevokedTokenEntity) object;
+        return Objects.equals(id, token.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,75 @@
+package app.entity.user;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Класс, описывающий сущность запроса на удаление данных пользователя и хода его выполнения.
+ */
+@Entity(name = "user_deletions")
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserDeletionEntity {
+
+    /**
+     * Id удаляемого пользователя.
+     */
+    @Id
+    private UUID userId;
+
+    /**
+     * Текущий этап удаления, может принимать одно из допустимых значений {@link UserDeletionStage}.
+     */
+    @Column
+    @Enumerated(EnumType.STRING)
+    private UserDeletionStage stage;
+
+    /**
+     * Количество задач, у которых пользователь снят с роли исполнителя.
+     */
+    @Column
+    private long unassignedTasks;
+
+    /**
+     * Количество удаленных задач, созданных пользователем.
+     */
+    @Column
+    private long deletedTasks;
+
+    /**
+     * Количество удаленных комментариев к задачам пользователя и комментариев, оставленных пользователем.
+     */
+    @Column
+    private long deletedComments;
+
+    /**
+     * Дата запроса на удаление.
+     */
+    @Column
+    private LocalDateTime requestedAt;
+
+    /**
+     * Дата обработки последней порции данных.
+     */
+    @Column
+    private LocalDateTime updatedAt;
+
+    @Override
+    public String toString() {
+        return "UserDeletionEntity{" +
+                "userId=" + userId +
+                ", stage=" + stage +
+                ", unassignedTasks=" + unassignedTasks +
+                ", deletedTasks=" + deletedTasks +
+                ", deletedComments=" + deletedComments +
+                ", requestedAt=" + requestedAt +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
@@ -0,0 +1,24 @@
+package app.entity.user;
+
+/**
+ * Класс, определяющий этапы удаления данных пользователя. Этапы выполняются в порядке объявления.
+ */
+public enum UserDeletionStage {
+
+    UNASSIGN_EXECUTOR_TASKS,
+    DELETE_OWNED_TASK_COMMENTS,
+    DELETE_OWNED_TASKS,
+    DELETE_AUTHORED_COMMENTS,
+    DELETE_USER;
+
+    /**
+     * Метод для получения следующего этапа удаления.
+     *
+     * @return следующий этап или {@link #DELETE_USER}, если текущий этап последний.
+     */
+    public UserDeletionStage next() {
+        UserDeletionStage[] stages = values();
+        return stages[Math.min(this.ordinal() + 1, stages.length - 1)];
+    }
+
+}
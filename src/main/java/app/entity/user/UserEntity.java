@@ -2,6 +2,7 @@ package app.entity.user;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SQLRestriction;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,9 +14,11 @@ import java.util.Set;
 import java.util.UUID;
 
 /**
- * Класс, описывающий сущность пользователя.
+ * Класс, описывающий сущность пользователя. Удаленные пользователи, данные которых еще не удалены из БД,
+ * не загружаются запросами к сущности.
  */
 @Entity(name = "users")
+@SQLRestriction("deleted_at IS NULL")
 @Builder
 @Getter
 @Setter
@@ -99,6 +102,13 @@ public class UserEntity implements UserDetails {
     @Column
     private boolean enabled = true;
 
+    /**
+     * Дата удаления пользователя, объект класса {@link LocalDateTime}. Задается при запросе на удаление,
+     * после чего связанные с пользователем данные удаляются в фоновом режиме.
+     */
+    @Column
+    private LocalDateTime deletedAt;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Set.of(new SimpleGrantedAuthority(role.name()));
@@ -139,6 +149,7 @@ public class UserEntity implements UserDetails {
                 ", locked=" + locked +
                 ", credentialsExpired=" + credentialsExpired +
                 ", enabled=" + enabled +
+                ", deletedAt=" + deletedAt +
                 '}';
     }
 
@@ -0,0 +1,17 @@
+package app.exception;
+
+/**
+ * Выбрасывается в случае, если ключ идемпотентности уже используется другим запросом: запрос с этим ключом еще
+ * выполняется либо ключ был использован для запроса с другими параметрами.
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    /**
+     * Конуструктор для создания исключения с заданными параметрами.
+     *
+     * @param message детали ошибки.
+     */
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+}
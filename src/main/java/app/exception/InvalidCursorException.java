@@ -0,0 +1,16 @@
+package app.exception;
+
+/**
+ * Выбрасывается когда указанная позиция постраничной выборки не может быть разобрана.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    /**
+     * Конструктор для создания исключения с заданными параметрами.
+     *
+     * @param cursor указанная позиция.
+     */
+    public InvalidCursorException(String cursor) {
+        super(String.format("\"%s\" is not a valid cursor", cursor));
+    }
+}
@@ -0,0 +1,16 @@
+package app.exception;
+
+/**
+ * Выбрасывается в случае, если условие запроса (например, заголовок If-Match) не выполнено для текущего состояния данных.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * Конуструктор для создания исключения с заданными параметрами.
+     *
+     * @param message детали ошибки.
+     */
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package app.exception;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Выбрасывается в случае, если JWT был отозван, например, при выходе пользователя из системы.
+ */
+public class RevokedTokenException extends JwtException {
+
+    /**
+     * Конуструктор для создания исключения с заданными параметрами.
+     *
+     * @param message детали ошибки.
+     */
+    public RevokedTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package app.exception;
+
+/**
+ * Выбрасывается в случае, если сервер временно не может принять запрос из-за перегрузки.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    /**
+     * Конуструктор для создания исключения с заданными параметрами.
+     *
+     * @param message детали ошибки.
+     */
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package app.exception;
+
+/**
+ * Выбрасывается когда позиция синхронизации старше срока хранения удаленных записей, и сведения об удалениях после нее
+ * могли быть утеряны. Клиент должен заново загрузить данные полностью.
+ */
+public class SyncCursorExpiredException extends RuntimeException {
+
+    /**
+     * Конструктор для создания исключения с заданными параметрами.
+     *
+     * @param cursor указанная позиция.
+     */
+    public SyncCursorExpiredException(String cursor) {
+        super(String.format("Cursor \"%s\" has expired, full resynchronization is required", cursor));
+    }
+}
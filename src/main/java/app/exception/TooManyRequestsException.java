@@ -0,0 +1,25 @@
+package app.exception;
+
+import lombok.Getter;
+
+/**
+ * Выбрасывается в случае, если клиент превысил допустимую частоту запросов.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    /**
+     * Время в секундах, через которое клиент может повторить запрос.
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Конуструктор для создания исключения с заданными параметрами.
+     *
+     * @param retryAfterSeconds время в секундах, через которое клиент может повторить запрос.
+     */
+    public TooManyRequestsException(long retryAfterSeconds) {
+        super(String.format("Too many requests, retry after %d seconds", retryAfterSeconds));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
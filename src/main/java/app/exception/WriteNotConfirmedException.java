@@ -0,0 +1,17 @@
+package app.exception;
+
+/**
+ * Выбрасывается в случае, если запись была начата, но ее фиксация не подтверждена вовремя. Изменения могли быть
+ * записаны в БД, поэтому повторный запрос должен использовать тот же ключ идемпотентности.
+ */
+public class WriteNotConfirmedException extends ServiceOverloadedException {
+
+    /**
+     * Конуструктор для создания исключения с заданными параметрами.
+     *
+     * @param message детали ошибки.
+     */
+    public WriteNotConfirmedException(String message) {
+        super(message);
+    }
+}
@@ -2,13 +2,17 @@ package app.mapper.task;
 
 import app.dto.task_comment.CreateTaskCommentResponse;
 import app.dto.task_comment.TaskCommentDto;
+import app.dto.user.UserDto;
 import app.entity.task_comment.TaskCommentEntity;
+import app.entity.user.UserEntity;
+import app.repository.task_comment.TaskCommentProjection;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Класс для выполнения различных преобразований над объектом {@link TaskCommentEntity}.
@@ -27,9 +31,6 @@ public class TaskCommentMapper {
         modelMapper
                 .createTypeMap(TaskCommentEntity.class, TaskCommentDto.class)
                 .addMappings(mapping -> mapping.map(source -> source.getTask().getId(), TaskCommentDto::setTaskId));
-        modelMapper
-                .createTypeMap(TaskCommentEntity.class, CreateTaskCommentResponse.class)
-                .addMappings(mapping -> mapping.map(source -> source.getTask().getId(), CreateTaskCommentResponse::setTaskId));
     }
 
     /**
@@ -53,13 +54,58 @@ public class TaskCommentMapper {
     }
 
     /**
-     * Метод преобразования {@link TaskCommentEntity} в {@link CreateTaskCommentResponse}.
+     * Метод преобразования {@link TaskCommentProjection} в {@link TaskCommentDto}.
+     *
+     * @param taskCommentProjection источник, объект {@link TaskCommentProjection}.
+     * @return {@link TaskCommentDto} со значениями полей от переданного {@link TaskCommentProjection}.
+     */
+    public TaskCommentDto toDto(TaskCommentProjection taskCommentProjection) {
+        UserDto user = UserDto
+                .builder()
+                .id(taskCommentProjection.getUserId())
+                .username(taskCommentProjection.getUsername())
+                .name(taskCommentProjection.getName())
+                .email(taskCommentProjection.getEmail())
+                .createdAt(taskCommentProjection.getUserCreatedAt())
+                .build();
+        return TaskCommentDto
+                .builder()
+                .id(taskCommentProjection.getId())
+                .taskId(taskCommentProjection.getTaskId())
+                .user(user)
+                .content(taskCommentProjection.getContent())
+                .createdAt(taskCommentProjection.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * Метод преобразования {@link List} {@link TaskCommentProjection} в {@link TaskCommentDto}.
+     *
+     * @param taskCommentProjections источник, список объектов {@link TaskCommentProjection}.
+     * @return {@link List} {@link TaskCommentDto} со значениями полей от переданных {@link TaskCommentProjection}.
+     */
+    public List<TaskCommentDto> toDtoListFromProjections(List<TaskCommentProjection> taskCommentProjections) {
+        return taskCommentProjections.stream().map(this::toDto).toList();
+    }
+
+    /**
+     * Метод преобразования {@link TaskCommentEntity} в {@link CreateTaskCommentResponse}. Связанные задача и автор
+     * передаются отдельно, поскольку в сохраненном комментарии они могут быть не загружены.
      *
      * @param taskCommentEntity источник, объект класса {@link TaskCommentEntity}.
+     * @param taskId            id связанной задачи.
+     * @param user              автор комментария.
      * @return {@link CreateTaskCommentResponse} со значениями полей от переданного {@link TaskCommentEntity}.
      */
-    public CreateTaskCommentResponse toCreateTaskCommentResponse(TaskCommentEntity taskCommentEntity) {
-        return modelMapper.map(taskCommentEntity, CreateTaskCommentResponse.class);
+    public CreateTaskCommentResponse toCreateTaskCommentResponse(TaskCommentEntity taskCommentEntity, UUID taskId, UserEntity user) {
+        return CreateTaskCommentResponse
+                .builder()
+                .id(taskCommentEntity.getId())
+                .taskId(taskId)
+                .user(modelMapper.map(user, UserDto.class))
+                .content(taskCommentEntity.getContent())
+                .createdAt(taskCommentEntity.getCreatedAt())
+                .build();
     }
 
 }
@@ -0,0 +1,23 @@
+package app.repository;
+
+/**
+ * Интерфейс, описывающий отсоединение сущностей от контекста сохранения. Используется при потоковом чтении,
+ * чтобы прочитанные сущности не накапливались в памяти до конца транзакции.
+ *
+ * @param <T> тип сущности.
+ */
+public interface DetachingRepository<T> {
+
+    /**
+     * Количество строк, получаемых драйвером БД за одно обращение при потоковом чтении.
+     */
+    String STREAM_FETCH_SIZE = "100";
+
+    /**
+     * Отсоединение сущности от контекста сохранения текущей транзакции.
+     *
+     * @param entity сущность.
+     */
+    void detach(T entity);
+
+}
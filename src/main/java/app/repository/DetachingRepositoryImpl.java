@@ -0,0 +1,26 @@
+package app.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Класс, реализующий методы {@link DetachingRepository}.
+ *
+ * @param <T> тип сущности.
+ */
+public class DetachingRepositoryImpl<T> implements DetachingRepository<T> {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see DetachingRepository#detach(Object)
+     */
+    @Override
+    public void detach(T entity) {
+        entityManager.detach(entity);
+    }
+
+}
@@ -0,0 +1,48 @@
+package app.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Класс, определяющий ограничения уникальности, объявленные в базе данных.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum UniqueConstraint {
+
+    TASKS_CREATOR_ID_NAME("tasks_creator_id_name_key"),
+    SAVED_SEARCHES_USER_ID_NAME("saved_searches_user_id_name_key"),
+    USERS_USERNAME("users_username_key"),
+    USERS_EMAIL("users_email_key");
+
+    /**
+     * SQLState нарушения ограничения уникальности в PostgreSQL.
+     */
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
+    /**
+     * Имя ограничения в базе данных.
+     */
+    private final String constraintName;
+
+    /**
+     * Метод для проверки, вызвано ли исключение нарушением данного ограничения.
+     *
+     * @param exception исключение, полученное при записи в базу данных.
+     * @return {@literal true} - если исключение вызвано нарушением данного ограничения, в противном случае - {@literal false}.
+     */
+    public boolean isViolatedBy(DataIntegrityViolationException exception) {
+        Throwable cause = exception;
+        while (cause != null) {
+            if (cause instanceof ConstraintViolationException constraintViolation) {
+                return UNIQUE_VIOLATION_SQL_STATE.equals(constraintViolation.getSQLState())
+                        && constraintName.equalsIgnoreCase(constraintViolation.getConstraintName());
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,131 @@
+package app.repository.idempotency;
+
+import app.entity.idempotency.IdempotencyKeyEntity;
+import app.entity.idempotency.IdempotencyKeyId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Интерфейс, описывающий методы взаимодействия с базой данных для класса {@link IdempotencyKeyEntity}.
+ * <p>
+ * Изменяющие методы выполняются в собственных транзакциях: захват ключа должен быть зафиксирован до выполнения
+ * запроса, чтобы его увидели другие экземпляры приложения.
+ */
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, IdempotencyKeyId> {
+
+    /**
+     * Позволяет захватить ключ идемпотентности для выполнения запроса. Повторно захватывается ключ, срок действия
+     * которого истек, и ключ, оставшийся в состоянии выполнения дольше срока захвата.
+     *
+     * @param userId         id пользователя.
+     * @param idempotencyKey значение заголовка Idempotency-Key.
+     * @param requestHash    хэш запроса.
+     * @param claimedAt      дата захвата ключа, по ней сохранение ответа и освобождение ключа выполняются
+     *                       только захватившим его запросом. Она же является датой создания записи и датой,
+     *                       относительно которой проверяется истечение срока действия ключа.
+     * @param leaseExpiredAt дата, до которой должен быть захвачен ключ в состоянии выполнения, чтобы быть
+     *                       захваченным повторно.
+     * @param expiresAt      дата, после которой ключ может быть использован повторно.
+     * @return {@literal 1} - если ключ захвачен, {@literal 0} - если ключ уже используется.
+     */
+    @Transactional
+    @Modifying
+    @Query(
+            value = """
+                    INSERT INTO idempotency_keys (user_id, idempotency_key, request_hash, status, created_at, claimed_at, expires_at)
+                    VALUES (:userId, :idempotencyKey, :requestHash, 'IN_PROGRESS', :claimedAt, :claimedAt, :expiresAt)
+                    ON CONFLICT (user_id, idempotency_key) DO UPDATE
+                        SET request_hash = excluded.request_hash,
+                            status = excluded.status,
+                            response_body = null,
+                            created_at = excluded.created_at,
+                            claimed_at = excluded.claimed_at,
+                            expires_at = excluded.expires_at
+                        WHERE idempotency_keys.expires_at < :claimedAt
+                           OR (idempotency_keys.status = 'IN_PROGRESS'
+                               AND idempotency_keys.request_hash = excluded.request_hash
+                               AND idempotency_keys.claimed_at < :leaseExpiredAt)
+                    """,
+            nativeQuery = true
+    )
+    int claim(@Param("userId") UUID userId,
+              @Param("idempotencyKey") String idempotencyKey,
+              @Param("requestHash") String requestHash,
+              @Param("claimedAt") LocalDateTime claimedAt,
+              @Param("leaseExpiredAt") LocalDateTime leaseExpiredAt,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Позволяет сохранить ответ на запрос, выполненный с захваченным ключом идемпотентности.
+     *
+     * @param userId         id пользователя.
+     * @param idempotencyKey значение заголовка Idempotency-Key.
+     * @param claimedAt      дата захвата ключа запросом.
+     * @param responseBody   ответ на запрос в формате JSON.
+     * @return количество обновленных записей. {@literal 0} - если ключ был захвачен другим запросом.
+     */
+    @Transactional
+    @Modifying
+    @Query(
+            value = """
+                    UPDATE idempotency_keys
+                    SET status = 'COMPLETED',
+                        response_body = :responseBody
+                    WHERE user_id = :userId
+                      AND idempotency_key = :idempotencyKey
+                      AND claimed_at = :claimedAt
+                    """,
+            nativeQuery = true
+    )
+    int complete(@Param("userId") UUID userId,
+                 @Param("idempotencyKey") String idempotencyKey,
+                 @Param("claimedAt") LocalDateTime claimedAt,
+                 @Param("responseBody") String responseBody);
+
+    /**
+     * Позволяет освободить захваченный ключ идемпотентности, если выполнение запроса завершилось ошибкой.
+     *
+     * @param userId         id пользователя.
+     * @param idempotencyKey значение заголовка Idempotency-Key.
+     * @param claimedAt      дата захвата ключа запросом.
+     * @return количество удаленных записей.
+     */
+    @Transactional
+    @Modifying
+    @Query(
+            value = """
+                    DELETE FROM idempotency_keys
+                    WHERE user_id = :userId
+                      AND idempotency_key = :idempotencyKey
+                      AND claimed_at = :claimedAt
+                      AND status = 'IN_PROGRESS'
+                    """,
+            nativeQuery = true
+    )
+    int release(@Param("userId") UUID userId,
+                @Param("idempotencyKey") String idempotencyKey,
+                @Param("claimedAt") LocalDateTime claimedAt);
+
+    /**
+     * Позволяет удалить ключи идемпотентности, срок действия которых истек.
+     *
+     * @param now текущая дата.
+     * @return количество удаленных записей.
+     */
+    @Transactional
+    @Modifying
+    @Query(
+            value = "DELETE FROM idempotency_keys WHERE expires_at < :now",
+            nativeQuery = true
+    )
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+}
@@ -0,0 +1,51 @@
+package app.repository.saved_search;
+
+import app.entity.saved_search.SavedSearchEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Интерфейс, описывающий методы взаимодействия с базой данных для класса {@link SavedSearchEntity}.
+ */
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearchEntity, UUID> {
+
+    /**
+     * Позволяет получить сохраненные поиски пользователя в порядке создания.
+     *
+     * @param userId id пользователя.
+     * @return {@link List} объектов {@link SavedSearchEntity}. Может быть пустым.
+     */
+    List<SavedSearchEntity> findAllByUserIdOrderByCreatedAt(UUID userId);
+
+    /**
+     * Позволяет получить сохраненный поиск, принадлежащий пользователю.
+     *
+     * @param id     id сохраненного поиска.
+     * @param userId id пользователя.
+     * @return {@link Optional} с сохраненным поиском или пустой, если поиск не найден или принадлежит другому пользователю.
+     */
+    Optional<SavedSearchEntity> findByIdAndUserId(UUID id, UUID userId);
+
+    /**
+     * Позволяет удалить сохраненный поиск, принадлежащий пользователю.
+     *
+     * @param id     id сохраненного поиска.
+     * @param userId id пользователя.
+     * @return количество удаленных записей.
+     */
+    @Modifying
+    @Query(
+            value = "DELETE FROM saved_searches WHERE id = :id AND user_id = :userId",
+            nativeQuery = true
+    )
+    int deleteByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
+
+}
@@ -0,0 +1,123 @@
+package app.repository.task;
+
+import app.dto.task.TaskSearchFilterDto;
+import app.entity.task.TaskEntity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.Serial;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Класс, описывающий фильтр задач, значения которого проверены один раз при создании.
+ * <p>
+ * Набор заданных условий (форма фильтра) кодируется битовой маской. Массив условий для каждой формы вычисляется
+ * один раз и хранится в кэше, поэтому построение предиката проходит только по заданным условиям.
+ * Условия объединяются одним плоским AND.
+ */
+final class CompiledTaskFilter implements Specification<TaskEntity> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final TaskFilterTerm[] TERMS = TaskFilterTerm.values();
+
+    /**
+     * Верхняя граница размера кэша форм. Число форм, встречающихся на практике, значительно меньше.
+     */
+    private static final int MAX_CACHED_SHAPES = 4096;
+
+    private static final ConcurrentMap<Integer, TaskFilterTerm[]> SHAPES = new ConcurrentHashMap<>();
+
+    private final TaskFilterTerm[] terms;
+    private final Object[] values;
+
+    private CompiledTaskFilter(TaskFilterTerm[] terms, Object[] values) {
+        this.terms = terms;
+        this.values = values;
+    }
+
+    /**
+     * Метод, создающий фильтр по заданным в запросе значениям.
+     *
+     * @param searchFilter набор полей для фильтрации.
+     * @return {@link CompiledTaskFilter} или {@literal null}, если ни одно условие не задано.
+     */
+    static CompiledTaskFilter compile(TaskSearchFilterDto searchFilter) {
+        Object[] values = new Object[TERMS.length];
+        int shape = 0;
+        int count = 0;
+        for (TaskFilterTerm term : TERMS) {
+            Object value = term.extract(searchFilter);
+            if (value != null) {
+                values[count++] = value;
+                shape |= 1 << term.ordinal();
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+        Object[] populated = new Object[count];
+        System.arraycopy(values, 0, populated, 0, count);
+        return new CompiledTaskFilter(getTerms(shape, count), populated);
+    }
+
+    @Override
+    public Predicate toPredicate(Root<TaskEntity> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (terms.length == 1) {
+            return terms[0].toPredicate(root, cb, values[0]);
+        }
+        Predicate[] predicates = new Predicate[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            predicates[i] = terms[i].toPredicate(root, cb, values[i]);
+        }
+        return cb.and(predicates);
+    }
+
+    /**
+     * Метод, проверяющий загруженную задачу по тем же условиям, что и {@link #toPredicate}.
+     */
+    boolean test(TaskEntity task) {
+        for (int i = 0; i < terms.length; i++) {
+            if (!terms[i].test(task, values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Метод, проверяющий, участвует ли поле {@link TaskEntity} в условиях фильтра.
+     */
+    boolean usesField(String field) {
+        for (TaskFilterTerm term : terms) {
+            if (term.getField().equals(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static TaskFilterTerm[] getTerms(int shape, int count) {
+        TaskFilterTerm[] terms = SHAPES.get(shape);
+        if (terms != null) {
+            return terms;
+        }
+        terms = new TaskFilterTerm[count];
+        int index = 0;
+        for (TaskFilterTerm term : TERMS) {
+            if ((shape & (1 << term.ordinal())) != 0) {
+                terms[index++] = term;
+            }
+        }
+        if (SHAPES.size() < MAX_CACHED_SHAPES) {
+            SHAPES.putIfAbsent(shape, terms);
+        }
+        return terms;
+    }
+
+}
@@ -0,0 +1,20 @@
+package app.repository.task;
+
+import java.time.LocalDateTime;
+
+/**
+ * Интерфейс, описывающий состояние комментариев к задаче, хранящееся в таблице {@literal tasks}.
+ */
+public interface TaskCommentStats {
+
+    /**
+     * @return количество комментариев к задаче.
+     */
+    int getCommentCount();
+
+    /**
+     * @return дата создания последнего комментария к задаче. Может быть {@literal null}.
+     */
+    LocalDateTime getLastCommentAt();
+
+}
@@ -0,0 +1,96 @@
+package app.repository.task;
+
+import app.entity.task.TaskPriority;
+import app.entity.task.TaskStatus;
+import app.exception.InvalidValueException;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Класс для получения статусов и приоритетов задач по имени без учета регистра. Имена ищутся в заранее построенных
+ * таблицах, поэтому недопустимое имя не приводит к созданию и перехвату исключения {@link IllegalArgumentException}.
+ */
+public final class TaskEnumLookup {
+
+    private static final Map<String, TaskStatus> STATUSES = byName(TaskStatus.values());
+    private static final Map<String, TaskPriority> PRIORITIES = byName(TaskPriority.values());
+
+    private TaskEnumLookup() {
+    }
+
+    /**
+     * Метод для получения статуса задачи по имени.
+     *
+     * @param name имя статуса. Может быть {@literal null}.
+     * @return {@link TaskStatus} или {@literal null}, если имя не задано или недопустимо.
+     */
+    public static TaskStatus findStatus(String name) {
+        return find(STATUSES, name);
+    }
+
+    /**
+     * Метод для получения приоритета задачи по имени.
+     *
+     * @param name имя приоритета. Может быть {@literal null}.
+     * @return {@link TaskPriority} или {@literal null}, если имя не задано или недопустимо.
+     */
+    public static TaskPriority findPriority(String name) {
+        return find(PRIORITIES, name);
+    }
+
+    /**
+     * Метод для получения списка статусов задач по именам.
+     *
+     * @param names имена статусов, не должны быть {@literal null}.
+     * @return {@link Set} статусов в порядке объявления.
+     * @throws InvalidValueException если одно из имен не соответствует допустимым.
+     */
+    public static Set<TaskStatus> getStatuses(Collection<String> names) throws InvalidValueException {
+        return getAll(STATUSES, TaskStatus.class, names);
+    }
+
+    /**
+     * Метод для получения списка приоритетов задач по именам.
+     *
+     * @param names имена приоритетов, не должны быть {@literal null}.
+     * @return {@link Set} приоритетов в порядке объявления.
+     * @throws InvalidValueException если одно из имен не соответствует допустимым.
+     */
+    public static Set<TaskPriority> getPriorities(Collection<String> names) throws InvalidValueException {
+        return getAll(PRIORITIES, TaskPriority.class, names);
+    }
+
+    private static <E extends Enum<E>> E find(Map<String, E> byName, String name) {
+        return name == null ? null : byName.get(name.toUpperCase(Locale.ROOT));
+    }
+
+    private static <E extends Enum<E>> Set<E> getAll(Map<String, E> byName, Class<E> type, Collection<String> names) {
+        Set<E> values = EnumSet.noneOf(type);
+        for (String name : names) {
+            E value = find(byName, name);
+            if (value == null) {
+                throw new InvalidValueException(name, Arrays
+                        .stream(type.getEnumConstants()).map(constant -> constant.name().toLowerCase(Locale.ROOT))
+                        .collect(Collectors.joining(", ")));
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    private static <E extends Enum<E>> Map<String, E> byName(E[] values) {
+        Map<String, E> byName = new HashMap<>();
+        for (E value : values) {
+            byName.put(value.name(), value);
+        }
+        return Map.copyOf(byName);
+    }
+
+}
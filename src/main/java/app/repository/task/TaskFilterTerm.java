@@ -0,0 +1,163 @@
+package app.repository.task;
+
+import app.dto.task.TaskSearchFilterDto;
+import app.entity.task.TaskEntity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Перечисление условий фильтрации задач в порядке их применения.
+ * <p>
+ * Каждое условие извлекает из {@link TaskSearchFilterDto} нормализованное значение ({@literal null}, если фильтр
+ * не задан или одиночное значение недопустимо) и строит по нему предикат. Список статусов или приоритетов
+ * с недопустимым именем отклоняется с {@link app.exception.InvalidValueException}, см. {@link TaskEnumLookup}.
+ * Все условия объединяются через AND.
+ * Условие может быть проверено и для загруженной задачи без обращения к БД, см. {@link #test(TaskEntity, Object)}.
+ */
+enum TaskFilterTerm {
+
+    ID(TaskSpecification.ID, TaskEntity::getId, TaskSearchFilterDto::getId, Operator.EQUAL),
+    NAME(TaskSpecification.NAME, TaskEntity::getName, filter -> nonBlank(filter.getName()), Operator.NAME),
+    DESCRIPTION(TaskSpecification.DESCRIPTION, TaskEntity::getDescription, filter -> nonBlank(filter.getDescription()), Operator.EQUAL),
+    STATUS(TaskSpecification.STATUS, TaskEntity::getStatus, filter -> TaskEnumLookup.findStatus(filter.getStatus()), Operator.EQUAL),
+    STATUS_IN(TaskSpecification.STATUS, TaskEntity::getStatus, filter -> filter.getStatuses() == null ? null : distinct(TaskEnumLookup.getStatuses(filter.getStatuses())), Operator.IN),
+    PRIORITY(TaskSpecification.PRIORITY, TaskEntity::getPriority, filter -> TaskEnumLookup.findPriority(filter.getPriority()), Operator.EQUAL),
+    PRIORITY_IN(TaskSpecification.PRIORITY, TaskEntity::getPriority, filter -> filter.getPriorities() == null ? null : distinct(TaskEnumLookup.getPriorities(filter.getPriorities())), Operator.IN),
+    CREATOR_ID(TaskSpecification.CREATOR_ID, TaskEntity::getCreatorId, TaskSearchFilterDto::getCreatorId, Operator.EQUAL),
+    CREATOR_ID_IN(TaskSpecification.CREATOR_ID, TaskEntity::getCreatorId, filter -> distinct(filter.getCreatorIds()), Operator.IN),
+    EXECUTOR_ID(TaskSpecification.EXECUTOR_ID, TaskEntity::getExecutorId, TaskSearchFilterDto::getExecutorId, Operator.EQUAL),
+    EXECUTOR_ID_IN(TaskSpecification.EXECUTOR_ID, TaskEntity::getExecutorId, filter -> distinct(filter.getExecutorIds()), Operator.IN),
+    CREATED_AT(TaskSpecification.CREATED_AT, TaskEntity::getCreatedAt, TaskSearchFilterDto::getCreatedAt, Operator.EQUAL),
+    CREATED_AT_AFTER(TaskSpecification.CREATED_AT, TaskEntity::getCreatedAt, TaskSearchFilterDto::getCreatedAtAfter, Operator.GREATER_OR_EQUAL),
+    CREATED_AT_BEFORE(TaskSpecification.CREATED_AT, TaskEntity::getCreatedAt, TaskSearchFilterDto::getCreatedAtBefore, Operator.LESS_OR_EQUAL),
+    EXPIRES_ON(TaskSpecification.EXPIRES_ON, TaskEntity::getExpiresOn, TaskSearchFilterDto::getExpiresOn, Operator.EQUAL),
+    EXPIRES_ON_AFTER(TaskSpecification.EXPIRES_ON, TaskEntity::getExpiresOn, TaskSearchFilterDto::getExpiresOnAfter, Operator.GREATER_OR_EQUAL),
+    EXPIRES_ON_BEFORE(TaskSpecification.EXPIRES_ON, TaskEntity::getExpiresOn, TaskSearchFilterDto::getExpiresOnBefore, Operator.LESS_OR_EQUAL),
+    UPDATED_AT(TaskSpecification.UPDATED_AT, TaskEntity::getUpdatedAt, TaskSearchFilterDto::getUpdatedAt, Operator.EQUAL),
+    UPDATED_AT_AFTER(TaskSpecification.UPDATED_AT, TaskEntity::getUpdatedAt, TaskSearchFilterDto::getUpdatedAtAfter, Operator.GREATER_OR_EQUAL),
+    UPDATED_AT_BEFORE(TaskSpecification.UPDATED_AT, TaskEntity::getUpdatedAt, TaskSearchFilterDto::getUpdatedAtBefore, Operator.LESS_OR_EQUAL),
+    COMMENT_COUNT_MIN(TaskSpecification.COMMENT_COUNT, TaskEntity::getCommentCount, TaskSearchFilterDto::getCommentCountMin, Operator.GREATER_OR_EQUAL),
+    COMMENT_COUNT_MAX(TaskSpecification.COMMENT_COUNT, TaskEntity::getCommentCount, TaskSearchFilterDto::getCommentCountMax, Operator.LESS_OR_EQUAL),
+    LAST_COMMENT_AT_AFTER(TaskSpecification.LAST_COMMENT_AT, TaskEntity::getLastCommentAt, TaskSearchFilterDto::getLastCommentAtAfter, Operator.GREATER_OR_EQUAL),
+    LAST_COMMENT_AT_BEFORE(TaskSpecification.LAST_COMMENT_AT, TaskEntity::getLastCommentAt, TaskSearchFilterDto::getLastCommentAtBefore, Operator.LESS_OR_EQUAL);
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final String field;
+    private final Function<TaskEntity, Object> getter;
+    private final Function<TaskSearchFilterDto, Object> extractor;
+    private final Operator operator;
+
+    TaskFilterTerm(String field,
+                   Function<TaskEntity, Object> getter,
+                   Function<TaskSearchFilterDto, Object> extractor,
+                   Operator operator) {
+        this.field = field;
+        this.getter = getter;
+        this.extractor = extractor;
+        this.operator = operator;
+    }
+
+    /**
+     * Метод, возвращающий значение фильтра или {@literal null}, если условие не применяется.
+     */
+    Object extract(TaskSearchFilterDto searchFilter) {
+        return extractor.apply(searchFilter);
+    }
+
+    /**
+     * Метод, возвращающий имя поля {@link TaskEntity}, которое проверяет условие.
+     */
+    String getField() {
+        return field;
+    }
+
+    Predicate toPredicate(Root<TaskEntity> root, CriteriaBuilder cb, Object value) {
+        return switch (operator) {
+            case EQUAL -> cb.equal(root.get(field), value);
+            case GREATER_OR_EQUAL -> cb.greaterThanOrEqualTo(root.get(field), asComparable(value));
+            case LESS_OR_EQUAL -> cb.lessThanOrEqualTo(root.get(field), asComparable(value));
+            // Число параметров списка выравнивается до степени двойки, см. hibernate.query.in_clause_parameter_padding.
+            case IN -> root.get(field).in((Collection<?>) value);
+            // Вхождение подстроки, включая точное совпадение. Выполняется по индексу tasks_name_trgm_idx (pg_trgm).
+            case NAME -> cb.like(root.get(field), containsPattern((String) value), LIKE_ESCAPE);
+        };
+    }
+
+    /**
+     * Метод, проверяющий условие для задачи так же, как его проверяет БД.
+     *
+     * @param task  задача.
+     * @param value значение фильтра, полученное из {@link #extract(TaskSearchFilterDto)}.
+     * @return {@literal true} - если задача удовлетворяет условию, в противном случае - {@literal false}.
+     */
+    boolean test(TaskEntity task, Object value) {
+        Object actual = getter.apply(task);
+        if (actual == null) {
+            return false;
+        }
+        return switch (operator) {
+            case EQUAL -> Objects.equals(actual, value);
+            case GREATER_OR_EQUAL -> asComparable(actual).compareTo(asComparable(value)) >= 0;
+            case LESS_OR_EQUAL -> asComparable(actual).compareTo(asComparable(value)) <= 0;
+            case IN -> ((Collection<?>) value).contains(actual);
+            case NAME -> ((String) actual).contains((String) value);
+        };
+    }
+
+    private static String nonBlank(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    /**
+     * Метод, возвращающий список без повторов и значений {@literal null} или {@literal null}, если таких значений нет.
+     */
+    private static <T> List<T> distinct(Collection<T> values) {
+        if (values == null) {
+            return null;
+        }
+        Set<T> distinct = new LinkedHashSet<>(values);
+        distinct.remove(null);
+        return distinct.isEmpty() ? null : List.copyOf(distinct);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable<Object> asComparable(Object value) {
+        return (Comparable) value;
+    }
+
+    /**
+     * Метод, формирующий шаблон LIKE для поиска подстроки. Символы {@code %} и {@code _} в значении экранируются.
+     */
+    private static String containsPattern(String value) {
+        StringBuilder pattern = new StringBuilder(value.length() + 2).append('%');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+    /**
+     * Способ сравнения значения поля со значением фильтра.
+     */
+    private enum Operator {
+        EQUAL,
+        GREATER_OR_EQUAL,
+        LESS_OR_EQUAL,
+        IN,
+        NAME
+    }
+
+}
@@ -0,0 +1,36 @@
+package app.repository.task;
+
+import app.entity.task.TaskEntity;
+
+import java.util.function.Predicate;
+
+/**
+ * Класс, проверяющий загруженные задачи по фильтру без обращения к базе данных.
+ * <p>
+ * Условия совпадают с условиями {@link TaskSpecification#filterBy}: задача, принятая этим классом, была бы
+ * возвращена запросом с тем же фильтром. Удаленные задачи не принимаются.
+ */
+public final class TaskMatcher implements Predicate<TaskEntity> {
+
+    private final CompiledTaskFilter filter;
+
+    TaskMatcher(CompiledTaskFilter filter) {
+        this.filter = filter;
+    }
+
+    @Override
+    public boolean test(TaskEntity task) {
+        return task.getDeletedAt() == null && (filter == null || filter.test(task));
+    }
+
+    /**
+     * Метод, проверяющий, зависит ли результат фильтра от значения поля {@link TaskEntity}.
+     *
+     * @param field имя поля, см. константы {@link TaskSpecification}.
+     * @return {@literal true} - если поле участвует в условиях фильтра, в противном случае - {@literal false}.
+     */
+    public boolean dependsOn(String field) {
+        return filter != null && filter.usesField(field);
+    }
+
+}
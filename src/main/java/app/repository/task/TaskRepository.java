@@ -1,23 +1,31 @@
 package app.repository.task;
 
 import app.entity.task.TaskEntity;
+import app.repository.DetachingRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Интерфейс, описывающий методы взаимодействия с базой данных для класса {@link TaskEntity}.
  */
 @Repository
-public interface TaskRepository extends JpaRepository<TaskEntity, UUID>, JpaSpecificationExecutor<TaskEntity>, PagingAndSortingRepository<TaskEntity, UUID> {
+public interface TaskRepository extends JpaRepository<TaskEntity, UUID>, JpaSpecificationExecutor<TaskEntity>, PagingAndSortingRepository<TaskEntity, UUID>,
+        TaskRepositoryCustom, DetachingRepository<TaskEntity> {
 
     /**
      * Позволяет выполнять поиск в базе данных по указанным критериям и вернуть результат с заданным количеством страниц.
@@ -41,15 +49,6 @@ public interface TaskRepository extends JpaRepository<TaskEntity, UUID>, JpaSpec
     boolean existsById(@Nullable UUID id);
 
 
-    /**
-     * Проверка на наличие задачи с указанными {@literal name} и {@literal creatorId} в базе данных.
-     *
-     * @param name      имя задачи, не должен быть {@literal null}.
-     * @param creatorId id создателя задачи, не должен быть {@literal null}.
-     * @return {@literal true} - если сущетсвует, в противном случае - {@literal false}
-     */
-    boolean existsByNameAndCreatorId(@Nullable String name, @Nullable UUID creatorId);
-
     /**
      * Проверка на наличие задачи с указанными {@literal taskId} и {@literal creatorId} в базе данных.
      *
@@ -69,17 +68,270 @@ public interface TaskRepository extends JpaRepository<TaskEntity, UUID>, JpaSpec
     boolean existsByIdAndExecutorId(@Nullable UUID taskId, @Nullable UUID executorId);
 
     /**
-     * Удаление задачи с указанным {@literal taskId} из базы данных.
+     * Позволяет получить версию задачи с указанным {@literal taskId}, количество комментариев и дату последнего
+     * комментария к ней без загрузки самой задачи.
+     *
+     * @param taskId id задачи.
+     * @return {@link Optional}, содержащий {@link TaskVersionStats} в случае нахождения.
+     */
+    @Query("""
+            SELECT t.version AS version, t.commentCount AS commentCount, t.lastCommentAt AS lastCommentAt
+            FROM tasks t
+            WHERE t.id = :taskId
+            """)
+    Optional<TaskVersionStats> findVersionStatsById(@Param("taskId") UUID taskId);
+
+    /**
+     * Позволяет получить количество комментариев и дату последнего комментария к задаче с указанным {@literal taskId}
+     * без загрузки самой задачи.
      *
      * @param taskId id задачи.
-     * @return {@link UUID} - id удаленной задачи.
+     * @return {@link Optional}, содержащий {@link TaskCommentStats} в случае нахождения.
+     */
+    @Query("SELECT t.commentCount AS commentCount, t.lastCommentAt AS lastCommentAt FROM tasks t WHERE t.id = :taskId")
+    Optional<TaskCommentStats> findCommentStatsById(@Param("taskId") UUID taskId);
+
+    /**
+     * Позволяет получить id задач из указанного набора, присутствующих в базе данных.
+     *
+     * @param taskIds набор id задач, не должен быть {@literal null}.
+     * @return {@link List} id найденных задач. Может быть пустым.
+     */
+    @Query("SELECT t.id FROM tasks t WHERE t.id IN :taskIds")
+    List<UUID> findIdsByIdIn(@Param("taskIds") Collection<UUID> taskIds);
+
+    /**
+     * Позволяет получить id задач из указанного набора, создателем или исполнителем которых является пользователь
+     * с указанным {@literal userId}.
+     *
+     * @param taskIds набор id задач, не должен быть {@literal null}.
+     * @param userId  id пользователя, не должен быть {@literal null}.
+     * @return {@link List} id найденных задач. Может быть пустым.
+     */
+    @Query("SELECT t.id FROM tasks t WHERE t.id IN :taskIds AND (t.creatorId = :userId OR t.executorId = :userId)")
+    List<UUID> findIdsByIdInAndRelatedUserId(@Param("taskIds") Collection<UUID> taskIds, @Param("userId") UUID userId);
+
+    /**
+     * Позволяет получить доску задач команды одним запросом: для каждой пары исполнителя и статуса возвращается не
+     * более {@literal limit} задач с ближайшим сроком выполнения. Списки передаются типизированными массивами в одном
+     * параметре, поэтому текст запроса не зависит от их длины. Каждая пара читается по частичному индексу
+     * {@literal (executor_id, status, expires_on, id)}, не содержащему удаленных задач.
+     *
+     * @param executorIds массив id исполнителей.
+     * @param statuses    массив имен статусов.
+     * @param limit       максимальное количество задач для пары исполнителя и статуса.
+     * @return {@link List} задач, упорядоченных по исполнителю, статусу, сроку выполнения и {@literal id}.
      */
     @Query(
             value = """
-                    DELETE FROM tasks
+                    SELECT t.*
+                    FROM unnest(CAST(:executorIds AS uuid[])) AS e(executor_id)
+                    CROSS JOIN unnest(CAST(:statuses AS varchar[])) AS s(status)
+                    CROSS JOIN LATERAL (
+                        SELECT *
+                        FROM tasks
+                        WHERE tasks.executor_id = e.executor_id
+                          AND tasks.status = s.status
+                          AND tasks.deleted_at IS NULL
+                        ORDER BY tasks.expires_on, tasks.id
+                        LIMIT :limit
+                    ) t
+                    ORDER BY t.executor_id, t.status, t.expires_on, t.id
+                    """, nativeQuery = true)
+    List<TaskEntity> findTeamBoard(@Param("executorIds") UUID[] executorIds,
+                                   @Param("statuses") String[] statuses,
+                                   @Param("limit") int limit);
+
+    /**
+     * Атомарно увеличивает количество комментариев к задаче с указанным {@literal taskId} и обновляет дату последнего
+     * комментария. Дата обновления задачи сдвигается вместе с ними, чтобы изменение счетчиков получили клиенты
+     * синхронизации ({@link #findChangedAfter}). Версия задачи не изменяется.
+     *
+     * @param taskId      id задачи.
+     * @param count       количество добавленных комментариев.
+     * @param commentedAt дата создания последнего из добавленных комментариев.
+     * @return количество обновленных записей.
+     */
+    @Modifying
+    @Query(
+            value = """
+                    UPDATE tasks
+                    SET comment_count = comment_count + :count,
+                        last_comment_at = greatest(last_comment_at, :commentedAt),
+                        updated_at = greatest(updated_at, :commentedAt)
                     WHERE id = :taskId
+                    """, nativeQuery = true)
+    int incrementCommentCount(@Param("taskId") UUID taskId,
+                              @Param("count") int count,
+                              @Param("commentedAt") LocalDateTime commentedAt);
+
+    /**
+     * Обновление задачи с указанным {@literal taskId} одним запросом при условии, что ее текущая версия равна
+     * {@literal version}. Поля, для которых передан {@literal null}, не изменяются.
+     *
+     * @param taskId      id задачи.
+     * @param version     ожидаемая версия задачи.
+     * @param name        новое имя задачи.
+     * @param description новое описание задачи.
+     * @param status      новый статус задачи.
+     * @param priority    новый приоритет задачи.
+     * @param executorId  новый id исполнителя задачи.
+     * @param expiresOn   новая дата истечения срока выполнения задачи.
+     * @param updatedAt   дата обновления задачи.
+     * @return {@link Optional}, содержащий обновленную задачу, или пустой, если задача не найдена или ее версия изменилась.
+     */
+    @Query(
+            value = """
+                    UPDATE tasks
+                    SET name = coalesce(cast(:name AS varchar), name),
+                        description = coalesce(cast(:description AS text), description),
+                        status = coalesce(cast(:status AS varchar), status),
+                        priority = coalesce(cast(:priority AS varchar), priority),
+                        executor_id = coalesce(cast(:executorId AS uuid), executor_id),
+                        expires_on = coalesce(cast(:expiresOn AS timestamp), expires_on),
+                        updated_at = :updatedAt,
+                        version = version + 1
+                    WHERE id = :taskId AND version = :version AND deleted_at IS NULL
+                    RETURNING *
+                    """, nativeQuery = true)
+    Optional<TaskEntity> updateTaskIfVersionMatches(@Param("taskId") UUID taskId,
+                                                    @Param("version") long version,
+                                                    @Param("name") String name,
+                                                    @Param("description") String description,
+                                                    @Param("status") String status,
+                                                    @Param("priority") String priority,
+                                                    @Param("executorId") UUID executorId,
+                                                    @Param("expiresOn") LocalDateTime expiresOn,
+                                                    @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Позволяет получить не более {@literal limit} задач, созданных, измененных или удаленных после позиции
+     * {@literal (changedAt, taskId)}, включая удаленные задачи. Датой изменения считается дата обновления задачи или,
+     * если задача не обновлялась, дата ее создания. Изменения после {@literal settledBefore} не возвращаются.
+     *
+     * @param changedAt     дата изменения последней задачи предыдущей страницы.
+     * @param taskId        id последней задачи предыдущей страницы.
+     * @param settledBefore граница изменений, включаемых в результат.
+     * @param limit         максимальное количество задач.
+     * @return {@link List} задач, упорядоченных по дате изменения и {@literal id}. Может быть пустым.
+     */
+    @Query(
+            value = """
+                    SELECT *
+                    FROM tasks
+                    WHERE (coalesce(updated_at, created_at), id) > (:changedAt, :taskId)
+                    AND coalesce(updated_at, created_at) <= :settledBefore
+                    ORDER BY coalesce(updated_at, created_at), id
+                    LIMIT :limit
+                    """, nativeQuery = true)
+    List<TaskEntity> findChangedAfter(@Param("changedAt") LocalDateTime changedAt,
+                                      @Param("taskId") UUID taskId,
+                                      @Param("settledBefore") LocalDateTime settledBefore,
+                                      @Param("limit") int limit);
+
+    /**
+     * Удаление задачи с указанным {@literal taskId}. Запись сохраняется с датой удаления, чтобы клиенты синхронизации
+     * получили сведения об удалении, и удаляется из БД после истечения срока хранения.
+     *
+     * @param taskId    id задачи.
+     * @param deletedAt дата удаления.
+     * @return количество удаленных записей.
+     */
+    @Modifying
+    @Query(
+            value = """
+                    UPDATE tasks
+                    SET deleted_at = :deletedAt,
+                        updated_at = :deletedAt,
+                        version = version + 1
+                    WHERE id = :taskId AND deleted_at IS NULL
+                    """, nativeQuery = true)
+    int deleteTaskById(@Nullable @Param("taskId") UUID taskId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Удаление из БД не более {@literal limit} задач, удаленных до {@literal deletedBefore}. Комментарии к задачам
+     * должны быть удалены до вызова метода, см.
+     * {@link app.repository.task_comment.TaskCommentRepository#deleteTombstones(LocalDateTime, int)}.
+     *
+     * @param deletedBefore граница срока хранения удаленных задач.
+     * @param limit         максимальное количество удаляемых задач.
+     * @return количество удаленных записей.
+     */
+    @Modifying
+    @Query(
+            value = """
+                    DELETE FROM tasks
+                    WHERE id IN (SELECT id
+                                 FROM tasks
+                                 WHERE deleted_at < :deletedBefore
+                                 LIMIT :limit)
+                    """, nativeQuery = true)
+    int deleteTombstones(@Param("deletedBefore") LocalDateTime deletedBefore, @Param("limit") int limit);
+
+    /**
+     * Снятие пользователя с указанным {@literal userId} с роли исполнителя не более чем у {@literal limit}
+     * неудаленных задач.
+     *
+     * @param userId    id пользователя.
+     * @param updatedAt дата обновления задач.
+     * @param limit     максимальное количество обновляемых задач.
+     * @return {@link List} id обновленных задач. Может быть пустым.
+     */
+    @Query(
+            value = """
+                    UPDATE tasks
+                    SET executor_id = NULL,
+                        updated_at = :updatedAt,
+                        version = version + 1
+                    WHERE id IN (SELECT id
+                                 FROM tasks
+                                 WHERE executor_id = :userId AND deleted_at IS NULL
+                                 LIMIT :limit)
+                    RETURNING id
+                    """, nativeQuery = true)
+    List<UUID> unassignExecutor(@Param("userId") UUID userId,
+                                @Param("updatedAt") LocalDateTime updatedAt,
+                                @Param("limit") int limit);
+
+    /**
+     * Удаление не более {@literal limit} задач, созданных пользователем с указанным {@literal creatorId}. Записи
+     * сохраняются с датой удаления, как при {@link #deleteTaskById(UUID, LocalDateTime)}, и удаляются из БД после
+     * истечения срока хранения.
+     *
+     * @param creatorId id создателя задач.
+     * @param deletedAt дата удаления.
+     * @param limit     максимальное количество удаляемых задач.
+     * @return {@link List} id удаленных задач. Может быть пустым.
+     */
+    @Query(
+            value = """
+                    UPDATE tasks
+                    SET deleted_at = :deletedAt,
+                        updated_at = :deletedAt,
+                        version = version + 1
+                    WHERE id IN (SELECT id
+                                 FROM tasks
+                                 WHERE creator_id = :creatorId AND deleted_at IS NULL
+                                 LIMIT :limit)
                     RETURNING id
                     """, nativeQuery = true)
-    UUID deleteTaskById(@Nullable UUID taskId);
+    List<UUID> deleteByCreatorId(@Param("creatorId") UUID creatorId,
+                                 @Param("deletedAt") LocalDateTime deletedAt,
+                                 @Param("limit") int limit);
+
+    /**
+     * Проверка наличия в БД задач, созданных пользователем с указанным {@literal creatorId}, включая удаленные,
+     * срок хранения которых еще не истек.
+     *
+     * @param creatorId id создателя задач.
+     * @return {@literal true} - если задачи есть, в противном случае - {@literal false}.
+     */
+    @Query(
+            value = """
+                    SELECT EXISTS (SELECT 1
+                                   FROM tasks
+                                   WHERE creator_id = :creatorId)
+                    """, nativeQuery = true)
+    boolean existsAnyByCreatorId(@Param("creatorId") UUID creatorId);
 
 }
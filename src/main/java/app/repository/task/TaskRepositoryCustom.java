@@ -0,0 +1,37 @@
+package app.repository.task;
+
+import app.entity.task.TaskEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+
+import java.util.stream.Stream;
+
+/**
+ * Интерфейс, описывающий дополнительные методы взаимодействия с базой данных для класса {@link TaskEntity}.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Позволяет получить агрегированное состояние страницы задач, удовлетворяющих указанным критериям, без загрузки
+     * самих задач. Читаются только id, даты и счетчик комментариев задач страницы в том же порядке и с тем же
+     * смещением, что и при {@link #streamAll(Specification, Pageable)}, поэтому стоимость запроса ограничена
+     * размером страницы, а не всего набора.
+     *
+     * @param specification критерии поиска. Если {@literal null} - учитываются все задачи.
+     * @param pageable      номер, размер и сортировка страницы, не должен быть {@literal null}.
+     * @return {@link TaskSetStats} состояние страницы задач.
+     */
+    TaskSetStats getTaskPageStats(@Nullable Specification<TaskEntity> specification, Pageable pageable);
+
+    /**
+     * Позволяет получить страницу задач, удовлетворяющих указанным критериям, в виде потока. Строки читаются из БД
+     * порциями по мере обработки потока, поэтому поток необходимо обработать и закрыть в рамках транзакции.
+     *
+     * @param specification критерии поиска. Если {@literal null} - учитываются все задачи.
+     * @param pageable      номер, размер и сортировка страницы, не должен быть {@literal null}.
+     * @return {@link Stream} объектов {@link TaskEntity}.
+     */
+    Stream<TaskEntity> streamAll(@Nullable Specification<TaskEntity> specification, Pageable pageable);
+
+}
@@ -0,0 +1,109 @@
+package app.repository.task;
+
+import app.entity.task.TaskEntity;
+import app.repository.DetachingRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.lang.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Класс, реализующий методы {@link TaskRepositoryCustom}.
+ */
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskRepositoryCustom#getTaskPageStats(Specification, Pageable)
+     */
+    @Override
+    public TaskSetStats getTaskPageStats(@Nullable Specification<TaskEntity> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<TaskEntity> root = query.from(TaskEntity.class);
+        query.multiselect(
+                root.<UUID>get(TaskSpecification.ID),
+                cb.coalesce(
+                        root.<LocalDateTime>get(TaskSpecification.UPDATED_AT),
+                        root.<LocalDateTime>get(TaskSpecification.CREATED_AT)),
+                root.<LocalDateTime>get(TaskSpecification.LAST_COMMENT_AT),
+                root.<Integer>get(TaskSpecification.COMMENT_COUNT));
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        TypedQuery<Object[]> typedQuery = entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_READ_ONLY, true);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        long count = 0;
+        long idsHash = 1;
+        LocalDateTime lastModified = null;
+        LocalDateTime lastCommentAt = null;
+        long commentCount = 0;
+        for (Object[] row : typedQuery.getResultList()) {
+            UUID id = (UUID) row[0];
+            count++;
+            idsHash = 31 * idsHash + (id.getMostSignificantBits() ^ id.getLeastSignificantBits());
+            lastModified = this.getLatest(lastModified, (LocalDateTime) row[1]);
+            lastCommentAt = this.getLatest(lastCommentAt, (LocalDateTime) row[2]);
+            commentCount += row[3] == null ? 0 : ((Number) row[3]).longValue();
+        }
+        return new TaskSetStats(count, idsHash, lastModified, lastCommentAt, commentCount);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskRepositoryCustom#streamAll(Specification, Pageable)
+     */
+    @Override
+    public Stream<TaskEntity> streamAll(@Nullable Specification<TaskEntity> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskEntity> query = cb.createQuery(TaskEntity.class);
+        Root<TaskEntity> root = query.from(TaskEntity.class);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        TypedQuery<TaskEntity> typedQuery = entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, DetachingRepository.STREAM_FETCH_SIZE)
+                .setHint(AvailableHints.HINT_READ_ONLY, true);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultStream();
+    }
+
+    private LocalDateTime getLatest(LocalDateTime first, LocalDateTime second) {
+        if (first == null) {
+            return second;
+        } else if (second == null) {
+            return first;
+        }
+        return first.isAfter(second) ? first : second;
+    }
+
+}
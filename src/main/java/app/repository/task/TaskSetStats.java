@@ -0,0 +1,50 @@
+package app.repository.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Класс, представляющий агрегированное состояние страницы задач, используемое для условных запросов.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskSetStats {
+
+    /**
+     * Количество задач в наборе.
+     */
+    private final long count;
+
+    /**
+     * Хэш id задач набора с учетом их порядка. Изменяется, если задача вошла в набор или покинула его.
+     */
+    private final long idsHash;
+
+    /**
+     * Наибольшая дата создания или обновления задачи в наборе.
+     */
+    private final LocalDateTime lastModified;
+
+    /**
+     * Наибольшая дата последнего комментария к задаче в наборе.
+     */
+    private final LocalDateTime lastCommentAt;
+
+    /**
+     * Суммарное количество комментариев к задачам в наборе.
+     */
+    private final long commentCount;
+
+    @Override
+    public String toString() {
+        return "TaskSetStats{" +
+                "count=" + count +
+                ", idsHash=" + idsHash +
+                ", lastModified=" + lastModified +
+                ", lastCommentAt=" + lastCommentAt +
+                ", commentCount=" + commentCount +
+                '}';
+    }
+}
@@ -0,0 +1,65 @@
+package app.repository.task;
+
+import app.exception.InvalidValueException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Класс, определяющий допустимые поля сортировки задач. Для каждого поля в базе данных присутствует индекс
+ * {@literal (column, id)}, поэтому упорядоченная выборка страницы не требует сортировки всего результата фильтрации.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TaskSortField {
+
+    NAME(TaskSpecification.NAME, "name"),
+    CREATED_AT(TaskSpecification.CREATED_AT, "created_at"),
+    EXPIRES_ON(TaskSpecification.EXPIRES_ON, "expires_on"),
+    UPDATED_AT(TaskSpecification.UPDATED_AT, "updated_at"),
+    COMMENT_COUNT(TaskSpecification.COMMENT_COUNT, "comment_count"),
+    LAST_COMMENT_AT(TaskSpecification.LAST_COMMENT_AT, "last_comment_at");
+
+    /**
+     * Имя поля объекта класса {@link app.entity.task.TaskEntity}.
+     */
+    private final String fieldName;
+
+    /**
+     * Имя столбца таблицы {@literal tasks}.
+     */
+    private final String columnName;
+
+    /**
+     * Метод для получения поля сортировки по имени поля объекта класса {@link app.entity.task.TaskEntity}
+     * без учета регистра.
+     *
+     * @param fieldName имя поля.
+     * @return {@link TaskSortField}, соответствующий указанному имени.
+     * @throws InvalidValueException если поле отсутствует в списке допустимых.
+     */
+    public static TaskSortField fromFieldName(String fieldName) throws InvalidValueException {
+        return Arrays
+                .stream(values())
+                .filter(value -> value.fieldName.equalsIgnoreCase(fieldName))
+                .findFirst()
+                .orElseThrow(() -> new InvalidValueException(
+                        fieldName,
+                        Arrays.stream(values()).map(TaskSortField::getFieldName).collect(Collectors.joining(", "))));
+    }
+
+    /**
+     * Метод для получения сортировки по данному полю. Дополнительно задачи упорядочиваются по {@literal id}
+     * в том же направлении, чтобы порядок был однозначным и страницы не пересекались.
+     *
+     * @param direction направление сортировки.
+     * @return объект {@link Sort}.
+     */
+    public Sort toSort(Sort.Direction direction) {
+        return Sort.by(direction, fieldName, TaskSpecification.ID);
+    }
+
+}
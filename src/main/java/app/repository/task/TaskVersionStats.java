@@ -0,0 +1,13 @@
+package app.repository.task;
+
+/**
+ * Интерфейс, описывающий версию задачи и состояние комментариев к ней, по которым вычисляется ETag задачи.
+ */
+public interface TaskVersionStats extends TaskCommentStats {
+
+    /**
+     * @return версия задачи.
+     */
+    long getVersion();
+
+}
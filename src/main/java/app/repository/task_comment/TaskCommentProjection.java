@@ -0,0 +1,63 @@
+package app.repository.task_comment;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Интерфейс-проекция комментария к задаче вместе с данными его автора. Позволяет получить комментарий и автора
+ * одним запросом, без загрузки связанных сущностей.
+ */
+public interface TaskCommentProjection {
+
+    /**
+     * @return id комментария.
+     */
+    UUID getId();
+
+    /**
+     * @return id связанной задачи.
+     */
+    UUID getTaskId();
+
+    /**
+     * @return текст комментария.
+     */
+    String getContent();
+
+    /**
+     * @return дата создания комментария.
+     */
+    LocalDateTime getCreatedAt();
+
+    /**
+     * @return дата удаления комментария. Выбирается только запросами синхронизации изменений, в остальных случаях
+     * равна {@literal null}.
+     */
+    LocalDateTime getDeletedAt();
+
+    /**
+     * @return id автора комментария.
+     */
+    UUID getUserId();
+
+    /**
+     * @return имя пользователя автора для входа в систему.
+     */
+    String getUsername();
+
+    /**
+     * @return фактическое имя автора.
+     */
+    String getName();
+
+    /**
+     * @return электронная почта автора.
+     */
+    String getEmail();
+
+    /**
+     * @return дата создания автора.
+     */
+    LocalDateTime getUserCreatedAt();
+
+}
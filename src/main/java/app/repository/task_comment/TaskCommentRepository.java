@@ -1,32 +1,143 @@
 package app.repository.task_comment;
 
 import app.entity.task_comment.TaskCommentEntity;
-import org.springframework.data.domain.Page;
+import app.repository.DetachingRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Интерфейс, описывающий методы взаимодействия с базой данных для класса {@link TaskCommentEntity}.
  */
 @Repository
-public interface TaskCommentRepository extends JpaRepository<TaskCommentEntity, UUID>, PagingAndSortingRepository<TaskCommentEntity, UUID> {
+public interface TaskCommentRepository extends JpaRepository<TaskCommentEntity, UUID>, PagingAndSortingRepository<TaskCommentEntity, UUID>,
+        DetachingRepository<TaskCommentEntity> {
 
     /**
-     * Позволяет выполнять поиск комментариев с указанным {@literal taskId} в базе данных и вернуть результат c заданным количеством страниц.
+     * Позволяет получить страницу комментариев к задаче с указанным {@literal taskId} вместе с авторами в виде потока.
+     * Строки читаются из БД порциями по мере обработки потока, поэтому поток необходимо обработать и закрыть в рамках
+     * транзакции.
      *
      * @param taskId   id задачи.
-     * @param pageable не должен быть {@literal null}.
-     * @return Объект класса {@link Page} со всеми найденными записями из таблицы.
-     * @see Pageable
+     * @param pageable номер, размер и сортировка страницы, не должен быть {@literal null}.
+     * @return {@link Stream} объектов {@link TaskCommentEntity}.
      */
-    Page<TaskCommentEntity> findAllByTaskId(UUID taskId, @Nullable Pageable pageable);
+    @EntityGraph(attributePaths = "user")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = DetachingRepository.STREAM_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<TaskCommentEntity> streamAllByTaskId(UUID taskId, Pageable pageable);
+
+    /**
+     * Позволяет получить первую страницу ленты комментариев к задаче с указанным {@literal taskId}.
+     * Комментарии упорядочены по {@literal createdAt} и {@literal id}, данные автора возвращаются тем же запросом.
+     *
+     * @param taskId   id задачи.
+     * @param pageable ограничение количества элементов, не должен быть {@literal null}.
+     * @return {@link List} объектов {@link TaskCommentProjection}. Может быть пустым.
+     */
+    @Query(
+            value = """
+                    SELECT c.id AS "id",
+                           c.task_id AS "taskId",
+                           c.content AS "content",
+                           c.created_at AS "createdAt",
+                           u.id AS "userId",
+                           u.username AS "username",
+                           u.name AS "name",
+                           u.email AS "email",
+                           u.created_at AS "userCreatedAt"
+                    FROM task_comments c
+                    JOIN users u ON u.id = c.user_id
+                    WHERE c.task_id = :taskId
+                    AND c.deleted_at IS NULL
+                    ORDER BY c.created_at, c.id
+                    """, nativeQuery = true)
+    List<TaskCommentProjection> findFeedByTaskId(@Param("taskId") UUID taskId, Pageable pageable);
+
+    /**
+     * Позволяет получить следующую страницу ленты комментариев к задаче с указанным {@literal taskId},
+     * начиная с позиции после комментария с указанными {@literal createdAt} и {@literal commentId}.
+     *
+     * @param taskId    id задачи.
+     * @param createdAt дата создания последнего комментария предыдущей страницы.
+     * @param commentId id последнего комментария предыдущей страницы.
+     * @param pageable  ограничение количества элементов, не должен быть {@literal null}.
+     * @return {@link List} объектов {@link TaskCommentProjection}. Может быть пустым.
+     */
+    @Query(
+            value = """
+                    SELECT c.id AS "id",
+                           c.task_id AS "taskId",
+                           c.content AS "content",
+                           c.created_at AS "createdAt",
+                           u.id AS "userId",
+                           u.username AS "username",
+                           u.name AS "name",
+                           u.email AS "email",
+                           u.created_at AS "userCreatedAt"
+                    FROM task_comments c
+                    JOIN users u ON u.id = c.user_id
+                    WHERE c.task_id = :taskId
+                    AND c.deleted_at IS NULL
+                    AND (c.created_at, c.id) > (:createdAt, :commentId)
+                    ORDER BY c.created_at, c.id
+                    """, nativeQuery = true)
+    List<TaskCommentProjection> findFeedByTaskIdAfter(@Param("taskId") UUID taskId,
+                                                      @Param("createdAt") LocalDateTime createdAt,
+                                                      @Param("commentId") UUID commentId,
+                                                      Pageable pageable);
+
+    /**
+     * Позволяет получить не более {@literal limit} последних комментариев к каждой из задач с указанными {@literal taskIds}
+     * одним запросом. Комментарии сгруппированы по задачам и упорядочены от новых к старым, данные автора возвращаются
+     * тем же запросом. Для каждой задачи читается не более {@literal limit} строк частичного индекса
+     * {@literal (task_id, created_at, id)}, поэтому время запроса не зависит от общего количества комментариев.
+     *
+     * @param taskIds массив id задач.
+     * @param limit   максимальное количество комментариев к одной задаче.
+     * @return {@link List} объектов {@link TaskCommentProjection}. Может быть пустым.
+     */
+    @Query(
+            value = """
+                    SELECT c.id AS "id",
+                           c.task_id AS "taskId",
+                           c.content AS "content",
+                           c.created_at AS "createdAt",
+                           u.id AS "userId",
+                           u.username AS "username",
+                           u.name AS "name",
+                           u.email AS "email",
+                           u.created_at AS "userCreatedAt"
+                    FROM unnest(CAST(:taskIds AS uuid[])) AS t(task_id)
+                    CROSS JOIN LATERAL (
+                        SELECT *
+                        FROM task_comments tc
+                        WHERE tc.task_id = t.task_id
+                          AND tc.deleted_at IS NULL
+                        ORDER BY tc.created_at DESC, tc.id DESC
+                        LIMIT :limit
+                    ) c
+                    JOIN users u ON u.id = c.user_id
+                    ORDER BY c.task_id, c.created_at DESC, c.id DESC
+                    """, nativeQuery = true)
+    List<TaskCommentProjection> findLatestByTaskIdIn(@Param("taskIds") UUID[] taskIds, @Param("limit") int limit);
 
     /**
      * Проверка на наличие комментария с указанным {@literal commentId} в базе данных.
@@ -45,13 +156,188 @@ public interface TaskCommentRepository extends JpaRepository<TaskCommentEntity,
      */
     boolean existsByIdAndUserId(@Nullable UUID commentId, @Nullable UUID userId);
 
+    /**
+     * Позволяет получить не более {@literal limit} комментариев к задаче с указанным {@literal taskId}, созданных или
+     * удаленных после позиции {@literal (changedAt, commentId)}, включая удаленные комментарии. Датой изменения
+     * считается дата удаления комментария или, если комментарий не удален, дата его создания. Изменения после
+     * {@literal settledBefore} не возвращаются.
+     *
+     * @param taskId        id задачи.
+     * @param changedAt     дата изменения последнего комментария предыдущей страницы.
+     * @param commentId     id последнего комментария предыдущей страницы.
+     * @param settledBefore граница изменений, включаемых в результат.
+     * @param limit         максимальное количество комментариев.
+     * @return {@link List} объектов {@link TaskCommentProjection}, упорядоченных по дате изменения и {@literal id}.
+     * Может быть пустым.
+     */
+    @Query(
+            value = """
+                    SELECT c.id AS "id",
+                           c.task_id AS "taskId",
+                           c.content AS "content",
+                           c.created_at AS "createdAt",
+                           c.deleted_at AS "deletedAt",
+                           u.id AS "userId",
+                           u.username AS "username",
+                           u.name AS "name",
+                           u.email AS "email",
+                           u.created_at AS "userCreatedAt"
+                    FROM task_comments c
+                    JOIN users u ON u.id = c.user_id
+                    WHERE c.task_id = :taskId
+                    AND (coalesce(c.deleted_at, c.created_at), c.id) > (:changedAt, :commentId)
+                    AND coalesce(c.deleted_at, c.created_at) <= :settledBefore
+                    ORDER BY coalesce(c.deleted_at, c.created_at), c.id
+                    LIMIT :limit
+                    """, nativeQuery = true)
+    List<TaskCommentProjection> findChangedByTaskIdAfter(@Param("taskId") UUID taskId,
+                                                         @Param("changedAt") LocalDateTime changedAt,
+                                                         @Param("commentId") UUID commentId,
+                                                         @Param("settledBefore") LocalDateTime settledBefore,
+                                                         @Param("limit") int limit);
+
+    /**
+     * Удаление комментария с указанным {@literal commentId}. Запись сохраняется с датой удаления, чтобы клиенты
+     * синхронизации получили сведения об удалении, и удаляется из БД после истечения срока хранения. Тем же запросом
+     * у задачи, к которой относился комментарий, уменьшается количество комментариев, пересчитывается дата последнего
+     * комментария и обновляется дата обновления задачи, по которой клиенты синхронизации получают изменение счетчиков.
+     *
+     * @param commentId id комментария.
+     * @param deletedAt дата удаления.
+     * @return {@link Optional}, содержащий id задачи удаленного комментария, или пустой, если комментарий не найден.
+     */
+    @Query(
+            value = """
+                    WITH deleted AS (
+                        UPDATE task_comments
+                        SET deleted_at = :deletedAt
+                        WHERE id = :commentId AND deleted_at IS NULL
+                        RETURNING task_id
+                    ), updated AS (
+                        UPDATE tasks t
+                        SET comment_count = greatest(t.comment_count - 1, 0),
+                            updated_at = :deletedAt,
+                            last_comment_at = (SELECT max(c.created_at)
+                                               FROM task_comments c
+                                               WHERE c.task_id = t.id
+                                               AND c.id <> :commentId
+                                               AND c.deleted_at IS NULL)
+                        FROM deleted
+                        WHERE t.id = deleted.task_id
+                        RETURNING t.id
+                    )
+                    SELECT task_id
+                    FROM deleted
+                    """, nativeQuery = true)
+    Optional<UUID> deleteTaskCommentById(@Nullable @Param("commentId") UUID commentId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Удаление из БД не более {@literal limit} комментариев, удаленных до {@literal deletedBefore}, и комментариев
+     * к задачам, удаленным до {@literal deletedBefore}. Счетчики комментариев задач не обновляются: удаленные
+     * комментарии уже не учитываются, а задачи удаляются следом.
+     *
+     * @param deletedBefore граница срока хранения удаленных записей.
+     * @param limit         максимальное количество удаляемых комментариев.
+     * @return количество удаленных записей.
+     */
+    @Modifying
     @Query(
             value = """
                     DELETE FROM task_comments
-                    WHERE id = :commentId
-                    RETURNING id
-                     """, nativeQuery = true
-    )
-    UUID deleteTaskCommentById(@Nullable @Param("commentId") UUID commentId);
+                    WHERE id IN (SELECT id
+                                 FROM (SELECT id
+                                       FROM task_comments
+                                       WHERE deleted_at < :deletedBefore
+                                       UNION
+                                       SELECT c.id
+                                       FROM task_comments c
+                                       JOIN tasks t ON t.id = c.task_id
+                                       WHERE t.deleted_at < :deletedBefore) tombstones
+                                 LIMIT :limit)
+                    """, nativeQuery = true)
+    int deleteTombstones(@Param("deletedBefore") LocalDateTime deletedBefore, @Param("limit") int limit);
+
+    /**
+     * Удаление не более {@literal limit} комментариев к задачам, созданным пользователем с указанным {@literal creatorId}.
+     * Записи сохраняются с датой удаления и удаляются из БД после истечения срока хранения. Счетчики комментариев задач
+     * не обновляются, поскольку задачи удаляются следующим этапом.
+     *
+     * @param creatorId id создателя задач.
+     * @param deletedAt дата удаления.
+     * @param limit     максимальное количество удаляемых комментариев.
+     * @return количество удаленных записей.
+     */
+    @Modifying
+    @Query(
+            value = """
+                    UPDATE task_comments
+                    SET deleted_at = :deletedAt
+                    WHERE id IN (SELECT c.id
+                                 FROM task_comments c
+                                 JOIN tasks t ON t.id = c.task_id
+                                 WHERE t.creator_id = :creatorId AND c.deleted_at IS NULL
+                                 LIMIT :limit)
+                    """, nativeQuery = true)
+    int deleteByTaskCreatorId(@Param("creatorId") UUID creatorId,
+                              @Param("deletedAt") LocalDateTime deletedAt,
+                              @Param("limit") int limit);
+
+    /**
+     * Удаление не более {@literal limit} комментариев пользователя с указанным {@literal userId}. Записи сохраняются
+     * с датой удаления и удаляются из БД после истечения срока хранения. Тем же запросом у задач, к которым
+     * относились комментарии, уменьшается количество комментариев, пересчитывается дата последнего комментария
+     * и обновляется дата обновления задачи.
+     *
+     * @param userId    id автора комментариев.
+     * @param deletedAt дата удаления.
+     * @param limit     максимальное количество удаляемых комментариев.
+     * @return {@link List} id задач удаленных комментариев, по одному на каждый комментарий. Может быть пустым.
+     */
+    @Query(
+            value = """
+                    WITH deleted AS (
+                        UPDATE task_comments
+                        SET deleted_at = :deletedAt
+                        WHERE id IN (SELECT id
+                                     FROM task_comments
+                                     WHERE user_id = :userId AND deleted_at IS NULL
+                                     LIMIT :limit)
+                        RETURNING id, task_id
+                    ), updated AS (
+                        UPDATE tasks t
+                        SET comment_count = greatest(t.comment_count - d.comments, 0),
+                            updated_at = :deletedAt,
+                            last_comment_at = (SELECT max(c.created_at)
+                                               FROM task_comments c
+                                               WHERE c.task_id = t.id
+                                               AND c.deleted_at IS NULL
+                                               AND c.id NOT IN (SELECT id FROM deleted))
+                        FROM (SELECT task_id, count(*) AS comments
+                              FROM deleted
+                              GROUP BY task_id) d
+                        WHERE t.id = d.task_id
+                        RETURNING t.id
+                    )
+                    SELECT task_id
+                    FROM deleted
+                    """, nativeQuery = true)
+    List<UUID> deleteByUserId(@Param("userId") UUID userId,
+                              @Param("deletedAt") LocalDateTime deletedAt,
+                              @Param("limit") int limit);
+
+    /**
+     * Проверка наличия в БД комментариев пользователя с указанным {@literal userId}, включая удаленные, срок хранения
+     * которых еще не истек.
+     *
+     * @param userId id автора комментариев.
+     * @return {@literal true} - если комментарии есть, в противном случае - {@literal false}.
+     */
+    @Query(
+            value = """
+                    SELECT EXISTS (SELECT 1
+                                   FROM task_comments
+                                   WHERE user_id = :userId)
+                    """, nativeQuery = true)
+    boolean existsAnyByUserId(@Param("userId") UUID userId);
 
 }
@@ -0,0 +1,55 @@
+package app.repository.token;
+
+import app.entity.token.RefreshTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Интерфейс, описывающий методы взаимодействия с базой данных для класса {@link RefreshTokenEntity}.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, UUID> {
+
+    /**
+     * Позволяет удалить действующий токен обновления пользователя. Используется для однократного использования токена:
+     * из одновременных запросов с одним токеном запись удалит только один.
+     *
+     * @param tokenId id токена.
+     * @param userId  id пользователя.
+     * @param now     текущая дата.
+     * @return количество удаленных записей.
+     */
+    @Modifying
+    @Query(
+            value = """
+                    DELETE FROM refresh_tokens
+                    WHERE id = :tokenId
+                      AND user_id = :userId
+                      AND expires_at > :now
+                    """,
+            nativeQuery = true
+    )
+    int deleteActiveByIdAndUserId(@Param("tokenId") UUID tokenId,
+                                  @Param("userId") UUID userId,
+                                  @Param("now") LocalDateTime now);
+
+    /**
+     * Позволяет удалить токены обновления, срок действия которых истек.
+     *
+     * @param now текущая дата.
+     * @return количество удаленных записей.
+     */
+    @Modifying
+    @Query(
+            value = "DELETE FROM refresh_tokens WHERE expires_at < :now",
+            nativeQuery = true
+    )
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+}
@@ -0,0 +1,52 @@
+package app.repository.token;
+
+import app.entity.token.RevokedTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Интерфейс, описывающий методы взаимодействия с базой данных для класса {@link RevokedTokenEntity}.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedTokenEntity, UUID> {
+
+    /**
+     * Позволяет получить токены, отозванные после указанной даты.
+     *
+     * @param revokedAt дата, после которой были отозваны токены.
+     * @return {@link List} объектов {@link RevokedTokenEntity}. Может быть пустым.
+     */
+    List<RevokedTokenEntity> findAllByRevokedAtAfter(LocalDateTime revokedAt);
+
+    /**
+     * Позволяет получить id отозванных токенов, срок действия которых не истек.
+     *
+     * @param now текущая дата.
+     * @return {@link List} id токенов. Может быть пустым.
+     */
+    @Query("SELECT r.id FROM revoked_tokens r WHERE r.expiresAt > :now")
+    List<UUID> findIdsByExpiresAtAfter(@Param("now") LocalDateTime now);
+
+    /**
+     * Позволяет удалить записи об отозванных токенах, срок действия которых истек.
+     *
+     * @param now текущая дата.
+     * @return количество удаленных записей.
+     */
+    @Transactional
+    @Modifying
+    @Query(
+            value = "DELETE FROM revoked_tokens WHERE expires_at < :now",
+            nativeQuery = true
+    )
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+}
@@ -0,0 +1,57 @@
+package app.repository.user;
+
+import app.entity.user.UserDeletionEntity;
+import app.entity.user.UserDeletionStage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Интерфейс, описывающий методы взаимодействия с базой данных для класса {@link UserDeletionEntity}.
+ */
+@Repository
+public interface UserDeletionRepository extends JpaRepository<UserDeletionEntity, UUID> {
+
+    /**
+     * Позволяет получить id пользователей, удаление данных которых еще не завершено, в порядке поступления запросов.
+     * Пользователи на этапе {@link UserDeletionStage#DELETE_USER} возвращаются только после истечения срока хранения
+     * удаленных данных, до этого их удаление ожидает очистки удаленных задач и комментариев.
+     *
+     * @param compactedBefore дата, удаленные до которой задачи и комментарии считаются очищенными.
+     * @param limit           максимальное количество id.
+     * @return {@link List} id пользователей. Может быть пустым.
+     */
+    @Query(
+            value = """
+                    SELECT user_id
+                    FROM user_deletions
+                    WHERE stage <> 'DELETE_USER' OR updated_at < :compactedBefore
+                    ORDER BY requested_at
+                    LIMIT :limit
+                    """, nativeQuery = true)
+    List<UUID> findPendingUserIds(@Param("compactedBefore") LocalDateTime compactedBefore, @Param("limit") int limit);
+
+    /**
+     * Позволяет получить и заблокировать до конца транзакции запрос на удаление данных пользователя с указанным
+     * {@literal userId}. Если запрос уже заблокирован другой транзакцией, он пропускается.
+     *
+     * @param userId id пользователя.
+     * @return {@link Optional}, содержащий объект класса {@link UserDeletionEntity}, если запрос существует
+     * и не заблокирован.
+     */
+    @Query(
+            value = """
+                    SELECT *
+                    FROM user_deletions
+                    WHERE user_id = :userId
+                    FOR UPDATE SKIP LOCKED
+                    """, nativeQuery = true)
+    Optional<UserDeletionEntity> findByUserIdForUpdate(@Param("userId") UUID userId);
+
+}
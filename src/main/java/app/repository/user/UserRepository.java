@@ -1,21 +1,30 @@
 package app.repository.user;
 
 import app.entity.user.UserEntity;
+import app.repository.DetachingRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Интерфейс, описывающий методы взаимодействия с базой данных для класса {@link UserEntity}.
  */
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, UUID>, PagingAndSortingRepository<UserEntity, UUID> {
+public interface UserRepository extends JpaRepository<UserEntity, UUID>, PagingAndSortingRepository<UserEntity, UUID>,
+        DetachingRepository<UserEntity> {
 
     /**
      * Поиск пользователя с указанным {@literal username} в базе данных.
@@ -34,33 +43,76 @@ public interface UserRepository extends JpaRepository<UserEntity, UUID>, PagingA
     boolean existsById(@Nullable UUID userId);
 
     /**
-     * Проверка на наличие пользователя с указанным {@literal username} в базе данных.
+     * Позволяет получить страницу пользователей в виде потока. Строки читаются из БД порциями по мере обработки потока,
+     * поэтому поток необходимо обработать и закрыть в рамках транзакции.
      *
-     * @param username id пользователя, не должен быть {@literal null}.
-     * @return {@literal true} - если сущетсвует, в противном случае - {@literal false}
+     * @param pageable номер, размер и сортировка страницы, не должен быть {@literal null}.
+     * @return {@link Stream} объектов {@link UserEntity}.
      */
-    boolean existsByUsername(@Nullable String username);
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = DetachingRepository.STREAM_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM users u")
+    Stream<UserEntity> streamAll(Pageable pageable);
 
     /**
-     * Проверка на наличие пользователя с указанным {@literal email} в базе данных.
+     * Пометка пользователя с указанным {@literal userId} как удаленного. Тем же запросом пользователь отключается,
+     * его имя пользователя и электронная почта освобождаются для повторной регистрации, а в таблицу
+     * {@literal user_deletions} добавляется запрос на удаление связанных с ним данных.
      *
-     * @param email id пользователя, не должен быть {@literal null}.
-     * @return {@literal true} - если сущетсвует, в противном случае - {@literal false}
+     * @param userId    id пользователя.
+     * @param deletedAt дата удаления.
+     * @return количество помеченных записей.
      */
-    boolean existsByEmail(@Nullable String email);
+    @Modifying
+    @Query(
+            value = """
+                    WITH deleted AS (
+                        UPDATE users
+                        SET deleted_at = :deletedAt,
+                            updated_at = :deletedAt,
+                            enabled = false,
+                            username = 'deleted-' || id,
+                            email = 'deleted-' || id
+                        WHERE id = :userId AND deleted_at IS NULL
+                        RETURNING id
+                    )
+                    INSERT INTO user_deletions (user_id, stage)
+                    SELECT id, 'UNASSIGN_EXECUTOR_TASKS'
+                    FROM deleted
+                    """, nativeQuery = true)
+    int softDeleteUserById(@Param("userId") UUID userId, @Param("deletedAt") LocalDateTime deletedAt);
 
     /**
-     * Удаление пользователя с указанным {@literal userId} из базы данных.
+     * Удаление пользователя с указанным {@literal userId} из базы данных. Оставшиеся связанные с пользователем данные
+     * удаляются каскадно.
      *
      * @param userId id пользователя.
-     * @return {@link UUID} - id удаленного пользователя.
+     * @return количество удаленных записей.
      */
+    @Modifying
     @Query(
             value = """
                     DELETE FROM users
                     WHERE id = :userId
-                    RETURNING id
                     """, nativeQuery = true)
-    UUID deleteUserById(@Param("userId") UUID userId);
+    int deleteUserById(@Param("userId") UUID userId);
+
+    /**
+     * Позволяет обновить хэш пароля пользователя с указанным {@literal username}.
+     *
+     * @param username имя пользователя.
+     * @param password новый хэш пароля.
+     * @return количество обновленных записей.
+     */
+    @Modifying
+    @Query(
+            value = """
+                    UPDATE users
+                    SET password = :password
+                    WHERE username = :username
+                    """, nativeQuery = true)
+    int updatePasswordByUsername(@Param("username") String username, @Param("password") String password);
 
 }
@@ -1,7 +1,10 @@
 package app.security;
 
 import app.security.jwt.JwtAuthenticationFilter;
+import app.security.ratelimit.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -22,6 +25,7 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final AuthenticationProvider authenticationProvider;
+    private final ObjectProvider<RateLimitFilter> rateLimitFilter;
 
     /**
      * Метод конфигурирования безопасности.
@@ -32,13 +36,16 @@ public class SecurityConfig {
      */
     @Bean
     SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
-        return httpSecurity
+        httpSecurity
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(
                         request -> {
+                            request.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
                             request.requestMatchers("/api/v1/auth/sign-up").permitAll();
                             request.requestMatchers("/api/v1/auth/sign-in").permitAll();
+                            request.requestMatchers("/api/v1/auth/refresh").permitAll();
+                            request.requestMatchers("/api/v1/auth/sign-out").permitAll();
                             request.requestMatchers("/api/v1/swagger-ui/**").permitAll();
                             request.requestMatchers("/api/v1/api-docs/**").permitAll();
                             request.anyRequest().authenticated();
@@ -47,8 +54,9 @@ public class SecurityConfig {
                         session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authenticationProvider(authenticationProvider)
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
-                .build();
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        rateLimitFilter.ifAvailable(filter -> httpSecurity.addFilterBefore(filter, JwtAuthenticationFilter.class));
+        return httpSecurity.build();
     }
 
 }
@@ -0,0 +1,22 @@
+package app.security.jwt;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Выпущенный токен вместе с данными, необходимыми для его хранения и отзыва.
+ *
+ * @param token     токен в формате {@link String}.
+ * @param id        уникальный идентификатор токена (jti).
+ * @param expiresAt дата истечения срока действия токена.
+ */
+public record IssuedToken(String token, UUID id, LocalDateTime expiresAt) {
+
+    @Override
+    public String toString() {
+        return "IssuedToken{" +
+                "id=" + id +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -1,7 +1,10 @@
 package app.security.jwt;
 
 import app.exception.AuthorizationHeaderNotPresentException;
+import app.exception.RevokedTokenException;
+import app.security.jwt.revocation.TokenRevocationList;
 import app.service.user.impl.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -22,6 +25,7 @@ import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Класс для фильтрации поступающих на сервер запросов.
@@ -34,6 +38,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationList tokenRevocationList;
 
     /**
      * Список whitelist адресов.
@@ -70,10 +75,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 throw new AuthorizationHeaderNotPresentException();
             }
             jwt = authHeader.substring(7);
-            username = jwtService.extractUsername(jwt);
+            Claims claims = jwtService.extractAllClaims(jwt, request);
+            if (claims.getId() != null && tokenRevocationList.isRevoked(UUID.fromString(claims.getId()))) {
+                throw new RevokedTokenException("Jwt has been revoked");
+            }
+            username = claims.getSubject();
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (jwtService.isTokenValid(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authenticationToken =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails,
@@ -1,8 +1,9 @@
 package app.security.jwt;
 
+import app.security.jwt.key.JwtKeyRegistry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.NonNull;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,24 +11,41 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
-import java.util.Base64;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Класс реализующий работу с JWT.
+ * <p>
+ * Ключи подписи и проверки хранятся в {@link JwtKeyRegistry}. Данные проверенного токена сохраняются в атрибуте
+ * запроса, поэтому подпись токена проверяется один раз за запрос.
  */
 @Service
 public class JwtService {
 
-    @Value("${security.jwt.secretKey}")
-    private String secretKey;
+    private static final String CLAIMS_ATTRIBUTE = JwtService.class.getName() + ".claims";
+
+    private final JwtKeyRegistry jwtKeyRegistry;
+    private final JwtParser jwtParser;
 
     @Value("${security.jwt.expiresInMs}")
     private long expiresInMs;
 
+    @Value("${security.jwt.refreshExpiresInMs}")
+    private long refreshExpiresInMs;
+
+    public JwtService(JwtKeyRegistry jwtKeyRegistry) {
+        this.jwtKeyRegistry = jwtKeyRegistry;
+        this.jwtParser = Jwts
+                .parser()
+                .keyLocator(jwtKeyRegistry)
+                .build();
+    }
+
     /**
      * Метод для извлечения из токена данных с опредленным ключем.
      *
@@ -49,64 +67,87 @@ public class JwtService {
         return this.extractAllClaims(jwt).getSubject();
     }
 
-    /**
-     * Метод для извлечения из токена даты истечения срока действия.
-     *
-     * @param jwt токен.
-     * @return {@link Date} с датой и временем.
-     */
-    private Date extractExpiration(String jwt) {
-        return this.extractAllClaims(jwt).getExpiration();
-    }
-
     public Optional<Object> extractClaimFromHttpServletRequestHeader(String claimName, @NonNull HttpServletRequest request) {
         String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
         return (authHeader != null && authHeader.startsWith("Bearer ")) ?
-                Optional.of(this.extractClaim(authHeader.substring(7), claimName))
+                Optional.of(this.extractAllClaims(authHeader.substring(7), request).get(claimName))
                 : Optional.empty();
     }
 
+    /**
+     * Метод для извлечения из токена всех данных с сохранением результата в атрибуте запроса.
+     *
+     * @param jwt     токен.
+     * @param request информация о входящем запросе.
+     * @return {@link Claims} с данными.
+     */
+    public Claims extractAllClaims(String jwt, @NonNull HttpServletRequest request) {
+        if (request.getAttribute(CLAIMS_ATTRIBUTE) instanceof VerifiedClaims verifiedClaims && verifiedClaims.jwt().equals(jwt)) {
+            return verifiedClaims.claims();
+        }
+        Claims claims = this.extractAllClaims(jwt);
+        request.setAttribute(CLAIMS_ATTRIBUTE, new VerifiedClaims(jwt, claims));
+        return claims;
+    }
+
     /**
      * Метод для извлечения из токена всех данных.
      *
      * @param jwt токен.
      * @return {@link Claims} с данными.
      */
-    private Claims extractAllClaims(String jwt) {
-        return Jwts
-                .parser()
-                .verifyWith(this.getVerifyKey())
-                .build()
+    public Claims extractAllClaims(String jwt) {
+        return jwtParser
                 .parseSignedClaims(jwt)
                 .getPayload();
     }
 
     /**
-     * Метод для генерации ключа подтверждения.
+     * Метод генерации токена с произвольным набором хранимых в нем данных.
      *
-     * @return {@link SecretKey}
+     * @param extraClaims произвольные данные для передачи в токен.
+     * @param userDetails данные пользователя.
+     * @return сгенерированный токен в формате {@link String}
      */
-    private SecretKey getVerifyKey() {
-        byte[] keyBytes = Base64.getDecoder().decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public String generateToken(Map<String, Object> extraClaims, @NonNull UserDetails userDetails) {
+        return this.issueToken(TokenType.ACCESS, this.expiresInMs, extraClaims, userDetails).token();
     }
 
     /**
-     * Метод генерации токена с произвольным набором хранимых в нем данных.
+     * Метод генерации токена обновления, позволяющего получить новый токен доступа без повторного ввода пароля.
      *
      * @param extraClaims произвольные данные для передачи в токен.
      * @param userDetails данные пользователя.
-     * @return сгенерированный токен в формате {@link String}
+     * @return {@link IssuedToken} с токеном, его идентификатором и сроком действия.
      */
-    public String generateToken(Map<String, Object> extraClaims, @NonNull UserDetails userDetails) {
-        return Jwts
-                .builder()
-                .subject(userDetails.getUsername())
-                .claims(extraClaims)
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + this.expiresInMs))
-                .signWith(getVerifyKey(), Jwts.SIG.HS256)
+    public IssuedToken generateRefreshToken(Map<String, Object> extraClaims, @NonNull UserDetails userDetails) {
+        return this.issueToken(TokenType.REFRESH, this.refreshExpiresInMs, extraClaims, userDetails);
+    }
+
+    /**
+     * Метод генерации токена указанного типа с уникальным идентификатором (jti).
+     *
+     * @param tokenType   тип токена.
+     * @param ttlMs       срок действия токена в миллисекундах.
+     * @param extraClaims произвольные данные для передачи в токен.
+     * @param userDetails данные пользователя.
+     * @return {@link IssuedToken} с токеном, его идентификатором и сроком действия.
+     */
+    private IssuedToken issueToken(TokenType tokenType, long ttlMs, Map<String, Object> extraClaims, UserDetails userDetails) {
+        UUID tokenId = UUID.randomUUID();
+        Date expiration = new Date(System.currentTimeMillis() + ttlMs);
+        String token = jwtKeyRegistry
+                .getSigningKey()
+                .signWith(Jwts
+                        .builder()
+                        .id(tokenId.toString())
+                        .subject(userDetails.getUsername())
+                        .claims(extraClaims)
+                        .claim(TokenType.CLAIM_NAME, tokenType.name())
+                        .issuedAt(new Date())
+                        .expiration(expiration))
                 .compact();
+        return new IssuedToken(token, tokenId, LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault()));
     }
 
     /**
@@ -114,21 +155,29 @@ public class JwtService {
      *
      * @param jwt         токен.
      * @param userDetails данные пользователя.
-     * @return {@literal true} - если токен валиден, в противном случае - {@literal false}.
+     * @return {@literal true} - если токен является действующим токеном доступа, в противном случае - {@literal false}.
      */
     public boolean isTokenValid(String jwt, @NonNull UserDetails userDetails) {
-        final String username = this.extractUsername(jwt);
-        return username.equals(userDetails.getUsername()) && !this.isTokenExpired(jwt);
+        return this.isTokenValid(this.extractAllClaims(jwt), userDetails);
     }
 
     /**
-     * Метод для проверки срока действия токена.
+     * Метод для проверки валидности данных уже проверенного токена.
      *
-     * @param jwt токен.
-     * @return {@literal true} - если срок действия не истек, в противном случае - {@literal false}.
+     * @param claims      данные токена.
+     * @param userDetails данные пользователя.
+     * @return {@literal true} - если токен является действующим токеном доступа, в противном случае - {@literal false}.
+     */
+    public boolean isTokenValid(@NonNull Claims claims, @NonNull UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername())
+                && TokenType.ACCESS.matches(claims)
+                && !claims.getExpiration().before(new Date());
+    }
+
+    /**
+     * Данные токена, подпись которого проверена в ходе обработки запроса.
      */
-    private boolean isTokenExpired(String jwt) {
-        return this.extractExpiration(jwt).before(new Date());
+    private record VerifiedClaims(String jwt, Claims claims) {
     }
 
 }
@@ -0,0 +1,29 @@
+package app.security.jwt;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Класс, определяющий допустимые типы JWT.
+ */
+public enum TokenType {
+
+    ACCESS,
+    REFRESH;
+
+    /**
+     * Имя поля токена, содержащего его тип.
+     */
+    public static final String CLAIM_NAME = "type";
+
+    /**
+     * Токены, выпущенные до появления поля с типом, считаются токенами доступа.
+     *
+     * @param claims данные токена.
+     * @return {@literal true} - если токен имеет данный тип, в противном случае - {@literal false}.
+     */
+    public boolean matches(Claims claims) {
+        Object type = claims.get(CLAIM_NAME);
+        return type == null ? this == ACCESS : this.name().equals(type);
+    }
+
+}
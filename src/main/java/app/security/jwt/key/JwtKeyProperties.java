@@ -0,0 +1,37 @@
+package app.security.jwt.key;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Класс, описывающий настройки ключей подписи JWT.
+ * <p>
+ * Каталог содержит пары файлов {@code <kid>.key} (закрытый ключ PKCS#8 в формате PEM) и {@code <kid>.pub}
+ * (открытый ключ X.509 в формате PEM). Поддерживаются ключи EC P-256 (ES256) и Ed25519 (EdDSA).
+ * Файл {@code <kid>.pub} без закрытого ключа используется только для проверки подписи.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "security.jwt.keys")
+public class JwtKeyProperties {
+
+    /**
+     * Каталог с ключами. Если не задан, токены подписываются секретом {@literal security.jwt.secretKey} (HS256).
+     */
+    private String directory;
+
+    /**
+     * Идентификатор ключа, которым подписываются новые токены. Если не задан, используется ключ
+     * с наибольшим в лексикографическом порядке идентификатором.
+     */
+    private String activeKeyId;
+
+    /**
+     * Интервал проверки каталога на наличие новых и удаленных ключей.
+     */
+    private Duration rescanInterval = Duration.ofMinutes(1);
+
+}
@@ -0,0 +1,264 @@
+package app.security.jwt.key;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Класс, хранящий в памяти ключи подписи и проверки JWT.
+ * <p>
+ * Ключи загружаются из каталога {@literal security.jwt.keys.directory} при запуске приложения и перечитываются
+ * с интервалом {@literal security.jwt.keys.rescan-interval}, если содержимое каталога изменилось. Набор ключей
+ * заменяется целиком, поэтому поиск ключа по kid при проверке токена выполняется за O(1) без блокировок.
+ * Токен с неизвестным kid вызывает внеочередную проверку каталога не чаще одного раза в {@link #MISS_RESCAN_INTERVAL},
+ * чтобы токены, подписанные новым ключом на другом экземпляре приложения, принимались до планового обновления.
+ * <p>
+ * Для ротации ключа в каталог добавляется новая пара файлов, после чего она становится активной.
+ * Файл {@code .pub} прежнего ключа удаляется не раньше, чем истечет срок действия подписанных им токенов.
+ * Если каталог задан, но в нем нет ни одной корректной пары ключей, приложение не запускается: подпись секретом
+ * вместо асимметричного ключа скрыла бы ошибку развертывания. Секрет {@literal security.jwt.secretKey}, если он
+ * задан, используется только для проверки токенов без kid, выпущенных до перехода на асимметричные ключи.
+ */
+@Slf4j
+@Component
+public class JwtKeyRegistry extends LocatorAdapter<Key> {
+
+    private static final String PRIVATE_KEY_SUFFIX = ".key";
+    private static final String PUBLIC_KEY_SUFFIX = ".pub";
+    private static final Pattern KEY_ID_PATTERN = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final Duration MISS_RESCAN_INTERVAL = Duration.ofSeconds(5);
+
+    private final Path directory;
+    private final String activeKeyId;
+    private final SecretKey hmacKey;
+
+    private final AtomicLong lastMissRescan;
+
+    private volatile KeySet keySet;
+
+    public JwtKeyRegistry(JwtKeyProperties jwtKeyProperties,
+                          @Value("${security.jwt.secretKey:}") String secretKey) {
+        this.directory = StringUtils.hasText(jwtKeyProperties.getDirectory())
+                ? Path.of(jwtKeyProperties.getDirectory())
+                : null;
+        this.activeKeyId = StringUtils.hasText(jwtKeyProperties.getActiveKeyId())
+                ? jwtKeyProperties.getActiveKeyId()
+                : null;
+        this.hmacKey = StringUtils.hasText(secretKey)
+                ? Keys.hmacShaKeyFor(Base64.getDecoder().decode(secretKey))
+                : null;
+        this.lastMissRescan = new AtomicLong(System.nanoTime() - MISS_RESCAN_INTERVAL.toNanos());
+        this.keySet = this.load(this.fingerprint());
+        log.info("\nJwt signing key: {}", this.describe(keySet.signingKey()));
+    }
+
+    /**
+     * Метод, возвращающий ключ, которым подписываются новые токены.
+     *
+     * @return {@link SigningKey} с активным ключом.
+     */
+    public SigningKey getSigningKey() {
+        return keySet.signingKey();
+    }
+
+    /**
+     * Метод, возвращающий ключ проверки подписи по заголовку токена.
+     *
+     * @param header заголовок токена.
+     * @return открытый ключ с указанным kid или секрет HMAC для токенов без kid.
+     * @throws MalformedJwtException если ключ с указанным kid отсутствует.
+     */
+    @Override
+    protected Key locate(JwsHeader header) throws MalformedJwtException {
+        String keyId = header.getKeyId();
+        if (keyId == null) {
+            if (hmacKey == null) {
+                throw new MalformedJwtException("Jwt key id is not present");
+            }
+            return hmacKey;
+        }
+        PublicKey publicKey = keySet.verificationKeys().get(keyId);
+        if (publicKey == null && this.rescanAfterMiss()) {
+            publicKey = keySet.verificationKeys().get(keyId);
+        }
+        if (publicKey == null) {
+            throw new MalformedJwtException("Unknown jwt key id");
+        }
+        return publicKey;
+    }
+
+    /**
+     * Метод, перечитывающий ключи, если содержимое каталога изменилось. При ошибке сохраняется текущий набор ключей.
+     */
+    @Scheduled(fixedDelayString = "${security.jwt.keys.rescan-interval:1m}",
+            initialDelayString = "${security.jwt.keys.rescan-interval:1m}")
+    public synchronized void rescan() {
+        if (directory == null) {
+            return;
+        }
+        try {
+            String fingerprint = this.fingerprint();
+            if (fingerprint.equals(keySet.fingerprint())) {
+                return;
+            }
+            KeySet previous = keySet;
+            keySet = this.load(fingerprint);
+            log.info("\nJwt keys reloaded: {} verification keys, signing key {} (was {})",
+                    keySet.verificationKeys().size(), this.describe(keySet.signingKey()), this.describe(previous.signingKey()));
+        } catch (IllegalStateException | UncheckedIOException exception) {
+            log.error("\nFailed to reload jwt keys from {}: {}", directory, exception.getMessage());
+        }
+    }
+
+    private boolean rescanAfterMiss() {
+        long now = System.nanoTime();
+        long last = lastMissRescan.get();
+        if (directory == null || now - last < MISS_RESCAN_INTERVAL.toNanos() || !lastMissRescan.compareAndSet(last, now)) {
+            return false;
+        }
+        this.rescan();
+        return true;
+    }
+
+    /**
+     * Метод, загружающий ключи из каталога и выбирающий активный ключ подписи.
+     *
+     * @throws IllegalStateException если в каталоге не найден ни один ключ подписи или активный ключ отсутствует.
+     */
+    private KeySet load(String fingerprint) throws IllegalStateException {
+        if (directory == null) {
+            if (hmacKey == null) {
+                throw new IllegalStateException("Either security.jwt.secretKey or security.jwt.keys.directory must be set");
+            }
+            return new KeySet(Map.of(), new SigningKey(null, hmacKey, Jwts.SIG.HS256), fingerprint);
+        }
+        Map<String, PublicKey> publicKeys = new HashMap<>();
+        Map<String, PrivateKey> privateKeys = new HashMap<>();
+        for (Path file : this.listKeyFiles()) {
+            String fileName = file.getFileName().toString();
+            boolean isPublic = fileName.endsWith(PUBLIC_KEY_SUFFIX);
+            String keyId = fileName.substring(0, fileName.length() - (isPublic ? PUBLIC_KEY_SUFFIX : PRIVATE_KEY_SUFFIX).length());
+            try {
+                byte[] pem = Files.readAllBytes(file);
+                if (isPublic) {
+                    publicKeys.put(keyId, PemKeys.readPublicKey(pem));
+                } else {
+                    privateKeys.put(keyId, PemKeys.readPrivateKey(pem));
+                }
+            } catch (IOException | IllegalArgumentException exception) {
+                log.warn("\nSkipping jwt key file {}: {}", file, exception.getMessage());
+            }
+        }
+        List<String> signingKeyIds = new ArrayList<>();
+        privateKeys.forEach((keyId, privateKey) -> {
+            PublicKey publicKey = publicKeys.get(keyId);
+            if (publicKey != null && PemKeys.isKeyPair(privateKey, publicKey)) {
+                signingKeyIds.add(keyId);
+            } else {
+                log.warn("\nSkipping jwt signing key {}: matching {} file is missing or invalid", keyId, PUBLIC_KEY_SUFFIX);
+            }
+        });
+        return new KeySet(Map.copyOf(publicKeys), this.selectSigningKey(signingKeyIds, privateKeys, publicKeys), fingerprint);
+    }
+
+    private SigningKey selectSigningKey(List<String> signingKeyIds,
+                                        Map<String, PrivateKey> privateKeys,
+                                        Map<String, PublicKey> publicKeys) throws IllegalStateException {
+        String keyId;
+        if (activeKeyId != null) {
+            if (!signingKeyIds.contains(activeKeyId)) {
+                throw new IllegalStateException("Active jwt key " + activeKeyId + " is not present in " + directory);
+            }
+            keyId = activeKeyId;
+        } else if (!signingKeyIds.isEmpty()) {
+            keyId = Collections.max(signingKeyIds);
+        } else {
+            throw new IllegalStateException("No jwt signing key found in " + directory);
+        }
+        return new SigningKey(keyId, privateKeys.get(keyId), PemKeys.algorithmFor(publicKeys.get(keyId)));
+    }
+
+    /**
+     * Метод, возвращающий файлы ключей с допустимыми идентификаторами, отсортированные по имени.
+     */
+    private List<Path> listKeyFiles() throws UncheckedIOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                String fileName = file.getFileName().toString();
+                String suffix = fileName.endsWith(PUBLIC_KEY_SUFFIX) ? PUBLIC_KEY_SUFFIX
+                        : fileName.endsWith(PRIVATE_KEY_SUFFIX) ? PRIVATE_KEY_SUFFIX
+                        : null;
+                if (suffix != null
+                        && Files.isRegularFile(file)
+                        && KEY_ID_PATTERN.matcher(fileName.substring(0, fileName.length() - suffix.length())).matches()) {
+                    files.add(file);
+                }
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Unable to list jwt keys in " + directory, exception);
+        }
+        files.sort(null);
+        return files;
+    }
+
+    /**
+     * Метод, вычисляющий отпечаток содержимого каталога по именам, размерам и датам изменения файлов ключей.
+     */
+    private String fingerprint() throws UncheckedIOException {
+        if (directory == null) {
+            return "";
+        }
+        StringBuilder fingerprint = new StringBuilder();
+        for (Path file : this.listKeyFiles()) {
+            try {
+                fingerprint.append(file.getFileName())
+                        .append(':').append(Files.size(file))
+                        .append(':').append(Files.getLastModifiedTime(file).toMillis())
+                        .append(';');
+            } catch (IOException exception) {
+                throw new UncheckedIOException("Unable to read jwt key " + file, exception);
+            }
+        }
+        return fingerprint.toString();
+    }
+
+    private String describe(SigningKey signingKey) {
+        return signingKey.keyId() == null
+                ? signingKey.algorithm().getId()
+                : signingKey.keyId() + " (" + signingKey.algorithm().getId() + ")";
+    }
+
+    /**
+     * Неизменяемый набор ключей.
+     */
+    private record KeySet(Map<String, PublicKey> verificationKeys, SigningKey signingKey, String fingerprint) {
+    }
+
+}
@@ -0,0 +1,31 @@
+package app.security.jwt.key;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+
+import java.security.Key;
+
+/**
+ * Ключ, которым подписываются новые токены.
+ *
+ * @param keyId     идентификатор ключа (kid), {@literal null} для секрета HMAC.
+ * @param key       закрытый ключ или секрет HMAC.
+ * @param algorithm алгоритм подписи.
+ */
+public record SigningKey(String keyId, Key key, SecureDigestAlgorithm<?, ?> algorithm) {
+
+    /**
+     * Метод, добавляющий в заголовок токена идентификатор ключа и задающий ключ подписи.
+     *
+     * @param builder построитель токена.
+     * @return тот же построитель токена.
+     */
+    @SuppressWarnings("unchecked")
+    public JwtBuilder signWith(JwtBuilder builder) {
+        if (keyId != null) {
+            builder.header().keyId(keyId);
+        }
+        return builder.signWith(key, (SecureDigestAlgorithm<Key, ?>) algorithm);
+    }
+
+}
@@ -0,0 +1,119 @@
+package app.security.jwt.revocation;
+
+import app.entity.token.RevokedTokenEntity;
+import app.repository.token.RevokedTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Класс, хранящий в памяти список отозванных токенов доступа.
+ * <p>
+ * Идентификаторы отозванных токенов хранятся в {@link BloomFilter}, поэтому проверка токена, который не отзывался,
+ * не обращается к БД. Положительный ответ фильтра подтверждается запросом к таблице {@code revoked_tokens}.
+ * Фильтр пополняется токенами, отозванными на других экземплярах приложения, с интервалом
+ * {@literal security.jwt.revocation.refresh-interval} и периодически перестраивается без токенов с истекшим сроком.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    /**
+     * Запас при чтении новых записей, покрывающий транзакции, зафиксированные позже времени отзыва.
+     */
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter bloomFilter;
+    private volatile LocalDateTime lastRevokedAt;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               @Value("${security.jwt.revocation.expected-insertions:100000}") long expectedInsertions,
+                               @Value("${security.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * Метод для проверки того, что токен был отозван.
+     *
+     * @param tokenId id токена (jti).
+     * @return {@literal true} - если токен отозван, в противном случае - {@literal false}.
+     */
+    public boolean isRevoked(UUID tokenId) {
+        return bloomFilter.mightContain(tokenId) && revokedTokenRepository.existsById(tokenId);
+    }
+
+    /**
+     * Метод для отзыва токена.
+     *
+     * @param tokenId   id токена (jti).
+     * @param userId    id пользователя, которому был выпущен токен.
+     * @param expiresAt дата истечения срока действия токена.
+     */
+    public void revoke(UUID tokenId, UUID userId, LocalDateTime expiresAt) {
+        revokedTokenRepository.save(RevokedTokenEntity
+                .builder()
+                .id(tokenId)
+                .userId(userId)
+                .expiresAt(expiresAt)
+                .build());
+        bloomFilter.put(tokenId);
+    }
+
+    /**
+     * Метод, добавляющий в фильтр токены, отозванные с момента последнего обновления.
+     */
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.refresh-interval:5s}",
+            initialDelayString = "${security.jwt.revocation.refresh-interval:5s}")
+    public void refresh() {
+        if (lastRevokedAt == null) {
+            this.rebuild();
+            return;
+        }
+        List<RevokedTokenEntity> revokedTokens = revokedTokenRepository.findAllByRevokedAtAfter(lastRevokedAt.minus(REFRESH_OVERLAP));
+        BloomFilter current = bloomFilter;
+        LocalDateTime latest = lastRevokedAt;
+        for (RevokedTokenEntity revokedToken : revokedTokens) {
+            current.put(revokedToken.getId());
+            if (revokedToken.getRevokedAt().isAfter(latest)) {
+                latest = revokedToken.getRevokedAt();
+            }
+        }
+        lastRevokedAt = latest;
+    }
+
+    /**
+     * Метод, перестраивающий фильтр по действующим записям об отозванных токенах и удаляющий записи
+     * с истекшим сроком действия.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.rebuild-interval:1h}",
+            initialDelayString = "${security.jwt.revocation.rebuild-interval:1h}")
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        List<UUID> tokenIds = revokedTokenRepository.findIdsByExpiresAtAfter(now);
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, 2L * tokenIds.size()), falsePositiveRate);
+        tokenIds.forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        lastRevokedAt = now;
+        this.refresh();
+        log.info("\nRevocation filter rebuilt with {} tokens, {} expired records deleted", tokenIds.size(), deleted);
+    }
+
+}
@@ -0,0 +1,37 @@
+package app.security.password;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Класс, описывающий настройки хэширования паролей.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.password-encoder")
+public class PasswordEncoderProperties {
+
+    /**
+     * Стоимость BCrypt (логарифм количества раундов). Хэши с меньшей стоимостью пересчитываются при входе пользователя.
+     */
+    private int strength = 6;
+
+    /**
+     * Количество потоков, вычисляющих хэши паролей.
+     */
+    private int threads = 4;
+
+    /**
+     * Максимальное количество операций, ожидающих свободного потока. При превышении запрос отклоняется.
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * Максимальное время ожидания результата операции.
+     */
+    private Duration timeout = Duration.ofSeconds(10);
+
+}
@@ -0,0 +1,44 @@
+package app.security.ratelimit;
+
+import app.security.jwt.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Конфигурационный класс ограничения частоты запросов.
+ * Активен, если не указано {@literal app.rate-limit.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfiguration {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties rateLimitProperties, MeterRegistry meterRegistry) {
+        return new RateLimiter(rateLimitProperties, meterRegistry);
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(@Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver,
+                                           RateLimiter rateLimiter,
+                                           JwtService jwtService) {
+        return new RateLimitFilter(handlerExceptionResolver, rateLimiter, jwtService);
+    }
+
+    /**
+     * Фильтр выполняется только в цепочке фильтров безопасности, перед {@link app.security.jwt.JwtAuthenticationFilter}.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+}
@@ -0,0 +1,74 @@
+package app.security.ratelimit;
+
+import app.exception.TooManyRequestsException;
+import app.security.jwt.JwtService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Класс для ограничения частоты поступающих на сервер запросов.
+ * <p>
+ * Выполняется до {@link app.security.jwt.JwtAuthenticationFilter}, поэтому отклоненные запросы не обращаются к БД.
+ * Каждый запрос сначала учитывается по IP адресу клиента, и только после этого проверяется подпись JWT и запрос
+ * учитывается по id пользователя, см. {@link RateLimiter#tryAcquire(RateLimitProperties.Policy, String, java.util.function.Supplier)}.
+ * Поэтому поток запросов с поддельными токенами с одного адреса отклоняется без проверки подписи.
+ */
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final HandlerExceptionResolver handlerExceptionResolver;
+
+    private final RateLimiter rateLimiter;
+    private final JwtService jwtService;
+
+    /**
+     * Метод фильтрации запросов.
+     *
+     * @param request     информация о входящем запросе.
+     * @param response    ответ сервера.
+     * @param filterChain интерфейс фильтра.
+     * @throws IOException      при возникновении ошибок типа I/O.
+     * @throws ServletException при возникновении остальных ошибок.
+     */
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Optional<RateLimitProperties.Policy> policy = rateLimiter.findPolicy(request.getMethod(), request.getServletPath());
+        if (policy.isPresent()) {
+            long waitNanos = rateLimiter.tryAcquire(policy.get(), request.getRemoteAddr(), () -> this.getUserId(request));
+            if (waitNanos > 0) {
+                long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+                handlerExceptionResolver.resolveException(request, response, null, new TooManyRequestsException(retryAfterSeconds));
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Метод для определения пользователя, выполняющего запрос.
+     *
+     * @param request информация о входящем запросе.
+     * @return {@link Optional} с id пользователя из JWT, если токен присутствует и корректен.
+     */
+    private Optional<String> getUserId(HttpServletRequest request) {
+        try {
+            return jwtService.extractClaimFromHttpServletRequestHeader("userId", request).map(Object::toString);
+        } catch (RuntimeException ignored) {
+            // Некорректный токен будет отклонен JwtAuthenticationFilter, до этого запрос учитывается только по IP адресу.
+            return Optional.empty();
+        }
+    }
+
+}
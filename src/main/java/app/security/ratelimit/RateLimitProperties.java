@@ -0,0 +1,103 @@
+package app.security.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Класс, описывающий настройки ограничения частоты запросов.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Признак включения ограничения частоты запросов.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Максимальное количество отслеживаемых клиентов. При превышении клиенты без собственного ведра используют общее
+     * ведро политики.
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * Время, после которого заполненное ведро неактивного клиента удаляется.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Интервал удаления неактивных ведер.
+     */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    /**
+     * Политики ограничения. Для запроса применяется первая подходящая политика.
+     */
+    private List<Policy> policies = new ArrayList<>();
+
+    /**
+     * Класс, описывающий политику ограничения частоты запросов для группы адресов.
+     */
+    @Getter
+    @Setter
+    public static class Policy {
+
+        /**
+         * Имя политики, используется в метриках.
+         */
+        private String name;
+
+        /**
+         * Шаблон адреса запроса в формате Ant.
+         */
+        private String path;
+
+        /**
+         * HTTP методы, к которым применяется политика. Если не указаны - применяется ко всем методам.
+         */
+        private List<String> methods = new ArrayList<>();
+
+        /**
+         * Количество запросов, которое клиент может выполнить подряд.
+         */
+        private long capacity;
+
+        /**
+         * Количество запросов, которое может выполнить подряд один IP адрес, включая запросы аутентифицированных
+         * пользователей. Проверяется до проверки подписи JWT. Если не указано - используется {@link #capacity}.
+         */
+        private long addressCapacity;
+
+        /**
+         * Время полного восполнения доступных запросов.
+         */
+        private Duration period = Duration.ofMinutes(1);
+
+        /**
+         * @return количество запросов, которое может выполнить подряд один IP адрес.
+         */
+        public long getAddressCapacity() {
+            return addressCapacity > 0 ? addressCapacity : capacity;
+        }
+
+        @Override
+        public String toString() {
+            return "Policy{" +
+                    "name='" + name + '\'' +
+                    ", path='" + path + '\'' +
+                    ", methods=" + methods +
+                    ", capacity=" + capacity +
+                    ", addressCapacity=" + addressCapacity +
+                    ", period=" + period +
+                    '}';
+        }
+    }
+
+}
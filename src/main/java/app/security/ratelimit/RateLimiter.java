@@ -0,0 +1,161 @@
+package app.security.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Класс, ограничивающий частоту запросов клиентов с помощью {@link TokenBucket}.
+ * <p>
+ * Ведра хранятся в ограниченном по размеру словаре и удаляются после периода бездействия. Если словарь заполнен,
+ * новые клиенты используют общее ведро политики, поэтому рост количества клиентов не увеличивает потребление памяти.
+ */
+@Slf4j
+public class RateLimiter {
+
+    private final RateLimitProperties rateLimitProperties;
+    private final LongSupplier nanoClock;
+
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> overflowBuckets = new HashMap<>();
+
+    private final Map<String, Counter> allowedCounters = new HashMap<>();
+    private final Map<String, Counter> rejectedCounters = new HashMap<>();
+    private final Counter evictedCounter;
+
+    public RateLimiter(RateLimitProperties rateLimitProperties, MeterRegistry meterRegistry) {
+        this(rateLimitProperties, meterRegistry, System::nanoTime);
+    }
+
+    public RateLimiter(RateLimitProperties rateLimitProperties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.rateLimitProperties = rateLimitProperties;
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        for (RateLimitProperties.Policy policy : rateLimitProperties.getPolicies()) {
+            overflowBuckets.put(policy.getName(), new TokenBucket(policy.getCapacity(), policy.getPeriod(), now));
+            allowedCounters.put(policy.getName(), Counter
+                    .builder("rate_limit.requests")
+                    .tag("policy", policy.getName())
+                    .tag("outcome", "allowed")
+                    .register(meterRegistry));
+            rejectedCounters.put(policy.getName(), Counter
+                    .builder("rate_limit.requests")
+                    .tag("policy", policy.getName())
+                    .tag("outcome", "rejected")
+                    .register(meterRegistry));
+        }
+        this.evictedCounter = Counter
+                .builder("rate_limit.buckets.evicted")
+                .register(meterRegistry);
+        Gauge.builder("rate_limit.buckets", buckets, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Метод для поиска политики, применяемой к запросу.
+     *
+     * @param method HTTP метод запроса.
+     * @param path   адрес запроса.
+     * @return {@link Optional} с первой подходящей политикой.
+     */
+    public Optional<RateLimitProperties.Policy> findPolicy(String method, String path) {
+        for (RateLimitProperties.Policy policy : rateLimitProperties.getPolicies()) {
+            List<String> methods = policy.getMethods();
+            if ((methods.isEmpty() || methods.contains(method)) && antPathMatcher.match(policy.getPath(), path)) {
+                return Optional.of(policy);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Метод, выполняющий попытку захвата токена клиентом в рамках политики.
+     *
+     * @param policy    политика ограничения.
+     * @param clientKey ключ клиента, например, id пользователя или IP адрес.
+     * @return {@literal 0} - если запрос разрешен, в противном случае - время в наносекундах до появления токена.
+     */
+    public long tryAcquire(RateLimitProperties.Policy policy, String clientKey) {
+        long now = nanoClock.getAsLong();
+        long waitNanos = this.getBucket(policy, clientKey, policy.getCapacity(), now).tryAcquire(now);
+        (waitNanos == 0 ? allowedCounters : rejectedCounters).get(policy.getName()).increment();
+        return waitNanos;
+    }
+
+    /**
+     * Метод, выполняющий попытку захвата токена запросом в рамках политики. Сначала токен захватывается из ведра
+     * IP адреса ({@link RateLimitProperties.Policy#getAddressCapacity()}), и только если он получен, определяется
+     * пользователь и захватывается токен из ведра пользователя. Поэтому запросы, отклоненные по IP адресу,
+     * не приводят к проверке подписи JWT.
+     *
+     * @param policy  политика ограничения.
+     * @param address IP адрес клиента.
+     * @param userId  поставщик id пользователя. Возвращает пустой {@link Optional}, если пользователь не определен.
+     * @return {@literal 0} - если запрос разрешен, в противном случае - время в наносекундах до появления токена.
+     */
+    public long tryAcquire(RateLimitProperties.Policy policy, String address, Supplier<Optional<String>> userId) {
+        long now = nanoClock.getAsLong();
+        long waitNanos = this.getBucket(policy, "ip:" + address, policy.getAddressCapacity(), now).tryAcquire(now);
+        if (waitNanos == 0) {
+            Optional<String> user = userId.get();
+            if (user.isPresent()) {
+                waitNanos = this.getBucket(policy, "user:" + user.get(), policy.getCapacity(), now).tryAcquire(now);
+            }
+        }
+        (waitNanos == 0 ? allowedCounters : rejectedCounters).get(policy.getName()).increment();
+        return waitNanos;
+    }
+
+    /**
+     * Метод, удаляющий ведра клиентов, бездействующих дольше допустимого времени.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval:1m}")
+    public void evictIdleBuckets() {
+        long now = nanoClock.getAsLong();
+        int evicted = 0;
+        for (Map.Entry<String, TokenBucket> entry : buckets.entrySet()) {
+            if (entry.getValue().isIdle(now, rateLimitProperties.getIdleTimeout())
+                    && buckets.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            evictedCounter.increment(evicted);
+            log.debug("\nEvicted {} idle rate limit buckets", evicted);
+        }
+    }
+
+    /**
+     * @return количество отслеживаемых клиентов.
+     */
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    private TokenBucket getBucket(RateLimitProperties.Policy policy, String clientKey, long capacity, long now) {
+        String key = policy.getName() + '|' + clientKey;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= rateLimitProperties.getMaxKeys()) {
+            return overflowBuckets.get(policy.getName());
+        }
+        return buckets.computeIfAbsent(key, ignored -> new TokenBucket(capacity, policy.getPeriod(), now));
+    }
+
+}
@@ -0,0 +1,77 @@
+package app.security.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Класс, описывающий неблокирующее ведро токенов.
+ * <p>
+ * Состояние ведра хранится в одном {@link AtomicLong} - теоретическом времени прибытия следующего запроса
+ * (алгоритм GCRA, эквивалентный ведру токенов). Захват токена выполняется одной операцией compare-and-set
+ * без блокировок. Время передается в наносекундах {@link System#nanoTime()}.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+
+    private final AtomicLong theoreticalArrivalTime;
+
+    /**
+     * Конструктор для создания заполненного ведра с заданными параметрами.
+     *
+     * @param capacity  количество токенов в заполненном ведре.
+     * @param period    время полного восполнения ведра.
+     * @param nowNanos  текущее время.
+     */
+    public TokenBucket(long capacity, Duration period, long nowNanos) {
+        if (capacity <= 0 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Token bucket capacity and period must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1, period.toNanos() / capacity);
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Метод, выполняющий попытку захвата одного токена.
+     *
+     * @param nowNanos текущее время.
+     * @return {@literal 0} - если токен захвачен, в противном случае - время в наносекундах до появления токена.
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrivalTime.get();
+            long next = (current - nowNanos > 0 ? current : nowNanos) + emissionIntervalNanos;
+            long waitNanos = next - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @param nowNanos текущее время.
+     * @return количество доступных токенов.
+     */
+    public long getAvailableTokens(long nowNanos) {
+        long debtNanos = Math.max(0, theoreticalArrivalTime.get() - nowNanos);
+        return (burstNanos - debtNanos) / emissionIntervalNanos;
+    }
+
+    /**
+     * Заполненное ведро, к которому не обращались в течение заданного времени, может быть удалено без потери состояния:
+     * новое ведро для того же клиента будет создано заполненным.
+     *
+     * @param nowNanos    текущее время.
+     * @param idleTimeout время бездействия.
+     * @return {@literal true} - если ведро заполнено дольше указанного времени, в противном случае - {@literal false}.
+     */
+    public boolean isIdle(long nowNanos, Duration idleTimeout) {
+        return nowNanos - theoreticalArrivalTime.get() >= idleTimeout.toNanos();
+    }
+
+}
@@ -2,8 +2,10 @@ package app.service.auth;
 
 import app.dto.auth.AuthenticationRequest;
 import app.dto.auth.AuthenticationResponse;
+import app.dto.auth.RefreshTokenRequest;
 import app.dto.auth.RegistrationRequest;
 import app.dto.auth.RegistrationResponse;
+import app.dto.auth.SignOutRequest;
 import app.exception.AlreadyExistsException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
@@ -35,4 +37,31 @@ public interface AuthenticationService {
      */
     RegistrationResponse signUp(RegistrationRequest registrationRequest) throws AlreadyExistsException;
 
+    /**
+     * Метод, реализующий выпуск новой пары токенов по токену обновления. Использованный токен обновления
+     * становится недействительным.
+     *
+     * @param refreshTokenRequest запрос на обновление токена.
+     * @return {@link AuthenticationResponse} с новыми токенами.
+     * @throws BadCredentialsException если токен обновления некорректен, уже использован или отозван.
+     * @throws DisabledException       если пользователь не активирован.
+     * @throws LockedException         если пользователь заблокирован.
+     */
+    AuthenticationResponse refresh(RefreshTokenRequest refreshTokenRequest)
+            throws BadCredentialsException, DisabledException, LockedException;
+
+    /**
+     * Метод, реализующий выход пользователя из системы: отзыв токена доступа и, если он указан, токена обновления.
+     *
+     * @param accessToken    токен доступа.
+     * @param signOutRequest запрос на выход из системы.
+     * @throws BadCredentialsException если токен обновления некорректен или выпущен другому пользователю.
+     */
+    void signOut(String accessToken, SignOutRequest signOutRequest) throws BadCredentialsException;
+
+    /**
+     * Метод, удаляющий токены обновления, срок действия которых истек.
+     */
+    void deleteExpiredRefreshTokens();
+
 }
@@ -2,36 +2,58 @@ package app.service.auth.impl;
 
 import app.dto.auth.AuthenticationRequest;
 import app.dto.auth.AuthenticationResponse;
+import app.dto.auth.RefreshTokenRequest;
 import app.dto.auth.RegistrationRequest;
 import app.dto.auth.RegistrationResponse;
+import app.dto.auth.SignOutRequest;
+import app.entity.token.RefreshTokenEntity;
 import app.entity.user.UserEntity;
 import app.exception.AlreadyExistsException;
+import app.repository.token.RefreshTokenRepository;
+import app.security.jwt.IssuedToken;
 import app.security.jwt.JwtService;
+import app.security.jwt.TokenType;
+import app.security.jwt.revocation.TokenRevocationList;
 import app.service.auth.AuthenticationService;
 import app.service.user.impl.UserServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 
 /**
  * Класс, реализующий методы {@link AuthenticationService}.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthenticationServiceImpl implements AuthenticationService {
 
+    private static final String USER_ID_CLAIM = "userId";
+
     private final AuthenticationManager authenticationManager;
     private final PasswordEncoder passwordEncoder;
 
     private final JwtService jwtService;
     private final UserServiceImpl userService;
 
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationList tokenRevocationList;
+
     /**
      * {@inheritDoc}
      *
@@ -46,12 +68,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                         authenticationRequest.getPassword()
                 )
         );
-        UserEntity user = ((UserEntity) authentication.getPrincipal());
-        String jwt = jwtService.generateToken(
-                Map.of("userId", user.getId()),
-                (UserDetails) authentication.getPrincipal()
-        );
-        return new AuthenticationResponse(jwt, LocalDateTime.now());
+        return this.issueTokens((UserEntity) authentication.getPrincipal());
     }
 
     /**
@@ -66,4 +83,115 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         return userService.createUser(registrationRequest);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see AuthenticationService#refresh(RefreshTokenRequest)
+     */
+    @Override
+    @Transactional
+    public AuthenticationResponse refresh(RefreshTokenRequest refreshTokenRequest)
+            throws BadCredentialsException, DisabledException, LockedException {
+        Claims claims = this.parseRefreshToken(refreshTokenRequest.getRefreshToken());
+        UUID userId = UUID.fromString(claims.get(USER_ID_CLAIM, String.class));
+        int consumed = refreshTokenRepository.deleteActiveByIdAndUserId(
+                UUID.fromString(claims.getId()), userId, LocalDateTime.now());
+        if (consumed == 0) {
+            throw new BadCredentialsException("Refresh token has been revoked or already used");
+        }
+        UserEntity user = userService.getUserById(userId);
+        if (!user.isEnabled()) {
+            throw new DisabledException("User is disabled");
+        }
+        if (!user.isAccountNonLocked()) {
+            throw new LockedException("User account is locked");
+        }
+        return this.issueTokens(user);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see AuthenticationService#signOut(String, SignOutRequest)
+     */
+    @Override
+    @Transactional
+    public void signOut(String accessToken, SignOutRequest signOutRequest) throws BadCredentialsException {
+        Claims claims;
+        try {
+            claims = jwtService.extractAllClaims(accessToken);
+        } catch (ExpiredJwtException exception) {
+            claims = exception.getClaims();
+        }
+        UUID userId = UUID.fromString(claims.get(USER_ID_CLAIM, String.class));
+        if (claims.getId() != null && claims.getExpiration().after(new Date())) {
+            tokenRevocationList.revoke(UUID.fromString(claims.getId()), userId, toLocalDateTime(claims));
+        }
+        if (signOutRequest != null && signOutRequest.getRefreshToken() != null) {
+            Claims refreshClaims = this.parseRefreshToken(signOutRequest.getRefreshToken());
+            if (!Objects.equals(userId.toString(), refreshClaims.get(USER_ID_CLAIM, String.class))) {
+                throw new BadCredentialsException("Refresh token was issued to another user");
+            }
+            refreshTokenRepository.deleteActiveByIdAndUserId(UUID.fromString(refreshClaims.getId()), userId, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see AuthenticationService#deleteExpiredRefreshTokens()
+     */
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.rebuild-interval:1h}")
+    public void deleteExpiredRefreshTokens() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("\nDeleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    /**
+     * Метод, выпускающий токен доступа и токен обновления для пользователя.
+     *
+     * @param user пользователь.
+     * @return {@link AuthenticationResponse} с выпущенными токенами.
+     */
+    private AuthenticationResponse issueTokens(UserEntity user) {
+        Map<String, Object> claims = Map.of(USER_ID_CLAIM, user.getId());
+        String jwt = jwtService.generateToken(claims, user);
+        IssuedToken refreshToken = jwtService.generateRefreshToken(claims, user);
+        refreshTokenRepository.save(RefreshTokenEntity
+                .builder()
+                .id(refreshToken.id())
+                .userId(user.getId())
+                .expiresAt(refreshToken.expiresAt())
+                .build());
+        return new AuthenticationResponse(jwt, refreshToken.token(), LocalDateTime.now());
+    }
+
+    /**
+     * Метод, проверяющий подпись, срок действия и тип токена обновления.
+     *
+     * @param refreshToken токен обновления.
+     * @return {@link Claims} с данными токена.
+     * @throws BadCredentialsException если токен некорректен, просрочен или не является токеном обновления.
+     */
+    private Claims parseRefreshToken(String refreshToken) throws BadCredentialsException {
+        Claims claims;
+        try {
+            claims = jwtService.extractAllClaims(refreshToken);
+        } catch (JwtException | IllegalArgumentException exception) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        if (!TokenType.REFRESH.matches(claims) || claims.getId() == null || claims.get(USER_ID_CLAIM) == null) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        return claims;
+    }
+
+    private static LocalDateTime toLocalDateTime(Claims claims) {
+        return LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+    }
+
 }
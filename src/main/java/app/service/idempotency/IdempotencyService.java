@@ -0,0 +1,42 @@
+package app.service.idempotency;
+
+import app.exception.IdempotencyKeyConflictException;
+import app.exception.InvalidValueException;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Интерфейс, описывающий методы обработки запросов с заголовком Idempotency-Key.
+ */
+public interface IdempotencyService {
+
+    /**
+     * Метод, выполняющий запрос не более одного раза для указанного ключа идемпотентности. Повторный запрос с тем же
+     * ключом получает сохраненный ответ, одновременные повторы ожидают результата первого запроса.
+     *
+     * @param userId         id пользователя, выполняющего запрос.
+     * @param idempotencyKey значение заголовка Idempotency-Key. Если {@literal null} - запрос выполняется без проверки.
+     * @param scope          область действия ключа, например, путь запроса.
+     * @param request        тело запроса, используется для проверки того, что ключ не использован для другого запроса.
+     * @param responseType   класс ответа.
+     * @param action         выполнение запроса.
+     * @param <T>            тип ответа.
+     * @return ответ на запрос, новый или сохраненный ранее.
+     * @throws IdempotencyKeyConflictException если запрос с этим ключом еще выполняется либо ключ использован для
+     *                                         другого запроса.
+     * @throws InvalidValueException           если значение ключа некорректно.
+     */
+    <T> T execute(UUID userId,
+                  String idempotencyKey,
+                  String scope,
+                  Object request,
+                  Class<T> responseType,
+                  Supplier<T> action) throws IdempotencyKeyConflictException, InvalidValueException;
+
+    /**
+     * Метод, удаляющий ключи идемпотентности, срок действия которых истек.
+     */
+    void deleteExpiredKeys();
+
+}
@@ -0,0 +1,274 @@
+package app.service.idempotency.impl;
+
+import app.config.IdempotencyProperties;
+import app.entity.idempotency.IdempotencyKeyEntity;
+import app.entity.idempotency.IdempotencyKeyId;
+import app.entity.idempotency.IdempotencyKeyStatus;
+import app.exception.IdempotencyKeyConflictException;
+import app.exception.InvalidValueException;
+import app.exception.WriteNotConfirmedException;
+import app.repository.idempotency.IdempotencyKeyRepository;
+import app.service.idempotency.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Класс, реализующий методы обработки запросов с заголовком Idempotency-Key.
+ * <p>
+ * Ответы хранятся в ограниченном по размеру кэше экземпляра приложения и в таблице {@code idempotency_keys},
+ * общей для всех экземпляров. Одновременные запросы с одинаковым ключом в пределах экземпляра ожидают результата
+ * первого из них, на других экземплярах получают {@link IdempotencyKeyConflictException}.
+ * <p>
+ * Класс не объявляет транзакций: захват ключа фиксируется до выполнения запроса, а сам запрос выполняется
+ * в транзакции вызываемого сервиса.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Duration ttl;
+    private final Duration coalescingTimeout;
+    private final Duration lease;
+
+    private final Map<String, StoredResponse> storedResponses;
+    private final ConcurrentMap<String, InFlightRequest> inFlightRequests = new ConcurrentHashMap<>();
+
+    public IdempotencyServiceImpl(IdempotencyKeyRepository idempotencyKeyRepository,
+                                  ObjectMapper objectMapper,
+                                  IdempotencyProperties idempotencyProperties) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = idempotencyProperties.getTtl();
+        this.coalescingTimeout = idempotencyProperties.getCoalescingTimeout();
+        this.lease = idempotencyProperties.getLease();
+        int cacheSize = idempotencyProperties.getCacheSize();
+        this.storedResponses = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @Override
+    public <T> T execute(UUID userId,
+                         String idempotencyKey,
+                         String scope,
+                         Object request,
+                         Class<T> responseType,
+                         Supplier<T> action) throws IdempotencyKeyConflictException, InvalidValueException {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidValueException(idempotencyKey, "non-blank string up to " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = this.getRequestHash(scope, request);
+        String cacheKey = userId + ":" + idempotencyKey;
+
+        StoredResponse storedResponse = this.getStoredResponse(cacheKey);
+        if (storedResponse != null) {
+            return storedResponse.getResponse(requestHash, responseType);
+        }
+
+        InFlightRequest current = new InFlightRequest(requestHash);
+        InFlightRequest existing = inFlightRequests.putIfAbsent(cacheKey, current);
+        if (existing != null) {
+            return existing.await(requestHash, responseType, coalescingTimeout);
+        }
+        try {
+            T response = this.executeOnce(userId, idempotencyKey, cacheKey, requestHash, responseType, action);
+            current.result.complete(response);
+            return response;
+        } catch (RuntimeException exception) {
+            current.result.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlightRequests.remove(cacheKey, current);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval:1h}")
+    public void deleteExpiredKeys() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (storedResponses) {
+            storedResponses.values().removeIf(storedResponse -> storedResponse.isExpired(now));
+        }
+        int deleted = idempotencyKeyRepository.deleteExpired(now);
+        if (deleted > 0) {
+            log.info("\nDeleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    /**
+     * Метод, выполняющий запрос после захвата ключа в БД. Если ключ уже захвачен, возвращается сохраненный в БД ответ.
+     * Если запрос завершился исключением, ключ освобождается, поэтому запрос должен завершаться исключением только
+     * без изменений в БД (см. {@link app.service.task_comment.impl.TaskCommentWriter#write}).
+     * Ключ, ответ для которого не удалось сохранить, и ключ запроса, завершившегося {@link WriteNotConfirmedException},
+     * остаются в состоянии выполнения и захватываются повторно по истечении срока захвата.
+     */
+    private <T> T executeOnce(UUID userId,
+                              String idempotencyKey,
+                              String cacheKey,
+                              String requestHash,
+                              Class<T> responseType,
+                              Supplier<T> action) {
+        LocalDateTime claimedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime expiresAt = claimedAt.plus(ttl);
+        if (idempotencyKeyRepository.claim(userId, idempotencyKey, requestHash, claimedAt, claimedAt.minus(lease), expiresAt) == 0) {
+            return this.getCompletedResponse(userId, idempotencyKey, cacheKey, requestHash, responseType);
+        }
+        T response;
+        try {
+            response = action.get();
+        } catch (WriteNotConfirmedException exception) {
+            log.warn("\nWrite for idempotency key {} was not confirmed, the key stays claimed until its lease expires", cacheKey);
+            throw exception;
+        } catch (RuntimeException exception) {
+            idempotencyKeyRepository.release(userId, idempotencyKey, claimedAt);
+            throw exception;
+        }
+        try {
+            if (idempotencyKeyRepository.complete(userId, idempotencyKey, claimedAt, objectMapper.writeValueAsString(response)) == 0) {
+                log.warn("\nIdempotency key {} was claimed by another request after its lease expired", cacheKey);
+            }
+        } catch (JsonProcessingException | RuntimeException exception) {
+            log.warn("\nFailed to store response for idempotency key {}: {}", cacheKey, exception.getMessage());
+        }
+        storedResponses.put(cacheKey, new StoredResponse(requestHash, response, expiresAt));
+        return response;
+    }
+
+    /**
+     * Метод, возвращающий ответ, сохраненный в БД для захваченного ранее ключа.
+     */
+    private <T> T getCompletedResponse(UUID userId,
+                                       String idempotencyKey,
+                                       String cacheKey,
+                                       String requestHash,
+                                       Class<T> responseType) {
+        IdempotencyKeyEntity idempotencyKeyEntity = idempotencyKeyRepository
+                .findById(new IdempotencyKeyId(userId, idempotencyKey))
+                .filter(entity -> entity.getStatus() == IdempotencyKeyStatus.COMPLETED)
+                .orElseThrow(() -> new IdempotencyKeyConflictException(
+                        String.format("Request with idempotency key %s is still being processed", idempotencyKey)));
+        if (!requestHash.equals(idempotencyKeyEntity.getRequestHash())) {
+            throw this.keyReusedException(idempotencyKey);
+        }
+        T response;
+        try {
+            response = objectMapper.readValue(idempotencyKeyEntity.getResponseBody(), responseType);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Stored response for idempotency key " + cacheKey + " is not readable", exception);
+        }
+        storedResponses.put(cacheKey, new StoredResponse(requestHash, response, idempotencyKeyEntity.getExpiresAt()));
+        return response;
+    }
+
+    /**
+     * Метод, возвращающий ответ из кэша экземпляра приложения, если срок его хранения не истек.
+     */
+    private StoredResponse getStoredResponse(String cacheKey) {
+        StoredResponse storedResponse = storedResponses.get(cacheKey);
+        if (storedResponse != null && storedResponse.isExpired(LocalDateTime.now())) {
+            storedResponses.remove(cacheKey, storedResponse);
+            return null;
+        }
+        return storedResponse;
+    }
+
+    /**
+     * Метод, вычисляющий хэш SHA-256 области действия ключа и тела запроса.
+     */
+    private String getRequestHash(String scope, Object request) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            messageDigest.update(scope.getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);
+            messageDigest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(messageDigest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException exception) {
+            throw new IllegalStateException("Unable to hash request for idempotency check", exception);
+        }
+    }
+
+    private IdempotencyKeyConflictException keyReusedException(String idempotencyKey) {
+        return new IdempotencyKeyConflictException(
+                String.format("Idempotency key %s has already been used for a different request", idempotencyKey));
+    }
+
+    /**
+     * Ответ, сохраненный в кэше экземпляра приложения.
+     */
+    private record StoredResponse(String requestHash, Object response, LocalDateTime expiresAt) {
+
+        boolean isExpired(LocalDateTime now) {
+            return expiresAt.isBefore(now);
+        }
+
+        <T> T getResponse(String requestHash, Class<T> responseType) {
+            if (!this.requestHash.equals(requestHash)) {
+                throw new IdempotencyKeyConflictException("Idempotency key has already been used for a different request");
+            }
+            return responseType.cast(response);
+        }
+    }
+
+    /**
+     * Запрос, выполняющийся на экземпляре приложения в данный момент.
+     */
+    private record InFlightRequest(String requestHash, CompletableFuture<Object> result) {
+
+        InFlightRequest(String requestHash) {
+            this(requestHash, new CompletableFuture<>());
+        }
+
+        <T> T await(String requestHash, Class<T> responseType, Duration timeout) {
+            if (!this.requestHash.equals(requestHash)) {
+                throw new IdempotencyKeyConflictException("Idempotency key is in use by a different request");
+            }
+            try {
+                return responseType.cast(result.get(timeout.toMillis(), TimeUnit.MILLISECONDS));
+            } catch (TimeoutException exception) {
+                throw new IdempotencyKeyConflictException("Request with this idempotency key is still being processed");
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IdempotencyKeyConflictException("Interrupted while waiting for request with the same idempotency key");
+            } catch (ExecutionException exception) {
+                if (exception.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(exception.getCause());
+            }
+        }
+    }
+
+}
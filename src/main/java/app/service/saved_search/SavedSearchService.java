@@ -0,0 +1,58 @@
+package app.service.saved_search;
+
+import app.dto.saved_search.CreateSavedSearchRequest;
+import app.dto.saved_search.SavedSearchDto;
+import app.dto.task.TaskDto;
+import app.entity.saved_search.SavedSearchEntity;
+import app.exception.AlreadyExistsException;
+import app.exception.NotFoundException;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Интерфейс, описывающий методы бизнес-логики для класса {@link SavedSearchEntity}
+ */
+public interface SavedSearchService {
+
+    /**
+     * Метод для получения сохраненных поисков пользователя.
+     *
+     * @param userId id пользователя.
+     * @return {@link List} объектов {@link SavedSearchDto}. Может быть пустым.
+     */
+    List<SavedSearchDto> getSavedSearches(UUID userId);
+
+    /**
+     * Метод для сохранения поиска задач.
+     *
+     * @param userId                   id пользователя.
+     * @param createSavedSearchRequest запрос на сохранение поиска.
+     * @return {@link SavedSearchDto} сохраненный поиск.
+     * @throws AlreadyExistsException если у пользователя уже есть поиск с указанным именем.
+     */
+    SavedSearchDto createSavedSearch(UUID userId, CreateSavedSearchRequest createSavedSearchRequest) throws AlreadyExistsException;
+
+    /**
+     * Метод для удаления сохраненного поиска.
+     *
+     * @param userId        id пользователя.
+     * @param savedSearchId id сохраненного поиска.
+     * @throws NotFoundException если поиск не найден или принадлежит другому пользователю.
+     */
+    void deleteSavedSearch(UUID userId, UUID savedSearchId) throws NotFoundException;
+
+    /**
+     * Метод для выполнения сохраненного поиска. Полный результат поиска кэшируется и сбрасывается при изменении
+     * задач, которые входят в него или удовлетворяют фильтру.
+     *
+     * @param userId        id пользователя.
+     * @param savedSearchId id сохраненного поиска.
+     * @param page          номер страницы.
+     * @param size          количество элементов на странице.
+     * @return {@link List} объектов {@link TaskDto} в порядке сортировки поиска. Может быть пустым.
+     * @throws NotFoundException если поиск не найден или принадлежит другому пользователю.
+     */
+    List<TaskDto> getSavedSearchTasks(UUID userId, UUID savedSearchId, int page, int size) throws NotFoundException;
+
+}
@@ -0,0 +1,262 @@
+package app.service.saved_search.impl;
+
+import app.config.SavedSearchProperties;
+import app.dto.task.TaskDto;
+import app.repository.task.TaskMatcher;
+import app.repository.task.TaskSpecification;
+import app.service.task.TaskChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Класс, хранящий в памяти экземпляра приложения полные результаты сохраненных поисков.
+ * <p>
+ * Результат сбрасывается после фиксации транзакции, изменившей задачу, если задача входит в результат или
+ * удовлетворяет фильтру поиска после изменения. Остальные изменения результат не затрагивают. Изменения,
+ * выполненные на других экземплярах приложения, учитываются по истечении {@link SavedSearchProperties#getTtl()}.
+ * <p>
+ * Результат, вычисленный одновременно с изменением задачи, не сохраняется: перед запросом к БД фиксируется
+ * номер последнего изменения, и при его расхождении результат отбрасывается.
+ * <p>
+ * Для поиска, результат которого превышает {@link SavedSearchProperties#getMaxResults()}, сохраняется только
+ * признак превышения, чтобы последующие запросы страниц не загружали результат повторно. Признак сбрасывается
+ * изменениями, после которых результат мог уменьшиться.
+ */
+@Component
+public class SavedSearchResultCache {
+
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final Map<UUID, CachedResult> results;
+
+    /**
+     * Номер последнего изменения задач, известного экземпляру приложения. Изменяется под блокировкой {@link #results}.
+     */
+    private long writeSequence;
+
+    @Autowired
+    public SavedSearchResultCache(SavedSearchProperties savedSearchProperties) {
+        this(savedSearchProperties, System::nanoTime);
+    }
+
+    public SavedSearchResultCache(SavedSearchProperties savedSearchProperties, LongSupplier nanoClock) {
+        this.ttlNanos = savedSearchProperties.getTtl().toNanos();
+        this.nanoClock = nanoClock;
+        int cacheSize = savedSearchProperties.getCacheSize();
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CachedResult> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Метод, возвращающий сохраненный результат поиска, если срок его хранения не истек.
+     *
+     * @param savedSearchId id сохраненного поиска.
+     * @param userId        id пользователя, выполняющего поиск.
+     * @return {@link List} объектов {@link TaskDto} в порядке сортировки поиска или {@literal null}, если результат
+     * отсутствует или поиск принадлежит другому пользователю.
+     */
+    public List<TaskDto> get(UUID savedSearchId, UUID userId) {
+        synchronized (results) {
+            CachedResult cachedResult = this.find(savedSearchId, userId);
+            return cachedResult == null ? null : cachedResult.tasks();
+        }
+    }
+
+    /**
+     * Метод, проверяющий, сохранен ли для поиска признак превышения максимального размера результата.
+     *
+     * @param savedSearchId id сохраненного поиска.
+     * @param userId        id пользователя, выполняющего поиск.
+     * @return {@literal true} - если признак сохранен и срок его хранения не истек, в противном случае - {@literal false}.
+     */
+    public boolean isOversized(UUID savedSearchId, UUID userId) {
+        synchronized (results) {
+            CachedResult cachedResult = this.find(savedSearchId, userId);
+            return cachedResult != null && cachedResult.isOversized();
+        }
+    }
+
+    /**
+     * Метод, возвращающий номер последнего изменения задач. Значение должно быть получено до запроса к БД
+     * и передано в {@link #put(UUID, UUID, TaskMatcher, List, long)}.
+     */
+    public long getWriteSequence() {
+        synchronized (results) {
+            return writeSequence;
+        }
+    }
+
+    /**
+     * Метод, сохраняющий результат поиска, если с момента получения {@code sequence} задачи не изменялись.
+     *
+     * @param savedSearchId id сохраненного поиска.
+     * @param userId        id владельца сохраненного поиска.
+     * @param matcher       проверка задач по фильтру поиска.
+     * @param tasks         полный результат поиска в порядке сортировки.
+     * @param sequence      номер изменения, полученный из {@link #getWriteSequence()} до запроса к БД.
+     * @return {@literal true} - если результат сохранен, в противном случае - {@literal false}.
+     */
+    public boolean put(UUID savedSearchId, UUID userId, TaskMatcher matcher, List<TaskDto> tasks, long sequence) {
+        Set<UUID> taskIds = new HashSet<>();
+        for (TaskDto task : tasks) {
+            taskIds.add(task.getId());
+        }
+        return this.put(savedSearchId, sequence, new CachedResult(
+                userId,
+                matcher,
+                Collections.unmodifiableSet(taskIds),
+                List.copyOf(tasks),
+                nanoClock.getAsLong()));
+    }
+
+    /**
+     * Метод, сохраняющий признак превышения максимального размера результата поиска, если с момента получения
+     * {@code sequence} задачи не изменялись.
+     *
+     * @param savedSearchId id сохраненного поиска.
+     * @param userId        id владельца сохраненного поиска.
+     * @param matcher       проверка задач по фильтру поиска.
+     * @param sequence      номер изменения, полученный из {@link #getWriteSequence()} до запроса к БД.
+     * @return {@literal true} - если признак сохранен, в противном случае - {@literal false}.
+     */
+    public boolean putOversized(UUID savedSearchId, UUID userId, TaskMatcher matcher, long sequence) {
+        return this.put(savedSearchId, sequence, new CachedResult(userId, matcher, Set.of(), null, nanoClock.getAsLong()));
+    }
+
+    private boolean put(UUID savedSearchId, long sequence, CachedResult cachedResult) {
+        synchronized (results) {
+            if (sequence != writeSequence) {
+                return false;
+            }
+            results.put(savedSearchId, cachedResult);
+            return true;
+        }
+    }
+
+    /**
+     * Метод, возвращающий сохраненный результат поиска, срок хранения которого не истек. Вызывается под блокировкой
+     * {@link #results}.
+     */
+    private CachedResult find(UUID savedSearchId, UUID userId) {
+        CachedResult cachedResult = results.get(savedSearchId);
+        if (cachedResult == null || !cachedResult.userId().equals(userId)) {
+            return null;
+        }
+        if (nanoClock.getAsLong() - cachedResult.cachedAt() > ttlNanos) {
+            results.remove(savedSearchId);
+            return null;
+        }
+        return cachedResult;
+    }
+
+    /**
+     * Метод, удаляющий сохраненный результат поиска.
+     *
+     * @param savedSearchId id сохраненного поиска.
+     */
+    public void evict(UUID savedSearchId) {
+        synchronized (results) {
+            results.remove(savedSearchId);
+        }
+    }
+
+    /**
+     * Метод, сбрасывающий результаты, на которые повлияло изменение задачи. Вызывается после фиксации транзакции,
+     * в которой было выполнено изменение.
+     *
+     * @param event событие изменения задачи.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        synchronized (results) {
+            writeSequence++;
+            Iterator<CachedResult> iterator = results.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isAffectedBy(event)) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Метод, возвращающий количество сохраненных результатов.
+     */
+    public int size() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    /**
+     * Результат поиска, сохраненный в памяти экземпляра приложения. Для результата, превышающего максимальный размер,
+     * задачи не сохраняются ({@code tasks} равен {@literal null}).
+     */
+    private record CachedResult(UUID userId,
+                                TaskMatcher matcher,
+                                Set<UUID> taskIds,
+                                List<TaskDto> tasks,
+                                long cachedAt) {
+
+        /**
+         * Изменение затрагивает результат, если задача уже входит в него или может войти после изменения.
+         * Для добавленного комментария состояние задачи неизвестно, поэтому результат сбрасывается,
+         * если фильтр проверяет количество или дату комментариев либо дату обновления, которая сдвигается
+         * вместе со счетчиками комментариев.
+         */
+        boolean isAffectedBy(TaskChangedEvent event) {
+            if (this.isOversized()) {
+                return this.mayShrink(event);
+            }
+            if (taskIds.contains(event.taskId())) {
+                return true;
+            }
+            if (event.task() != null) {
+                return matcher.test(event.task());
+            }
+            return event.type() == TaskChangedEvent.Type.COMMENTED
+                    && this.dependsOnComments();
+        }
+
+        /**
+         * Состав результата, превышающего максимальный размер, неизвестен. Создание задачи результат не уменьшает,
+         * изменение задачи, удовлетворяющей фильтру после изменения, тоже. Остальные изменения могли исключить задачу
+         * из результата.
+         */
+        boolean mayShrink(TaskChangedEvent event) {
+            return switch (event.type()) {
+                case CREATED -> false;
+                case UPDATED -> event.task() == null || !matcher.test(event.task());
+                case COMMENTED -> this.dependsOnComments();
+                case DELETED -> true;
+            };
+        }
+
+        boolean isOversized() {
+            return tasks == null;
+        }
+
+        private boolean dependsOnComments() {
+            return matcher.dependsOn(TaskSpecification.COMMENT_COUNT)
+                    || matcher.dependsOn(TaskSpecification.LAST_COMMENT_AT)
+                    || matcher.dependsOn(TaskSpecification.UPDATED_AT);
+        }
+    }
+
+}
@@ -0,0 +1,221 @@
+package app.service.saved_search.impl;
+
+import app.config.SavedSearchProperties;
+import app.dto.saved_search.CreateSavedSearchRequest;
+import app.dto.saved_search.SavedSearchDto;
+import app.dto.task.TaskDto;
+import app.dto.task.TaskSearchFilterDto;
+import app.entity.saved_search.SavedSearchEntity;
+import app.entity.task.TaskEntity;
+import app.exception.AlreadyExistsException;
+import app.exception.InvalidValueException;
+import app.exception.NotFoundException;
+import app.mapper.task.TaskMapper;
+import app.repository.UniqueConstraint;
+import app.repository.saved_search.SavedSearchRepository;
+import app.repository.task.TaskSortField;
+import app.repository.task.TaskSpecification;
+import app.service.saved_search.SavedSearchService;
+import app.service.task.TaskService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Класс бизнес-логики, реализующий методы {@link SavedSearchService}.
+ * <p>
+ * Полный результат сохраненного поиска загружается одним запросом и хранится в {@link SavedSearchResultCache},
+ * страницы отдаются из памяти. Результаты, превышающие {@link SavedSearchProperties#getMaxResults()}, не кэшируются:
+ * сохраняется только признак превышения, и страницы такого поиска запрашиваются из БД по одной.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class SavedSearchServiceImpl implements SavedSearchService {
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final TaskService taskService;
+    private final TaskMapper taskMapper;
+    private final SavedSearchResultCache savedSearchResultCache;
+    private final ObjectMapper objectMapper;
+
+    private final int maxResults;
+
+    public SavedSearchServiceImpl(SavedSearchRepository savedSearchRepository,
+                                  TaskService taskService,
+                                  TaskMapper taskMapper,
+                                  SavedSearchResultCache savedSearchResultCache,
+                                  ObjectMapper objectMapper,
+                                  SavedSearchProperties savedSearchProperties) {
+        this.savedSearchRepository = savedSearchRepository;
+        this.taskService = taskService;
+        this.taskMapper = taskMapper;
+        this.savedSearchResultCache = savedSearchResultCache;
+        this.objectMapper = objectMapper;
+        this.maxResults = savedSearchProperties.getMaxResults();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see SavedSearchService#getSavedSearches(UUID)
+     */
+    @Override
+    public List<SavedSearchDto> getSavedSearches(UUID userId) {
+        return savedSearchRepository
+                .findAllByUserIdOrderByCreatedAt(userId)
+                .stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see SavedSearchService#createSavedSearch(UUID, CreateSavedSearchRequest)
+     */
+    @Override
+    @Transactional
+    public SavedSearchDto createSavedSearch(UUID userId, CreateSavedSearchRequest createSavedSearchRequest)
+            throws AlreadyExistsException, InvalidValueException {
+        TaskSortField sortField = TaskSortField.fromFieldName(createSavedSearchRequest.getSortBy());
+        Sort.Direction direction = this.getDirection(createSavedSearchRequest.getDirection());
+        // Фильтр с недопустимыми именами статусов или приоритетов отклоняется при сохранении, а не при каждом выполнении.
+        TaskSpecification.filterBy(createSavedSearchRequest.getFilter());
+        SavedSearchEntity savedSearchEntity = SavedSearchEntity
+                .builder()
+                .userId(userId)
+                .name(createSavedSearchRequest.getName())
+                .filter(this.writeFilter(createSavedSearchRequest.getFilter()))
+                .sortBy(sortField.getFieldName())
+                .direction(direction.name().toLowerCase(Locale.ROOT))
+                .createdAt(LocalDateTime.now())
+                .build();
+        try {
+            savedSearchRepository.saveAndFlush(savedSearchEntity);
+        } catch (DataIntegrityViolationException exception) {
+            if (UniqueConstraint.SAVED_SEARCHES_USER_ID_NAME.isViolatedBy(exception)) {
+                throw new AlreadyExistsException("Saved search", "name", createSavedSearchRequest.getName());
+            }
+            throw exception;
+        }
+        log.info("\nSaved search has been created: {}", savedSearchEntity);
+        return this.toDto(savedSearchEntity);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see SavedSearchService#deleteSavedSearch(UUID, UUID)
+     */
+    @Override
+    @Transactional
+    public void deleteSavedSearch(UUID userId, UUID savedSearchId) throws NotFoundException {
+        if (savedSearchRepository.deleteByIdAndUserId(savedSearchId, userId) == 0) {
+            throw new NotFoundException("Saved search", "id", savedSearchId);
+        }
+        savedSearchResultCache.evict(savedSearchId);
+        log.info("\nSaved search with id {} has been deleted", savedSearchId);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see SavedSearchService#getSavedSearchTasks(UUID, UUID, int, int)
+     */
+    @Override
+    public List<TaskDto> getSavedSearchTasks(UUID userId, UUID savedSearchId, int page, int size) throws NotFoundException {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        List<TaskDto> cached = savedSearchResultCache.get(savedSearchId, userId);
+        if (cached != null) {
+            return this.getPage(cached, pageRequest);
+        }
+        SavedSearchEntity savedSearch = savedSearchRepository
+                .findByIdAndUserId(savedSearchId, userId)
+                .orElseThrow(() -> new NotFoundException("Saved search", "id", savedSearchId));
+        TaskSearchFilterDto filter = this.readFilter(savedSearch);
+        Specification<TaskEntity> specification = TaskSpecification.filterBy(filter);
+        Sort sort = TaskSortField
+                .fromFieldName(savedSearch.getSortBy())
+                .toSort(this.getDirection(savedSearch.getDirection()));
+        if (savedSearchResultCache.isOversized(savedSearchId, userId)) {
+            return taskMapper.toDtoList(taskService.getTaskPage(specification, pageRequest.withSort(sort)));
+        }
+
+        long sequence = savedSearchResultCache.getWriteSequence();
+        List<TaskEntity> tasks = taskService.getTaskPage(specification, PageRequest.of(0, maxResults + 1, sort));
+        if (tasks.size() > maxResults) {
+            savedSearchResultCache.putOversized(savedSearchId, userId, TaskSpecification.matcherFor(filter), sequence);
+            if (pageRequest.getOffset() + size <= maxResults) {
+                return taskMapper.toDtoList(this.getPage(tasks, pageRequest));
+            }
+            return taskMapper.toDtoList(taskService.getTaskPage(specification, pageRequest.withSort(sort)));
+        }
+        List<TaskDto> result = taskMapper.toDtoList(tasks);
+        savedSearchResultCache.put(savedSearchId, userId, TaskSpecification.matcherFor(filter), result, sequence);
+        return this.getPage(result, pageRequest);
+    }
+
+    /**
+     * Метод для получения страницы из полного результата поиска.
+     */
+    private <T> List<T> getPage(List<T> result, PageRequest pageRequest) {
+        long offset = pageRequest.getOffset();
+        if (offset >= result.size()) {
+            return List.of();
+        }
+        int from = (int) offset;
+        return result.subList(from, Math.min(result.size(), from + pageRequest.getPageSize()));
+    }
+
+    private Sort.Direction getDirection(String direction) throws InvalidValueException {
+        return Sort.Direction
+                .fromOptionalString(direction)
+                .orElseThrow(() -> new InvalidValueException(
+                        direction,
+                        Arrays.stream(Sort.Direction.values()).map(value -> value.toString().toLowerCase())
+                                .collect(Collectors.joining(", "))));
+    }
+
+    private SavedSearchDto toDto(SavedSearchEntity savedSearchEntity) {
+        return SavedSearchDto
+                .builder()
+                .id(savedSearchEntity.getId())
+                .name(savedSearchEntity.getName())
+                .filter(this.readFilter(savedSearchEntity))
+                .sortBy(savedSearchEntity.getSortBy())
+                .direction(savedSearchEntity.getDirection())
+                .createdAt(savedSearchEntity.getCreatedAt())
+                .build();
+    }
+
+    private String writeFilter(TaskSearchFilterDto filter) {
+        try {
+            return objectMapper.writeValueAsString(filter);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Unable to serialize saved search filter", exception);
+        }
+    }
+
+    private TaskSearchFilterDto readFilter(SavedSearchEntity savedSearchEntity) {
+        try {
+            return objectMapper.readValue(savedSearchEntity.getFilter(), TaskSearchFilterDto.class);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Filter of saved search " + savedSearchEntity.getId() + " is not readable", exception);
+        }
+    }
+
+}
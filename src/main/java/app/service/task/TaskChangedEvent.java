@@ -0,0 +1,27 @@
+package app.service.task;
+
+import app.entity.task.TaskEntity;
+
+import java.util.UUID;
+
+/**
+ * Событие изменения задачи, публикуемое {@link TaskService} в транзакции, выполнившей изменение.
+ *
+ * @param taskId id задачи.
+ * @param task   состояние задачи после изменения или {@literal null}, если оно не загружалось
+ *               (удаление задачи, добавление комментария).
+ * @param type   вид изменения.
+ */
+public record TaskChangedEvent(UUID taskId, TaskEntity task, Type type) {
+
+    /**
+     * Вид изменения задачи.
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        COMMENTED,
+        DELETED
+    }
+
+}
@@ -1,13 +1,19 @@
 package app.service.task;
 
 import app.dto.task.*;
+import app.dto.validator.ResourceValidator;
 import app.entity.task.TaskEntity;
+import app.entity.task.TaskStatus;
 import app.exception.AlreadyExistsException;
 import app.exception.NotFoundException;
+import app.exception.PreconditionFailedException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -25,6 +31,17 @@ public interface TaskService {
      */
     List<TaskEntity> getTaskPage(Specification<TaskEntity> specification, Pageable pageable);
 
+    /**
+     * Метод, реализующий поиск страницы задач, удовлетворяющих указанным критериям, в виде {@link TaskDto}. Задачи
+     * читаются из БД порциями без подсчета общего количества и преобразуются в рамках транзакции, после чего
+     * отсоединяются от контекста сохранения. Соединение с БД освобождается до записи ответа клиенту.
+     *
+     * @param specification критерии поиска.
+     * @param pageable      размеры возвращаемой страницы данных.
+     * @return {@link List} объектов {@link TaskDto}. Может быть пустым.
+     */
+    List<TaskDto> getTaskDtoPage(Specification<TaskEntity> specification, Pageable pageable);
+
     /**
      * Метод, реализующий поиск задачи с указанным {@literal taskId} в базе данных.
      *
@@ -35,21 +52,50 @@ public interface TaskService {
     TaskEntity getTaskById(UUID taskId) throws NotFoundException;
 
     /**
-     * Метод для проверки на существование задачи с указанным {@literal taskId} в базе данных.
+     * Метод для получения ссылки на задачу с указанным {@literal taskId} без запроса к БД. Используется для заполнения
+     * связей других сущностей, существование задачи должно быть проверено до вызова метода.
      *
      * @param taskId id задачи.
-     * @return {@literal true} - если задача присутствует в БД, в противном случае - {@literal false}.
+     * @return {@link TaskEntity} объект, данные которого загружаются из БД при первом обращении к ним.
      */
-    boolean getIsTaskExistsById(UUID taskId);
+    TaskEntity getTaskReferenceById(UUID taskId);
 
     /**
-     * Метод для проверки на существование задачи с указанными {@literal name} и {@literal creatorId} в базе данных.
+     * Метод для получения валидатора задачи с указанным {@literal taskId} без загрузки самой задачи.
      *
-     * @param name      имя задачи.
-     * @param creatorId id создателя задачи.
-     * @return {@literal  true} - если задача присутствует в БД, в противном случае - {@literal  false}
+     * @param taskId id задачи.
+     * @return {@link ResourceValidator} с ETag, изменяющимся при обновлении задачи и при добавлении или удалении
+     * комментариев к ней, см. {@link ResourceValidator#ofTask(long, int, LocalDateTime)}.
+     * @throws NotFoundException если задача с указанным {@literal taskId} не присутствует в БД.
+     */
+    ResourceValidator getTaskValidator(UUID taskId) throws NotFoundException;
+
+    /**
+     * Метод для получения валидатора страницы задач, удовлетворяющих указанным критериям, без загрузки самих задач.
+     *
+     * @param specification набор фильтров.
+     * @param pageable      номер, размер и сортировка страницы.
+     * @return {@link ResourceValidator}, изменяющийся при изменении состава страницы, изменении, удалении
+     * или комментировании задач страницы.
+     */
+    ResourceValidator getTaskPageValidator(Specification<TaskEntity> specification, Pageable pageable);
+
+    /**
+     * Метод для получения валидатора списка комментариев к задаче с указанным {@literal taskId} без загрузки комментариев.
+     *
+     * @param taskId id задачи.
+     * @return {@link ResourceValidator}, изменяющийся при добавлении и удалении комментариев.
+     * @throws NotFoundException если задача с указанным {@literal taskId} не присутствует в БД.
      */
-    boolean getIsTaskExistsByNameAndCreatorId(String name, UUID creatorId);
+    ResourceValidator getTaskCommentsValidator(UUID taskId) throws NotFoundException;
+
+    /**
+     * Метод для проверки на существование задачи с указанным {@literal taskId} в базе данных.
+     *
+     * @param taskId id задачи.
+     * @return {@literal true} - если задача присутствует в БД, в противном случае - {@literal false}.
+     */
+    boolean getIsTaskExistsById(UUID taskId);
 
     /**
      * Метод для проверки на существование задачи с указанными {@literal taskId} и {@literal creatorId} в базе данных.
@@ -69,6 +115,44 @@ public interface TaskService {
      */
     boolean getIsTaskExistsByIdAndExecutorId(UUID taskId, UUID executorId);
 
+    /**
+     * Метод для получения id задач из указанного набора, присутствующих в базе данных.
+     *
+     * @param taskIds набор id задач.
+     * @return {@link Set} id задач, присутствующих в БД.
+     */
+    Set<UUID> getExistingTaskIds(Collection<UUID> taskIds);
+
+    /**
+     * Метод для получения id задач из указанного набора, создателем или исполнителем которых является пользователь
+     * с указанным {@literal userId}.
+     *
+     * @param taskIds набор id задач.
+     * @param userId  id пользователя.
+     * @return {@link Set} id задач, связанных с пользователем.
+     */
+    Set<UUID> getRelatedTaskIds(Collection<UUID> taskIds, UUID userId);
+
+    /**
+     * Метод для получения доски задач команды одним запросом к БД.
+     *
+     * @param executorIds набор id исполнителей.
+     * @param statuses    набор статусов задач.
+     * @param limit       максимальное количество задач для каждой пары исполнителя и статуса.
+     * @return {@link List} объектов {@link TaskEntity}, упорядоченных по исполнителю, статусу и сроку выполнения.
+     * Может быть пустым.
+     */
+    List<TaskEntity> getTeamBoard(Collection<UUID> executorIds, Collection<TaskStatus> statuses, int limit);
+
+    /**
+     * Метод для учета добавленных комментариев в счетчике комментариев задачи с указанным {@literal taskId}.
+     *
+     * @param taskId      id задачи.
+     * @param count       количество добавленных комментариев.
+     * @param commentedAt дата создания последнего из добавленных комментариев.
+     */
+    void incrementTaskCommentCount(UUID taskId, int count, LocalDateTime commentedAt);
+
     /**
      * Метод для создания новой задачи.
      *
@@ -81,17 +165,22 @@ public interface TaskService {
     CreateTaskResponse createTask(UUID creatorId, CreateTaskRequest createTaskRequest) throws AlreadyExistsException;
 
     /**
-     * Метод для обновления существующей задачи.
+     * Метод для обновления существующей задачи. Если указана ожидаемая версия, задача обновляется одним запросом
+     * только при совпадении версии, в противном случае изменения проверяются по версии при сохранении.
      *
      * @param updateTaskRequest запрос на обновление задачи.
+     * @param expectedVersion   ожидаемая версия задачи. Может быть {@literal null}.
      * @return {@link UpdateTaskResponse} ответ с данными, возвращенными из БД после обновления задачи.
-     * @throws NotFoundException      если задача с указанным {@literal id} не присутствует в БД.
-     * @throws AlreadyExistsException если задача с указанным в запросе именем уже существует у пользователя (creatorId).
+     * @throws NotFoundException           если задача с указанным {@literal id} не присутствует в БД.
+     * @throws AlreadyExistsException      если задача с указанным в запросе именем уже существует у пользователя (creatorId).
+     * @throws PreconditionFailedException если версия задачи не совпадает с ожидаемой.
      */
-    UpdateTaskResponse updateTask(UpdateTaskRequest updateTaskRequest) throws NotFoundException;
+    UpdateTaskResponse updateTask(UpdateTaskRequest updateTaskRequest, Long expectedVersion)
+            throws NotFoundException, PreconditionFailedException;
 
     /**
-     * Метод для удаления задачи.
+     * Метод для удаления задачи. Задача помечается удаленной и удаляется из БД после истечения срока хранения,
+     * см. {@link TaskSyncService}.
      *
      * @param deleteTaskRequest запрос на удаление задачи.
      * @return {@link DeleteTaskResponse} ответ с данными, возвращенными из БД после удаления задачи.
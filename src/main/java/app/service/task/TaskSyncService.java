@@ -0,0 +1,64 @@
+package app.service.task;
+
+import app.dto.task.TaskSyncResponse;
+import app.dto.task_comment.TaskCommentSyncResponse;
+import app.exception.InvalidCursorException;
+import app.exception.SyncCursorExpiredException;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Интерфейс, описывающий методы синхронизации изменений задач и комментариев.
+ * <p>
+ * Удаленные задачи и комментарии хранятся в БД с датой удаления в течение
+ * {@link app.config.TaskSyncProperties#getTombstoneRetention()}, поэтому клиент, запрашивающий изменения после
+ * сохраненной позиции, получает и сведения об удалениях. После истечения срока хранения записи удаляются из БД порциями.
+ */
+public interface TaskSyncService {
+
+    /**
+     * Метод для получения изменений задач после указанной позиции.
+     *
+     * @param cursor позиция, полученная с предыдущим ответом. Если {@literal null} - изменения возвращаются с начала.
+     * @param size   максимальное количество задач в ответе.
+     * @return {@link TaskSyncResponse} с измененными и удаленными задачами и позицией следующего запроса.
+     * @throws InvalidCursorException      если указанная позиция некорректна.
+     * @throws SyncCursorExpiredException если указанная позиция старше срока хранения удаленных задач.
+     */
+    TaskSyncResponse getTaskChanges(String cursor, int size) throws InvalidCursorException, SyncCursorExpiredException;
+
+    /**
+     * Метод для получения изменений комментариев к задаче с указанным {@literal taskId} после указанной позиции.
+     *
+     * @param taskId id задачи.
+     * @param cursor позиция, полученная с предыдущим ответом. Если {@literal null} - изменения возвращаются с начала.
+     * @param size   максимальное количество комментариев в ответе.
+     * @return {@link TaskCommentSyncResponse} с созданными и удаленными комментариями и позицией следующего запроса.
+     * @throws InvalidCursorException      если указанная позиция некорректна.
+     * @throws SyncCursorExpiredException если указанная позиция старше срока хранения удаленных комментариев.
+     */
+    TaskCommentSyncResponse getTaskCommentChanges(UUID taskId, String cursor, int size)
+            throws InvalidCursorException, SyncCursorExpiredException;
+
+    /**
+     * Метод, удаляющий из БД одной транзакцией не более {@literal limit} комментариев, удаленных до
+     * {@literal deletedBefore}, и комментариев к задачам, удаленным до {@literal deletedBefore}.
+     *
+     * @param deletedBefore граница срока хранения удаленных записей.
+     * @param limit         максимальное количество удаляемых комментариев.
+     * @return количество удаленных комментариев.
+     */
+    int compactTaskComments(LocalDateTime deletedBefore, int limit);
+
+    /**
+     * Метод, удаляющий из БД одной транзакцией не более {@literal limit} задач, удаленных до {@literal deletedBefore}.
+     * Вызывается после удаления комментариев к этим задачам, см. {@link #compactTaskComments(LocalDateTime, int)}.
+     *
+     * @param deletedBefore граница срока хранения удаленных задач.
+     * @param limit         максимальное количество удаляемых задач.
+     * @return количество удаленных задач.
+     */
+    int compactTasks(LocalDateTime deletedBefore, int limit);
+
+}
@@ -1,35 +1,55 @@
 package app.service.task.impl;
 
 import app.dto.task.*;
+import app.dto.validator.ResourceValidator;
 import app.entity.task.TaskEntity;
+import app.entity.task.TaskStatus;
 import app.exception.AlreadyExistsException;
 import app.exception.NotFoundException;
+import app.exception.PreconditionFailedException;
 import app.mapper.task.TaskMapper;
+import app.repository.UniqueConstraint;
 import app.repository.task.TaskRepository;
+import app.repository.task.TaskSetStats;
+import app.service.task.TaskChangedEvent;
 import app.service.task.TaskService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Класс бизнес-логики, реализующий методы {@link TaskService}.
+ * <p>
+ * Каждое изменение задачи публикует {@link TaskChangedEvent}, по которому сбрасываются кэшированные результаты поиска.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class TaskServiceImpl implements TaskService {
 
     private final TaskRepository taskRepository;
 
     private final TaskMapper taskMapper;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
      * {@inheritDoc}
      *
@@ -40,6 +60,22 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository.findAll(specification, pageable).getContent();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskService#getTaskDtoPage(Specification, Pageable)
+     */
+    @Override
+    public List<TaskDto> getTaskDtoPage(Specification<TaskEntity> specification, Pageable pageable) {
+        try (Stream<TaskEntity> tasks = taskRepository.streamAll(specification, pageable)) {
+            return tasks.map(task -> {
+                TaskDto taskDto = taskMapper.toDto(task);
+                taskRepository.detach(task);
+                return taskDto;
+            }).toList();
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -53,21 +89,66 @@ public class TaskServiceImpl implements TaskService {
     /**
      * {@inheritDoc}
      *
-     * @see TaskService#getIsTaskExistsById(UUID)
+     * @see TaskService#getTaskReferenceById(UUID)
      */
     @Override
-    public boolean getIsTaskExistsById(UUID taskId) {
-        return taskRepository.existsById(taskId);
+    public TaskEntity getTaskReferenceById(UUID taskId) {
+        return taskRepository.getReferenceById(taskId);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskService#getTaskValidator(UUID)
+     */
+    @Override
+    public ResourceValidator getTaskValidator(UUID taskId) throws NotFoundException {
+        return taskRepository
+                .findVersionStatsById(taskId)
+                .map(stats -> ResourceValidator.ofTask(stats.getVersion(), stats.getCommentCount(), stats.getLastCommentAt()))
+                .orElseThrow(() -> new NotFoundException("Task", "id", taskId));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskService#getTaskPageValidator(Specification, Pageable)
+     */
+    @Override
+    public ResourceValidator getTaskPageValidator(Specification<TaskEntity> specification, Pageable pageable) {
+        TaskSetStats stats = taskRepository.getTaskPageStats(specification, pageable);
+        String eTag = String.format("%d-%x-%d-%d-%d",
+                stats.getCount(),
+                stats.getIdsHash(),
+                this.toMillis(stats.getLastModified()),
+                this.toMillis(stats.getLastCommentAt()),
+                stats.getCommentCount());
+        return new ResourceValidator(eTag, this.getLatest(stats.getLastModified(), stats.getLastCommentAt()));
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see TaskService#getIsTaskExistsByNameAndCreatorId(String, UUID)
+     * @see TaskService#getTaskCommentsValidator(UUID)
      */
     @Override
-    public boolean getIsTaskExistsByNameAndCreatorId(String name, UUID creatorId) {
-        return taskRepository.existsByNameAndCreatorId(name, creatorId);
+    public ResourceValidator getTaskCommentsValidator(UUID taskId) throws NotFoundException {
+        return taskRepository
+                .findCommentStatsById(taskId)
+                .map(stats -> new ResourceValidator(
+                        String.format("%d-%d", stats.getCommentCount(), this.toMillis(stats.getLastCommentAt())),
+                        stats.getLastCommentAt()))
+                .orElseThrow(() -> new NotFoundException("Task", "id", taskId));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskService#getIsTaskExistsById(UUID)
+     */
+    @Override
+    public boolean getIsTaskExistsById(UUID taskId) {
+        return taskRepository.existsById(taskId);
     }
 
     /**
@@ -90,56 +171,98 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository.existsByIdAndExecutorId(taskId, executorId);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskService#getExistingTaskIds(Collection)
+     */
+    @Override
+    public Set<UUID> getExistingTaskIds(Collection<UUID> taskIds) {
+        return new HashSet<>(taskRepository.findIdsByIdIn(taskIds));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskService#getRelatedTaskIds(Collection, UUID)
+     */
+    @Override
+    public Set<UUID> getRelatedTaskIds(Collection<UUID> taskIds, UUID userId) {
+        return new HashSet<>(taskRepository.findIdsByIdInAndRelatedUserId(taskIds, userId));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskService#getTeamBoard(Collection, Collection, int)
+     */
+    @Override
+    public List<TaskEntity> getTeamBoard(Collection<UUID> executorIds, Collection<TaskStatus> statuses, int limit) {
+        if (executorIds.isEmpty() || statuses.isEmpty()) {
+            return List.of();
+        }
+        return taskRepository.findTeamBoard(
+                executorIds.toArray(UUID[]::new),
+                statuses.stream().map(TaskStatus::name).toArray(String[]::new),
+                limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskService#incrementTaskCommentCount(UUID, int, LocalDateTime)
+     */
+    @Override
+    @Transactional
+    public void incrementTaskCommentCount(UUID taskId, int count, LocalDateTime commentedAt) {
+        taskRepository.incrementCommentCount(taskId, count, commentedAt);
+        eventPublisher.publishEvent(new TaskChangedEvent(taskId, null, TaskChangedEvent.Type.COMMENTED));
+    }
+
     /**
      * {@inheritDoc}
      *
      * @see TaskService#createTask(UUID, CreateTaskRequest)
      */
     @Override
+    @Transactional
     public CreateTaskResponse createTask(UUID creatorId, CreateTaskRequest createTaskRequest) throws AlreadyExistsException {
-        boolean isTaskWithSpecifiedNameExists =
-                this.getIsTaskExistsByNameAndCreatorId(createTaskRequest.getName(), creatorId);
-        if (isTaskWithSpecifiedNameExists) {
-            throw new AlreadyExistsException(
-                    "Task",
-                    List.of(
-                            Pair.of("name", createTaskRequest.getName()),
-                            Pair.of("creator id", creatorId)
-                    ));
-        } else {
-            TaskEntity taskEntity = taskMapper.toTaskEntity(createTaskRequest);
-            taskEntity.setCreatorId(creatorId);
-            taskEntity.setCreatedAt(LocalDateTime.now());
+        TaskEntity taskEntity = taskMapper.toTaskEntity(createTaskRequest);
+        taskEntity.setCreatorId(creatorId);
+        taskEntity.setCreatedAt(LocalDateTime.now());
+        try {
             taskRepository.saveAndFlush(taskEntity);
-            log.info("\nTask has been created: {}", taskEntity);
-            return taskMapper.toCreateTaskResponse(taskEntity);
+        } catch (DataIntegrityViolationException exception) {
+            throw this.translateUniqueViolation(exception, createTaskRequest.getName(), creatorId);
         }
+        log.info("\nTask has been created: {}", taskEntity);
+        eventPublisher.publishEvent(new TaskChangedEvent(taskEntity.getId(), taskEntity, TaskChangedEvent.Type.CREATED));
+        return taskMapper.toCreateTaskResponse(taskEntity);
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see TaskService#updateTask(UpdateTaskRequest)
+     * @see TaskService#updateTask(UpdateTaskRequest, Long)
      */
     @Override
-    public UpdateTaskResponse updateTask(UpdateTaskRequest updateTaskRequest) throws NotFoundException, AlreadyExistsException {
+    @Transactional
+    public UpdateTaskResponse updateTask(UpdateTaskRequest updateTaskRequest, Long expectedVersion)
+            throws NotFoundException, AlreadyExistsException, PreconditionFailedException {
+        if (expectedVersion != null) {
+            return this.updateTaskIfVersionMatches(updateTaskRequest, expectedVersion);
+        }
         TaskEntity task = this.getTaskById(updateTaskRequest.getId());
-        boolean isTaskWithSpecifiedNameExists =
-                this.getIsTaskExistsByNameAndCreatorId(updateTaskRequest.getName(), task.getCreatorId());
-        if (isTaskWithSpecifiedNameExists) {
-            throw new AlreadyExistsException(
-                    "Task",
-                    List.of(
-                            Pair.of("name", updateTaskRequest.getName()),
-                            Pair.of("creator id", task.getCreatorId())
-                    ));
-        } else {
-            taskMapper.toTaskEntity(updateTaskRequest, task);
-            task.setUpdatedAt(LocalDateTime.now());
+        taskMapper.toTaskEntity(updateTaskRequest, task);
+        task.setUpdatedAt(LocalDateTime.now());
+        try {
             taskRepository.saveAndFlush(task);
-            log.info("\nTask has been updated: {}", task);
-            return taskMapper.toUpdateTaskResponse(task);
+        } catch (DataIntegrityViolationException exception) {
+            throw this.translateUniqueViolation(exception, task.getName(), task.getCreatorId());
         }
+        log.info("\nTask has been updated: {}", task);
+        eventPublisher.publishEvent(new TaskChangedEvent(task.getId(), task, TaskChangedEvent.Type.UPDATED));
+        return taskMapper.toUpdateTaskResponse(task);
     }
 
     /**
@@ -148,15 +271,108 @@ public class TaskServiceImpl implements TaskService {
      * @see TaskService#deleteTask(DeleteTaskRequest)
      */
     @Override
+    @Transactional
     public DeleteTaskResponse deleteTask(DeleteTaskRequest deleteTaskRequest) throws NotFoundException {
-        boolean isTaskExists = this.getIsTaskExistsById(deleteTaskRequest.getId());
-        if (isTaskExists) {
-            UUID deletedTaskId = taskRepository.deleteTaskById(deleteTaskRequest.getId());
-            log.info("\nTask with id {} has been deleted", deletedTaskId);
-            return new DeleteTaskResponse(deletedTaskId, LocalDateTime.now());
+        UUID taskId = deleteTaskRequest.getId();
+        LocalDateTime deletedAt = LocalDateTime.now();
+        int deletedCount = taskRepository.deleteTaskById(taskId, deletedAt);
+        if (deletedCount > 0) {
+            log.info("\nTask with id {} has been deleted", taskId);
+            eventPublisher.publishEvent(new TaskChangedEvent(taskId, null, TaskChangedEvent.Type.DELETED));
+            return new DeleteTaskResponse(taskId, deletedAt);
+        } else {
+            throw new NotFoundException("Task", "id", taskId);
+        }
+    }
+
+    /**
+     * Метод для обновления задачи одним запросом при совпадении ее версии с ожидаемой.
+     *
+     * @param updateTaskRequest запрос на обновление задачи.
+     * @param expectedVersion   ожидаемая версия задачи.
+     * @return {@link UpdateTaskResponse} ответ с данными, возвращенными из БД после обновления задачи.
+     * @throws NotFoundException           если задача с указанным {@literal id} не присутствует в БД.
+     * @throws PreconditionFailedException если версия задачи не совпадает с ожидаемой.
+     */
+    private UpdateTaskResponse updateTaskIfVersionMatches(UpdateTaskRequest updateTaskRequest, long expectedVersion)
+            throws NotFoundException, PreconditionFailedException {
+        Optional<TaskEntity> updatedTask;
+        try {
+            updatedTask = taskRepository.updateTaskIfVersionMatches(
+                    updateTaskRequest.getId(),
+                    expectedVersion,
+                    updateTaskRequest.getName(),
+                    updateTaskRequest.getDescription(),
+                    updateTaskRequest.getStatus(),
+                    updateTaskRequest.getPriority(),
+                    updateTaskRequest.getExecutorId(),
+                    updateTaskRequest.getExpiresOn(),
+                    LocalDateTime.now());
+        } catch (DataIntegrityViolationException exception) {
+            if (UniqueConstraint.TASKS_CREATOR_ID_NAME.isViolatedBy(exception)) {
+                throw new AlreadyExistsException("Task", "name", updateTaskRequest.getName());
+            }
+            throw exception;
+        }
+        if (updatedTask.isPresent()) {
+            log.info("\nTask has been updated: {}", updatedTask.get());
+            eventPublisher.publishEvent(new TaskChangedEvent(updateTaskRequest.getId(), updatedTask.get(), TaskChangedEvent.Type.UPDATED));
+            return taskMapper.toUpdateTaskResponse(updatedTask.get());
+        } else if (taskRepository.existsById(updateTaskRequest.getId())) {
+            throw new PreconditionFailedException(
+                    String.format("Task with id %s has been modified, expected version %d", updateTaskRequest.getId(), expectedVersion));
         } else {
-            throw new NotFoundException("Task", "id", deleteTaskRequest.getId());
+            throw new NotFoundException("Task", "id", updateTaskRequest.getId());
+        }
+    }
+
+    /**
+     * Метод для представления даты в виде количества миллисекунд.
+     *
+     * @param dateTime дата.
+     * @return количество миллисекунд или {@literal 0}, если дата равна {@literal null}.
+     */
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Метод для получения наибольшей из двух дат.
+     *
+     * @param first  первая дата. Может быть {@literal null}.
+     * @param second вторая дата. Может быть {@literal null}.
+     * @return наибольшая дата или {@literal null}, если обе даты равны {@literal null}.
+     */
+    private LocalDateTime getLatest(LocalDateTime first, LocalDateTime second) {
+        if (first == null) {
+            return second;
+        } else if (second == null) {
+            return first;
+        }
+        return first.isAfter(second) ? first : second;
+    }
+
+    /**
+     * Метод для преобразования нарушения уникальности имени задачи в {@link AlreadyExistsException}.
+     *
+     * @param exception исключение, полученное при записи в базу данных.
+     * @param name      имя задачи.
+     * @param creatorId id создателя задачи.
+     * @return {@link AlreadyExistsException}, если нарушено ограничение уникальности имени задачи.
+     * @throws DataIntegrityViolationException если исключение вызвано нарушением другого ограничения.
+     */
+    private AlreadyExistsException translateUniqueViolation(DataIntegrityViolationException exception,
+                                                            String name,
+                                                            UUID creatorId) throws DataIntegrityViolationException {
+        if (UniqueConstraint.TASKS_CREATOR_ID_NAME.isViolatedBy(exception)) {
+            return new AlreadyExistsException(
+                    "Task",
+                    List.of(
+                            Pair.of("name", name),
+                            Pair.of("creator id", creatorId)
+                    ));
         }
+        throw exception;
     }
 
 }
@@ -0,0 +1,163 @@
+package app.service.task.impl;
+
+import app.config.TaskSyncProperties;
+import app.dto.task.TaskDto;
+import app.dto.task.TaskSyncCursor;
+import app.dto.task.TaskSyncResponse;
+import app.dto.task_comment.TaskCommentDto;
+import app.dto.task_comment.TaskCommentSyncResponse;
+import app.entity.task.TaskEntity;
+import app.exception.InvalidCursorException;
+import app.exception.SyncCursorExpiredException;
+import app.mapper.task.TaskCommentMapper;
+import app.mapper.task.TaskMapper;
+import app.repository.task.TaskRepository;
+import app.repository.task_comment.TaskCommentProjection;
+import app.repository.task_comment.TaskCommentRepository;
+import app.service.task.TaskSyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Класс бизнес-логики, реализующий методы {@link TaskSyncService}.
+ * <p>
+ * Изменения выдаются по курсору в порядке даты изменения. Записи, измененные менее чем за
+ * {@link TaskSyncProperties#getSettleDelay()} до запроса, не выдаются, чтобы не пропустить транзакции, зафиксированные
+ * позже с более ранней датой. Удаленные записи хранятся {@link TaskSyncProperties#getTombstoneRetention()}, для более
+ * старого курсора выбрасывается {@link SyncCursorExpiredException}.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TaskSyncServiceImpl implements TaskSyncService {
+
+    private final TaskRepository taskRepository;
+
+    private final TaskCommentRepository taskCommentRepository;
+
+    private final TaskMapper taskMapper;
+
+    private final TaskCommentMapper taskCommentMapper;
+
+    private final TaskSyncProperties taskSyncProperties;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskSyncService#getTaskChanges(String, int)
+     */
+    @Override
+    public TaskSyncResponse getTaskChanges(String cursor, int size) throws InvalidCursorException, SyncCursorExpiredException {
+        size = Math.max(size, 1);
+        LocalDateTime now = LocalDateTime.now();
+        TaskSyncCursor position = this.getPosition(cursor, now);
+        LocalDateTime settledBefore = now.minus(taskSyncProperties.getSettleDelay());
+        List<TaskEntity> tasks = taskRepository.findChangedAfter(position.getChangedAt(), position.getId(), settledBefore, size + 1);
+        boolean hasMore = tasks.size() > size;
+        List<TaskEntity> page = hasMore ? tasks.subList(0, size) : tasks;
+        List<TaskDto> changed = new ArrayList<>();
+        List<UUID> deleted = new ArrayList<>();
+        TaskSyncCursor last = null;
+        for (TaskEntity task : page) {
+            if (task.getDeletedAt() == null) {
+                changed.add(taskMapper.toDto(task));
+            } else {
+                deleted.add(task.getId());
+            }
+            last = new TaskSyncCursor(task.getUpdatedAt() == null ? task.getCreatedAt() : task.getUpdatedAt(), task.getId());
+        }
+        return TaskSyncResponse
+                .builder()
+                .changed(changed)
+                .deleted(deleted)
+                .nextCursor(TaskSyncCursor.next(last, hasMore, settledBefore).encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskSyncService#getTaskCommentChanges(UUID, String, int)
+     */
+    @Override
+    public TaskCommentSyncResponse getTaskCommentChanges(UUID taskId, String cursor, int size)
+            throws InvalidCursorException, SyncCursorExpiredException {
+        size = Math.max(size, 1);
+        LocalDateTime now = LocalDateTime.now();
+        TaskSyncCursor position = this.getPosition(cursor, now);
+        LocalDateTime settledBefore = now.minus(taskSyncProperties.getSettleDelay());
+        List<TaskCommentProjection> comments = taskCommentRepository.findChangedByTaskIdAfter(
+                taskId, position.getChangedAt(), position.getId(), settledBefore, size + 1);
+        boolean hasMore = comments.size() > size;
+        List<TaskCommentProjection> page = hasMore ? comments.subList(0, size) : comments;
+        List<TaskCommentDto> created = new ArrayList<>();
+        List<UUID> deleted = new ArrayList<>();
+        TaskSyncCursor last = null;
+        for (TaskCommentProjection comment : page) {
+            if (comment.getDeletedAt() == null) {
+                created.add(taskCommentMapper.toDto(comment));
+                last = new TaskSyncCursor(comment.getCreatedAt(), comment.getId());
+            } else {
+                deleted.add(comment.getId());
+                last = new TaskSyncCursor(comment.getDeletedAt(), comment.getId());
+            }
+        }
+        return TaskCommentSyncResponse
+                .builder()
+                .created(created)
+                .deleted(deleted)
+                .nextCursor(TaskSyncCursor.next(last, hasMore, settledBefore).encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskSyncService#compactTaskComments(LocalDateTime, int)
+     */
+    @Override
+    @Transactional
+    public int compactTaskComments(LocalDateTime deletedBefore, int limit) {
+        return taskCommentRepository.deleteTombstones(deletedBefore, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskSyncService#compactTasks(LocalDateTime, int)
+     */
+    @Override
+    @Transactional
+    public int compactTasks(LocalDateTime deletedBefore, int limit) {
+        return taskRepository.deleteTombstones(deletedBefore, limit);
+    }
+
+    /**
+     * Метод для разбора позиции, полученной от клиента.
+     *
+     * @param cursor позиция в формате {@link String}. Может быть {@literal null}.
+     * @param now    текущая дата.
+     * @return {@link TaskSyncCursor} или {@link TaskSyncCursor#START}, если позиция не указана.
+     * @throws InvalidCursorException      если указанная позиция некорректна.
+     * @throws SyncCursorExpiredException если удаленные записи после указанной позиции могли быть удалены из БД.
+     */
+    private TaskSyncCursor getPosition(String cursor, LocalDateTime now) throws InvalidCursorException, SyncCursorExpiredException {
+        if (cursor == null || cursor.isBlank()) {
+            return TaskSyncCursor.START;
+        }
+        TaskSyncCursor position = TaskSyncCursor.decode(cursor);
+        if (position.getChangedAt().isBefore(now.minus(taskSyncProperties.getTombstoneRetention()))) {
+            throw new SyncCursorExpiredException(cursor);
+        }
+        return position;
+    }
+
+}
@@ -0,0 +1,60 @@
+package app.service.task.impl;
+
+import app.config.TaskSyncProperties;
+import app.service.task.TaskSyncService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Класс, удаляющий из БД задачи и комментарии, срок хранения которых после удаления истек.
+ * <p>
+ * Записи удаляются порциями по {@link TaskSyncProperties#getCompactionBatchSize()} строк, каждая порция - отдельной
+ * транзакцией. За один запуск выполняется не более {@link TaskSyncProperties#getCompactionMaxBatchesPerRun()}
+ * транзакций. Сначала удаляются комментарии, затем задачи, поэтому удаление задачи не удаляет каскадом большое
+ * количество комментариев одной транзакцией.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskTombstoneCompactor {
+
+    private final TaskSyncService taskSyncService;
+
+    private final TaskSyncProperties taskSyncProperties;
+
+    /**
+     * Метод, удаляющий очередные порции задач и комментариев с истекшим сроком хранения.
+     */
+    @Scheduled(fixedDelayString = "${app.task-sync.compaction-interval:1m}")
+    public void compact() {
+        LocalDateTime deletedBefore = LocalDateTime.now().minus(taskSyncProperties.getTombstoneRetention());
+        int batchSize = taskSyncProperties.getCompactionBatchSize();
+        int remainingBatches = taskSyncProperties.getCompactionMaxBatchesPerRun();
+        long deletedComments = 0;
+        long deletedTasks = 0;
+        boolean commentsCompacted = false;
+        while (remainingBatches > 0 && !commentsCompacted) {
+            remainingBatches--;
+            int deleted = taskSyncService.compactTaskComments(deletedBefore, batchSize);
+            deletedComments += deleted;
+            commentsCompacted = deleted < batchSize;
+        }
+        while (remainingBatches > 0 && commentsCompacted) {
+            remainingBatches--;
+            int deleted = taskSyncService.compactTasks(deletedBefore, batchSize);
+            deletedTasks += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        if (deletedComments > 0 || deletedTasks > 0) {
+            log.info("\nDeleted tasks and task comments have been compacted: {} tasks, {} task comments",
+                    deletedTasks, deletedComments);
+        }
+    }
+
+}
@@ -5,12 +5,17 @@ import app.dto.task_comment.CreateTaskCommentRequest;
 import app.dto.task_comment.CreateTaskCommentResponse;
 import app.dto.task_comment.DeleteTaskCommentRequest;
 import app.dto.task_comment.DeleteTaskCommentResponse;
-import app.entity.task.TaskEntity;
+import app.dto.task_comment.TaskCommentBatchResponse;
+import app.dto.task_comment.TaskCommentDto;
+import app.dto.task_comment.TaskCommentFeedResponse;
 import app.entity.task_comment.TaskCommentEntity;
 import app.entity.user.UserEntity;
+import app.exception.InvalidCursorException;
 import app.exception.NotFoundException;
+import app.exception.ServiceOverloadedException;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,13 +25,37 @@ import java.util.UUID;
 public interface TaskCommentService {
 
     /**
-     * Метод, реализующий поиск комментариев по id задачи и возвращающий список объектов, определенный номером страницы и количеством элементов.
+     * Метод, реализующий получение страницы комментариев к задаче с указанным {@literal taskId} в виде
+     * {@link TaskCommentDto}. Комментарии читаются из БД порциями вместе с авторами и преобразуются в рамках
+     * транзакции, после чего отсоединяются от контекста сохранения. Соединение с БД освобождается до записи ответа
+     * клиенту.
      *
      * @param taskId   id задачи.
      * @param pageable размеры возвращаемой страницы данных.
-     * @return {@link List} объектов {@link TaskCommentEntity}. Может быть пустым.
+     * @return {@link List} объектов {@link TaskCommentDto}. Может быть пустым.
      */
-    List<TaskCommentEntity> getTaskCommentPageByTaskId(UUID taskId, Pageable pageable);
+    List<TaskCommentDto> getTaskCommentPageByTaskId(UUID taskId, Pageable pageable);
+
+    /**
+     * Метод, реализующий получение ленты комментариев к задаче с постраничной выборкой по позиции. Комментарии
+     * упорядочены по дате создания и id и возвращаются вместе с данными авторов одним запросом.
+     *
+     * @param taskId id задачи.
+     * @param cursor позиция, полученная вместе с предыдущей страницей. Если {@literal null} - возвращается первая страница.
+     * @param size   количество элементов на странице.
+     * @return {@link TaskCommentFeedResponse} со страницей комментариев и позицией следующей страницы.
+     * @throws InvalidCursorException если указанная позиция некорректна.
+     */
+    TaskCommentFeedResponse getTaskCommentFeedByTaskId(UUID taskId, String cursor, int size) throws InvalidCursorException;
+
+    /**
+     * Метод, реализующий получение последних комментариев к каждой из указанных задач одним запросом.
+     *
+     * @param taskIds набор id задач.
+     * @param limit   максимальное количество комментариев к одной задаче.
+     * @return {@link TaskCommentBatchResponse} с комментариями, сгруппированными по id задачи.
+     */
+    TaskCommentBatchResponse getLatestTaskCommentsByTaskIds(Collection<UUID> taskIds, int limit);
 
     /**
      * Метод для проверки на существование комментария с указанным {@literal commentId} в базе данных.
@@ -46,17 +75,21 @@ public interface TaskCommentService {
     boolean getIsTaskCommentExistsByIdAndUserId(UUID commentId, UUID userId);
 
     /**
-     * Метод для создания нового комментария.
+     * Метод для создания нового комментария. Права пользователя на задачу должны быть проверены до вызова метода.
      *
+     * @param taskId                   id задачи.
+     * @param user                     автор комментария.
      * @param createTaskCommentRequest запрос на создание нового комментария.
      * @return {@link CreateTaskCommentResponse} ответ с данными, возвращенными из БД после сохранения комментария.
+     * @throws ServiceOverloadedException если очередь записи комментариев заполнена или запись не завершилась вовремя.
      */
-    CreateTaskCommentResponse createTaskComment(CreateTaskCommentRequest createTaskCommentRequest,
-                                                TaskEntity task,
-                                                UserEntity user);
+    CreateTaskCommentResponse createTaskComment(UUID taskId,
+                                                UserEntity user,
+                                                CreateTaskCommentRequest createTaskCommentRequest) throws ServiceOverloadedException;
 
     /**
-     * Метод для удаления комментария.
+     * Метод для удаления комментария. Комментарий помечается удаленным и удаляется из БД после истечения срока
+     * хранения, см. {@link app.service.task.TaskSyncService}.
      *
      * @param deleteTaskCommentRequest запрос на удаление комментария.
      * @return {@link DeleteTaskResponse} ответ с данными, возвращенными из БД после удаления комментария.
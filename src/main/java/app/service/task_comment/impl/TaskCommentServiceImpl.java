@@ -4,39 +4,116 @@ import app.dto.task_comment.CreateTaskCommentRequest;
 import app.dto.task_comment.CreateTaskCommentResponse;
 import app.dto.task_comment.DeleteTaskCommentRequest;
 import app.dto.task_comment.DeleteTaskCommentResponse;
-import app.entity.task.TaskEntity;
+import app.dto.task_comment.TaskCommentBatchResponse;
+import app.dto.task_comment.TaskCommentCursor;
+import app.dto.task_comment.TaskCommentDto;
+import app.dto.task_comment.TaskCommentFeedResponse;
 import app.entity.task_comment.TaskCommentEntity;
 import app.entity.user.UserEntity;
+import app.exception.InvalidCursorException;
 import app.exception.NotFoundException;
+import app.exception.ServiceOverloadedException;
 import app.mapper.task.TaskCommentMapper;
+import app.repository.task_comment.TaskCommentProjection;
 import app.repository.task_comment.TaskCommentRepository;
+import app.service.task.TaskChangedEvent;
 import app.service.task_comment.TaskCommentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class TaskCommentServiceImpl implements TaskCommentService {
 
     private final TaskCommentRepository taskCommentRepository;
 
     private final TaskCommentMapper taskCommentMapper;
 
+    private final TaskCommentWriter taskCommentWriter;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
      * {@inheritDoc}
      *
-     * @see TaskCommentService#getTaskCommentPageByTaskId(UUID, Pageable) (UUID)
+     * @see TaskCommentService#getTaskCommentPageByTaskId(UUID, Pageable)
      */
     @Override
-    public List<TaskCommentEntity> getTaskCommentPageByTaskId(UUID taskId, Pageable pageable) {
-        return taskCommentRepository.findAllByTaskId(taskId, pageable).getContent();
+    public List<TaskCommentDto> getTaskCommentPageByTaskId(UUID taskId, Pageable pageable) {
+        try (Stream<TaskCommentEntity> comments = taskCommentRepository.streamAllByTaskId(taskId, pageable)) {
+            return comments.map(comment -> {
+                TaskCommentDto taskCommentDto = taskCommentMapper.toDto(comment);
+                taskCommentRepository.detach(comment);
+                return taskCommentDto;
+            }).toList();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskCommentService#getTaskCommentFeedByTaskId(UUID, String, int)
+     */
+    @Override
+    public TaskCommentFeedResponse getTaskCommentFeedByTaskId(UUID taskId, String cursor, int size) throws InvalidCursorException {
+        size = Math.max(size, 1);
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<TaskCommentProjection> comments;
+        if (cursor == null || cursor.isBlank()) {
+            comments = taskCommentRepository.findFeedByTaskId(taskId, limit);
+        } else {
+            TaskCommentCursor position = TaskCommentCursor.decode(cursor);
+            comments = taskCommentRepository.findFeedByTaskIdAfter(taskId, position.getCreatedAt(), position.getId(), limit);
+        }
+        boolean hasNextPage = comments.size() > size;
+        List<TaskCommentProjection> page = hasNextPage ? comments.subList(0, size) : comments;
+        String nextCursor = null;
+        if (hasNextPage) {
+            TaskCommentProjection last = page.get(page.size() - 1);
+            nextCursor = new TaskCommentCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return TaskCommentFeedResponse
+                .builder()
+                .comments(taskCommentMapper.toDtoListFromProjections(page))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see TaskCommentService#getLatestTaskCommentsByTaskIds(Collection, int)
+     */
+    @Override
+    public TaskCommentBatchResponse getLatestTaskCommentsByTaskIds(Collection<UUID> taskIds, int limit) {
+        Map<UUID, List<TaskCommentDto>> comments = new LinkedHashMap<>();
+        taskIds.forEach(taskId -> comments.put(taskId, new ArrayList<>()));
+        if (!taskIds.isEmpty()) {
+            taskCommentRepository.findLatestByTaskIdIn(taskIds.toArray(UUID[]::new), Math.max(limit, 1))
+                    .forEach(comment -> comments.get(comment.getTaskId()).add(taskCommentMapper.toDto(comment)));
+        }
+        return TaskCommentBatchResponse
+                .builder()
+                .comments(comments)
+                .build();
     }
 
     /**
@@ -61,22 +138,20 @@ public class TaskCommentServiceImpl implements TaskCommentService {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Метод выполняется вне транзакции, чтобы поток обработки запроса не занимал соединение с БД на время
+     * ожидания записи, см. {@link TaskCommentWriter}.
      *
-     * @see TaskCommentService#createTaskComment(CreateTaskCommentRequest, TaskEntity, UserEntity)
+     * @see TaskCommentService#createTaskComment(UUID, UserEntity, CreateTaskCommentRequest)
      */
     @Override
-    public CreateTaskCommentResponse createTaskComment(CreateTaskCommentRequest createTaskCommentRequest,
-                                                       TaskEntity task,
-                                                       UserEntity user) {
-        TaskCommentEntity comment = TaskCommentEntity
-                .builder()
-                .task(task)
-                .user(user)
-                .content(createTaskCommentRequest.getContent())
-                .build();
-        taskCommentRepository.saveAndFlush(comment);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CreateTaskCommentResponse createTaskComment(UUID taskId,
+                                                       UserEntity user,
+                                                       CreateTaskCommentRequest createTaskCommentRequest) throws ServiceOverloadedException {
+        TaskCommentEntity comment = taskCommentWriter.write(taskId, user.getId(), createTaskCommentRequest.getContent());
         log.info("\nTask comment has been created: {}", comment);
-        return taskCommentMapper.toCreateTaskCommentResponse(comment);
+        return taskCommentMapper.toCreateTaskCommentResponse(comment, taskId, user);
     }
 
     /**
@@ -85,14 +160,17 @@ public class TaskCommentServiceImpl implements TaskCommentService {
      * @see TaskCommentService#deleteTaskComment(DeleteTaskCommentRequest)
      */
     @Override
+    @Transactional
     public DeleteTaskCommentResponse deleteTaskComment(DeleteTaskCommentRequest deleteTaskCommentRequest) throws NotFoundException {
-        boolean isTaskCommentExists = this.getIsTaskCommentExistsById(deleteTaskCommentRequest.getId());
-        if (isTaskCommentExists) {
-            UUID deletedTaskCommentId = taskCommentRepository.deleteTaskCommentById(deleteTaskCommentRequest.getId());
-            log.info("\nTask comment with id {} has been deleted", deletedTaskCommentId);
-            return new DeleteTaskCommentResponse(deletedTaskCommentId, LocalDateTime.now());
+        UUID commentId = deleteTaskCommentRequest.getId();
+        LocalDateTime deletedAt = LocalDateTime.now();
+        Optional<UUID> taskId = taskCommentRepository.deleteTaskCommentById(commentId, deletedAt);
+        if (taskId.isPresent()) {
+            eventPublisher.publishEvent(new TaskChangedEvent(taskId.get(), null, TaskChangedEvent.Type.COMMENTED));
+            log.info("\nTask comment with id {} has been deleted", commentId);
+            return new DeleteTaskCommentResponse(commentId, deletedAt);
         } else {
-            throw new NotFoundException("Task comment", "id", deleteTaskCommentRequest.getId());
+            throw new NotFoundException("Task comment", "id", commentId);
         }
     }
 
@@ -0,0 +1,391 @@
+package app.service.task_comment.impl;
+
+import app.config.TaskCommentIngestionProperties;
+import app.entity.task_comment.TaskCommentEntity;
+import app.exception.ServiceOverloadedException;
+import app.exception.WriteNotConfirmedException;
+import app.repository.task_comment.TaskCommentRepository;
+import app.service.task.TaskService;
+import app.service.user.UserService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Класс, выполняющий запись комментариев к задачам в БД.
+ * <p>
+ * В режиме {@link TaskCommentIngestionProperties.Durability#GROUP_COMMIT} комментарии помещаются в очередь
+ * ограниченного размера, из которой отдельный поток забирает их группами до
+ * {@link TaskCommentIngestionProperties#getMaxBatchSize()} и записывает каждую группу одной транзакцией: комментарии
+ * вставляются пакетом, а счетчик комментариев обновляется одним запросом для каждой задачи группы. Поток обработки
+ * запроса ожидает фиксации транзакции, не занимая соединение с БД. Если очередь заполнена, запрос отклоняется
+ * с {@link ServiceOverloadedException}.
+ * <p>
+ * Запрос отклоняется с {@link ServiceOverloadedException} только в том случае, когда комментарий гарантированно
+ * не будет записан, поэтому ключ идемпотентности такого запроса можно освободить. Если комментарий уже записывается,
+ * ожидание ограничено: каждая транзакция ограничена {@link TaskCommentIngestionProperties#getAckTimeout()},
+ * а комментарии группы записываются по одному только после ошибки данных и не дольше того же значения. Если и это
+ * ожидание истекло, запрос отклоняется с {@link WriteNotConfirmedException}, и ключ идемпотентности не освобождается.
+ * Дата создания комментария устанавливается в транзакции записи.
+ * <p>
+ * В режиме {@link TaskCommentIngestionProperties.Durability#SYNC} комментарий записывается отдельной транзакцией
+ * в потоке обработки запроса.
+ * <p>
+ * В обоих режимах задача и автор комментария не загружаются из БД, комментарий ссылается на них по id, см.
+ * {@link TaskService#getTaskReferenceById(UUID)} и {@link UserService#getUserReferenceById(UUID)}.
+ */
+@Slf4j
+@Component
+public class TaskCommentWriter {
+
+    private static final long POLL_INTERVAL_MS = 100;
+
+    /**
+     * Количество значений {@link TaskCommentIngestionProperties#getAckTimeout()}, в течение которых завершается
+     * запись забранного из очереди комментария: транзакция группы, запись по одному и последняя транзакция записи
+     * по одному.
+     */
+    private static final int IN_FLIGHT_TIMEOUTS = 3;
+
+    private final TaskCommentRepository taskCommentRepository;
+    private final TaskService taskService;
+    private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final TaskCommentIngestionProperties.Durability durability;
+    private final BlockingQueue<PendingTaskComment> queue;
+    private final int maxBatchSize;
+    private final Duration maxBatchDelay;
+    private final Duration offerTimeout;
+    private final Duration ackTimeout;
+
+    private final Counter rejectedCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer commitTimer;
+
+    private final Thread writerThread;
+    private volatile boolean running;
+
+    public TaskCommentWriter(TaskCommentRepository taskCommentRepository,
+                             TaskService taskService,
+                             UserService userService,
+                             PlatformTransactionManager transactionManager,
+                             TaskCommentIngestionProperties taskCommentIngestionProperties,
+                             MeterRegistry meterRegistry) {
+        this.taskCommentRepository = taskCommentRepository;
+        this.taskService = taskService;
+        this.userService = userService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.durability = taskCommentIngestionProperties.getDurability();
+        this.queue = new ArrayBlockingQueue<>(taskCommentIngestionProperties.getQueueCapacity());
+        this.maxBatchSize = Math.max(taskCommentIngestionProperties.getMaxBatchSize(), 1);
+        this.maxBatchDelay = taskCommentIngestionProperties.getMaxBatchDelay();
+        this.offerTimeout = taskCommentIngestionProperties.getOfferTimeout();
+        this.ackTimeout = taskCommentIngestionProperties.getAckTimeout();
+        this.transactionTemplate.setTimeout((int) Math.max(1, ackTimeout.toSeconds()));
+        this.rejectedCounter = Counter
+                .builder("task_comment_ingestion.rejected")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary
+                .builder("task_comment_ingestion.batch.size")
+                .register(meterRegistry);
+        this.commitTimer = Timer
+                .builder("task_comment_ingestion.commit.duration")
+                .register(meterRegistry);
+        Gauge.builder("task_comment_ingestion.queue.size", queue, BlockingQueue::size)
+                .register(meterRegistry);
+        this.writerThread = new Thread(this::run, "task-comment-writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    /**
+     * Метод, запускающий поток записи в режиме {@link TaskCommentIngestionProperties.Durability#GROUP_COMMIT}.
+     */
+    @PostConstruct
+    public void start() {
+        if (durability == TaskCommentIngestionProperties.Durability.GROUP_COMMIT) {
+            running = true;
+            writerThread.start();
+        }
+    }
+
+    /**
+     * Метод, останавливающий прием комментариев. Комментарии, уже находящиеся в очереди, записываются
+     * до остановки потока записи.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writerThread.join(ackTimeout.toMillis());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Метод для записи комментария. Возвращает управление после фиксации транзакции, содержащей комментарий.
+     * <p>
+     * Если запись не завершилась за {@link TaskCommentIngestionProperties#getAckTimeout()}, комментарий удаляется
+     * из очереди и запрос отклоняется. Если комментарий уже записывается, ожидается завершение его записи, но не дольше
+     * {@value #IN_FLIGHT_TIMEOUTS} значений того же времени.
+     *
+     * @param taskId  id задачи.
+     * @param userId  id автора комментария.
+     * @param content текст комментария.
+     * @return {@link TaskCommentEntity} сохраненный комментарий. Связанные задача и автор не загружены.
+     * @throws ServiceOverloadedException если очередь записи заполнена или запись не завершилась вовремя.
+     * @throws WriteNotConfirmedException  если комментарий записывается, но фиксация не подтверждена вовремя.
+     */
+    public TaskCommentEntity write(UUID taskId, UUID userId, String content) throws ServiceOverloadedException {
+        PendingTaskComment comment = new PendingTaskComment(taskId, userId, content, new CompletableFuture<>());
+        if (durability == TaskCommentIngestionProperties.Durability.SYNC) {
+            return commitTimer.record(() -> transactionTemplate.execute(status -> this.insert(List.of(comment)))).get(0);
+        }
+        this.enqueue(comment);
+        try {
+            return comment.result().get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception) {
+            if (queue.remove(comment)) {
+                rejectedCounter.increment();
+                throw new ServiceOverloadedException("Task comment was not written in time, try again later");
+            }
+            return this.join(comment);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            if (queue.remove(comment)) {
+                throw new ServiceOverloadedException("Task comment write was interrupted");
+            }
+            return this.join(comment);
+        } catch (ExecutionException exception) {
+            throw this.unwrap(exception.getCause());
+        }
+    }
+
+    /**
+     * Метод, ожидающий завершения записи комментария, уже забранного из очереди. Поток записи завершает результат
+     * каждого такого комментария не позднее {@value #IN_FLIGHT_TIMEOUTS} значений
+     * {@link TaskCommentIngestionProperties#getAckTimeout()}, ожидание ограничено тем же временем.
+     */
+    private TaskCommentEntity join(PendingTaskComment comment) {
+        boolean interrupted = Thread.interrupted();
+        try {
+            long timeoutNanos = ackTimeout.toNanos() * IN_FLIGHT_TIMEOUTS;
+            long deadline = System.nanoTime() + timeoutNanos;
+            while (true) {
+                try {
+                    return comment.result().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException exception) {
+                    interrupted = true;
+                }
+            }
+        } catch (TimeoutException exception) {
+            rejectedCounter.increment();
+            throw new WriteNotConfirmedException("Task comment write was not confirmed in time, try again later");
+        } catch (ExecutionException exception) {
+            throw this.unwrap(exception.getCause());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private void enqueue(PendingTaskComment comment) {
+        boolean accepted = false;
+        if (running) {
+            try {
+                accepted = queue.offer(comment, offerTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!accepted) {
+            rejectedCounter.increment();
+            throw new ServiceOverloadedException("Too many pending task comments, try again later");
+        }
+    }
+
+    /**
+     * Цикл потока записи. После остановки приема записываются комментарии, оставшиеся в очереди.
+     */
+    private void run() {
+        List<PendingTaskComment> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingTaskComment first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                this.fill(batch);
+                batchSizeSummary.record(batch.size());
+                this.commit(batch);
+            } catch (InterruptedException exception) {
+                batch.forEach(comment -> comment.result().completeExceptionally(
+                        new ServiceOverloadedException("Task comment writer has been stopped")));
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException exception) {
+                log.error("\nTask comment writer has failed", exception);
+                batch.forEach(comment -> comment.result().completeExceptionally(exception));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Метод, дополняющий группу комментариями из очереди. Ожидание следующих комментариев ограничено
+     * {@link TaskCommentIngestionProperties#getMaxBatchDelay()}.
+     */
+    private void fill(List<PendingTaskComment> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxBatchDelay.toNanos();
+        while (batch.size() < maxBatchSize) {
+            if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingTaskComment next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Метод, записывающий группу комментариев одной транзакцией. Если транзакция не удалась из-за ошибки данных
+     * ({@link DataIntegrityViolationException}), комментарии группы записываются по одному, чтобы ошибка одного
+     * комментария не отклоняла остальные. При других ошибках (недоступность БД, истечение времени транзакции)
+     * повторная запись по одному только увеличила бы время ожидания, поэтому отклоняется вся группа.
+     */
+    private void commit(List<PendingTaskComment> batch) {
+        List<TaskCommentEntity> comments;
+        try {
+            comments = commitTimer.record(() -> transactionTemplate.execute(status -> this.insert(batch)));
+        } catch (DataIntegrityViolationException exception) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(exception);
+                return;
+            }
+            log.warn("\nTask comment batch of {} comments has failed, writing comments one by one: {}",
+                    batch.size(), exception.getMessage());
+            this.commitOneByOne(batch);
+            return;
+        } catch (RuntimeException exception) {
+            log.warn("\nTask comment batch of {} comments has failed: {}", batch.size(), exception.getMessage());
+            batch.forEach(comment -> comment.result().completeExceptionally(exception));
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result().complete(comments.get(i));
+        }
+    }
+
+    /**
+     * Метод, записывающий комментарии группы по одному. Новые транзакции не начинаются после истечения
+     * {@link TaskCommentIngestionProperties#getAckTimeout()} и после ошибки, не связанной с данными комментария:
+     * оставшиеся комментарии не записываются, и запросы отклоняются.
+     */
+    private void commitOneByOne(List<PendingTaskComment> batch) {
+        long deadline = System.nanoTime() + ackTimeout.toNanos();
+        RuntimeException failure = null;
+        for (PendingTaskComment comment : batch) {
+            if (failure == null && System.nanoTime() - deadline >= 0) {
+                rejectedCounter.increment();
+                failure = new ServiceOverloadedException("Task comment was not written in time, try again later");
+            }
+            if (failure != null) {
+                comment.result().completeExceptionally(failure);
+                continue;
+            }
+            try {
+                comment.result().complete(commitTimer
+                        .record(() -> transactionTemplate.execute(status -> this.insert(List.of(comment))))
+                        .get(0));
+            } catch (DataIntegrityViolationException exception) {
+                comment.result().completeExceptionally(exception);
+            } catch (RuntimeException exception) {
+                failure = exception;
+                comment.result().completeExceptionally(exception);
+            }
+        }
+    }
+
+    /**
+     * Метод, вставляющий комментарии и обновляющий счетчики комментариев задач в текущей транзакции.
+     * Дата создания комментария устанавливается здесь, а не при постановке в очередь, чтобы время ожидания в очереди
+     * не отделяло ее от момента фиксации. Задачи обновляются в порядке id, чтобы параллельные транзакции блокировали
+     * строки в одном порядке.
+     */
+    private List<TaskCommentEntity> insert(List<PendingTaskComment> batch) {
+        List<TaskCommentEntity> comments = new ArrayList<>(batch.size());
+        Map<UUID, Integer> counts = new TreeMap<>();
+        Map<UUID, LocalDateTime> lastCommentedAt = new HashMap<>();
+        for (PendingTaskComment comment : batch) {
+            LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            comments.add(TaskCommentEntity
+                    .builder()
+                    .task(taskService.getTaskReferenceById(comment.taskId()))
+                    .user(userService.getUserReferenceById(comment.userId()))
+                    .content(comment.content())
+                    .createdAt(createdAt)
+                    .build());
+            counts.merge(comment.taskId(), 1, Integer::sum);
+            lastCommentedAt.merge(comment.taskId(), createdAt, (first, second) -> first.isAfter(second) ? first : second);
+        }
+        taskCommentRepository.saveAll(comments);
+        taskCommentRepository.flush();
+        counts.forEach((taskId, count) -> taskService.incrementTaskCommentCount(taskId, count, lastCommentedAt.get(taskId)));
+        return comments;
+    }
+
+    /**
+     * Комментарий, ожидающий записи.
+     */
+    private record PendingTaskComment(UUID taskId,
+                                      UUID userId,
+                                      String content,
+                                      CompletableFuture<TaskCommentEntity> result) {
+    }
+
+}
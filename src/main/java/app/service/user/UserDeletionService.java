@@ -0,0 +1,34 @@
+package app.service.user;
+
+import app.entity.user.UserDeletionEntity;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Интерфейс, описывающий методы бизнес-логики для класса {@link UserDeletionEntity}.
+ */
+public interface UserDeletionService {
+
+    /**
+     * Метод для получения id пользователей, удаление данных которых еще не завершено. Пользователи, удаление которых
+     * ожидает истечения срока хранения удаленных задач и комментариев, не возвращаются.
+     *
+     * @param limit максимальное количество id.
+     * @return {@link List} id пользователей в порядке поступления запросов на удаление. Может быть пустым.
+     */
+    List<UUID> getPendingUserIds(int limit);
+
+    /**
+     * Метод, удаляющий одной транзакцией очередную порцию данных пользователя с указанным {@literal userId}
+     * и сохраняющий ход удаления. Если текущий этап завершен, выполняется переход к следующему этапу, на последнем
+     * этапе удаляется сам пользователь, если удаленные задачи и комментарии пользователя уже удалены из БД
+     * по истечении срока хранения.
+     *
+     * @param userId id пользователя.
+     * @return {@literal true} - если удаление данных пользователя не завершено, в противном случае, а также если
+     * запрос на удаление обрабатывается другой транзакцией - {@literal false}.
+     */
+    boolean deleteNextBatch(UUID userId);
+
+}
@@ -6,11 +6,11 @@ import app.dto.user.DeleteUserRequest;
 import app.dto.user.DeleteUserResponse;
 import app.dto.user.UpdateUserRequest;
 import app.dto.user.UpdateUserResponse;
+import app.dto.user.UserDto;
 import app.entity.user.UserEntity;
 import app.exception.AlreadyExistsException;
 import app.exception.NotFoundException;
 import org.springframework.data.domain.Pageable;
-import org.springframework.lang.Nullable;
 import org.springframework.security.authentication.BadCredentialsException;
 
 import java.util.List;
@@ -31,6 +31,15 @@ public interface UserService {
      */
     UserEntity getUserById(UUID userId) throws NotFoundException;
 
+    /**
+     * Метод для получения ссылки на пользователя с указанным {@literal userId} без запроса к БД. Используется для
+     * заполнения связей других сущностей, существование пользователя должно быть проверено до вызова метода.
+     *
+     * @param userId id пользователя.
+     * @return {@link UserEntity} объект, данные которого загружаются из БД при первом обращении к ним.
+     */
+    UserEntity getUserReferenceById(UUID userId);
+
     /**
      * Метод, реализующий поиск пользователя с указанным {@literal username} в базе данных.
      *
@@ -41,13 +50,15 @@ public interface UserService {
     UserEntity getUserByUsername(String username) throws NotFoundException;
 
     /**
-     * Позволяет найти всех пользователей с заданным количеством выводимых страниц.
+     * Метод, реализующий получение страницы пользователей в виде {@link UserDto}. Пользователи читаются из БД порциями
+     * и преобразуются в рамках транзакции, после чего отсоединяются от контекста сохранения. Соединение с БД
+     * освобождается до записи ответа клиенту.
      *
      * @param pageable не должен быть {@literal null}.
-     * @return {@link List} со всеми найденными записями из таблицы.
+     * @return {@link List} объектов {@link UserDto}. Может быть пустым.
      * @see Pageable
      */
-    List<UserEntity> findAll(@Nullable Pageable pageable);
+    List<UserDto> getUserPage(Pageable pageable);
 
     /**
      * Метод для проверки существования пользователя с указанным {@literal userId} в базе данных.
@@ -57,23 +68,6 @@ public interface UserService {
      */
     boolean getIsUserExistsById(UUID userId);
 
-    /**
-     * Метод для проверки существования пользователя с указанным {@literal username} в базе данных.
-     *
-     * @param username имя пользователя для входа в систему.
-     * @return {@literal true} - если пользователь присутствует в БД, в противном случае - {@literal false}.
-     */
-    boolean getIsUserExistsByUsername(String username);
-
-    /**
-     * Метод для проверки существования пользователя с указанным {@literal email} в базе данных.
-     *
-     * @param email электронная почта пользователя.
-     * @return {@literal true} - если пользователь присутствует в БД, в противном случае - {@literal false}.
-     */
-    boolean getIsUserExistsByEmail(String email);
-
-
     /**
      * Метод для создания нового пользователя.
      *
@@ -94,7 +88,8 @@ public interface UserService {
     UpdateUserResponse updateUser(UpdateUserRequest updateUserRequest) throws AlreadyExistsException, NotFoundException;
 
     /**
-     * Метод для удаления пользователя.
+     * Метод для удаления пользователя. Пользователь сразу помечается как удаленный и теряет доступ к системе,
+     * его задачи и комментарии удаляются в фоновом режиме, см. {@link UserDeletionService}.
      *
      * @param deleteUserRequest запрос на удаление пользователя.
      * @return {@link DeleteUserResponse} ответ с данными, возвращенными из БД после удаления пользователя.
@@ -0,0 +1,52 @@
+package app.service.user.impl;
+
+import app.config.UserDeletionProperties;
+import app.service.user.UserDeletionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Класс, выполняющий фоновое удаление данных пользователей, помеченных как удаленные.
+ * <p>
+ * Данные удаляются порциями по {@link UserDeletionProperties#getBatchSize()} строк, каждая порция - отдельной
+ * транзакцией, поэтому блокировки удерживаются недолго, а объем журнала на одну транзакцию ограничен. За один запуск
+ * выполняется не более {@link UserDeletionProperties#getMaxBatchesPerRun()} транзакций. Ход удаления сохраняется
+ * в БД вместе с каждой порцией, поэтому после перезапуска приложения или ошибки удаление продолжается с того же места.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserDeletionReaper {
+
+    private final UserDeletionService userDeletionService;
+
+    private final UserDeletionProperties userDeletionProperties;
+
+    /**
+     * Метод, удаляющий очередные порции данных пользователей в порядке поступления запросов на удаление.
+     */
+    @Scheduled(fixedDelayString = "${app.user-deletion.reap-interval:1s}")
+    public void reap() {
+        int remainingBatches = userDeletionProperties.getMaxBatchesPerRun();
+        for (UUID userId : userDeletionService.getPendingUserIds(userDeletionProperties.getMaxUsersPerRun())) {
+            try {
+                while (remainingBatches > 0) {
+                    remainingBatches--;
+                    if (!userDeletionService.deleteNextBatch(userId)) {
+                        break;
+                    }
+                }
+            } catch (RuntimeException exception) {
+                log.warn("\nFailed to delete data of user with id {}: {}", userId, exception.getMessage());
+            }
+            if (remainingBatches == 0) {
+                return;
+            }
+        }
+    }
+
+}
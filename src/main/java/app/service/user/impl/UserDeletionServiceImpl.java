@@ -0,0 +1,130 @@
+package app.service.user.impl;
+
+import app.config.TaskSyncProperties;
+import app.config.UserDeletionProperties;
+import app.entity.user.UserDeletionEntity;
+import app.entity.user.UserDeletionStage;
+import app.repository.task.TaskRepository;
+import app.repository.task_comment.TaskCommentRepository;
+import app.repository.user.UserDeletionRepository;
+import app.repository.user.UserRepository;
+import app.service.task.TaskChangedEvent;
+import app.service.task.impl.TaskTombstoneCompactor;
+import app.service.user.UserDeletionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Класс бизнес-логики, реализующий методы {@link UserDeletionService}.
+ * <p>
+ * Задачи и комментарии пользователя удаляются с сохранением даты удаления, как при удалении через API, поэтому
+ * клиенты синхронизации получают сведения об удалении, а каждая порция публикует {@link TaskChangedEvent}
+ * для затронутых задач. Из БД удаленные записи удаляются {@link TaskTombstoneCompactor} после истечения срока
+ * хранения, и только после этого удаляется сам пользователь.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class UserDeletionServiceImpl implements UserDeletionService {
+
+    private final UserDeletionRepository userDeletionRepository;
+
+    private final UserRepository userRepository;
+
+    private final TaskRepository taskRepository;
+
+    private final TaskCommentRepository taskCommentRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final UserDeletionProperties userDeletionProperties;
+
+    private final TaskSyncProperties taskSyncProperties;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see UserDeletionService#getPendingUserIds(int)
+     */
+    @Override
+    public List<UUID> getPendingUserIds(int limit) {
+        LocalDateTime compactedBefore = LocalDateTime.now().minus(taskSyncProperties.getTombstoneRetention());
+        return userDeletionRepository.findPendingUserIds(compactedBefore, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see UserDeletionService#deleteNextBatch(UUID)
+     */
+    @Override
+    @Transactional
+    public boolean deleteNextBatch(UUID userId) {
+        Optional<UserDeletionEntity> found = userDeletionRepository.findByUserIdForUpdate(userId);
+        if (found.isEmpty()) {
+            return false;
+        }
+        UserDeletionEntity deletion = found.get();
+        int limit = userDeletionProperties.getBatchSize();
+        LocalDateTime now = LocalDateTime.now();
+        long affected;
+        switch (deletion.getStage()) {
+            case UNASSIGN_EXECUTOR_TASKS -> {
+                List<UUID> taskIds = taskRepository.unassignExecutor(userId, now, limit);
+                this.publishEvents(taskIds, TaskChangedEvent.Type.UPDATED);
+                affected = taskIds.size();
+                deletion.setUnassignedTasks(deletion.getUnassignedTasks() + affected);
+            }
+            case DELETE_OWNED_TASK_COMMENTS -> {
+                affected = taskCommentRepository.deleteByTaskCreatorId(userId, now, limit);
+                deletion.setDeletedComments(deletion.getDeletedComments() + affected);
+            }
+            case DELETE_OWNED_TASKS -> {
+                List<UUID> taskIds = taskRepository.deleteByCreatorId(userId, now, limit);
+                this.publishEvents(taskIds, TaskChangedEvent.Type.DELETED);
+                affected = taskIds.size();
+                deletion.setDeletedTasks(deletion.getDeletedTasks() + affected);
+            }
+            case DELETE_AUTHORED_COMMENTS -> {
+                List<UUID> taskIds = taskCommentRepository.deleteByUserId(userId, now, limit);
+                this.publishEvents(taskIds, TaskChangedEvent.Type.COMMENTED);
+                affected = taskIds.size();
+                deletion.setDeletedComments(deletion.getDeletedComments() + affected);
+            }
+            default -> {
+                if (taskRepository.existsAnyByCreatorId(userId) || taskCommentRepository.existsAnyByUserId(userId)) {
+                    log.debug("\nUser deletion is waiting for compaction of deleted tasks and task comments: {}", deletion);
+                    return false;
+                }
+                userRepository.deleteUserById(userId);
+                log.info("\nUser deletion has been completed: {}", deletion);
+                return false;
+            }
+        }
+        if (affected < limit) {
+            deletion.setStage(deletion.getStage().next());
+        }
+        deletion.setUpdatedAt(now);
+        return true;
+    }
+
+    /**
+     * Метод, публикующий событие изменения для каждой из задач. Повторяющиеся id задач пропускаются.
+     */
+    private void publishEvents(List<UUID> taskIds, TaskChangedEvent.Type type) {
+        for (UUID taskId : new LinkedHashSet<>(taskIds)) {
+            eventPublisher.publishEvent(new TaskChangedEvent(taskId, null, type));
+        }
+    }
+
+}
@@ -1,15 +1,18 @@
 package app.service.user.impl;
 
+import app.entity.user.UserEntity;
 import app.repository.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -20,4 +23,21 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException("User with username " + username + " not found"));
     }
 
+    /**
+     * Метод, сохраняющий хэш пароля, пересчитанный с текущей стоимостью при входе пользователя.
+     *
+     * @param user        данные пользователя.
+     * @param newPassword новый хэш пароля.
+     * @return данные пользователя с обновленным хэшем пароля.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByUsername(user.getUsername(), newPassword);
+        if (user instanceof UserEntity userEntity) {
+            userEntity.setPassword(newPassword);
+        }
+        return user;
+    }
+
 }
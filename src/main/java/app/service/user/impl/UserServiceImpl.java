@@ -6,27 +6,33 @@ import app.dto.user.DeleteUserRequest;
 import app.dto.user.DeleteUserResponse;
 import app.dto.user.UpdateUserRequest;
 import app.dto.user.UpdateUserResponse;
+import app.dto.user.UserDto;
 import app.entity.user.UserEntity;
 import app.entity.user.UserRole;
 import app.exception.AlreadyExistsException;
 import app.exception.NotFoundException;
 import app.mapper.user.UserMapper;
+import app.repository.UniqueConstraint;
 import app.repository.user.UserRepository;
 import app.service.user.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
@@ -48,51 +54,47 @@ public class UserServiceImpl implements UserService {
     /**
      * {@inheritDoc}
      *
-     * @see UserService#getUserByUsername(String)
+     * @see UserService#getUserReferenceById(UUID)
      */
     @Override
-    public UserEntity getUserByUsername(String username) throws NotFoundException {
-        return userRepository.getUserEntityByUsername(username).orElseThrow(() -> new NotFoundException("User", "username", username));
+    public UserEntity getUserReferenceById(UUID userId) {
+        return userRepository.getReferenceById(userId);
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see UserService#findAll(Pageable)
-     */
-    @Override
-    public List<UserEntity> findAll(Pageable pageable) {
-        return userRepository.findAll(pageable).getContent();
-    }
-
-    /**
-     * {@inheritDoc}
-     *
-     * @see UserService#getIsUserExistsById(UUID)
+     * @see UserService#getUserByUsername(String)
      */
     @Override
-    public boolean getIsUserExistsById(UUID userId) {
-        return userRepository.existsById(userId);
+    public UserEntity getUserByUsername(String username) throws NotFoundException {
+        return userRepository.getUserEntityByUsername(username).orElseThrow(() -> new NotFoundException("User", "username", username));
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see UserService#getIsUserExistsByUsername(String)
+     * @see UserService#getUserPage(Pageable)
      */
     @Override
-    public boolean getIsUserExistsByUsername(String username) {
-        return userRepository.existsByUsername(username);
+    public List<UserDto> getUserPage(Pageable pageable) {
+        try (Stream<UserEntity> users = userRepository.streamAll(pageable)) {
+            return users.map(user -> {
+                UserDto userDto = userMapper.toDto(user);
+                userRepository.detach(user);
+                return userDto;
+            }).toList();
+        }
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see UserService#getIsUserExistsByEmail(String)
+     * @see UserService#getIsUserExistsById(UUID)
      */
     @Override
-    public boolean getIsUserExistsByEmail(String email) {
-        return userRepository.existsByEmail(email);
+    public boolean getIsUserExistsById(UUID userId) {
+        return userRepository.existsById(userId);
     }
 
     /**
@@ -101,12 +103,16 @@ public class UserServiceImpl implements UserService {
      * @see UserService#createUser(RegistrationRequest)
      */
     @Override
+    @Transactional
     public RegistrationResponse createUser(RegistrationRequest registrationRequest) throws AlreadyExistsException {
-        this.checkIfTaken(registrationRequest.getUsername(), registrationRequest.getEmail());
         UserEntity user = userMapper.toUserEntity(registrationRequest);
         user.setRole(UserRole.ROLE_USER);
         user.setCreatedAt(LocalDateTime.now());
-        userRepository.saveAndFlush(user);
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException exception) {
+            throw this.translateUniqueViolation(exception, registrationRequest.getUsername(), registrationRequest.getEmail());
+        }
         log.info("\nUser has been created: {}", user);
         return userMapper.toRegistrationResponse(user);
     }
@@ -117,12 +123,16 @@ public class UserServiceImpl implements UserService {
      * @see UserService#updateUser(UpdateUserRequest)
      */
     @Override
+    @Transactional
     public UpdateUserResponse updateUser(UpdateUserRequest updateUserRequest) throws AlreadyExistsException, NotFoundException {
-        this.checkIfTaken(updateUserRequest.getUsername(), updateUserRequest.getEmail());
         UserEntity user = this.getUserById(updateUserRequest.getId());
         userMapper.toUserEntity(updateUserRequest, user);
         user.setUpdatedAt(LocalDateTime.now());
-        userRepository.saveAndFlush(user);
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException exception) {
+            throw this.translateUniqueViolation(exception, user.getUsername(), user.getEmail());
+        }
         log.info("\nUser has been updated: {}", user);
         return userMapper.toUpdateUserResponse(user);
     }
@@ -133,31 +143,39 @@ public class UserServiceImpl implements UserService {
      * @see UserService#deleteUser(DeleteUserRequest)
      */
     @Override
+    @Transactional
     public DeleteUserResponse deleteUser(DeleteUserRequest deleteUserRequest) throws NotFoundException, BadCredentialsException {
         UserEntity user = this.getUserById(deleteUserRequest.getId());
         boolean isPasswordValid = passwordEncoder.matches(deleteUserRequest.getPassword(), user.getPassword());
         if (isPasswordValid) {
-            UUID deletedUserId = userRepository.deleteUserById(deleteUserRequest.getId());
-            log.info("\nUser with id {} has been deleted", deletedUserId);
-            return new DeleteUserResponse(deletedUserId, LocalDateTime.now());
+            UUID deletedUserId = deleteUserRequest.getId();
+            LocalDateTime deletedAt = LocalDateTime.now();
+            userRepository.softDeleteUserById(deletedUserId, deletedAt);
+            log.info("\nUser with id {} has been deleted, related data is scheduled for deletion", deletedUserId);
+            return new DeleteUserResponse(deletedUserId, deletedAt);
         } else {
             throw new BadCredentialsException("Incorrect password");
         }
     }
 
     /**
-     * Метод для проверки уникальности данных.
+     * Метод для преобразования нарушения уникальности данных пользователя в {@link AlreadyExistsException}.
      *
-     * @param username имя пользователя для входа в систему.
-     * @param email    электронная почта пользователя.
-     * @throws AlreadyExistsException если хотя бы одно из указанных значений присутствует в базе данных.
+     * @param exception исключение, полученное при записи в базу данных.
+     * @param username  имя пользователя для входа в систему.
+     * @param email     электронная почта пользователя.
+     * @return {@link AlreadyExistsException}, если нарушено ограничение уникальности имени пользователя или электронной почты.
+     * @throws DataIntegrityViolationException если исключение вызвано нарушением другого ограничения.
      */
-    private void checkIfTaken(String username, String email) throws AlreadyExistsException {
-        if (this.getIsUserExistsByUsername(username)) {
-            throw new AlreadyExistsException("User", "username", username);
-        } else if (this.getIsUserExistsByEmail(email)) {
-            throw new AlreadyExistsException("User", "email", email);
+    private AlreadyExistsException translateUniqueViolation(DataIntegrityViolationException exception,
+                                                            String username,
+                                                            String email) throws DataIntegrityViolationException {
+        if (UniqueConstraint.USERS_USERNAME.isViolatedBy(exception)) {
+            return new AlreadyExistsException("User", "username", username);
+        } else if (UniqueConstraint.USERS_EMAIL.isViolatedBy(exception)) {
+            return new AlreadyExistsException("User", "email", email);
         }
+        throw exception;
     }
 
 }
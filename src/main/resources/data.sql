@@ -2,13 +2,15 @@ DROP SCHEMA IF EXISTS public;
 
 CREATE SCHEMA public;
 
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
 CREATE TABLE IF NOT EXISTS users
 (
     id uuid primary key unique default gen_random_uuid() not null,
-    username varchar(255) unique not null,
+    username varchar(255) constraint users_username_key unique not null,
     password varchar(255) not null,
     name varchar(255) not null,
-    email varchar(255) unique not null,
+    email varchar(255) constraint users_email_key unique not null,
     role varchar(255)
     check(
         role in(
@@ -20,7 +22,8 @@ CREATE TABLE IF NOT EXISTS users
     expired bool default false not null,
     locked bool default false not null,
     credentials_expired bool default false not null,
-    enabled bool default true not null
+    enabled bool default true not null,
+    deleted_at timestamp without time zone default null
 );
 
 CREATE TABLE IF NOT EXISTS tasks
@@ -44,14 +47,128 @@ CREATE TABLE IF NOT EXISTS tasks
     executor_id uuid references users(id) on delete set null,
     created_at timestamp without time zone default localtimestamp not null,
     expires_on timestamp without time zone not null,
-    updated_at timestamp without time zone default null
+    updated_at timestamp without time zone default null,
+    comment_count integer default 0 not null check (comment_count >= 0),
+    last_comment_at timestamp without time zone default null,
+    version bigint default 0 not null,
+    deleted_at timestamp without time zone default null
 );
 
+CREATE UNIQUE INDEX IF NOT EXISTS tasks_creator_id_name_key ON tasks (creator_id, name) WHERE deleted_at IS NULL;
+
 CREATE TABLE IF NOT EXISTS task_comments
 (
     id uuid primary key unique default gen_random_uuid() not null,
     task_id uuid references tasks(id) on delete cascade not null,
     user_id uuid references users(id)on delete cascade not null,
     content text not null,
-    created_at timestamp without time zone default localtimestamp not null
-);
\ No newline at end of file
+    created_at timestamp without time zone default localtimestamp not null,
+    deleted_at timestamp without time zone default null
+);
+
+CREATE INDEX IF NOT EXISTS task_comments_task_id_created_at_id_idx ON task_comments (task_id, created_at, id) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS task_comments_task_id_changed_at_id_idx ON task_comments (task_id, (coalesce(deleted_at, created_at)), id);
+
+CREATE INDEX IF NOT EXISTS task_comments_deleted_at_idx ON task_comments (deleted_at) WHERE deleted_at IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS task_comments_user_id_idx ON task_comments (user_id);
+
+CREATE INDEX IF NOT EXISTS tasks_name_id_idx ON tasks (name, id) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS tasks_name_trgm_idx ON tasks USING gin (name gin_trgm_ops) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS tasks_created_at_id_idx ON tasks (created_at, id) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS tasks_expires_on_id_idx ON tasks (expires_on, id) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS tasks_updated_at_id_idx ON tasks (updated_at, id) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS tasks_comment_count_id_idx ON tasks (comment_count, id) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS tasks_last_comment_at_id_idx ON tasks (last_comment_at, id) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS tasks_executor_id_status_expires_on_id_idx ON tasks (executor_id, status, expires_on, id) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS tasks_changed_at_id_idx ON tasks ((coalesce(updated_at, created_at)), id);
+
+CREATE INDEX IF NOT EXISTS tasks_deleted_at_idx ON tasks (deleted_at) WHERE deleted_at IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS tasks_creator_id_idx ON tasks (creator_id);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys
+(
+    user_id uuid references users(id) on delete cascade not null,
+    idempotency_key varchar(255) not null,
+    request_hash varchar(64) not null,
+    status varchar(255)
+    check(
+        status in(
+                    'IN_PROGRESS',
+                    'COMPLETED')) not null,
+    response_body text default null,
+    created_at timestamp without time zone default localtimestamp not null,
+    claimed_at timestamp without time zone not null,
+    expires_at timestamp without time zone not null,
+    primary key (user_id, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idempotency_keys_expires_at_idx ON idempotency_keys (expires_at);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens
+(
+    id uuid primary key not null,
+    user_id uuid references users(id) on delete cascade not null,
+    created_at timestamp without time zone default localtimestamp not null,
+    expires_at timestamp without time zone not null
+);
+
+CREATE INDEX IF NOT EXISTS refresh_tokens_expires_at_idx ON refresh_tokens (expires_at);
+
+CREATE TABLE IF NOT EXISTS revoked_tokens
+(
+    id uuid primary key not null,
+    user_id uuid not null,
+    revoked_at timestamp without time zone default localtimestamp not null,
+    expires_at timestamp without time zone not null
+);
+
+CREATE INDEX IF NOT EXISTS revoked_tokens_revoked_at_idx ON revoked_tokens (revoked_at);
+
+CREATE INDEX IF NOT EXISTS revoked_tokens_expires_at_idx ON revoked_tokens (expires_at);
+
+CREATE TABLE IF NOT EXISTS saved_searches
+(
+    id uuid primary key unique default gen_random_uuid() not null,
+    user_id uuid references users(id) on delete cascade not null,
+    name varchar(255) not null,
+    filter text not null,
+    sort_by varchar(255) default 'createdAt' not null,
+    direction varchar(4)
+    check(
+        direction in(
+                    'asc',
+                    'desc')) default 'desc' not null,
+    created_at timestamp without time zone default localtimestamp not null,
+    constraint saved_searches_user_id_name_key unique (user_id, name)
+);
+
+CREATE TABLE IF NOT EXISTS user_deletions
+(
+    user_id uuid primary key references users(id) on delete cascade not null,
+    stage varchar(255)
+    check(
+        stage in(
+                    'UNASSIGN_EXECUTOR_TASKS',
+                    'DELETE_OWNED_TASK_COMMENTS',
+                    'DELETE_OWNED_TASKS',
+                    'DELETE_AUTHORED_COMMENTS',
+                    'DELETE_USER')) not null,
+    unassigned_tasks bigint default 0 not null,
+    deleted_tasks bigint default 0 not null,
+    deleted_comments bigint default 0 not null,
+    requested_at timestamp without time zone default localtimestamp not null,
+    updated_at timestamp without time zone default null
+);
+
+CREATE INDEX IF NOT EXISTS user_deletions_requested_at_idx ON user_deletions (requested_at);
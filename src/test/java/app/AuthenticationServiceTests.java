@@ -2,19 +2,26 @@ package app;
 
 import app.dto.auth.AuthenticationRequest;
 import app.dto.auth.AuthenticationResponse;
+import app.dto.auth.RefreshTokenRequest;
 import app.dto.auth.RegistrationRequest;
 import app.dto.auth.RegistrationResponse;
 import app.entity.user.UserEntity;
 import app.exception.AlreadyExistsException;
 import app.mapper.user.UserMapper;
+import app.repository.UniqueConstraint;
+import app.repository.token.RefreshTokenRepository;
 import app.repository.user.UserRepository;
+import app.security.jwt.IssuedToken;
 import app.security.jwt.JwtService;
+import app.security.jwt.TokenType;
 import app.service.auth.impl.AuthenticationServiceImpl;
 import app.service.user.impl.UserServiceImpl;
+import io.jsonwebtoken.Jwts;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,17 +30,22 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -54,6 +66,9 @@ public class AuthenticationServiceTests {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
     @InjectMocks
     UserServiceImpl userService;
 
@@ -125,7 +140,12 @@ public class AuthenticationServiceTests {
                 .name("Myname")
                 .email("myemail@domain.com")
                 .build();
-        when(userRepository.existsByUsername(any())).thenReturn(true);
+        when(userRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException(
+                "Duplicate key",
+                new ConstraintViolationException(
+                        "Duplicate key",
+                        new SQLException("Duplicate key", "23505"),
+                        UniqueConstraint.USERS_USERNAME.getConstraintName())));
 
         Set<ConstraintViolation<RegistrationRequest>> errors = validator.validate(request);
 
@@ -145,6 +165,8 @@ public class AuthenticationServiceTests {
         when(authenticationManager.authenticate(any())).thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(user);
         when(jwtService.generateToken(any(), any())).thenReturn("jwt");
+        when(jwtService.generateRefreshToken(any(), any()))
+                .thenReturn(new IssuedToken("refresh", UUID.randomUUID(), LocalDateTime.now().plusDays(1)));
 
         Set<ConstraintViolation<AuthenticationRequest>> errors = validator.validate(request);
         AuthenticationResponse authenticationResponse = authenticationService.signIn(request);
@@ -168,4 +190,31 @@ public class AuthenticationServiceTests {
         assertThrows(BadCredentialsException.class, () -> authenticationService.signIn(request));
     }
 
+    @Test
+    void handleRefreshRequest_whenRefreshTokenAlreadyUsed_thenThrowBadCredentialsException() {
+        UUID tokenId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        when(jwtService.extractAllClaims("refresh")).thenReturn(Jwts.claims()
+                .id(tokenId.toString())
+                .add("userId", userId.toString())
+                .add(TokenType.CLAIM_NAME, TokenType.REFRESH.name())
+                .build());
+        when(refreshTokenRepository.deleteActiveByIdAndUserId(eq(tokenId), eq(userId), any())).thenReturn(0);
+
+        assertThrows(BadCredentialsException.class, () -> authenticationService.refresh(new RefreshTokenRequest("refresh")));
+        verify(jwtService, never()).generateToken(any(), any());
+    }
+
+    @Test
+    void handleRefreshRequest_whenAccessTokenPassed_thenThrowBadCredentialsException() {
+        when(jwtService.extractAllClaims("jwt")).thenReturn(Jwts.claims()
+                .id(UUID.randomUUID().toString())
+                .add("userId", UUID.randomUUID().toString())
+                .add(TokenType.CLAIM_NAME, TokenType.ACCESS.name())
+                .build());
+
+        assertThrows(BadCredentialsException.class, () -> authenticationService.refresh(new RefreshTokenRequest("jwt")));
+        verify(refreshTokenRepository, never()).deleteActiveByIdAndUserId(any(), any(), any());
+    }
+
 }
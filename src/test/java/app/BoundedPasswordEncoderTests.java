@@ -0,0 +1,103 @@
+package app;
+
+import app.exception.ServiceOverloadedException;
+import app.security.password.BoundedPasswordEncoder;
+import app.security.password.PasswordEncoderProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedPasswordEncoderTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BoundedPasswordEncoder boundedPasswordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        if (boundedPasswordEncoder != null) {
+            boundedPasswordEncoder.shutdown();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_whenCalled_thenDelegateToBCryptAndRecordLatency() {
+        boundedPasswordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), properties(2, 10), meterRegistry);
+
+        String encoded = boundedPasswordEncoder.encode("password");
+
+        assertTrue(boundedPasswordEncoder.matches("password", encoded));
+        assertFalse(boundedPasswordEncoder.matches("other", encoded));
+        assertEquals(1, meterRegistry.get("password_encoder.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password_encoder.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void upgradeEncoding_whenStrengthIncreased_thenReturnTrue() {
+        String encoded = new BCryptPasswordEncoder(4).encode("password");
+        boundedPasswordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), properties(1, 1), meterRegistry);
+
+        assertTrue(boundedPasswordEncoder.upgradeEncoding(encoded));
+        assertFalse(boundedPasswordEncoder.upgradeEncoding(boundedPasswordEncoder.encode("password")));
+    }
+
+    @Test
+    void encode_whenQueueFull_thenThrowServiceOverloadedException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        boundedPasswordEncoder = new BoundedPasswordEncoder(blockingEncoder, properties(1, 1), meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> boundedPasswordEncoder.encode("first"));
+        awaitGauge("password_encoder.active", 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> boundedPasswordEncoder.encode("second"));
+        awaitGauge("password_encoder.queue.size", 1);
+
+        assertThrows(ServiceOverloadedException.class, () -> boundedPasswordEncoder.encode("third"));
+        assertEquals(1, meterRegistry.get("password_encoder.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(name).gauge().value() != expected) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for " + name);
+            Thread.sleep(5);
+        }
+    }
+
+    private static PasswordEncoderProperties properties(int threads, int queueCapacity) {
+        PasswordEncoderProperties properties = new PasswordEncoderProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setTimeout(Duration.ofSeconds(5));
+        return properties;
+    }
+
+}
@@ -0,0 +1,58 @@
+package app;
+
+import app.controller.ControllerHelper;
+import app.dto.validator.ResourceValidator;
+import app.exception.InvalidValueException;
+import app.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ControllerHelperTests {
+
+    private final ControllerHelper controllerHelper = new ControllerHelper(null, null, null);
+
+    @Test
+    void getVersionFromIfMatch_whenStrongETag_thenReturnVersion() {
+        assertEquals(3L, controllerHelper.getVersionFromIfMatch("\"3\""));
+    }
+
+    @Test
+    void getVersionFromIfMatch_whenTaskETag_thenReturnVersionPart() {
+        String eTag = ResourceValidator.ofTask(7, 2, LocalDateTime.now()).getETag();
+
+        assertEquals(7L, controllerHelper.getVersionFromIfMatch("\"" + eTag + "\""));
+    }
+
+    @Test
+    void getVersionFromIfMatch_whenHeaderIsAbsentOrWildcard_thenReturnNull() {
+        assertNull(controllerHelper.getVersionFromIfMatch(null));
+        assertNull(controllerHelper.getVersionFromIfMatch("*"));
+    }
+
+    @Test
+    void getVersionFromIfMatch_whenWeakETag_thenThrowPreconditionFailedException() {
+        assertThrows(PreconditionFailedException.class, () -> controllerHelper.getVersionFromIfMatch("W/\"3\""));
+    }
+
+    @Test
+    void getVersionFromIfMatch_whenETagIsNotVersion_thenThrowPreconditionFailedException() {
+        assertThrows(PreconditionFailedException.class, () -> controllerHelper.getVersionFromIfMatch("\"abc\""));
+    }
+
+    @Test
+    void checkPageNumber_whenNegative_thenThrowInvalidValueException() {
+        assertThrows(InvalidValueException.class, () -> controllerHelper.checkPageNumber(-1));
+        assertDoesNotThrow(() -> controllerHelper.checkPageNumber(0));
+    }
+
+    @Test
+    void checkPageSize_whenOutOfRange_thenThrowInvalidValueException() {
+        assertThrows(InvalidValueException.class, () -> controllerHelper.checkPageSize(0, 100));
+        assertThrows(InvalidValueException.class, () -> controllerHelper.checkPageSize(101, 100));
+        assertDoesNotThrow(() -> controllerHelper.checkPageSize(100, 100));
+    }
+
+}
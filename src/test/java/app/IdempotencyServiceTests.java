@@ -0,0 +1,206 @@
+package app;
+
+import app.config.IdempotencyProperties;
+import app.entity.idempotency.IdempotencyKeyEntity;
+import app.entity.idempotency.IdempotencyKeyId;
+import app.entity.idempotency.IdempotencyKeyStatus;
+import app.exception.IdempotencyKeyConflictException;
+import app.repository.idempotency.IdempotencyKeyRepository;
+import app.service.idempotency.impl.IdempotencyServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceTests {
+
+    private static final String SCOPE = "/api/v1/tasks";
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(idempotencyKeyRepository, objectMapper, new IdempotencyProperties());
+    }
+
+    @Test
+    void execute_whenKeyIsAbsent_thenRunActionWithoutStore() {
+        String response = idempotencyService.execute(userId, null, SCOPE, Map.of("name", "task"), String.class, () -> "created");
+
+        assertEquals("created", response);
+        verify(idempotencyKeyRepository, never()).claim(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void execute_whenKeyRepeated_thenReturnStoredResponseWithoutRunningAction() {
+        when(idempotencyKeyRepository.claim(eq(userId), eq("key"), anyString(), any(), any(), any())).thenReturn(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        String first = idempotencyService.execute(userId, "key", SCOPE, Map.of("name", "task"), String.class,
+                () -> "created-" + executions.incrementAndGet());
+        String second = idempotencyService.execute(userId, "key", SCOPE, Map.of("name", "task"), String.class,
+                () -> "created-" + executions.incrementAndGet());
+
+        assertEquals("created-1", first);
+        assertEquals("created-1", second);
+        assertEquals(1, executions.get());
+        verify(idempotencyKeyRepository).complete(eq(userId), eq("key"), any(), eq("\"created-1\""));
+    }
+
+    @Test
+    void execute_whenKeyRepeatedWithDifferentRequest_thenThrowIdempotencyKeyConflictException() {
+        when(idempotencyKeyRepository.claim(eq(userId), eq("key"), anyString(), any(), any(), any())).thenReturn(1);
+        idempotencyService.execute(userId, "key", SCOPE, Map.of("name", "task"), String.class, () -> "created");
+
+        assertThrows(IdempotencyKeyConflictException.class, () -> idempotencyService
+                .execute(userId, "key", SCOPE, Map.of("name", "other"), String.class, () -> "created"));
+    }
+
+    @Test
+    void execute_whenKeyCompletedOnAnotherInstance_thenReturnResponseFromDatabase() {
+        ArgumentCaptor<String> requestHash = ArgumentCaptor.forClass(String.class);
+        when(idempotencyKeyRepository.claim(eq(userId), eq("key"), requestHash.capture(), any(), any(), any())).thenReturn(1);
+        new IdempotencyServiceImpl(idempotencyKeyRepository, objectMapper, new IdempotencyProperties())
+                .execute(userId, "key", SCOPE, Map.of("name", "task"), String.class, () -> "created");
+        IdempotencyKeyEntity stored = IdempotencyKeyEntity
+                .builder()
+                .userId(userId)
+                .idempotencyKey("key")
+                .requestHash(requestHash.getValue())
+                .status(IdempotencyKeyStatus.COMPLETED)
+                .responseBody("\"created\"")
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+        when(idempotencyKeyRepository.claim(eq(userId), eq("key"), anyString(), any(), any(), any())).thenReturn(0);
+        when(idempotencyKeyRepository.findById(new IdempotencyKeyId(userId, "key"))).thenReturn(Optional.of(stored));
+
+        String response = idempotencyService.execute(userId, "key", SCOPE, Map.of("name", "task"), String.class,
+                () -> fail("Action must not be executed again"));
+
+        assertEquals("created", response);
+    }
+
+    @Test
+    void execute_whenKeyInProgressOnAnotherInstance_thenThrowIdempotencyKeyConflictException() {
+        when(idempotencyKeyRepository.claim(eq(userId), eq("key"), anyString(), any(), any(), any())).thenReturn(0);
+        when(idempotencyKeyRepository.findById(new IdempotencyKeyId(userId, "key"))).thenReturn(Optional.of(IdempotencyKeyEntity
+                .builder()
+                .status(IdempotencyKeyStatus.IN_PROGRESS)
+                .build()));
+
+        assertThrows(IdempotencyKeyConflictException.class, () -> idempotencyService
+                .execute(userId, "key", SCOPE, Map.of("name", "task"), String.class, () -> "created"));
+    }
+
+    @Test
+    void execute_whenKeyClaimed_thenLeaseStartsAtClaimAndCompletesOnlyOwnClaim() {
+        IdempotencyProperties idempotencyProperties = new IdempotencyProperties();
+        idempotencyProperties.setLease(Duration.ofSeconds(90));
+        ArgumentCaptor<LocalDateTime> claimedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> leaseExpiredAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> expiresAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(idempotencyKeyRepository.claim(eq(userId), eq("key"), anyString(),
+                claimedAt.capture(), leaseExpiredAt.capture(), expiresAt.capture())).thenReturn(1);
+
+        new IdempotencyServiceImpl(idempotencyKeyRepository, objectMapper, idempotencyProperties)
+                .execute(userId, "key", SCOPE, Map.of("name", "task"), String.class, () -> "created");
+
+        assertEquals(claimedAt.getValue().minusSeconds(90), leaseExpiredAt.getValue());
+        assertEquals(claimedAt.getValue().plus(idempotencyProperties.getTtl()), expiresAt.getValue());
+        verify(idempotencyKeyRepository).complete(userId, "key", claimedAt.getValue(), "\"created\"");
+    }
+
+    @Test
+    void execute_whenResponseNotStored_thenKeepKeyInProgressUntilLeaseExpires() {
+        when(idempotencyKeyRepository.claim(eq(userId), eq("key"), anyString(), any(), any(), any())).thenReturn(1);
+        when(idempotencyKeyRepository.complete(eq(userId), eq("key"), any(), anyString()))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        String response = idempotencyService.execute(userId, "key", SCOPE, Map.of("name", "task"), String.class, () -> "created");
+
+        assertEquals("created", response);
+        verify(idempotencyKeyRepository, never()).release(any(), any(), any());
+    }
+
+    @Test
+    void execute_whenActionFails_thenReleaseKey() {
+        when(idempotencyKeyRepository.claim(eq(userId), eq("key"), anyString(), any(), any(), any())).thenReturn(1);
+
+        assertThrows(IllegalArgumentException.class, () -> idempotencyService
+                .execute(userId, "key", SCOPE, Map.of("name", "task"), String.class, () -> {
+                    throw new IllegalArgumentException();
+                }));
+        verify(idempotencyKeyRepository).release(eq(userId), eq("key"), any());
+        verify(idempotencyKeyRepository, never()).complete(any(), any(), any(), any());
+    }
+
+    @Test
+    void execute_whenConcurrentDuplicates_thenRunActionOnce() throws Exception {
+        when(idempotencyKeyRepository.claim(eq(userId), eq("key"), anyString(), any(), any(), any())).thenReturn(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executorService.submit(() -> idempotencyService
+                    .execute(userId, "key", SCOPE, Map.of("name", "task"), String.class, () -> {
+                        started.countDown();
+                        awaitQuietly(release);
+                        return "created-" + executions.incrementAndGet();
+                    }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> second = executorService.submit(() -> idempotencyService
+                    .execute(userId, "key", SCOPE, Map.of("name", "task"), String.class,
+                            () -> "created-" + executions.incrementAndGet()));
+            release.countDown();
+
+            assertEquals("created-1", first.get(5, TimeUnit.SECONDS));
+            assertEquals("created-1", second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, executions.get());
+            verify(idempotencyKeyRepository, times(1)).claim(eq(userId), eq("key"), anyString(), any(), any(), any());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package app;
+
+import app.controller.JsonArrayStreamer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonArrayStreamerTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonArrayStreamer jsonArrayStreamer = new JsonArrayStreamer(objectMapper);
+
+    @Test
+    void toBody_whenListSource_thenWriteMappedElementsAsJsonArray() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        jsonArrayStreamer.toBody(List.of("a", "bb"), value -> Map.of("value", value, "length", value.length()))
+                .writeTo(outputStream);
+
+        JsonNode result = objectMapper.readTree(outputStream.toByteArray());
+        assertTrue(result.isArray());
+        assertEquals(2, result.size());
+        assertEquals("a", result.get(0).get("value").asText());
+        assertEquals(2, result.get(1).get("length").asInt());
+    }
+
+    @Test
+    void toBody_whenSourceIsEmpty_thenWriteEmptyArray() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        jsonArrayStreamer.toBody(List.of(), value -> value).writeTo(outputStream);
+
+        assertEquals("[]", outputStream.toString());
+    }
+
+    @Test
+    void toBody_whenElementSource_thenWriteElementsAsJsonArray() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        jsonArrayStreamer.<Map<String, String>>toBody(action -> List.of("a", "bb", "ccc")
+                .forEach(value -> action.accept(Map.of("value", value)))).writeTo(outputStream);
+
+        JsonNode result = objectMapper.readTree(outputStream.toByteArray());
+        assertEquals(3, result.size());
+        assertEquals("ccc", result.get(2).get("value").asText());
+    }
+
+    @Test
+    void toBody_whenElementSourceThrows_thenPropagateException() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        assertThrows(IllegalStateException.class, () -> jsonArrayStreamer.<String>toBody(action -> {
+            action.accept("a");
+            throw new IllegalStateException();
+        }).writeTo(outputStream));
+    }
+
+}
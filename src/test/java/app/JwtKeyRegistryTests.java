@@ -0,0 +1,149 @@
+package app;
+
+import app.security.jwt.key.JwtKeyProperties;
+import app.security.jwt.key.JwtKeyRegistry;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtKeyRegistryTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void getSigningKey_whenSeveralKeys_thenUseGreatestKeyIdAndVerifyAll() throws Exception {
+        writeKeyPair("2026-01-es256", ecKeyPair());
+        writeKeyPair("2026-02-eddsa", ed25519KeyPair());
+        JwtKeyRegistry jwtKeyRegistry = new JwtKeyRegistry(properties(null), "");
+
+        assertEquals("2026-02-eddsa", jwtKeyRegistry.getSigningKey().keyId());
+        assertEquals("EdDSA", jwtKeyRegistry.getSigningKey().algorithm().getId());
+        assertEquals("user", parser(jwtKeyRegistry).parseSignedClaims(sign(jwtKeyRegistry)).getPayload().getSubject());
+    }
+
+    @Test
+    void getSigningKey_whenActiveKeyIdSet_thenUseConfiguredKey() throws Exception {
+        writeKeyPair("2026-01-es256", ecKeyPair());
+        writeKeyPair("2026-02-eddsa", ed25519KeyPair());
+        JwtKeyRegistry jwtKeyRegistry = new JwtKeyRegistry(properties("2026-01-es256"), "");
+
+        assertEquals("2026-01-es256", jwtKeyRegistry.getSigningKey().keyId());
+        assertEquals("ES256", jwtKeyRegistry.getSigningKey().algorithm().getId());
+    }
+
+    @Test
+    void rescan_whenKeyRotated_thenSignWithNewKeyAndAcceptTokensOfRetiredKey() throws Exception {
+        writeKeyPair("2026-01", ecKeyPair());
+        JwtKeyRegistry jwtKeyRegistry = new JwtKeyRegistry(properties(null), "");
+        JwtParser jwtParser = parser(jwtKeyRegistry);
+        String oldToken = sign(jwtKeyRegistry);
+
+        writeKeyPair("2026-02", ecKeyPair());
+        Files.delete(directory.resolve("2026-01.key"));
+        jwtKeyRegistry.rescan();
+
+        assertEquals("2026-02", jwtKeyRegistry.getSigningKey().keyId());
+        assertDoesNotThrow(() -> jwtParser.parseSignedClaims(oldToken));
+        assertDoesNotThrow(() -> jwtParser.parseSignedClaims(sign(jwtKeyRegistry)));
+
+        Files.delete(directory.resolve("2026-01.pub"));
+        jwtKeyRegistry.rescan();
+
+        assertThrows(MalformedJwtException.class, () -> jwtParser.parseSignedClaims(oldToken));
+    }
+
+    @Test
+    void locate_whenHmacTokenWithPublicKeyId_thenReject() throws Exception {
+        writeKeyPair("2026-01", ecKeyPair());
+        JwtKeyRegistry jwtKeyRegistry = new JwtKeyRegistry(properties(null), "");
+        String forged = Jwts
+                .builder()
+                .header().keyId("2026-01").and()
+                .subject("user")
+                .signWith(Keys.hmacShaKeyFor(Files.readAllBytes(directory.resolve("2026-01.pub"))), Jwts.SIG.HS256)
+                .compact();
+
+        assertThrows(JwtException.class, () -> parser(jwtKeyRegistry).parseSignedClaims(forged));
+    }
+
+    @Test
+    void constructor_whenKeyPairMismatched_thenThrowIllegalStateExceptionEvenWithHmacSecret() throws Exception {
+        writePem(directory.resolve("2026-01.key"), "PRIVATE KEY", ecKeyPair().getPrivate().getEncoded());
+        writePem(directory.resolve("2026-01.pub"), "PUBLIC KEY", ecKeyPair().getPublic().getEncoded());
+        String secretKey = Base64.getEncoder().encodeToString(Jwts.SIG.HS256.key().build().getEncoded());
+
+        assertThrows(IllegalStateException.class, () -> new JwtKeyRegistry(properties(null), secretKey));
+    }
+
+    @Test
+    void rescan_whenNoSigningKeyLoads_thenKeepCurrentKeys() throws Exception {
+        writeKeyPair("2026-01", ecKeyPair());
+        JwtKeyRegistry jwtKeyRegistry = new JwtKeyRegistry(properties(null), "");
+        String jwt = sign(jwtKeyRegistry);
+        Files.delete(directory.resolve("2026-01.key"));
+
+        jwtKeyRegistry.rescan();
+
+        assertEquals("2026-01", jwtKeyRegistry.getSigningKey().keyId());
+        assertDoesNotThrow(() -> parser(jwtKeyRegistry).parseSignedClaims(jwt));
+    }
+
+    @Test
+    void constructor_whenNoKeysAndNoSecret_thenThrowIllegalStateException() {
+        assertThrows(IllegalStateException.class, () -> new JwtKeyRegistry(properties(null), ""));
+    }
+
+    private JwtKeyProperties properties(String activeKeyId) {
+        JwtKeyProperties jwtKeyProperties = new JwtKeyProperties();
+        jwtKeyProperties.setDirectory(directory.toString());
+        jwtKeyProperties.setActiveKeyId(activeKeyId);
+        return jwtKeyProperties;
+    }
+
+    private void writeKeyPair(String keyId, KeyPair keyPair) throws IOException {
+        writePem(directory.resolve(keyId + ".key"), "PRIVATE KEY", keyPair.getPrivate().getEncoded());
+        writePem(directory.resolve(keyId + ".pub"), "PUBLIC KEY", keyPair.getPublic().getEncoded());
+    }
+
+    private static void writePem(Path file, String type, byte[] der) throws IOException {
+        String pem = "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+        Files.writeString(file, pem);
+    }
+
+    private static KeyPair ecKeyPair() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        return keyPairGenerator.generateKeyPair();
+    }
+
+    private static KeyPair ed25519KeyPair() throws Exception {
+        return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+    }
+
+    private static JwtParser parser(JwtKeyRegistry jwtKeyRegistry) {
+        return Jwts.parser().keyLocator(jwtKeyRegistry).build();
+    }
+
+    private static String sign(JwtKeyRegistry jwtKeyRegistry) {
+        return jwtKeyRegistry.getSigningKey().signWith(Jwts.builder().subject("user")).compact();
+    }
+
+}
@@ -0,0 +1,61 @@
+package app;
+
+import app.config.QueryPlanCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class QueryPlanCacheMetricsTests {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Statistics statistics;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+    }
+
+    @Test
+    void bindTo_whenStatisticsEnabled_thenPublishHitsMissesAndRatio() {
+        when(statistics.isStatisticsEnabled()).thenReturn(true);
+        when(statistics.getQueryPlanCacheHitCount()).thenReturn(30L);
+        when(statistics.getQueryPlanCacheMissCount()).thenReturn(10L);
+        when(statistics.getPrepareStatementCount()).thenReturn(12L);
+
+        new QueryPlanCacheMetrics(entityManagerFactory).bindTo(meterRegistry);
+
+        assertEquals(30, meterRegistry.get("hibernate.query_plan_cache.requests").tag("result", "hit").functionCounter().count());
+        assertEquals(10, meterRegistry.get("hibernate.query_plan_cache.requests").tag("result", "miss").functionCounter().count());
+        assertEquals(0.75, meterRegistry.get("hibernate.query_plan_cache.hit_ratio").gauge().value());
+        assertEquals(12, meterRegistry.get("hibernate.statements.prepared").functionCounter().count());
+    }
+
+    @Test
+    void bindTo_whenStatisticsDisabled_thenPublishNothing() {
+        when(statistics.isStatisticsEnabled()).thenReturn(false);
+
+        new QueryPlanCacheMetrics(entityManagerFactory).bindTo(meterRegistry);
+
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+}
@@ -0,0 +1,178 @@
+package app;
+
+import app.security.ratelimit.RateLimitProperties;
+import app.security.ratelimit.RateLimiter;
+import app.security.ratelimit.TokenBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTests {
+
+    private final AtomicLong now = new AtomicLong(0);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimitProperties rateLimitProperties;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.setMaxKeys(2);
+        rateLimitProperties.setIdleTimeout(Duration.ofMinutes(1));
+        rateLimitProperties.setPolicies(List.of(
+                policy("sign-in", "/api/v1/auth/sign-in", List.of(), 2),
+                policy("task-list", "/api/v1/tasks", List.of("GET"), 10),
+                policy("default", "/api/v1/**", List.of(), 100)));
+    }
+
+    @Test
+    void tryAcquire_whenBucketEmptied_thenReturnWaitUntilNextToken() {
+        TokenBucket tokenBucket = new TokenBucket(3, Duration.ofSeconds(3), 0);
+
+        assertEquals(0, tokenBucket.tryAcquire(0));
+        assertEquals(0, tokenBucket.tryAcquire(0));
+        assertEquals(0, tokenBucket.tryAcquire(0));
+        assertEquals(Duration.ofSeconds(1).toNanos(), tokenBucket.tryAcquire(0));
+        assertEquals(0, tokenBucket.tryAcquire(Duration.ofSeconds(1).toNanos()));
+        assertEquals(0, tokenBucket.getAvailableTokens(Duration.ofSeconds(1).toNanos()));
+        assertEquals(3, tokenBucket.getAvailableTokens(Duration.ofSeconds(10).toNanos()));
+    }
+
+    @Test
+    void tryAcquire_whenConcurrentClients_thenNeverExceedCapacity() throws Exception {
+        TokenBucket tokenBucket = new TokenBucket(100, Duration.ofHours(1), 0);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                tasks.add(() -> {
+                    int acquired = 0;
+                    for (int j = 0; j < 1_000; j++) {
+                        if (tokenBucket.tryAcquire(0) == 0) {
+                            acquired++;
+                        }
+                    }
+                    return acquired;
+                });
+            }
+            int total = 0;
+            for (Future<Integer> future : executorService.invokeAll(tasks)) {
+                total += future.get();
+            }
+            assertEquals(100, total);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void findPolicy_whenSeveralPoliciesMatch_thenReturnFirstMatchingPolicy() {
+        RateLimiter rateLimiter = new RateLimiter(rateLimitProperties, meterRegistry, now::get);
+
+        assertEquals("sign-in", rateLimiter.findPolicy("POST", "/api/v1/auth/sign-in").orElseThrow().getName());
+        assertEquals("task-list", rateLimiter.findPolicy("GET", "/api/v1/tasks").orElseThrow().getName());
+        assertEquals("default", rateLimiter.findPolicy("POST", "/api/v1/tasks").orElseThrow().getName());
+        assertTrue(rateLimiter.findPolicy("GET", "/actuator/health").isEmpty());
+    }
+
+    @Test
+    void tryAcquire_whenLimitExceeded_thenRejectAndCountRequests() {
+        RateLimiter rateLimiter = new RateLimiter(rateLimitProperties, meterRegistry, now::get);
+        RateLimitProperties.Policy signIn = rateLimitProperties.getPolicies().get(0);
+
+        assertEquals(0, rateLimiter.tryAcquire(signIn, "ip:1"));
+        assertEquals(0, rateLimiter.tryAcquire(signIn, "ip:1"));
+        assertTrue(rateLimiter.tryAcquire(signIn, "ip:1") > 0);
+        assertEquals(0, rateLimiter.tryAcquire(signIn, "ip:2"));
+
+        assertEquals(3, meterRegistry.get("rate_limit.requests").tag("policy", "sign-in").tag("outcome", "allowed").counter().count());
+        assertEquals(1, meterRegistry.get("rate_limit.requests").tag("policy", "sign-in").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void tryAcquire_whenAddressLimitExceeded_thenRejectWithoutResolvingUser() {
+        RateLimiter rateLimiter = new RateLimiter(rateLimitProperties, meterRegistry, now::get);
+        RateLimitProperties.Policy signIn = rateLimitProperties.getPolicies().get(0);
+        AtomicInteger userLookups = new AtomicInteger();
+        Supplier<Optional<String>> forgedToken = () -> {
+            userLookups.incrementAndGet();
+            return Optional.empty();
+        };
+
+        assertEquals(0, rateLimiter.tryAcquire(signIn, "10.0.0.1", forgedToken));
+        assertEquals(0, rateLimiter.tryAcquire(signIn, "10.0.0.1", forgedToken));
+        assertTrue(rateLimiter.tryAcquire(signIn, "10.0.0.1", forgedToken) > 0);
+
+        assertEquals(2, userLookups.get());
+        assertEquals(1, meterRegistry.get("rate_limit.requests").tag("policy", "sign-in").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void tryAcquire_whenAddressAllowed_thenApplyUserBucket() {
+        RateLimitProperties.Policy taskList = rateLimitProperties.getPolicies().get(1);
+        taskList.setCapacity(1);
+        taskList.setAddressCapacity(3);
+        rateLimitProperties.setMaxKeys(10);
+        RateLimiter rateLimiter = new RateLimiter(rateLimitProperties, meterRegistry, now::get);
+
+        assertEquals(0, rateLimiter.tryAcquire(taskList, "10.0.0.1", () -> Optional.of("first")));
+        assertTrue(rateLimiter.tryAcquire(taskList, "10.0.0.1", () -> Optional.of("first")) > 0);
+        assertEquals(0, rateLimiter.tryAcquire(taskList, "10.0.0.1", () -> Optional.of("second")));
+        assertTrue(rateLimiter.tryAcquire(taskList, "10.0.0.1", () -> Optional.of("third")) > 0);
+    }
+
+    @Test
+    void tryAcquire_whenKeyMapFull_thenUseSharedOverflowBucket() {
+        RateLimiter rateLimiter = new RateLimiter(rateLimitProperties, meterRegistry, now::get);
+        RateLimitProperties.Policy signIn = rateLimitProperties.getPolicies().get(0);
+
+        rateLimiter.tryAcquire(signIn, "ip:1");
+        rateLimiter.tryAcquire(signIn, "ip:2");
+        assertEquals(0, rateLimiter.tryAcquire(signIn, "ip:3"));
+        assertEquals(0, rateLimiter.tryAcquire(signIn, "ip:4"));
+        assertTrue(rateLimiter.tryAcquire(signIn, "ip:5") > 0);
+        assertEquals(2, rateLimiter.getBucketCount());
+    }
+
+    @Test
+    void evictIdleBuckets_whenBucketsIdle_thenRemoveOnlyRefilledBuckets() {
+        RateLimiter rateLimiter = new RateLimiter(rateLimitProperties, meterRegistry, now::get);
+        RateLimitProperties.Policy signIn = rateLimitProperties.getPolicies().get(0);
+        rateLimiter.tryAcquire(signIn, "ip:1");
+
+        now.set(Duration.ofSeconds(30).toNanos());
+        rateLimiter.tryAcquire(signIn, "ip:2");
+        rateLimiter.tryAcquire(signIn, "ip:2");
+        now.set(Duration.ofSeconds(90).toNanos());
+        rateLimiter.evictIdleBuckets();
+
+        assertEquals(1, rateLimiter.getBucketCount());
+        assertEquals(1, meterRegistry.get("rate_limit.buckets.evicted").counter().count());
+    }
+
+    private static RateLimitProperties.Policy policy(String name, String path, List<String> methods, long capacity) {
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+        policy.setName(name);
+        policy.setPath(path);
+        policy.setMethods(methods);
+        policy.setCapacity(capacity);
+        policy.setPeriod(Duration.ofMinutes(1));
+        return policy;
+    }
+
+}
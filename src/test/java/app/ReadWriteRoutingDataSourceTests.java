@@ -0,0 +1,102 @@
+package app;
+
+import app.config.datasource.DataSourceType;
+import app.config.datasource.ReadWriteRoutingDataSource;
+import app.config.datasource.ReadYourWritesContext;
+import app.config.datasource.ReplicaHealthMonitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadWriteRoutingDataSourceTests {
+
+    @Mock
+    private JdbcTemplate replicaJdbcTemplate;
+
+    private ReplicaHealthMonitor replicaHealthMonitor;
+
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        replicaHealthMonitor = new ReplicaHealthMonitor(replicaJdbcTemplate, Duration.ofSeconds(5));
+        routingDataSource = new ReadWriteRoutingDataSource(replicaHealthMonitor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadYourWritesContext.clear();
+    }
+
+    @Test
+    void resolveDataSourceType_whenReadOnlyTransactionAndReplicaHealthy_thenReturnReplica() {
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Double.class))).thenReturn(100.0);
+        replicaHealthMonitor.checkHealth();
+        this.beginTransaction(true);
+
+        assertEquals(DataSourceType.REPLICA, routingDataSource.resolveDataSourceType());
+    }
+
+    @Test
+    void resolveDataSourceType_whenReadWriteTransaction_thenReturnPrimary() {
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Double.class))).thenReturn(0.0);
+        replicaHealthMonitor.checkHealth();
+        this.beginTransaction(false);
+
+        assertEquals(DataSourceType.PRIMARY, routingDataSource.resolveDataSourceType());
+    }
+
+    @Test
+    void resolveDataSourceType_whenClientRecentlyWrote_thenReturnPrimary() {
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Double.class))).thenReturn(0.0);
+        replicaHealthMonitor.checkHealth();
+        this.beginTransaction(true);
+        ReadYourWritesContext.requirePrimary();
+
+        assertEquals(DataSourceType.PRIMARY, routingDataSource.resolveDataSourceType());
+    }
+
+    @Test
+    void resolveDataSourceType_whenReplicaLagExceedsLimit_thenReturnPrimary() {
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Double.class))).thenReturn(60_000.0);
+        replicaHealthMonitor.checkHealth();
+        this.beginTransaction(true);
+
+        assertFalse(replicaHealthMonitor.isHealthy());
+        assertEquals(DataSourceType.PRIMARY, routingDataSource.resolveDataSourceType());
+    }
+
+    @Test
+    void resolveDataSourceType_whenReplicaIsUnavailable_thenReturnPrimary() {
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Double.class)))
+                .thenReturn(0.0)
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        replicaHealthMonitor.checkHealth();
+        replicaHealthMonitor.checkHealth();
+        this.beginTransaction(true);
+
+        assertEquals(DataSourceType.PRIMARY, routingDataSource.resolveDataSourceType());
+    }
+
+    private void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+}
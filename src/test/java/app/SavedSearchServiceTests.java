@@ -0,0 +1,295 @@
+package app;
+
+import app.config.SavedSearchProperties;
+import app.dto.saved_search.CreateSavedSearchRequest;
+import app.dto.task.TaskDto;
+import app.dto.task.TaskSearchFilterDto;
+import app.entity.saved_search.SavedSearchEntity;
+import app.entity.task.TaskEntity;
+import app.entity.task.TaskPriority;
+import app.entity.task.TaskStatus;
+import app.exception.AlreadyExistsException;
+import app.exception.NotFoundException;
+import app.mapper.task.TaskMapper;
+import app.repository.UniqueConstraint;
+import app.repository.saved_search.SavedSearchRepository;
+import app.service.saved_search.impl.SavedSearchResultCache;
+import app.service.saved_search.impl.SavedSearchServiceImpl;
+import app.service.task.TaskChangedEvent;
+import app.service.task.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SavedSearchServiceTests {
+
+    @Mock
+    private SavedSearchRepository savedSearchRepository;
+
+    @Mock
+    private TaskService taskService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final AtomicLong now = new AtomicLong(0);
+
+    private SavedSearchProperties savedSearchProperties;
+    private SavedSearchResultCache savedSearchResultCache;
+    private SavedSearchServiceImpl savedSearchService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID savedSearchId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        savedSearchProperties = new SavedSearchProperties();
+        savedSearchProperties.setMaxResults(3);
+        savedSearchResultCache = new SavedSearchResultCache(savedSearchProperties, now::get);
+        savedSearchService = new SavedSearchServiceImpl(
+                savedSearchRepository,
+                taskService,
+                new TaskMapper(new ModelMapper()),
+                savedSearchResultCache,
+                objectMapper,
+                savedSearchProperties);
+    }
+
+    @Test
+    void getSavedSearchTasks_whenCalledRepeatedly_thenServeFromCache() throws Exception {
+        List<TaskEntity> tasks = List.of(task(TaskPriority.HIGH), task(TaskPriority.HIGH), task(TaskPriority.HIGH));
+        this.stubSavedSearch(TaskSearchFilterDto.builder().priority("high").build());
+        when(taskService.getTaskPage(any(), any())).thenReturn(tasks);
+
+        List<TaskDto> first = savedSearchService.getSavedSearchTasks(userId, savedSearchId, 0, 2);
+        List<TaskDto> second = savedSearchService.getSavedSearchTasks(userId, savedSearchId, 1, 2);
+
+        assertEquals(List.of(tasks.get(0).getId(), tasks.get(1).getId()), ids(first));
+        assertEquals(List.of(tasks.get(2).getId()), ids(second));
+        verify(taskService, times(1)).getTaskPage(any(), any());
+        verify(savedSearchRepository, times(1)).findByIdAndUserId(savedSearchId, userId);
+    }
+
+    @Test
+    void getSavedSearchTasks_whenOtherUser_thenThrowNotFoundException() throws Exception {
+        this.stubSavedSearch(TaskSearchFilterDto.builder().priority("high").build());
+        when(taskService.getTaskPage(any(), any())).thenReturn(List.of(task(TaskPriority.HIGH)));
+        savedSearchService.getSavedSearchTasks(userId, savedSearchId, 0, 5);
+        UUID otherUserId = UUID.randomUUID();
+        when(savedSearchRepository.findByIdAndUserId(savedSearchId, otherUserId)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> savedSearchService.getSavedSearchTasks(otherUserId, savedSearchId, 0, 5));
+    }
+
+    @Test
+    void onTaskChanged_whenMatchingTaskCreated_thenInvalidateResult() throws Exception {
+        this.stubSavedSearch(TaskSearchFilterDto.builder().priority("high").build());
+        when(taskService.getTaskPage(any(), any())).thenReturn(List.of(task(TaskPriority.HIGH)));
+        savedSearchService.getSavedSearchTasks(userId, savedSearchId, 0, 5);
+
+        TaskEntity created = task(TaskPriority.HIGH);
+        savedSearchResultCache.onTaskChanged(new TaskChangedEvent(created.getId(), created, TaskChangedEvent.Type.CREATED));
+        savedSearchService.getSavedSearchTasks(userId, savedSearchId, 0, 5);
+
+        verify(taskService, times(2)).getTaskPage(any(), any());
+    }
+
+    @Test
+    void onTaskChanged_whenNonMatchingTaskCreated_thenKeepResult() throws Exception {
+        this.stubSavedSearch(TaskSearchFilterDto.builder().priority("high").build());
+        when(taskService.getTaskPage(any(), any())).thenReturn(List.of(task(TaskPriority.HIGH)));
+        savedSearchService.getSavedSearchTasks(userId, savedSearchId, 0, 5);
+
+        TaskEntity created = task(TaskPriority.LOW);
+        savedSearchResultCache.onTaskChanged(new TaskChangedEvent(created.getId(), created, TaskChangedEvent.Type.CREATED));
+        savedSearchResultCache.onTaskChanged(new TaskChangedEvent(created.getId(), null, TaskChangedEvent.Type.COMMENTED));
+        savedSearchService.getSavedSearchTasks(userId, savedSearchId, 0, 5);
+
+        verify(taskService, times(1)).getTaskPage(any(), any());
+    }
+
+    @Test
+    void onTaskChanged_whenCachedTaskNoLongerMatches_thenInvalidateResult() throws Exception {
+        TaskEntity cached = task(TaskPriority.HIGH);
+        this.stubSavedSearch(TaskSearchFilterDto.builder().priority("high").build());
+        when(taskService.getTaskPage(any(), any())).thenReturn(List.of(cached));
+        savedSearchService.getSavedSearchTasks(userId, savedSearchId, 0, 5);
+
+        cached.setPriority(TaskPriority.LOW);
+        savedSearchResultCache.onTaskChanged(new TaskChangedEvent(cached.getId(), cached, TaskChangedEvent.Type.UPDATED));
+
+        assertEquals(0, savedSearchResultCache.size());
+    }
+
+    @Test
+    void onTaskChanged_whenCommentOnUnrelatedTask_thenInvalidateOnlyCommentFilters() throws Exception {
+        this.stubSavedSearch(TaskSearchFilterDto.builder().commentCountMin(2).build());
+        when(taskService.getTaskPage(any(), any())).thenReturn(List.of(task(TaskPriority.HIGH)));
+        savedSearchService.getSavedSearchTasks(userId, savedSearchId, 0, 5);
+
+        savedSearchResultCache.onTaskChanged(new TaskChangedEvent(UUID.randomUUID(), null, TaskChangedEvent.Type.COMMENTED));
+
+        assertEquals(0, savedSearchResultCache.size());
+    }
+
+    @Test
+    void onTaskChanged_whenCommentOnUnrelatedTask_thenInvalidateUpdatedAtFilters() throws Exception {
+        this.stubSavedSearch(TaskSearchFilterDto.builder().updatedAtAfter(LocalDateTime.now().minusDays(1)).build());
+        when(taskService.getTaskPage(any(), any())).thenReturn(List.of(task(TaskPriority.HIGH)));
+        savedSearchService.getSavedSearchTasks(userId, savedSearchId, 0, 5);
+
+        savedSearchResultCache.onTaskChanged(new TaskChangedEvent(UUID.randomUUID(), null, TaskChangedEvent.Type.COMMENTED));
+
+        assertEquals(0, savedSearchResultCache.size());
+    }
+
+    @Test
+    void getSavedSearchTasks_whenTaskChangedDuringQuery_thenDoNotCacheResult() throws Exception {
+        this.stubSavedSearch(TaskSearchFilterDto.builder().priority("high").build());
+        when(taskService.getTaskPage(any(), any())).thenAnswer(invocation -> {
+            TaskEntity concurrent = task(TaskPriority.LOW);
+            savedSearchResultCache.onTaskChanged(new TaskChangedEvent(concurrent.getId(), concurrent, TaskChangedEvent.Type.CREATED));
+            return List.of(task(TaskPriority.HIGH));
+        });
+
+        savedSearchService.getSavedSearchTasks(userId, savedSearchId, 0, 5);
+
+        assertEquals(0, savedSearchResultCache.size());
+    }
+
+    @Test
+    void getSavedSearchTasks_whenResultExceedsMaxResults_thenDoNotCacheResult() throws Exception {
+        List<TaskEntity> tasks = new ArrayList<>();
+        for (int i = 0; i <= savedSearchProperties.getMaxResults(); i++) {
+            tasks.add(task(TaskPriority.HIGH));
+        }
+        this.stubSavedSearch(TaskSearchFilterDto.builder().priority("high").build());
+        when(taskService.getTaskPage(any(), any(Pageable.class))).thenReturn(tasks);
+
+        List<TaskDto> page = savedSearchService.getSavedSearchTasks(userId, savedSearchId, 0, 2);
+
+        assertEquals(2, page.size());
+        assertNull(savedSearchResultCache.get(savedSearchId, userId));
+        assertTrue(savedSearchResultCache.isOversized(savedSearchId, userId));
+    }
+
+    @Test
+    void getSavedSearchTasks_whenResultExceededMaxResults_thenQueryOnlyRequestedPage() throws Exception {
+        this.stubSavedSearch(TaskSearchFilterDto.builder().priority("high").build());
+        when(taskService.getTaskPage(any(), any(Pageable.class))).thenReturn(this.oversizedResult());
+        savedSearchService.getSavedSearchTasks(userId, savedSearchId, 0, 2);
+
+        savedSearchService.getSavedSearchTasks(userId, savedSearchId, 1, 2);
+
+        ArgumentCaptor<Pageable> pageables = ArgumentCaptor.forClass(Pageable.class);
+        verify(taskService, times(2)).getTaskPage(any(), pageables.capture());
+        assertEquals(savedSearchProperties.getMaxResults() + 1, pageables.getAllValues().get(0).getPageSize());
+        assertEquals(1, pageables.getAllValues().get(1).getPageNumber());
+        assertEquals(2, pageables.getAllValues().get(1).getPageSize());
+    }
+
+    @Test
+    void onTaskChanged_whenTaskDeletedAfterResultExceededMaxResults_thenQueryFullResultAgain() throws Exception {
+        this.stubSavedSearch(TaskSearchFilterDto.builder().priority("high").build());
+        when(taskService.getTaskPage(any(), any(Pageable.class))).thenReturn(this.oversizedResult());
+        savedSearchService.getSavedSearchTasks(userId, savedSearchId, 0, 2);
+
+        TaskEntity created = task(TaskPriority.HIGH);
+        savedSearchResultCache.onTaskChanged(new TaskChangedEvent(created.getId(), created, TaskChangedEvent.Type.CREATED));
+        assertTrue(savedSearchResultCache.isOversized(savedSearchId, userId));
+        savedSearchResultCache.onTaskChanged(new TaskChangedEvent(UUID.randomUUID(), null, TaskChangedEvent.Type.DELETED));
+
+        assertFalse(savedSearchResultCache.isOversized(savedSearchId, userId));
+    }
+
+    @Test
+    void getSavedSearchTasks_whenTtlExpired_thenQueryAgain() throws Exception {
+        this.stubSavedSearch(TaskSearchFilterDto.builder().priority("high").build());
+        when(taskService.getTaskPage(any(), any())).thenReturn(List.of(task(TaskPriority.HIGH)));
+        savedSearchService.getSavedSearchTasks(userId, savedSearchId, 0, 5);
+
+        now.addAndGet(savedSearchProperties.getTtl().toNanos() + 1);
+        savedSearchService.getSavedSearchTasks(userId, savedSearchId, 0, 5);
+
+        verify(taskService, times(2)).getTaskPage(any(), any());
+    }
+
+    @Test
+    void createSavedSearch_whenNameAlreadyUsed_thenThrowAlreadyExistsException() {
+        when(savedSearchRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException(
+                "Duplicate key",
+                new ConstraintViolationException(
+                        "Duplicate key",
+                        new SQLException("Duplicate key", "23505"),
+                        UniqueConstraint.SAVED_SEARCHES_USER_ID_NAME.getConstraintName())));
+        CreateSavedSearchRequest request = CreateSavedSearchRequest
+                .builder()
+                .name("Urgent")
+                .filter(TaskSearchFilterDto.builder().priority("high").build())
+                .build();
+
+        assertThrows(AlreadyExistsException.class, () -> savedSearchService.createSavedSearch(userId, request));
+    }
+
+    private void stubSavedSearch(TaskSearchFilterDto filter) throws Exception {
+        when(savedSearchRepository.findByIdAndUserId(savedSearchId, userId)).thenReturn(Optional.of(SavedSearchEntity
+                .builder()
+                .id(savedSearchId)
+                .userId(userId)
+                .name("Saved search")
+                .filter(objectMapper.writeValueAsString(filter))
+                .sortBy("createdAt")
+                .direction("desc")
+                .createdAt(LocalDateTime.now())
+                .build()));
+    }
+
+    private List<TaskEntity> oversizedResult() {
+        List<TaskEntity> tasks = new ArrayList<>();
+        for (int i = 0; i <= savedSearchProperties.getMaxResults(); i++) {
+            tasks.add(task(TaskPriority.HIGH));
+        }
+        return tasks;
+    }
+
+    private static TaskEntity task(TaskPriority priority) {
+        return TaskEntity
+                .builder()
+                .id(UUID.randomUUID())
+                .name("Task")
+                .description("Task description")
+                .status(TaskStatus.PENDING)
+                .priority(priority)
+                .creatorId(UUID.randomUUID())
+                .createdAt(LocalDateTime.now())
+                .expiresOn(LocalDateTime.now().plusDays(1))
+                .build();
+    }
+
+    private static List<UUID> ids(List<TaskDto> tasks) {
+        return tasks.stream().map(TaskDto::getId).toList();
+    }
+
+}
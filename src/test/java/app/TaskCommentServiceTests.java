@@ -0,0 +1,279 @@
+package app;
+
+import app.config.IdempotencyProperties;
+import app.config.TaskCommentIngestionProperties;
+import app.controller.ControllerHelper;
+import app.controller.task.TaskController;
+import app.dto.task_comment.CreateTaskCommentRequest;
+import app.dto.task_comment.CreateTaskCommentResponse;
+import app.dto.task_comment.DeleteTaskCommentRequest;
+import app.dto.task_comment.DeleteTaskCommentResponse;
+import app.dto.task_comment.TaskCommentBatchResponse;
+import app.dto.task_comment.TaskCommentCursor;
+import app.dto.task_comment.TaskCommentDto;
+import app.dto.task_comment.TaskCommentFeedResponse;
+import app.entity.task.TaskEntity;
+import app.entity.user.UserEntity;
+import app.exception.InvalidCursorException;
+import app.exception.NotFoundException;
+import app.mapper.task.TaskCommentMapper;
+import app.mapper.task.TaskMapper;
+import app.mapper.user.UserMapper;
+import app.repository.task.TaskRepository;
+import app.repository.task_comment.TaskCommentProjection;
+import app.repository.task_comment.TaskCommentRepository;
+import app.repository.user.UserRepository;
+import app.security.jwt.JwtService;
+import app.service.idempotency.impl.IdempotencyServiceImpl;
+import app.service.task.TaskChangedEvent;
+import app.service.task.impl.TaskServiceImpl;
+import app.service.task_comment.impl.TaskCommentServiceImpl;
+import app.service.task_comment.impl.TaskCommentWriter;
+import app.service.user.impl.UserServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskCommentServiceTests {
+
+    @Mock
+    private TaskCommentRepository taskCommentRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JwtService jwtService;
+
+    private TaskCommentWriter taskCommentWriter;
+
+    private TaskCommentServiceImpl taskCommentService;
+
+    private TaskController taskController;
+
+    private final UUID taskId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ModelMapper modelMapper = new ModelMapper();
+        TaskCommentIngestionProperties properties = new TaskCommentIngestionProperties();
+        properties.setDurability(TaskCommentIngestionProperties.Durability.SYNC);
+        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, new TaskMapper(modelMapper), eventPublisher);
+        UserServiceImpl userService = new UserServiceImpl(userRepository, new UserMapper(modelMapper), passwordEncoder);
+        taskCommentWriter = new TaskCommentWriter(
+                taskCommentRepository,
+                taskService,
+                userService,
+                transactionManager,
+                properties,
+                new SimpleMeterRegistry());
+        taskCommentWriter.start();
+        taskCommentService = new TaskCommentServiceImpl(taskCommentRepository, new TaskCommentMapper(modelMapper), taskCommentWriter,
+                eventPublisher);
+        taskController = new TaskController(
+                taskService,
+                null,
+                taskCommentService,
+                new IdempotencyServiceImpl(null, new ObjectMapper(), new IdempotencyProperties()),
+                new TaskMapper(modelMapper),
+                new ControllerHelper(jwtService, taskService, userService),
+                null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskCommentWriter.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createTaskComment_whenRequestIsValid_thenCheckAccessOnceAndLinkTaskAndAuthorWithoutLoadingThem() {
+        UserEntity author = UserEntity
+                .builder()
+                .id(userId)
+                .username("author")
+                .createdAt(LocalDateTime.now())
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(author, null, List.of()));
+        HttpServletRequest httpServletRequest = mock(HttpServletRequest.class);
+        when(jwtService.extractClaimFromHttpServletRequestHeader("userId", httpServletRequest)).thenReturn(Optional.of(userId.toString()));
+        when(taskRepository.findIdsByIdInAndRelatedUserId(List.of(taskId), userId)).thenReturn(List.of(taskId));
+        when(taskRepository.getReferenceById(taskId)).thenReturn(TaskEntity.builder().id(taskId).build());
+        when(userRepository.getReferenceById(userId)).thenReturn(UserEntity.builder().id(userId).build());
+
+        CreateTaskCommentResponse response = taskController.createTaskComment(
+                taskId,
+                CreateTaskCommentRequest.builder().content("content").build(),
+                null,
+                httpServletRequest).getBody();
+
+        assertNotNull(response);
+        assertEquals(taskId, response.getTaskId());
+        assertEquals("content", response.getContent());
+        assertEquals("author", response.getUser().getUsername());
+        verify(taskRepository).findIdsByIdInAndRelatedUserId(List.of(taskId), userId);
+        verify(taskRepository, never()).findById(any());
+        verify(userRepository, never()).findById(any());
+        verify(taskRepository).getReferenceById(taskId);
+        verify(userRepository).getReferenceById(userId);
+        verify(taskCommentRepository).saveAll(any());
+        verify(taskCommentRepository).flush();
+        verify(taskRepository).incrementCommentCount(eq(taskId), eq(1), any(LocalDateTime.class));
+        verifyNoMoreInteractions(taskRepository, userRepository, taskCommentRepository);
+    }
+
+    @Test
+    void deleteTaskComment_whenCommentDeleted_thenPublishCommentedEvent() {
+        UUID commentId = UUID.randomUUID();
+        when(taskCommentRepository.deleteTaskCommentById(eq(commentId), any(LocalDateTime.class))).thenReturn(Optional.of(taskId));
+
+        DeleteTaskCommentResponse response = taskCommentService.deleteTaskComment(DeleteTaskCommentRequest.builder().id(commentId).build());
+
+        assertEquals(commentId, response.getDeletedCommentId());
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(taskId, null, TaskChangedEvent.Type.COMMENTED));
+    }
+
+    @Test
+    void deleteTaskComment_whenCommentNotFound_thenThrowNotFoundExceptionWithoutEvent() {
+        UUID commentId = UUID.randomUUID();
+        when(taskCommentRepository.deleteTaskCommentById(eq(commentId), any(LocalDateTime.class))).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> taskCommentService.deleteTaskComment(DeleteTaskCommentRequest.builder().id(commentId).build()));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void getTaskCommentFeedByTaskId_whenMoreCommentsThanSize_thenReturnPageWithCursorOfLastComment() {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskCommentProjection> comments = List.of(
+                this.comment(UUID.randomUUID(), now),
+                this.comment(UUID.randomUUID(), now.plusSeconds(1)),
+                this.comment(UUID.randomUUID(), now.plusSeconds(2)));
+        when(taskCommentRepository.findFeedByTaskId(taskId, PageRequest.ofSize(3))).thenReturn(comments);
+
+        TaskCommentFeedResponse response = taskCommentService.getTaskCommentFeedByTaskId(taskId, null, 2);
+
+        assertEquals(2, response.getComments().size());
+        TaskCommentCursor cursor = TaskCommentCursor.decode(response.getNextCursor());
+        assertEquals(comments.get(1).getCreatedAt(), cursor.getCreatedAt());
+        assertEquals(comments.get(1).getId(), cursor.getId());
+    }
+
+    @Test
+    void getTaskCommentFeedByTaskId_whenCursorPassedAndLastPage_thenContinueAfterCursorWithoutNextCursor() {
+        TaskCommentCursor position = new TaskCommentCursor(LocalDateTime.now(), UUID.randomUUID());
+        List<TaskCommentProjection> comments = List.of(this.comment(UUID.randomUUID(), position.getCreatedAt().plusSeconds(1)));
+        when(taskCommentRepository.findFeedByTaskIdAfter(taskId, position.getCreatedAt(), position.getId(), PageRequest.ofSize(3)))
+                .thenReturn(comments);
+
+        TaskCommentFeedResponse response = taskCommentService.getTaskCommentFeedByTaskId(taskId, position.encode(), 2);
+
+        assertEquals(1, response.getComments().size());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void getTaskCommentFeedByTaskId_whenCursorIsMalformed_thenThrowInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> taskCommentService.getTaskCommentFeedByTaskId(taskId, "not-a-cursor", 2));
+        assertThrows(InvalidCursorException.class, () -> taskCommentService.getTaskCommentFeedByTaskId(taskId, "bm90LWEtY3Vyc29y", 2));
+        verifyNoMoreInteractions(taskCommentRepository);
+    }
+
+    @Test
+    void decode_whenCursorIsEncoded_thenReturnSamePosition() {
+        TaskCommentCursor cursor = new TaskCommentCursor(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6_000), UUID.randomUUID());
+
+        TaskCommentCursor decoded = TaskCommentCursor.decode(cursor.encode());
+
+        assertEquals(cursor.getCreatedAt(), decoded.getCreatedAt());
+        assertEquals(cursor.getId(), decoded.getId());
+    }
+
+    @Test
+    void getLatestTaskCommentsByTaskIds_whenSeveralTasks_thenQueryOnceAndGroupCommentsByTask() {
+        UUID otherTaskId = UUID.randomUUID();
+        UUID emptyTaskId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        TaskCommentProjection newest = this.comment(UUID.randomUUID(), now, taskId);
+        TaskCommentProjection older = this.comment(UUID.randomUUID(), now.minusMinutes(1), taskId);
+        TaskCommentProjection other = this.comment(UUID.randomUUID(), now, otherTaskId);
+        when(taskCommentRepository.findLatestByTaskIdIn(aryEq(new UUID[]{taskId, otherTaskId, emptyTaskId}), eq(2)))
+                .thenReturn(List.of(newest, older, other));
+
+        TaskCommentBatchResponse response = taskCommentService.getLatestTaskCommentsByTaskIds(
+                new LinkedHashSet<>(List.of(taskId, otherTaskId, emptyTaskId)), 2);
+
+        assertEquals(List.of(taskId, otherTaskId, emptyTaskId), List.copyOf(response.getComments().keySet()));
+        assertEquals(List.of(newest.getId(), older.getId()),
+                response.getComments().get(taskId).stream().map(TaskCommentDto::getId).toList());
+        assertEquals(1, response.getComments().get(otherTaskId).size());
+        assertTrue(response.getComments().get(emptyTaskId).isEmpty());
+        verifyNoMoreInteractions(taskCommentRepository);
+    }
+
+    @Test
+    void getLatestTaskCommentsByTaskIds_whenNoTaskIds_thenReturnEmptyResultWithoutQuery() {
+        TaskCommentBatchResponse response = taskCommentService.getLatestTaskCommentsByTaskIds(List.of(), 5);
+
+        assertTrue(response.getComments().isEmpty());
+        verifyNoMoreInteractions(taskCommentRepository);
+    }
+
+    private TaskCommentProjection comment(UUID commentId, LocalDateTime createdAt, UUID taskId) {
+        TaskCommentProjection comment = this.comment(commentId, createdAt);
+        when(comment.getTaskId()).thenReturn(taskId);
+        return comment;
+    }
+
+    private TaskCommentProjection comment(UUID commentId, LocalDateTime createdAt) {
+        TaskCommentProjection comment = mock(TaskCommentProjection.class);
+        when(comment.getId()).thenReturn(commentId);
+        when(comment.getCreatedAt()).thenReturn(createdAt);
+        return comment;
+    }
+
+}
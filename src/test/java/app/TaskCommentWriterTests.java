@@ -0,0 +1,328 @@
+package app;
+
+import app.config.TaskCommentIngestionProperties;
+import app.entity.task.TaskEntity;
+import app.entity.task_comment.TaskCommentEntity;
+import app.entity.user.UserEntity;
+import app.exception.ServiceOverloadedException;
+import app.exception.WriteNotConfirmedException;
+import app.repository.task_comment.TaskCommentRepository;
+import app.service.task.TaskService;
+import app.service.task_comment.impl.TaskCommentWriter;
+import app.service.user.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskCommentWriterTests {
+
+    @Mock
+    private TaskCommentRepository taskCommentRepository;
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<List<TaskCommentEntity>> savedBatches = Collections.synchronizedList(new ArrayList<>());
+
+    private final UUID taskId = UUID.randomUUID();
+    private final UUID otherTaskId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+
+    private TaskCommentWriter taskCommentWriter;
+
+    @AfterEach
+    void tearDown() {
+        if (taskCommentWriter != null) {
+            taskCommentWriter.shutdown();
+        }
+    }
+
+    @Test
+    void write_whenSyncMode_thenInsertCommentWithReferencesInCallerThread() {
+        this.stubRepositories();
+        taskCommentWriter = this.writer(TaskCommentIngestionProperties.Durability.SYNC, 10);
+        taskCommentWriter.start();
+
+        TaskCommentEntity comment = taskCommentWriter.write(taskId, userId, "content");
+
+        assertEquals("content", comment.getContent());
+        assertEquals(taskId, comment.getTask().getId());
+        assertEquals(userId, comment.getUser().getId());
+        assertEquals(1, savedBatches.size());
+        verify(taskService).incrementTaskCommentCount(taskId, 1, comment.getCreatedAt());
+    }
+
+    @Test
+    void write_whenGroupCommit_thenWriteQueuedCommentsInOneTransaction() throws Exception {
+        this.stubRepositories();
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        this.blockFirstTransaction(blocked, release);
+        taskCommentWriter = this.writer(TaskCommentIngestionProperties.Durability.GROUP_COMMIT, 10);
+        taskCommentWriter.start();
+
+        CompletableFuture<TaskCommentEntity> first = this.writeAsync(taskId, "first");
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        List<CompletableFuture<TaskCommentEntity>> queued = List.of(
+                this.writeAsync(taskId, "second"),
+                this.writeAsync(taskId, "third"),
+                this.writeAsync(otherTaskId, "fourth"));
+        this.awaitQueueSize(3);
+        release.countDown();
+
+        assertEquals("first", first.get(5, TimeUnit.SECONDS).getContent());
+        for (CompletableFuture<TaskCommentEntity> comment : queued) {
+            assertNotNull(comment.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(List.of(1, 3), savedBatches.stream().map(List::size).toList());
+        verify(taskService).incrementTaskCommentCount(eq(taskId), eq(2), any(LocalDateTime.class));
+        verify(taskService).incrementTaskCommentCount(eq(otherTaskId), eq(1), any(LocalDateTime.class));
+        assertEquals(2, meterRegistry.get("task_comment_ingestion.batch.size").summary().count());
+        assertEquals(3, meterRegistry.get("task_comment_ingestion.batch.size").summary().max());
+    }
+
+    @Test
+    void write_whenQueueFull_thenThrowServiceOverloadedException() throws Exception {
+        this.stubRepositories();
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        this.blockFirstTransaction(blocked, release);
+        taskCommentWriter = this.writer(TaskCommentIngestionProperties.Durability.GROUP_COMMIT, 1);
+        taskCommentWriter.start();
+
+        CompletableFuture<TaskCommentEntity> first = this.writeAsync(taskId, "first");
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        CompletableFuture<TaskCommentEntity> second = this.writeAsync(taskId, "second");
+        this.awaitQueueSize(1);
+
+        assertThrows(ServiceOverloadedException.class, () -> taskCommentWriter.write(taskId, userId, "third"));
+        assertEquals(1, meterRegistry.get("task_comment_ingestion.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("first", first.get(5, TimeUnit.SECONDS).getContent());
+        assertEquals("second", second.get(5, TimeUnit.SECONDS).getContent());
+    }
+
+    @Test
+    void write_whenBatchFails_thenRetryCommentsOneByOne() throws Exception {
+        when(taskService.getTaskReferenceById(any())).thenAnswer(invocation -> TaskEntity.builder().id(invocation.getArgument(0)).build());
+        when(userService.getUserReferenceById(any())).thenAnswer(invocation -> UserEntity.builder().id(invocation.getArgument(0)).build());
+        when(taskCommentRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<TaskCommentEntity> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(comment -> comment.getTask().getId().equals(otherTaskId))) {
+                throw new DataIntegrityViolationException("task_comments_task_id_fkey");
+            }
+            savedBatches.add(List.copyOf(batch));
+            return batch;
+        });
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        this.blockFirstTransaction(blocked, release);
+        taskCommentWriter = this.writer(TaskCommentIngestionProperties.Durability.GROUP_COMMIT, 10);
+        taskCommentWriter.start();
+
+        CompletableFuture<TaskCommentEntity> first = this.writeAsync(taskId, "first");
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        CompletableFuture<TaskCommentEntity> invalid = this.writeAsync(otherTaskId, "invalid");
+        CompletableFuture<TaskCommentEntity> valid = this.writeAsync(taskId, "valid");
+        this.awaitQueueSize(2);
+        release.countDown();
+
+        assertEquals("first", first.get(5, TimeUnit.SECONDS).getContent());
+        assertEquals("valid", valid.get(5, TimeUnit.SECONDS).getContent());
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> invalid.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DataIntegrityViolationException.class, exception.getCause());
+        verify(taskService, never()).incrementTaskCommentCount(eq(otherTaskId), anyInt(), any());
+    }
+
+    @Test
+    void write_whenBatchFailsWithTransientError_thenFailWholeBatchWithoutRetries() throws Exception {
+        when(taskService.getTaskReferenceById(any())).thenAnswer(invocation -> TaskEntity.builder().id(invocation.getArgument(0)).build());
+        when(userService.getUserReferenceById(any())).thenAnswer(invocation -> UserEntity.builder().id(invocation.getArgument(0)).build());
+        when(taskCommentRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<TaskCommentEntity> batch = invocation.getArgument(0);
+            if (batch.size() > 1) {
+                throw new QueryTimeoutException("canceling statement due to statement timeout");
+            }
+            savedBatches.add(List.copyOf(batch));
+            return batch;
+        });
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        this.blockFirstTransaction(blocked, release);
+        taskCommentWriter = this.writer(TaskCommentIngestionProperties.Durability.GROUP_COMMIT, 10);
+        taskCommentWriter.start();
+
+        CompletableFuture<TaskCommentEntity> first = this.writeAsync(taskId, "first");
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        CompletableFuture<TaskCommentEntity> second = this.writeAsync(taskId, "second");
+        CompletableFuture<TaskCommentEntity> third = this.writeAsync(taskId, "third");
+        this.awaitQueueSize(2);
+        release.countDown();
+
+        assertEquals("first", first.get(5, TimeUnit.SECONDS).getContent());
+        for (CompletableFuture<TaskCommentEntity> comment : List.of(second, third)) {
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> comment.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(QueryTimeoutException.class, exception.getCause());
+        }
+        verify(taskCommentRepository, times(2)).saveAll(any());
+        verify(taskService, times(1)).incrementTaskCommentCount(any(), anyInt(), any());
+    }
+
+    @Test
+    void write_whenAckTimeoutWhileQueued_thenRemoveCommentAndThrowServiceOverloadedException() throws Exception {
+        this.stubRepositories();
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        this.blockFirstTransaction(blocked, release);
+        taskCommentWriter = this.writer(TaskCommentIngestionProperties.Durability.GROUP_COMMIT, 10, Duration.ofMillis(200));
+        taskCommentWriter.start();
+
+        CompletableFuture<TaskCommentEntity> first = this.writeAsync(taskId, "first");
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        CompletableFuture<TaskCommentEntity> second = this.writeAsync(taskId, "second");
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ServiceOverloadedException.class, exception.getCause());
+        assertEquals(0, meterRegistry.get("task_comment_ingestion.queue.size").gauge().value());
+        release.countDown();
+        assertEquals("first", first.get(5, TimeUnit.SECONDS).getContent());
+        taskCommentWriter.shutdown();
+        assertEquals(List.of("first"), savedBatches.stream().flatMap(List::stream).map(TaskCommentEntity::getContent).toList());
+    }
+
+    @Test
+    void write_whenAckTimeoutWhileCommitting_thenReturnCommentCreatedInTransaction() throws Exception {
+        this.stubRepositories();
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        this.blockFirstTransaction(blocked, release);
+        taskCommentWriter = this.writer(TaskCommentIngestionProperties.Durability.GROUP_COMMIT, 10, Duration.ofMillis(200));
+        taskCommentWriter.start();
+
+        CompletableFuture<TaskCommentEntity> first = this.writeAsync(taskId, "first");
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        Thread.sleep(400);
+        LocalDateTime releasedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        release.countDown();
+
+        TaskCommentEntity comment = first.get(5, TimeUnit.SECONDS);
+        assertEquals("first", comment.getContent());
+        assertFalse(comment.getCreatedAt().isBefore(releasedAt));
+        assertEquals(0, meterRegistry.get("task_comment_ingestion.rejected").counter().count());
+    }
+
+    @Test
+    void write_whenCommitNotConfirmedInTime_thenThrowWriteNotConfirmedException() throws Exception {
+        this.stubRepositories();
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        this.blockFirstTransaction(blocked, release);
+        taskCommentWriter = this.writer(TaskCommentIngestionProperties.Durability.GROUP_COMMIT, 10, Duration.ofMillis(100));
+        taskCommentWriter.start();
+
+        CompletableFuture<TaskCommentEntity> first = this.writeAsync(taskId, "first");
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(WriteNotConfirmedException.class, exception.getCause());
+        release.countDown();
+        verify(taskCommentRepository, timeout(5000)).saveAll(any());
+        assertEquals(List.of("first"), savedBatches.stream().flatMap(List::stream).map(TaskCommentEntity::getContent).toList());
+    }
+
+    private void stubRepositories() {
+        when(taskService.getTaskReferenceById(any())).thenAnswer(invocation -> TaskEntity.builder().id(invocation.getArgument(0)).build());
+        when(userService.getUserReferenceById(any())).thenAnswer(invocation -> UserEntity.builder().id(invocation.getArgument(0)).build());
+        when(taskCommentRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<TaskCommentEntity> batch = invocation.getArgument(0);
+            savedBatches.add(List.copyOf(batch));
+            return batch;
+        });
+    }
+
+    /**
+     * Первая транзакция ожидает сигнала, чтобы следующие комментарии накопились в очереди.
+     */
+    private void blockFirstTransaction(CountDownLatch blocked, CountDownLatch release) {
+        AtomicBoolean first = new AtomicBoolean(true);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            if (first.getAndSet(false)) {
+                blocked.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        });
+    }
+
+    private CompletableFuture<TaskCommentEntity> writeAsync(UUID taskId, String content) {
+        return CompletableFuture.supplyAsync(() -> taskCommentWriter.write(taskId, userId, content));
+    }
+
+    private void awaitQueueSize(double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("task_comment_ingestion.queue.size").gauge().value() != expected) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for queued comments");
+            Thread.sleep(5);
+        }
+    }
+
+    private TaskCommentWriter writer(TaskCommentIngestionProperties.Durability durability, int queueCapacity) {
+        return this.writer(durability, queueCapacity, Duration.ofSeconds(5));
+    }
+
+    private TaskCommentWriter writer(TaskCommentIngestionProperties.Durability durability, int queueCapacity, Duration ackTimeout) {
+        TaskCommentIngestionProperties properties = new TaskCommentIngestionProperties();
+        properties.setDurability(durability);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setMaxBatchDelay(Duration.ZERO);
+        properties.setOfferTimeout(Duration.ZERO);
+        properties.setAckTimeout(ackTimeout);
+        return new TaskCommentWriter(
+                taskCommentRepository,
+                taskService,
+                userService,
+                transactionManager,
+                properties,
+                meterRegistry);
+    }
+
+}
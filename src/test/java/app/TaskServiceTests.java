@@ -2,17 +2,30 @@ package app;
 
 import app.dto.task.CreateTaskRequest;
 import app.dto.task.CreateTaskResponse;
+import app.dto.task.DeleteTaskRequest;
+import app.dto.task.DeleteTaskResponse;
+import app.dto.task.TaskDto;
 import app.dto.task.UpdateTaskRequest;
 import app.dto.task.UpdateTaskResponse;
+import app.dto.validator.ResourceValidator;
 import app.entity.task.TaskEntity;
+import app.entity.task.TaskStatus;
 import app.exception.AlreadyExistsException;
+import app.exception.NotFoundException;
+import app.exception.PreconditionFailedException;
 import app.mapper.task.TaskMapper;
+import app.repository.UniqueConstraint;
+import app.repository.task.TaskCommentStats;
 import app.repository.task.TaskRepository;
+import app.repository.task.TaskSetStats;
+import app.repository.task.TaskVersionStats;
+import app.service.task.TaskChangedEvent;
 import app.service.task.impl.TaskServiceImpl;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,14 +34,26 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +68,9 @@ public class TaskServiceTests {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -83,12 +111,18 @@ public class TaskServiceTests {
                 .priority("low")
                 .expiresOn(LocalDateTime.now().plusDays(5))
                 .build();
-        when(taskRepository.existsByNameAndCreatorId(any(), any())).thenReturn(true);
+        when(taskRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException(
+                "Duplicate key",
+                new ConstraintViolationException(
+                        "Duplicate key",
+                        new SQLException("Duplicate key", "23505"),
+                        UniqueConstraint.TASKS_CREATOR_ID_NAME.getConstraintName())));
 
         Set<ConstraintViolation<CreateTaskRequest>> errors = validator.validate(request);
 
         assertEquals(0, errors.size());
         assertThrows(AlreadyExistsException.class, () -> taskService.createTask(UUID.randomUUID(), request));
+        verify(eventPublisher, never()).publishEvent(any(TaskChangedEvent.class));
     }
 
     @Test
@@ -101,10 +135,47 @@ public class TaskServiceTests {
         when(taskRepository.findById(request.getId())).thenReturn(Optional.of(new TaskEntity()));
 
         Set<ConstraintViolation<UpdateTaskRequest>> errors = validator.validate(request);
-        UpdateTaskResponse response = taskService.updateTask(request);
+        UpdateTaskResponse response = taskService.updateTask(request, null);
 
         assertEquals(0, errors.size());
         assertNotNull(response);
+        verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void handleUpdateTaskRequest_whenVersionMatches_thenReturnUpdateTaskResponse() {
+        UpdateTaskRequest request = UpdateTaskRequest
+                .builder()
+                .id(UUID.randomUUID())
+                .name("New task name")
+                .build();
+        TaskEntity updatedTask = TaskEntity
+                .builder()
+                .id(request.getId())
+                .name(request.getName())
+                .version(4L)
+                .build();
+        when(taskRepository.updateTaskIfVersionMatches(eq(request.getId()), eq(3L), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Optional.of(updatedTask));
+
+        UpdateTaskResponse response = taskService.updateTask(request, 3L);
+
+        assertEquals(4L, response.getVersion());
+        verify(taskRepository, never()).findById(any());
+    }
+
+    @Test
+    void handleUpdateTaskRequest_whenVersionDoesNotMatch_thenThrowPreconditionFailedException() {
+        UpdateTaskRequest request = UpdateTaskRequest
+                .builder()
+                .id(UUID.randomUUID())
+                .name("New task name")
+                .build();
+        when(taskRepository.updateTaskIfVersionMatches(eq(request.getId()), eq(3L), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
+        when(taskRepository.existsById(request.getId())).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class, () -> taskService.updateTask(request, 3L));
     }
 
     @Test
@@ -120,4 +191,166 @@ public class TaskServiceTests {
         assertEquals(0, errors.size());
     }
 
+    @Test
+    void getTeamBoard_whenExecutorsAndStatuses_thenBindListsAsSingleArrayParameters() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(taskRepository.findTeamBoard(aryEq(new UUID[]{first, second}), aryEq(new String[]{"PENDING", "DONE"}), eq(5))).thenReturn(List.of());
+
+        assertEquals(List.of(), taskService.getTeamBoard(List.of(first, second), List.of(TaskStatus.PENDING, TaskStatus.DONE), 5));
+    }
+
+    @Test
+    void getTeamBoard_whenNoExecutors_thenDoNotQueryDatabase() {
+        assertEquals(List.of(), taskService.getTeamBoard(List.of(), List.of(TaskStatus.PENDING), 5));
+        verify(taskRepository, never()).findTeamBoard(any(), any(), anyInt());
+    }
+
+    @Test
+    void getTaskDtoPage_whenTasksFound_thenMapAndDetachEachTask() {
+        TaskEntity first = new TaskEntity();
+        first.setName("first");
+        TaskEntity second = new TaskEntity();
+        second.setName("second");
+        PageRequest pageRequest = PageRequest.of(0, 2);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(taskRepository.streamAll(null, pageRequest)).thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+
+        List<TaskDto> tasks = taskService.getTaskDtoPage(null, pageRequest);
+
+        assertEquals(List.of("first", "second"), tasks.stream().map(TaskDto::getName).toList());
+        verify(taskRepository).detach(first);
+        verify(taskRepository).detach(second);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void deleteTask_whenTaskExists_thenMarkTaskDeletedInsteadOfRemovingIt() {
+        UUID taskId = UUID.randomUUID();
+        when(taskRepository.deleteTaskById(eq(taskId), any(LocalDateTime.class))).thenReturn(1);
+
+        DeleteTaskResponse response = taskService.deleteTask(DeleteTaskRequest.builder().id(taskId).build());
+
+        assertEquals(taskId, response.getDeletedTaskId());
+        verify(taskRepository).deleteTaskById(taskId, response.getTimestamp());
+        verify(taskRepository, never()).deleteById(any());
+        verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void deleteTask_whenAlreadyDeleted_thenThrowNotFoundException() {
+        UUID taskId = UUID.randomUUID();
+        when(taskRepository.deleteTaskById(eq(taskId), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThrows(NotFoundException.class, () -> taskService.deleteTask(DeleteTaskRequest.builder().id(taskId).build()));
+        verify(eventPublisher, never()).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void getTaskValidator_whenCommentAdded_thenETagChanges() {
+        UUID taskId = UUID.randomUUID();
+        LocalDateTime commentedAt = LocalDateTime.now();
+        when(taskRepository.findVersionStatsById(taskId)).thenReturn(
+                Optional.of(versionStats(2, 0, null)),
+                Optional.of(versionStats(2, 1, commentedAt)),
+                Optional.of(versionStats(2, 1, commentedAt)));
+
+        ResourceValidator beforeComment = taskService.getTaskValidator(taskId);
+        ResourceValidator afterComment = taskService.getTaskValidator(taskId);
+        ResourceValidator unchanged = taskService.getTaskValidator(taskId);
+
+        assertEquals("2-0-0", beforeComment.getETag());
+        assertNotEquals(beforeComment.getETag(), afterComment.getETag());
+        assertEquals(afterComment.getETag(), unchanged.getETag());
+        assertEquals(ResourceValidator.ofTask(2, 1, commentedAt).getETag(), afterComment.getETag());
+    }
+
+    @Test
+    void getTaskValidator_whenTaskNotFound_thenThrowNotFoundException() {
+        UUID taskId = UUID.randomUUID();
+        when(taskRepository.findVersionStatsById(taskId)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> taskService.getTaskValidator(taskId));
+    }
+
+    @Test
+    void getTaskCommentsValidator_whenCommentDeleted_thenETagAndLastModifiedChange() {
+        UUID taskId = UUID.randomUUID();
+        LocalDateTime firstCommentAt = LocalDateTime.now().minusMinutes(1);
+        LocalDateTime secondCommentAt = LocalDateTime.now();
+        when(taskRepository.findCommentStatsById(taskId)).thenReturn(
+                Optional.of(commentStats(2, secondCommentAt)),
+                Optional.of(commentStats(1, firstCommentAt)));
+
+        ResourceValidator beforeDelete = taskService.getTaskCommentsValidator(taskId);
+        ResourceValidator afterDelete = taskService.getTaskCommentsValidator(taskId);
+
+        assertNotEquals(beforeDelete.getETag(), afterDelete.getETag());
+        assertEquals(secondCommentAt, beforeDelete.getLastModified());
+        assertEquals(firstCommentAt, afterDelete.getLastModified());
+    }
+
+    @Test
+    void getTaskPageValidator_whenCommentCountChanges_thenETagChanges() {
+        LocalDateTime modifiedAt = LocalDateTime.now().minusHours(1);
+        LocalDateTime commentedAt = LocalDateTime.now();
+        when(taskRepository.getTaskPageStats(any(), any())).thenReturn(
+                new TaskSetStats(3, 17, modifiedAt, commentedAt, 5),
+                new TaskSetStats(3, 17, modifiedAt, commentedAt, 4));
+
+        ResourceValidator before = taskService.getTaskPageValidator(null, PageRequest.of(0, 5));
+        ResourceValidator after = taskService.getTaskPageValidator(null, PageRequest.of(0, 5));
+
+        assertNotEquals(before.getETag(), after.getETag());
+        assertEquals(commentedAt, after.getLastModified());
+    }
+
+    @Test
+    void getTaskPageValidator_whenOlderTaskShiftsIntoPage_thenETagChanges() {
+        LocalDateTime modifiedAt = LocalDateTime.now();
+        PageRequest pageRequest = PageRequest.of(1, 5);
+        when(taskRepository.getTaskPageStats(null, pageRequest)).thenReturn(
+                new TaskSetStats(5, 17, modifiedAt, null, 0),
+                new TaskSetStats(5, 23, modifiedAt, null, 0));
+
+        ResourceValidator before = taskService.getTaskPageValidator(null, pageRequest);
+        ResourceValidator after = taskService.getTaskPageValidator(null, pageRequest);
+
+        assertNotEquals(before.getETag(), after.getETag());
+        assertEquals(before.getLastModified(), after.getLastModified());
+    }
+
+    private static TaskVersionStats versionStats(long version, int commentCount, LocalDateTime lastCommentAt) {
+        return new TaskVersionStats() {
+            @Override
+            public long getVersion() {
+                return version;
+            }
+
+            @Override
+            public int getCommentCount() {
+                return commentCount;
+            }
+
+            @Override
+            public LocalDateTime getLastCommentAt() {
+                return lastCommentAt;
+            }
+        };
+    }
+
+    private static TaskCommentStats commentStats(int commentCount, LocalDateTime lastCommentAt) {
+        return new TaskCommentStats() {
+            @Override
+            public int getCommentCount() {
+                return commentCount;
+            }
+
+            @Override
+            public LocalDateTime getLastCommentAt() {
+                return lastCommentAt;
+            }
+        };
+    }
+
 }
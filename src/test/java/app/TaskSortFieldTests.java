@@ -0,0 +1,69 @@
+package app;
+
+import app.exception.InvalidValueException;
+import app.repository.task.TaskSortField;
+import app.repository.task.TaskSpecification;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskSortFieldTests {
+
+    private static final Pattern TASKS_INDEX = Pattern.compile(
+            "CREATE\\s+INDEX\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?\\w+\\s+ON\\s+tasks\\s*\\(([^)]*)\\)",
+            Pattern.CASE_INSENSITIVE);
+
+    private static Set<String> tasksIndexes;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        String schema = new ClassPathResource("data.sql").getContentAsString(StandardCharsets.UTF_8);
+        tasksIndexes = new HashSet<>();
+        Matcher matcher = TASKS_INDEX.matcher(schema);
+        while (matcher.find()) {
+            tasksIndexes.add(matcher.group(1).replaceAll("\\s", "").toLowerCase());
+        }
+    }
+
+    @Test
+    void values_whenSortFieldDeclared_thenSupportingIndexEndsWithId() {
+        for (TaskSortField sortField : TaskSortField.values()) {
+            String expectedIndex = sortField.getColumnName() + "," + TaskSpecification.ID;
+            assertTrue(tasksIndexes.contains(expectedIndex),
+                    "Missing index on tasks (" + expectedIndex + ") for sort field " + sortField);
+        }
+    }
+
+    @Test
+    void toSort_whenDirectionIsDesc_thenOrdersByFieldAndIdInSameDirection() {
+        Sort sort = TaskSortField.COMMENT_COUNT.toSort(Sort.Direction.DESC);
+
+        List<Sort.Order> orders = sort.toList();
+        assertEquals(2, orders.size());
+        assertEquals(TaskSpecification.COMMENT_COUNT, orders.get(0).getProperty());
+        assertEquals(TaskSpecification.ID, orders.get(1).getProperty());
+        assertTrue(orders.stream().allMatch(Sort.Order::isDescending));
+    }
+
+    @Test
+    void fromFieldName_whenFieldNameDiffersInCase_thenReturnSortField() {
+        assertEquals(TaskSortField.LAST_COMMENT_AT, TaskSortField.fromFieldName("LASTCOMMENTAT"));
+    }
+
+    @Test
+    void fromFieldName_whenFieldIsNotAllowed_thenThrowInvalidValueException() {
+        assertThrows(InvalidValueException.class, () -> TaskSortField.fromFieldName("description"));
+    }
+
+}
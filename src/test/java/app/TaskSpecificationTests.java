@@ -0,0 +1,325 @@
+package app;
+
+import app.dto.task.TaskSearchFilterDto;
+import app.entity.task.TaskEntity;
+import app.entity.task.TaskPriority;
+import app.entity.task.TaskStatus;
+import app.exception.InvalidValueException;
+import app.repository.task.TaskSpecification;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Предикаты {@link TaskSpecification} вычисляются в памяти и сравниваются с эталонным фильтром на случайных данных.
+ */
+public class TaskSpecificationTests {
+
+    private static final Map<String, Function<TaskEntity, Object>> FIELDS = Map.ofEntries(
+            Map.entry(TaskSpecification.ID, TaskEntity::getId),
+            Map.entry(TaskSpecification.NAME, TaskEntity::getName),
+            Map.entry(TaskSpecification.DESCRIPTION, TaskEntity::getDescription),
+            Map.entry(TaskSpecification.STATUS, TaskEntity::getStatus),
+            Map.entry(TaskSpecification.PRIORITY, TaskEntity::getPriority),
+            Map.entry(TaskSpecification.CREATOR_ID, TaskEntity::getCreatorId),
+            Map.entry(TaskSpecification.EXECUTOR_ID, TaskEntity::getExecutorId),
+            Map.entry(TaskSpecification.CREATED_AT, TaskEntity::getCreatedAt),
+            Map.entry(TaskSpecification.EXPIRES_ON, TaskEntity::getExpiresOn),
+            Map.entry(TaskSpecification.UPDATED_AT, TaskEntity::getUpdatedAt),
+            Map.entry(TaskSpecification.COMMENT_COUNT, TaskEntity::getCommentCount),
+            Map.entry(TaskSpecification.LAST_COMMENT_AT, TaskEntity::getLastCommentAt));
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final Map<Object, java.util.function.Predicate<TaskEntity>> predicates = new IdentityHashMap<>();
+    private final Map<Object, String> paths = new IdentityHashMap<>();
+
+    private final Random random = new Random(42);
+    private final List<UUID> userIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+    private final List<String> names = List.of("report", "Report draft", "50% done", "a_b", "release", "bugfix");
+
+    @Test
+    void filterBy_whenNoFieldsPopulated_thenReturnNull() {
+        assertNull(TaskSpecification.filterBy(null));
+        assertNull(TaskSpecification.filterBy(new TaskSearchFilterDto()));
+        assertNull(TaskSpecification.filterBy(TaskSearchFilterDto.builder().name(" ").description("").build()));
+        assertNull(TaskSpecification.filterBy(TaskSearchFilterDto.builder().status("unknown").priority("urgent").build()));
+    }
+
+    @Test
+    void filterBy_whenStatusListContainsUnknownName_thenThrowInvalidValueException() {
+        TaskSearchFilterDto onlyUnknown = TaskSearchFilterDto.builder().statuses(List.of("unknown")).build();
+        TaskSearchFilterDto mixed = TaskSearchFilterDto.builder().priorities(List.of("low", "urgent")).build();
+
+        assertThrows(InvalidValueException.class, () -> TaskSpecification.filterBy(onlyUnknown));
+        assertThrows(InvalidValueException.class, () -> TaskSpecification.matcherFor(mixed));
+    }
+
+    @Test
+    void toPredicate_whenIdAndName_thenNameDoesNotBypassId() {
+        TaskEntity first = task("report", TaskStatus.DONE);
+        TaskEntity second = task("report", TaskStatus.DONE);
+
+        List<TaskEntity> result = this.apply(TaskSearchFilterDto.builder().id(first.getId()).name("rep").build(), List.of(first, second));
+
+        assertEquals(List.of(first), result);
+    }
+
+    @Test
+    void toPredicate_whenLikeWildcardsInName_thenMatchLiterally() {
+        TaskEntity percent = task("50% done", TaskStatus.DONE);
+        TaskEntity other = task("500 done", TaskStatus.DONE);
+        TaskEntity underscore = task("a_b", TaskStatus.DONE);
+        TaskEntity letter = task("acb", TaskStatus.DONE);
+        List<TaskEntity> tasks = List.of(percent, other, underscore, letter);
+
+        assertEquals(List.of(percent), this.apply(TaskSearchFilterDto.builder().name("0%").build(), tasks));
+        assertEquals(List.of(underscore), this.apply(TaskSearchFilterDto.builder().name("_").build(), tasks));
+    }
+
+    @Test
+    void toPredicateAndMatcher_whenRandomFilters_thenMatchReferenceFilter() {
+        List<TaskEntity> tasks = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            tasks.add(this.randomTask());
+        }
+        for (int i = 0; i < 2_000; i++) {
+            TaskSearchFilterDto searchFilter = this.randomFilter(tasks);
+            List<TaskEntity> expected = tasks.stream().filter(task -> matches(searchFilter, task)).toList();
+
+            assertEquals(expected, this.apply(searchFilter, tasks), () -> "Mismatch for " + searchFilter);
+            assertEquals(expected, tasks.stream().filter(TaskSpecification.matcherFor(searchFilter)).toList(),
+                    () -> "Matcher mismatch for " + searchFilter);
+        }
+    }
+
+    /**
+     * Эталонный фильтр: все заданные условия должны выполняться, имя совпадает точно или содержит подстроку.
+     */
+    private static boolean matches(TaskSearchFilterDto filter, TaskEntity task) {
+        return (filter.getId() == null || filter.getId().equals(task.getId()))
+                && (filter.getName() == null || filter.getName().isBlank() || task.getName().contains(filter.getName()))
+                && (filter.getDescription() == null || filter.getDescription().isBlank()
+                || filter.getDescription().equals(task.getDescription()))
+                && (filter.getStatus() == null || !isEnum(TaskStatus.class, filter.getStatus())
+                || task.getStatus().name().equalsIgnoreCase(filter.getStatus()))
+                && (filter.getPriority() == null || !isEnum(TaskPriority.class, filter.getPriority())
+                || task.getPriority().name().equalsIgnoreCase(filter.getPriority()))
+                && (filter.getStatuses() == null || filter.getStatuses().isEmpty()
+                || filter.getStatuses().stream().anyMatch(status -> task.getStatus().name().equalsIgnoreCase(status)))
+                && (filter.getPriorities() == null || filter.getPriorities().isEmpty()
+                || filter.getPriorities().stream().anyMatch(priority -> task.getPriority().name().equalsIgnoreCase(priority)))
+                && (filter.getCreatorId() == null || filter.getCreatorId().equals(task.getCreatorId()))
+                && (filter.getCreatorIds() == null || filter.getCreatorIds().isEmpty() || filter.getCreatorIds().contains(task.getCreatorId()))
+                && (filter.getExecutorId() == null || filter.getExecutorId().equals(task.getExecutorId()))
+                && (filter.getExecutorIds() == null || filter.getExecutorIds().isEmpty() || filter.getExecutorIds().contains(task.getExecutorId()))
+                && (filter.getCreatedAtAfter() == null || !task.getCreatedAt().isBefore(filter.getCreatedAtAfter()))
+                && (filter.getCreatedAtBefore() == null || !task.getCreatedAt().isAfter(filter.getCreatedAtBefore()))
+                && (filter.getCommentCountMin() == null || task.getCommentCount() >= filter.getCommentCountMin())
+                && (filter.getCommentCountMax() == null || task.getCommentCount() <= filter.getCommentCountMax());
+    }
+
+    private static <E extends Enum<E>> boolean isEnum(Class<E> type, String name) {
+        for (E value : type.getEnumConstants()) {
+            if (value.name().equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private TaskSearchFilterDto randomFilter(List<TaskEntity> tasks) {
+        TaskSearchFilterDto.TaskSearchFilterDtoBuilder builder = TaskSearchFilterDto.builder();
+        if (random.nextInt(8) == 0) {
+            builder.id(tasks.get(random.nextInt(tasks.size())).getId());
+        }
+        if (random.nextInt(3) == 0) {
+            String name = names.get(random.nextInt(names.size()));
+            int from = random.nextInt(name.length());
+            builder.name(random.nextBoolean() ? name : name.substring(from, from + 1 + random.nextInt(name.length() - from)));
+        }
+        if (random.nextInt(6) == 0) {
+            builder.description(random.nextBoolean() ? "description" : "other");
+        }
+        if (random.nextInt(3) == 0) {
+            builder.status(random.nextInt(5) == 0 ? "unknown" : TaskStatus.values()[random.nextInt(3)].name().toLowerCase());
+        }
+        if (random.nextInt(3) == 0) {
+            builder.priority(TaskPriority.values()[random.nextInt(3)].name());
+        }
+        if (random.nextInt(4) == 0) {
+            builder.statuses(this.randomSubset(List.of("pending", "IN_PROGRESS", "done")));
+        }
+        if (random.nextInt(4) == 0) {
+            builder.priorities(this.randomSubset(Arrays.stream(TaskPriority.values()).map(Enum::name).toList()));
+        }
+        if (random.nextInt(3) == 0) {
+            builder.creatorId(userIds.get(random.nextInt(userIds.size())));
+        }
+        if (random.nextInt(4) == 0) {
+            builder.creatorIds(this.randomSubset(userIds));
+        }
+        if (random.nextInt(4) == 0) {
+            builder.executorIds(this.randomSubset(userIds));
+        }
+        if (random.nextInt(4) == 0) {
+            builder.executorId(userIds.get(random.nextInt(userIds.size())));
+        }
+        if (random.nextInt(4) == 0) {
+            builder.createdAtAfter(EPOCH.plusDays(random.nextInt(30)));
+        }
+        if (random.nextInt(4) == 0) {
+            builder.createdAtBefore(EPOCH.plusDays(random.nextInt(30)));
+        }
+        if (random.nextInt(4) == 0) {
+            builder.commentCountMin(random.nextInt(10));
+        }
+        if (random.nextInt(4) == 0) {
+            builder.commentCountMax(random.nextInt(10));
+        }
+        return builder.build();
+    }
+
+    private <T> List<T> randomSubset(List<T> values) {
+        List<T> subset = new ArrayList<>();
+        for (T value : values) {
+            if (random.nextInt(3) == 0) {
+                subset.add(value);
+            }
+        }
+        return subset;
+    }
+
+    private TaskEntity randomTask() {
+        TaskEntity task = task(names.get(random.nextInt(names.size())), TaskStatus.values()[random.nextInt(3)]);
+        task.setDescription(random.nextBoolean() ? "description" : "other");
+        task.setPriority(TaskPriority.values()[random.nextInt(3)]);
+        task.setCreatorId(userIds.get(random.nextInt(userIds.size())));
+        task.setExecutorId(userIds.get(random.nextInt(userIds.size())));
+        task.setCreatedAt(EPOCH.plusDays(random.nextInt(30)));
+        task.setCommentCount(random.nextInt(10));
+        return task;
+    }
+
+    private static TaskEntity task(String name, TaskStatus status) {
+        return TaskEntity
+                .builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .status(status)
+                .build();
+    }
+
+    private List<TaskEntity> apply(TaskSearchFilterDto searchFilter, List<TaskEntity> tasks) {
+        Specification<TaskEntity> specification = TaskSpecification.filterBy(searchFilter);
+        if (specification == null) {
+            return tasks;
+        }
+        Predicate predicate = specification.toPredicate(this.root(), null, this.criteriaBuilder());
+        java.util.function.Predicate<TaskEntity> test = Objects.requireNonNull(predicates.get(predicate));
+        return tasks.stream().filter(test).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Root<TaskEntity> root() {
+        return (Root<TaskEntity>) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Root.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("get") && args != null && args.length == 1 && args[0] instanceof String field) {
+                        Object path = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Path.class},
+                                (pathProxy, pathMethod, pathArgs) -> {
+                                    if (pathMethod.getName().equals("in") && pathArgs.length == 1
+                                            && pathArgs[0] instanceof Collection<?> values) {
+                                        return this.predicate(task -> values.contains(this.read(pathProxy, task)));
+                                    }
+                                    throw new UnsupportedOperationException(pathMethod.getName());
+                                });
+                        paths.put(path, field);
+                        return path;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Реализация {@link CriteriaBuilder}, строящая предикаты, вычисляемые в памяти.
+     */
+    private CriteriaBuilder criteriaBuilder() {
+        return (CriteriaBuilder) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{CriteriaBuilder.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equal" -> this.predicate(task -> Objects.equals(this.read(args[0], task), args[1]));
+                    case "like" -> {
+                        Pattern pattern = likePattern((String) args[1], args.length > 2 ? (Character) args[2] : null);
+                        yield this.predicate(task -> pattern.matcher((String) this.read(args[0], task)).matches());
+                    }
+                    case "greaterThanOrEqualTo" -> this.predicate(task -> this.compare(args[0], args[1], task) >= 0);
+                    case "lessThanOrEqualTo" -> this.predicate(task -> this.compare(args[0], args[1], task) <= 0);
+                    case "and" -> this.predicate(task -> this.operands(args).stream().allMatch(operand -> operand.test(task)));
+                    case "or" -> this.predicate(task -> this.operands(args).stream().anyMatch(operand -> operand.test(task)));
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private Predicate predicate(java.util.function.Predicate<TaskEntity> test) {
+        Predicate predicate = (Predicate) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Predicate.class},
+                (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        predicates.put(predicate, test);
+        return predicate;
+    }
+
+    private List<java.util.function.Predicate<TaskEntity>> operands(Object[] args) {
+        Object[] expressions = args.length == 1 && args[0] instanceof Object[] array ? array : args;
+        List<java.util.function.Predicate<TaskEntity>> operands = new ArrayList<>();
+        for (Object expression : expressions) {
+            operands.add(Objects.requireNonNull(predicates.get(expression)));
+        }
+        return operands;
+    }
+
+    private Object read(Object path, TaskEntity task) {
+        return FIELDS.get(Objects.requireNonNull(paths.get(path))).apply(task);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private int compare(Object path, Object value, TaskEntity task) {
+        return ((Comparable) this.read(path, task)).compareTo(value);
+    }
+
+    private static Pattern likePattern(String like, Character escape) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < like.length(); i++) {
+            char c = like.charAt(i);
+            if (escape != null && c == escape && i + 1 < like.length()) {
+                regex.append(Pattern.quote(String.valueOf(like.charAt(++i))));
+            } else if (c == '%') {
+                regex.append(".*");
+            } else if (c == '_') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+}
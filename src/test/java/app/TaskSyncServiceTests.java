@@ -0,0 +1,188 @@
+package app;
+
+import app.config.TaskSyncProperties;
+import app.dto.task.TaskSyncCursor;
+import app.dto.task.TaskSyncResponse;
+import app.dto.task_comment.TaskCommentSyncResponse;
+import app.entity.task.TaskEntity;
+import app.exception.InvalidCursorException;
+import app.exception.SyncCursorExpiredException;
+import app.mapper.task.TaskCommentMapper;
+import app.mapper.task.TaskMapper;
+import app.repository.task.TaskRepository;
+import app.repository.task_comment.TaskCommentProjection;
+import app.repository.task_comment.TaskCommentRepository;
+import app.service.task.TaskSyncService;
+import app.service.task.impl.TaskSyncServiceImpl;
+import app.service.task.impl.TaskTombstoneCompactor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskSyncServiceTests {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskCommentRepository taskCommentRepository;
+
+    @Mock
+    private TaskSyncService mockedTaskSyncService;
+
+    private final TaskSyncProperties properties = new TaskSyncProperties();
+
+    private TaskSyncServiceImpl taskSyncService;
+
+    private final UUID taskId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ModelMapper modelMapper = new ModelMapper();
+        properties.setSettleDelay(Duration.ofSeconds(10));
+        properties.setTombstoneRetention(Duration.ofDays(1));
+        taskSyncService = new TaskSyncServiceImpl(
+                taskRepository,
+                taskCommentRepository,
+                new TaskMapper(modelMapper),
+                new TaskCommentMapper(modelMapper),
+                properties);
+    }
+
+    @Test
+    void getTaskChanges_whenTasksDeleted_thenSeparateThemAndPointCursorAtLastTask() {
+        LocalDateTime changedAt = LocalDateTime.now().minusHours(1);
+        TaskEntity updated = this.task(changedAt, null);
+        TaskEntity deleted = this.task(changedAt.plusSeconds(1), changedAt.plusSeconds(1));
+        TaskEntity next = this.task(changedAt.plusSeconds(2), null);
+        when(taskRepository.findChangedAfter(eq(TaskSyncCursor.START.getChangedAt()), eq(TaskSyncCursor.START.getId()), any(), eq(3)))
+                .thenReturn(List.of(updated, deleted, next));
+
+        TaskSyncResponse response = taskSyncService.getTaskChanges(null, 2);
+
+        assertEquals(List.of(updated.getId()), response.getChanged().stream().map(task -> task.getId()).toList());
+        assertEquals(List.of(deleted.getId()), response.getDeleted());
+        assertTrue(response.isHasMore());
+        TaskSyncCursor cursor = TaskSyncCursor.decode(response.getNextCursor());
+        assertEquals(deleted.getUpdatedAt(), cursor.getChangedAt());
+        assertEquals(deleted.getId(), cursor.getId());
+    }
+
+    @Test
+    void getTaskChanges_whenLastPage_thenMoveCursorToSettledBoundary() {
+        LocalDateTime changedAt = LocalDateTime.now().minusHours(1);
+        String cursor = new TaskSyncCursor(changedAt, UUID.randomUUID()).encode();
+        when(taskRepository.findChangedAfter(eq(changedAt), any(), any(), eq(101))).thenReturn(List.of());
+
+        TaskSyncResponse response = taskSyncService.getTaskChanges(cursor, 100);
+
+        assertFalse(response.isHasMore());
+        LocalDateTime nextChangedAt = TaskSyncCursor.decode(response.getNextCursor()).getChangedAt();
+        assertTrue(nextChangedAt.isAfter(changedAt));
+        assertTrue(nextChangedAt.isBefore(LocalDateTime.now().minus(properties.getSettleDelay()).plusSeconds(1)));
+    }
+
+    @Test
+    void getTaskChanges_whenCursorOlderThanRetention_thenThrowSyncCursorExpiredException() {
+        String cursor = new TaskSyncCursor(LocalDateTime.now().minusDays(2), UUID.randomUUID()).encode();
+
+        assertThrows(SyncCursorExpiredException.class, () -> taskSyncService.getTaskChanges(cursor, 100));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void getTaskChanges_whenCursorMalformed_thenThrowInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> taskSyncService.getTaskChanges("not a cursor", 100));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void getTaskCommentChanges_whenCommentsDeleted_thenSeparateThem() {
+        LocalDateTime createdAt = LocalDateTime.now().minusHours(1);
+        TaskCommentProjection created = this.comment(createdAt, null);
+        TaskCommentProjection deleted = this.comment(null, createdAt.plusSeconds(1));
+        when(taskCommentRepository.findChangedByTaskIdAfter(eq(taskId), any(), any(), any(), eq(11)))
+                .thenReturn(List.of(created, deleted));
+
+        TaskCommentSyncResponse response = taskSyncService.getTaskCommentChanges(taskId, null, 10);
+
+        assertEquals(1, response.getCreated().size());
+        assertEquals(created.getId(), response.getCreated().get(0).getId());
+        assertEquals(List.of(deleted.getId()), response.getDeleted());
+        assertFalse(response.isHasMore());
+    }
+
+    @Test
+    void compact_whenTombstonesExpired_thenCompactCommentsBeforeTasks() {
+        properties.setCompactionBatchSize(100);
+        when(mockedTaskSyncService.compactTaskComments(any(), eq(100))).thenReturn(100, 40);
+        when(mockedTaskSyncService.compactTasks(any(), eq(100))).thenReturn(7);
+
+        new TaskTombstoneCompactor(mockedTaskSyncService, properties).compact();
+
+        InOrder order = inOrder(mockedTaskSyncService);
+        order.verify(mockedTaskSyncService, times(2)).compactTaskComments(any(), eq(100));
+        order.verify(mockedTaskSyncService).compactTasks(any(), eq(100));
+    }
+
+    @Test
+    void compact_whenBatchLimitReached_thenPostponeTasksUntilNextRun() {
+        properties.setCompactionBatchSize(100);
+        properties.setCompactionMaxBatchesPerRun(3);
+        when(mockedTaskSyncService.compactTaskComments(any(), eq(100))).thenReturn(100);
+
+        new TaskTombstoneCompactor(mockedTaskSyncService, properties).compact();
+
+        verify(mockedTaskSyncService, times(3)).compactTaskComments(any(), eq(100));
+        verify(mockedTaskSyncService, never()).compactTasks(any(), anyInt());
+    }
+
+    private TaskEntity task(LocalDateTime updatedAt, LocalDateTime deletedAt) {
+        return TaskEntity
+                .builder()
+                .id(UUID.randomUUID())
+                .name("Task name")
+                .createdAt(updatedAt.minusDays(1))
+                .updatedAt(updatedAt)
+                .deletedAt(deletedAt)
+                .build();
+    }
+
+    /**
+     * Удаленный комментарий упорядочен по дате удаления, поэтому дата создания для него не задается.
+     */
+    private TaskCommentProjection comment(LocalDateTime createdAt, LocalDateTime deletedAt) {
+        TaskCommentProjection comment = mock(TaskCommentProjection.class);
+        UUID commentId = UUID.randomUUID();
+        when(comment.getId()).thenReturn(commentId);
+        if (deletedAt == null) {
+            when(comment.getCreatedAt()).thenReturn(createdAt);
+        } else {
+            when(comment.getDeletedAt()).thenReturn(deletedAt);
+        }
+        return comment;
+    }
+
+}
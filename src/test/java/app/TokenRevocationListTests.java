@@ -0,0 +1,89 @@
+package app;
+
+import app.entity.token.RevokedTokenEntity;
+import app.repository.token.RevokedTokenRepository;
+import app.security.jwt.revocation.BloomFilter;
+import app.security.jwt.revocation.TokenRevocationList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenRevocationListTests {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Test
+    void mightContain_whenIdsAdded_thenNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+        List<UUID> added = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            bloomFilter.put(id);
+            added.add(id);
+        }
+
+        added.forEach(id -> assertTrue(bloomFilter.mightContain(id)));
+        long falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (bloomFilter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "False positive count " + falsePositives);
+    }
+
+    @Test
+    void isRevoked_whenTokenUnknown_thenDoNotQueryDatabase() {
+        TokenRevocationList tokenRevocationList = new TokenRevocationList(revokedTokenRepository, 1_000, 0.001);
+
+        assertFalse(tokenRevocationList.isRevoked(UUID.randomUUID()));
+        verify(revokedTokenRepository, never()).existsById(any());
+    }
+
+    @Test
+    void isRevoked_whenTokenRevoked_thenConfirmByDatabase() {
+        TokenRevocationList tokenRevocationList = new TokenRevocationList(revokedTokenRepository, 1_000, 0.001);
+        UUID tokenId = UUID.randomUUID();
+        when(revokedTokenRepository.existsById(tokenId)).thenReturn(true);
+
+        tokenRevocationList.revoke(tokenId, UUID.randomUUID(), LocalDateTime.now().plusMinutes(15));
+
+        assertTrue(tokenRevocationList.isRevoked(tokenId));
+        verify(revokedTokenRepository).save(any(RevokedTokenEntity.class));
+    }
+
+    @Test
+    void refresh_whenTokenRevokedOnAnotherInstance_thenAddToFilter() {
+        TokenRevocationList tokenRevocationList = new TokenRevocationList(revokedTokenRepository, 1_000, 0.001);
+        UUID tokenId = UUID.randomUUID();
+        when(revokedTokenRepository.findIdsByExpiresAtAfter(any())).thenReturn(List.of());
+        when(revokedTokenRepository.findAllByRevokedAtAfter(any())).thenReturn(List.of(), List.of(RevokedTokenEntity
+                .builder()
+                .id(tokenId)
+                .userId(UUID.randomUUID())
+                .revokedAt(LocalDateTime.now())
+                .expiresAt(LocalDateTime.now().plusMinutes(15))
+                .build()));
+        when(revokedTokenRepository.existsById(tokenId)).thenReturn(true);
+
+        tokenRevocationList.rebuild();
+        tokenRevocationList.refresh();
+
+        assertTrue(tokenRevocationList.isRevoked(tokenId));
+    }
+
+}
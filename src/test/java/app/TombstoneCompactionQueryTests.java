@@ -0,0 +1,143 @@
+package app;
+
+import app.repository.task.TaskRepository;
+import app.repository.task_comment.TaskCommentRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверка запросов очистки удаленных задач и комментариев на PostgreSQL. Запросы берутся из аннотаций
+ * {@link Query} методов репозиториев и выполняются на схеме из {@code data.sql}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class TombstoneCompactionQueryTests {
+
+    private static final int LIMIT = 4;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private final LocalDateTime deletedBefore = now.minusDays(30);
+
+    private UUID userId;
+
+    @BeforeAll
+    static void createSchema() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("data.sql"));
+        }
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("TRUNCATE users CASCADE", new MapSqlParameterSource());
+        userId = jdbcTemplate.queryForObject("""
+                INSERT INTO users (username, password, name, email)
+                VALUES ('user', 'password', 'User', 'user@mail.com')
+                RETURNING id
+                """, new MapSqlParameterSource(), UUID.class);
+    }
+
+    @Test
+    void deleteTombstones_whenBothKindsOfTombstonesExist_thenDeleteAtMostLimitPerBatch() throws Exception {
+        UUID deletedTask = this.insertTask("deleted", now.minusDays(31));
+        UUID task = this.insertTask("task", null);
+        for (int i = 0; i < 3; i++) {
+            this.insertComment(deletedTask, null);
+            this.insertComment(task, now.minusDays(31));
+            this.insertComment(task, null);
+        }
+        this.insertComment(deletedTask, now.minusDays(31));
+        this.insertComment(task, now.minusDays(1));
+        String sql = this.query(TaskCommentRepository.class);
+
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, this.parameters());
+            assertTrue(deleted <= LIMIT);
+            total += deleted;
+        } while (deleted == LIMIT);
+
+        assertEquals(7, total);
+        assertEquals(4, this.count("SELECT count(*) FROM task_comments"));
+        assertEquals(0, this.count("SELECT count(*) FROM task_comments WHERE task_id = '" + deletedTask + "'"));
+    }
+
+    @Test
+    void deleteTombstones_whenTasksExpired_thenDeleteAtMostLimitPerBatch() throws Exception {
+        for (int i = 0; i < LIMIT + 2; i++) {
+            this.insertTask("deleted " + i, now.minusDays(31));
+        }
+        this.insertTask("recently deleted", now.minusDays(1));
+        this.insertTask("task", null);
+        String sql = this.query(TaskRepository.class);
+
+        assertEquals(LIMIT, jdbcTemplate.update(sql, this.parameters()));
+        assertEquals(2, jdbcTemplate.update(sql, this.parameters()));
+        assertEquals(2, this.count("SELECT count(*) FROM tasks"));
+    }
+
+    private String query(Class<?> repository) throws NoSuchMethodException {
+        return repository
+                .getMethod("deleteTombstones", LocalDateTime.class, int.class)
+                .getAnnotation(Query.class)
+                .value();
+    }
+
+    private MapSqlParameterSource parameters() {
+        return new MapSqlParameterSource()
+                .addValue("deletedBefore", deletedBefore)
+                .addValue("limit", LIMIT);
+    }
+
+    private UUID insertTask(String name, LocalDateTime deletedAt) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO tasks (name, description, status, priority, creator_id, expires_on, deleted_at)
+                VALUES (:name, 'description', 'PENDING', 'LOW', :userId, :expiresOn, :deletedAt)
+                RETURNING id
+                """, new MapSqlParameterSource()
+                .addValue("name", name)
+                .addValue("userId", userId)
+                .addValue("expiresOn", now.plusDays(1))
+                .addValue("deletedAt", deletedAt), UUID.class);
+    }
+
+    private void insertComment(UUID taskId, LocalDateTime deletedAt) {
+        jdbcTemplate.update("""
+                INSERT INTO task_comments (task_id, user_id, content, deleted_at)
+                VALUES (:taskId, :userId, 'content', :deletedAt)
+                """, new MapSqlParameterSource()
+                .addValue("taskId", taskId)
+                .addValue("userId", userId)
+                .addValue("deletedAt", deletedAt));
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, new MapSqlParameterSource(), Integer.class);
+    }
+
+}
@@ -0,0 +1,236 @@
+package app;
+
+import app.config.TaskSyncProperties;
+import app.config.UserDeletionProperties;
+import app.entity.user.UserDeletionEntity;
+import app.entity.user.UserDeletionStage;
+import app.repository.task.TaskRepository;
+import app.repository.task_comment.TaskCommentRepository;
+import app.repository.user.UserDeletionRepository;
+import app.repository.user.UserRepository;
+import app.service.task.TaskChangedEvent;
+import app.service.user.UserDeletionService;
+import app.service.user.impl.UserDeletionReaper;
+import app.service.user.impl.UserDeletionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserDeletionServiceTests {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Mock
+    private UserDeletionRepository userDeletionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskCommentRepository taskCommentRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserDeletionService mockedUserDeletionService;
+
+    private final UserDeletionProperties properties = new UserDeletionProperties();
+
+    private final TaskSyncProperties taskSyncProperties = new TaskSyncProperties();
+
+    private UserDeletionServiceImpl userDeletionService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(BATCH_SIZE);
+        userDeletionService = new UserDeletionServiceImpl(
+                userDeletionRepository,
+                userRepository,
+                taskRepository,
+                taskCommentRepository,
+                eventPublisher,
+                properties,
+                taskSyncProperties);
+    }
+
+    @Test
+    void deleteNextBatch_whenFullBatch_thenStayOnStageAndTrackProgress() {
+        UserDeletionEntity deletion = this.deletion(UserDeletionStage.UNASSIGN_EXECUTOR_TASKS);
+        List<UUID> taskIds = this.taskIds(BATCH_SIZE);
+        when(userDeletionRepository.findByUserIdForUpdate(userId)).thenReturn(Optional.of(deletion));
+        when(taskRepository.unassignExecutor(eq(userId), any(), eq(BATCH_SIZE))).thenReturn(taskIds);
+
+        assertTrue(userDeletionService.deleteNextBatch(userId));
+
+        assertEquals(UserDeletionStage.UNASSIGN_EXECUTOR_TASKS, deletion.getStage());
+        assertEquals(BATCH_SIZE, deletion.getUnassignedTasks());
+        assertNotNull(deletion.getUpdatedAt());
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(taskIds.get(0), null, TaskChangedEvent.Type.UPDATED));
+        verify(eventPublisher, times(BATCH_SIZE)).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void deleteNextBatch_whenOwnedTaskComments_thenMarkDeletedWithoutEvents() {
+        UserDeletionEntity deletion = this.deletion(UserDeletionStage.DELETE_OWNED_TASK_COMMENTS);
+        when(userDeletionRepository.findByUserIdForUpdate(userId)).thenReturn(Optional.of(deletion));
+        when(taskCommentRepository.deleteByTaskCreatorId(eq(userId), any(LocalDateTime.class), eq(BATCH_SIZE))).thenReturn(3);
+
+        assertTrue(userDeletionService.deleteNextBatch(userId));
+
+        assertEquals(UserDeletionStage.DELETE_OWNED_TASKS, deletion.getStage());
+        assertEquals(3, deletion.getDeletedComments());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteNextBatch_whenOwnedTasks_thenMarkDeletedAndPublishDeletedEvents() {
+        UserDeletionEntity deletion = this.deletion(UserDeletionStage.DELETE_OWNED_TASKS);
+        List<UUID> taskIds = this.taskIds(2);
+        when(userDeletionRepository.findByUserIdForUpdate(userId)).thenReturn(Optional.of(deletion));
+        when(taskRepository.deleteByCreatorId(eq(userId), any(LocalDateTime.class), eq(BATCH_SIZE))).thenReturn(taskIds);
+
+        assertTrue(userDeletionService.deleteNextBatch(userId));
+
+        assertEquals(UserDeletionStage.DELETE_AUTHORED_COMMENTS, deletion.getStage());
+        assertEquals(2, deletion.getDeletedTasks());
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(taskIds.get(0), null, TaskChangedEvent.Type.DELETED));
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(taskIds.get(1), null, TaskChangedEvent.Type.DELETED));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteNextBatch_whenPartialBatch_thenAdvanceToNextStage() {
+        UserDeletionEntity deletion = this.deletion(UserDeletionStage.DELETE_AUTHORED_COMMENTS);
+        deletion.setDeletedComments(10);
+        UUID taskId = UUID.randomUUID();
+        UUID otherTaskId = UUID.randomUUID();
+        when(userDeletionRepository.findByUserIdForUpdate(userId)).thenReturn(Optional.of(deletion));
+        when(taskCommentRepository.deleteByUserId(eq(userId), any(LocalDateTime.class), eq(BATCH_SIZE)))
+                .thenReturn(List.of(taskId, taskId, otherTaskId, taskId, otherTaskId));
+
+        assertTrue(userDeletionService.deleteNextBatch(userId));
+
+        assertEquals(UserDeletionStage.DELETE_USER, deletion.getStage());
+        assertEquals(15, deletion.getDeletedComments());
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(taskId, null, TaskChangedEvent.Type.COMMENTED));
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(otherTaskId, null, TaskChangedEvent.Type.COMMENTED));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteNextBatch_whenLastStage_thenDeleteUser() {
+        UserDeletionEntity deletion = this.deletion(UserDeletionStage.DELETE_USER);
+        when(userDeletionRepository.findByUserIdForUpdate(userId)).thenReturn(Optional.of(deletion));
+        when(taskRepository.existsAnyByCreatorId(userId)).thenReturn(false);
+        when(taskCommentRepository.existsAnyByUserId(userId)).thenReturn(false);
+
+        assertFalse(userDeletionService.deleteNextBatch(userId));
+
+        verify(userRepository).deleteUserById(userId);
+    }
+
+    @Test
+    void deleteNextBatch_whenDeletedTasksAreNotCompacted_thenKeepUser() {
+        UserDeletionEntity deletion = this.deletion(UserDeletionStage.DELETE_USER);
+        when(userDeletionRepository.findByUserIdForUpdate(userId)).thenReturn(Optional.of(deletion));
+        when(taskRepository.existsAnyByCreatorId(userId)).thenReturn(true);
+
+        assertFalse(userDeletionService.deleteNextBatch(userId));
+
+        assertEquals(UserDeletionStage.DELETE_USER, deletion.getStage());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getPendingUserIds_whenCalled_thenSkipUsersWaitingForCompaction() {
+        LocalDateTime compactedBefore = LocalDateTime.now().minus(taskSyncProperties.getTombstoneRetention());
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(userDeletionRepository.findPendingUserIds(captor.capture(), eq(10))).thenReturn(List.of(userId));
+
+        assertEquals(List.of(userId), userDeletionService.getPendingUserIds(10));
+
+        assertFalse(captor.getValue().isBefore(compactedBefore));
+        assertTrue(captor.getValue().isBefore(LocalDateTime.now().minus(taskSyncProperties.getTombstoneRetention()).plusSeconds(1)));
+    }
+
+    @Test
+    void deleteNextBatch_whenLockedByAnotherTransaction_thenDoNothing() {
+        when(userDeletionRepository.findByUserIdForUpdate(userId)).thenReturn(Optional.empty());
+
+        assertFalse(userDeletionService.deleteNextBatch(userId));
+
+        verifyNoInteractions(userRepository, taskRepository, taskCommentRepository);
+    }
+
+    @Test
+    void reap_whenBatchLimitReached_thenStopUntilNextRun() {
+        UUID otherUserId = UUID.randomUUID();
+        properties.setMaxBatchesPerRun(3);
+        when(mockedUserDeletionService.getPendingUserIds(properties.getMaxUsersPerRun())).thenReturn(List.of(userId, otherUserId));
+        when(mockedUserDeletionService.deleteNextBatch(userId)).thenReturn(true);
+
+        new UserDeletionReaper(mockedUserDeletionService, properties).reap();
+
+        verify(mockedUserDeletionService, times(3)).deleteNextBatch(userId);
+        verify(mockedUserDeletionService, never()).deleteNextBatch(otherUserId);
+    }
+
+    @Test
+    void reap_whenUserFails_thenContinueWithNextUser() {
+        UUID otherUserId = UUID.randomUUID();
+        when(mockedUserDeletionService.getPendingUserIds(properties.getMaxUsersPerRun())).thenReturn(List.of(userId, otherUserId));
+        when(mockedUserDeletionService.deleteNextBatch(userId)).thenThrow(new IllegalStateException("deadlock detected"));
+        when(mockedUserDeletionService.deleteNextBatch(otherUserId)).thenReturn(false);
+
+        new UserDeletionReaper(mockedUserDeletionService, properties).reap();
+
+        verify(mockedUserDeletionService).deleteNextBatch(otherUserId);
+        verify(taskRepository, never()).unassignExecutor(any(), any(), anyInt());
+    }
+
+    private List<UUID> taskIds(int count) {
+        List<UUID> taskIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            taskIds.add(UUID.randomUUID());
+        }
+        return taskIds;
+    }
+
+    private UserDeletionEntity deletion(UserDeletionStage stage) {
+        return UserDeletionEntity
+                .builder()
+                .userId(userId)
+                .stage(stage)
+                .requestedAt(LocalDateTime.now())
+                .build();
+    }
+
+}
@@ -0,0 +1,98 @@
+package app;
+
+import app.entity.user.UserEntity;
+import app.entity.user.UserRole;
+import app.repository.user.UserRepository;
+import app.security.password.BoundedPasswordEncoder;
+import app.security.password.PasswordEncoderProperties;
+import app.service.user.impl.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserDetailsServiceTests {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private BoundedPasswordEncoder passwordEncoder;
+    private DaoAuthenticationProvider authenticationProvider;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), new PasswordEncoderProperties(),
+                new SimpleMeterRegistry());
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(userRepository);
+        authenticationProvider = new DaoAuthenticationProvider();
+        authenticationProvider.setUserDetailsService(userDetailsService);
+        authenticationProvider.setUserDetailsPasswordService(userDetailsService);
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordEncoder.shutdown();
+    }
+
+    @Test
+    void authenticate_whenHashHasLowerStrength_thenUpdatePasswordWithRehashedPassword() {
+        String oldHash = new BCryptPasswordEncoder(4).encode("password");
+        UserEntity user = user(oldHash);
+        when(userRepository.getUserEntityByUsername("user")).thenReturn(Optional.of(user));
+
+        authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken("user", "password"));
+
+        ArgumentCaptor<String> newHash = ArgumentCaptor.forClass(String.class);
+        verify(userRepository).updatePasswordByUsername(eq("user"), newHash.capture());
+        assertNotEquals(oldHash, newHash.getValue());
+        assertTrue(newHash.getValue().startsWith("$2a$05$"));
+        assertTrue(passwordEncoder.matches("password", newHash.getValue()));
+        assertEquals(newHash.getValue(), user.getPassword());
+    }
+
+    @Test
+    void authenticate_whenHashHasCurrentStrength_thenDoNotUpdatePassword() {
+        when(userRepository.getUserEntityByUsername("user")).thenReturn(Optional.of(user(passwordEncoder.encode("password"))));
+
+        authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken("user", "password"));
+
+        verify(userRepository, never()).updatePasswordByUsername(any(), any());
+    }
+
+    @Test
+    void authenticate_whenPasswordIsWrong_thenThrowBadCredentialsExceptionWithoutRehash() {
+        when(userRepository.getUserEntityByUsername("user")).thenReturn(Optional.of(user(new BCryptPasswordEncoder(4).encode("password"))));
+
+        assertThrows(BadCredentialsException.class, () -> authenticationProvider
+                .authenticate(new UsernamePasswordAuthenticationToken("user", "other")));
+        verify(userRepository, never()).updatePasswordByUsername(any(), any());
+    }
+
+    private static UserEntity user(String password) {
+        UserEntity user = new UserEntity();
+        user.setUsername("user");
+        user.setPassword(password);
+        user.setRole(UserRole.ROLE_USER);
+        return user;
+    }
+
+}
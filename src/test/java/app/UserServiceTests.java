@@ -29,6 +29,8 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -104,6 +106,8 @@ public class UserServiceTests {
 
         assertNotEquals(0, errors.size());
         assertNotNull(deleteUserResponse);
+        verify(userRepository).softDeleteUserById(request.getId(), deleteUserResponse.getTimestamp());
+        verify(userRepository, never()).deleteUserById(any());
     }
 
     @Test